@@ -0,0 +1,83 @@
+package hazardhub.com.hub.geo;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Run with {@code ./gradlew jmh}. Inputs are synthetic random walks shaped
+ * like Directions overview polylines (~10m steps).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PolylineBenchmark {
+
+    @Param({ "100", "1000", "10000" })
+    private int points;
+
+    private String encoded;
+    private double[] lats;
+    private double[] lngs;
+    private double[] outLats;
+    private double[] outLngs;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        double[] srcLats = new double[points];
+        double[] srcLngs = new double[points];
+        double lat = 43.0370;
+        double lng = -76.1336;
+        for (int i = 0; i < points; i++) {
+            lat += (random.nextDouble() - 0.3) * 1e-4;
+            lng += (random.nextDouble() - 0.3) * 1e-4;
+            srcLats[i] = lat;
+            srcLngs[i] = lng;
+        }
+        encoded = PolylineCodec.encode(srcLats, srcLngs, points);
+        lats = new double[points];
+        lngs = new double[points];
+        outLats = new double[points];
+        outLngs = new double[points];
+        PolylineCodec.decode(encoded, lats, lngs);
+    }
+
+    @Benchmark
+    public int decodeIntoReusedBuffers() {
+        return PolylineCodec.decode(encoded, lats, lngs);
+    }
+
+    @Benchmark
+    public String encode() {
+        return PolylineCodec.encode(lats, lngs, points);
+    }
+
+    @Benchmark
+    public int simplify10m() {
+        return DouglasPeucker.simplify(lats, lngs, points, 10, outLats, outLngs);
+    }
+
+    @Benchmark
+    public double lengthHaversine() {
+        return GeoMath.polylineLengthMeters(lats, lngs, points);
+    }
+
+    @Benchmark
+    public double distanceToPolyline() {
+        return GeoMath.pointToPolylineMeters(43.04, -76.13, lats, lngs, points, 0);
+    }
+
+    @Benchmark
+    public BoundingBox boundingBox() {
+        return BoundingBox.of(lats, lngs, points);
+    }
+}
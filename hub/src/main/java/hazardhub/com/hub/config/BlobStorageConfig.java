@@ -0,0 +1,48 @@
+package hazardhub.com.hub.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * Where generated files such as hazard thumbnails are written.
+ * {@code storage.blob.provider} selects Firebase Storage ({@code firebase})
+ * or a local directory served by this application ({@code filesystem}, for
+ * local testing).
+ */
+@Configuration
+public class BlobStorageConfig {
+
+    public static final String PROVIDER = "storage.blob.provider";
+
+    @Value("${" + PROVIDER + ":firebase}")
+    private String provider;
+
+    @Value("${storage.blob.filesystem.root:data/blobs}")
+    private String filesystemRoot;
+
+    @Value("${storage.blob.filesystem.base-path:/blobs/}")
+    private String filesystemBasePath;
+
+    @Value("${storage.blob.firebase.bucket:}")
+    private String firebaseBucket;
+
+    public boolean isFilesystem() {
+        return "filesystem".equals(provider);
+    }
+
+    public Path getFilesystemRoot() {
+        return Path.of(filesystemRoot).toAbsolutePath().normalize();
+    }
+
+    /** URL path the filesystem root is served under; ends with a slash. */
+    public String getFilesystemBasePath() {
+        return filesystemBasePath.endsWith("/") ? filesystemBasePath : filesystemBasePath + "/";
+    }
+
+    /** Empty for the default bucket of the Firebase app. */
+    public String getFirebaseBucket() {
+        return firebaseBucket;
+    }
+}
@@ -0,0 +1,64 @@
+package hazardhub.com.hub.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Cross-instance invalidation log; see
+ * {@link hazardhub.com.hub.service.CacheInvalidationBus}.
+ */
+@Configuration
+public class CacheInvalidationConfig {
+
+    @Value("${cache.invalidation.collection-size-bytes:16777216}")
+    private long collectionSizeBytes;
+
+    @Value("${cache.invalidation.max-documents:50000}")
+    private long maxDocuments;
+
+    @Value("${cache.invalidation.max-await-ms:1000}")
+    private long maxAwaitMs;
+
+    @Value("${cache.invalidation.retry-delay-ms:1000}")
+    private long retryDelayMs;
+
+    @Value("${cache.invalidation.reopen-overlap-ms:5000}")
+    private long reopenOverlapMs;
+
+    @Value("${cache.invalidation.dedupe-window:10000}")
+    private int dedupeWindow;
+
+    /** Capped collection size; bounds how far an instance can fall behind before a gap. */
+    public long getCollectionSizeBytes() {
+        return collectionSizeBytes;
+    }
+
+    public long getMaxDocuments() {
+        return maxDocuments;
+    }
+
+    /** How long one read of the tailable cursor waits for a new entry. */
+    public Duration getMaxAwait() {
+        return Duration.ofMillis(maxAwaitMs);
+    }
+
+    public Duration getRetryDelay() {
+        return Duration.ofMillis(retryDelayMs);
+    }
+
+    /**
+     * How far back a reopened cursor starts before the last entry seen.
+     * ObjectIds from different instances are not strictly ordered, so the
+     * overlap catches entries that landed just behind it.
+     */
+    public Duration getReopenOverlap() {
+        return Duration.ofMillis(reopenOverlapMs);
+    }
+
+    /** Recently delivered entry ids remembered to drop the overlap's repeats. */
+    public int getDedupeWindow() {
+        return dedupeWindow;
+    }
+}
@@ -0,0 +1,104 @@
+package hazardhub.com.hub.config;
+
+import hazardhub.com.hub.resilience.AdaptiveConcurrencyLimiter;
+import hazardhub.com.hub.security.ConcurrencyLimitFilter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@Slf4j
+@ConditionalOnProperty(name = "concurrency-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfig {
+
+    @Value("${concurrency-limit.initial-limit:50}")
+    private int initialLimit;
+
+    @Value("${concurrency-limit.min-limit:10}")
+    private int minLimit;
+
+    @Value("${concurrency-limit.max-limit:180}")
+    private int maxLimit;
+
+    @Value("${concurrency-limit.low-share:0.5}")
+    private double lowShare;
+
+    @Value("${concurrency-limit.normal-share:0.9}")
+    private double normalShare;
+
+    @Value("${concurrency-limit.critical-headroom:20}")
+    private int criticalHeadroom;
+
+    @Value("${server.tomcat.threads.max:200}")
+    private int serverMaxThreads;
+
+    @Bean
+    public AdaptiveConcurrencyLimiter serverConcurrencyLimiter() {
+        int effectiveMaxLimit = effectiveMaxLimit();
+        return new AdaptiveConcurrencyLimiter(AdaptiveConcurrencyLimiter.Settings.builder()
+                .initialLimit(Math.min(initialLimit, effectiveMaxLimit))
+                .minLimit(minLimit)
+                .maxLimit(effectiveMaxLimit)
+                .lowShare(lowShare)
+                .normalShare(normalShare)
+                .criticalHeadroom(criticalHeadroom)
+                .build());
+    }
+
+    /**
+     * CRITICAL requests are admitted up to {@code criticalHeadroom} above the
+     * limit, which only helps while Tomcat still has a free request thread for
+     * them. A limit above {@code threads.max - criticalHeadroom} is therefore
+     * never reached and the reserve silently disappears, so it is capped here.
+     */
+    private int effectiveMaxLimit() {
+        int cap = serverMaxThreads - criticalHeadroom;
+        if (cap < minLimit) {
+            throw new IllegalStateException("server.tomcat.threads.max (" + serverMaxThreads
+                    + ") leaves no room for concurrency-limit.min-limit (" + minLimit
+                    + ") plus concurrency-limit.critical-headroom (" + criticalHeadroom + ")");
+        }
+        if (maxLimit > cap) {
+            log.warn("concurrency-limit.max-limit {} exceeds server.tomcat.threads.max {} minus critical headroom {};"
+                    + " capping at {}", maxLimit, serverMaxThreads, criticalHeadroom, cap);
+            return cap;
+        }
+        return maxLimit;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            AdaptiveConcurrencyLimiter serverConcurrencyLimiter) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter(serverConcurrencyLimiter));
+        registration.addUrlPatterns("/api/*");
+        // Ahead of the Spring Security chain
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    @Bean
+    public MeterBinder concurrencyLimitMetrics(AdaptiveConcurrencyLimiter serverConcurrencyLimiter) {
+        return registry -> {
+            Gauge.builder("hazardhub.server.concurrency.limit", serverConcurrencyLimiter,
+                    AdaptiveConcurrencyLimiter::getLimit)
+                    .description("Current adaptive concurrency limit")
+                    .register(registry);
+            Gauge.builder("hazardhub.server.concurrency.inflight", serverConcurrencyLimiter,
+                    AdaptiveConcurrencyLimiter::getInFlight)
+                    .description("Requests currently admitted")
+                    .register(registry);
+            FunctionCounter.builder("hazardhub.server.concurrency.rejected", serverConcurrencyLimiter,
+                    AdaptiveConcurrencyLimiter::getRejectedCount)
+                    .description("Requests shed by the concurrency limiter")
+                    .register(registry);
+        };
+    }
+}
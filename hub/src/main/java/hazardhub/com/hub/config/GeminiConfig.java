@@ -1,26 +1,125 @@
 package hazardhub.com.hub.config;
 
+import hazardhub.com.hub.model.dto.ImageAnalysisResponseDTO;
+import hazardhub.com.hub.model.dto.RouteSuggestionResponseDTO;
+import hazardhub.com.hub.resilience.ExternalApiGuard;
+import hazardhub.com.hub.resilience.SingleFlight;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestClient;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+
 @Configuration
 public class GeminiConfig {
 
+    /**
+     * How {@code /ai/chat} produces its reply when route context is present.
+     * ROUTE_MESSAGE reuses the route-suggestion {@code message} when Gemini
+     * wrote it (one Gemini call) and otherwise asks for a reply; SEPARATE_REPLY
+     * always asks Gemini again with the routes in the prompt.
+     */
+    public enum ChatMode {
+        ROUTE_MESSAGE,
+        SEPARATE_REPLY
+    }
+
     @Value("${gemini.api.key:}")
     private String apiKey;
 
     @Value("${gemini.api.model:gemini-2.0-flash}")
     private String model;
 
+    @Value("${gemini.chat.mode:ROUTE_MESSAGE}")
+    private ChatMode chatMode;
+
+    @Value("${gemini.route-suggestion.streaming:true}")
+    private boolean routeStreamingEnabled;
+
+    @Value("${gemini.cache.enabled:true}")
+    private boolean promptCacheEnabled;
+
+    @Value("${gemini.cache.ttl-seconds:3600}")
+    private long promptCacheTtlSeconds;
+
+    @Value("${gemini.cache.refresh-margin-seconds:300}")
+    private long promptCacheRefreshMarginSeconds;
+
+    @Value("${gemini.cache.failure-cooldown-seconds:600}")
+    private long promptCacheFailureCooldownSeconds;
+
+    @Value("${gemini.single-flight.wait-timeout-ms:45000}")
+    private long singleFlightWaitTimeoutMs;
+
+    @Value("${gemini.http.read-timeout-ms:30000}")
+    private long readTimeoutMs;
+
+    @Value("${gemini.bulkhead.max-concurrent:8}")
+    private int maxConcurrent;
+
+    @Value("${gemini.bulkhead.acquire-timeout-ms:250}")
+    private long acquireTimeoutMs;
+
+    @Value("${gemini.retry.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${gemini.retry.base-backoff-ms:200}")
+    private long baseBackoffMs;
+
+    @Value("${gemini.retry.max-backoff-ms:2000}")
+    private long maxBackoffMs;
+
+    @Value("${gemini.circuit.failure-threshold:5}")
+    private int failureThreshold;
+
+    @Value("${gemini.circuit.open-ms:30000}")
+    private long openMs;
+
     @Bean
-    public RestClient geminiRestClient() {
-        return RestClient.builder()
+    public RestClient geminiRestClient(RestClient.Builder restClientBuilder,
+            @Qualifier("geminiHttpClient") HttpClient geminiHttpClient) {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(geminiHttpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+
+        return restClientBuilder
                 .baseUrl("https://generativelanguage.googleapis.com/v1beta")
+                .requestFactory(requestFactory)
                 .build();
     }
 
+    @Bean
+    public ExternalApiGuard geminiApiGuard() {
+        return new ExternalApiGuard("gemini", ExternalApiGuard.Settings.builder()
+                .maxConcurrent(maxConcurrent)
+                .acquireTimeoutMs(acquireTimeoutMs)
+                .maxAttempts(maxAttempts)
+                .baseBackoffMs(baseBackoffMs)
+                .maxBackoffMs(maxBackoffMs)
+                .failureThreshold(failureThreshold)
+                .openMs(openMs)
+                .build());
+    }
+
+    /**
+     * Coalesces concurrent route suggestions for the same normalized request.
+     */
+    @Bean
+    public SingleFlight<String, RouteSuggestionResponseDTO> routeSuggestionFlight() {
+        return new SingleFlight<>("route-suggestion", Duration.ofMillis(singleFlightWaitTimeoutMs));
+    }
+
+    /**
+     * Coalesces concurrent analyses of the same image URL.
+     */
+    @Bean
+    public SingleFlight<String, ImageAnalysisResponseDTO> imageAnalysisFlight() {
+        return new SingleFlight<>("image-analysis", Duration.ofMillis(singleFlightWaitTimeoutMs));
+    }
+
     public String getApiKey() {
         return apiKey;
     }
@@ -28,4 +127,32 @@ public class GeminiConfig {
     public String getModel() {
         return model;
     }
+
+    public boolean isRouteStreamingEnabled() {
+        return routeStreamingEnabled;
+    }
+
+    public ChatMode getChatMode() {
+        return chatMode;
+    }
+
+    public boolean isPromptCacheEnabled() {
+        return promptCacheEnabled;
+    }
+
+    public long getPromptCacheTtlSeconds() {
+        return promptCacheTtlSeconds;
+    }
+
+    public long getPromptCacheRefreshMarginSeconds() {
+        return promptCacheRefreshMarginSeconds;
+    }
+
+    public long getPromptCacheFailureCooldownSeconds() {
+        return promptCacheFailureCooldownSeconds;
+    }
+
+    public long getSingleFlightWaitTimeoutMs() {
+        return singleFlightWaitTimeoutMs;
+    }
 }
@@ -1,24 +1,81 @@
 package hazardhub.com.hub.config;
 
+import hazardhub.com.hub.http.GzipDecompressingInterceptor;
+import hazardhub.com.hub.resilience.ExternalApiGuard;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestClient;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+
 @Configuration
 public class GoogleMapsConfig {
 
     @Value("${google.maps.api.key:}")
     private String apiKey;
 
+    @Value("${google.maps.directions.speculative-prefetch:true}")
+    private boolean speculativePrefetch;
+
+    @Value("${google.maps.http.read-timeout-ms:5000}")
+    private long readTimeoutMs;
+
+    @Value("${google.maps.bulkhead.max-concurrent:16}")
+    private int maxConcurrent;
+
+    @Value("${google.maps.bulkhead.acquire-timeout-ms:250}")
+    private long acquireTimeoutMs;
+
+    @Value("${google.maps.retry.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${google.maps.retry.base-backoff-ms:100}")
+    private long baseBackoffMs;
+
+    @Value("${google.maps.retry.max-backoff-ms:1000}")
+    private long maxBackoffMs;
+
+    @Value("${google.maps.circuit.failure-threshold:5}")
+    private int failureThreshold;
+
+    @Value("${google.maps.circuit.open-ms:15000}")
+    private long openMs;
+
     @Bean
-    public RestClient googleMapsRestClient() {
-        return RestClient.builder()
+    public RestClient googleMapsRestClient(RestClient.Builder restClientBuilder,
+            @Qualifier("googleMapsHttpClient") HttpClient googleMapsHttpClient) {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(googleMapsHttpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+
+        return restClientBuilder
                 .baseUrl("https://maps.googleapis.com")
+                .requestFactory(requestFactory)
+                .requestInterceptor(new GzipDecompressingInterceptor())
                 .build();
     }
 
+    @Bean
+    public ExternalApiGuard directionsApiGuard() {
+        return new ExternalApiGuard("google-directions", ExternalApiGuard.Settings.builder()
+                .maxConcurrent(maxConcurrent)
+                .acquireTimeoutMs(acquireTimeoutMs)
+                .maxAttempts(maxAttempts)
+                .baseBackoffMs(baseBackoffMs)
+                .maxBackoffMs(maxBackoffMs)
+                .failureThreshold(failureThreshold)
+                .openMs(openMs)
+                .build());
+    }
+
     public String getApiKey() {
         return apiKey;
     }
+
+    public boolean isSpeculativePrefetch() {
+        return speculativePrefetch;
+    }
 }
@@ -0,0 +1,41 @@
+package hazardhub.com.hub.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Incremental hazard sync for offline-capable clients; see
+ * {@link hazardhub.com.hub.service.HazardSyncService}.
+ */
+@Configuration
+public class HazardSyncConfig {
+
+    @Value("${hazard.sync.max-page-size:1000}")
+    private int maxPageSize;
+
+    @Value("${hazard.sync.settle-ms:5000}")
+    private long settleMs;
+
+    @Value("${hazard.sync.tombstone-retention-days:30}")
+    private int tombstoneRetentionDays;
+
+    public int getMaxPageSize() {
+        return maxPageSize;
+    }
+
+    /**
+     * How far behind the clock a sync token is held back. Changes this recent
+     * are sent again on the next sync, so a write that committed out of order
+     * with its timestamp is not skipped.
+     */
+    public Duration getSettle() {
+        return Duration.ofMillis(settleMs);
+    }
+
+    /** Tokens older than this ask the client for a full resync. */
+    public Duration getTombstoneRetention() {
+        return Duration.ofDays(tombstoneRetentionDays);
+    }
+}
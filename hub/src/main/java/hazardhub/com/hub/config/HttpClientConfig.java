@@ -0,0 +1,118 @@
+package hazardhub.com.hub.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Shared {@link HttpClient}s for external APIs. Each upstream gets its own
+ * client (and therefore its own connection pool), negotiating HTTP/2 so
+ * concurrent calls multiplex over one warm TLS connection per host instead of
+ * paying a handshake per request.
+ */
+@Configuration
+@Slf4j
+public class HttpClientConfig {
+
+    @Value("${http.client.keepalive-timeout-seconds:120}")
+    private String keepAliveTimeoutSeconds;
+
+    @Value("${gemini.http.connect-timeout-ms:3000}")
+    private long geminiConnectTimeoutMs;
+
+    @Value("${google.maps.http.connect-timeout-ms:2000}")
+    private long googleMapsConnectTimeoutMs;
+
+    @Value("${http.client.prewarm:true}")
+    private boolean prewarm;
+
+    /**
+     * Keeps idle pooled connections long enough to survive gaps between user
+     * requests. The JDK client reads these system properties once, when its
+     * first instance is created, and they apply JVM-wide; values passed with
+     * {@code -D} win, and an empty setting keeps the JDK default.
+     */
+    @PostConstruct
+    public void applyKeepAliveTimeout() {
+        if (keepAliveTimeoutSeconds.isBlank()) {
+            return;
+        }
+        setIfAbsent("jdk.httpclient.keepalive.timeout", keepAliveTimeoutSeconds);
+        setIfAbsent("jdk.httpclient.keepalive.timeout.h2", keepAliveTimeoutSeconds);
+    }
+
+    @Bean(destroyMethod = "close")
+    public ExecutorService externalHttpExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @Bean
+    public HttpClient geminiHttpClient(@Qualifier("externalHttpExecutor") ExecutorService externalHttpExecutor) {
+        return newHttpClient(geminiConnectTimeoutMs, externalHttpExecutor);
+    }
+
+    @Bean
+    public HttpClient googleMapsHttpClient(@Qualifier("externalHttpExecutor") ExecutorService externalHttpExecutor) {
+        return newHttpClient(googleMapsConnectTimeoutMs, externalHttpExecutor);
+    }
+
+    /**
+     * Opens the TLS/HTTP2 connection to each upstream at startup so the first
+     * user request does not pay the handshake.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void prewarmConnections(ApplicationReadyEvent event) {
+        if (!prewarm) {
+            return;
+        }
+        ApplicationContext context = event.getApplicationContext();
+        prewarm(context.getBean("geminiHttpClient", HttpClient.class), "https://generativelanguage.googleapis.com/");
+        prewarm(context.getBean("googleMapsHttpClient", HttpClient.class), "https://maps.googleapis.com/");
+    }
+
+    private void prewarm(HttpClient client, String url) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                .timeout(Duration.ofSeconds(5))
+                .build();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    if (error != null) {
+                        log.debug("Connection prewarm to {} failed: {}", url, error.getMessage());
+                    } else {
+                        log.info("Prewarmed connection to {} ({})", url, response.version());
+                    }
+                });
+    }
+
+    private static HttpClient newHttpClient(long connectTimeoutMs, ExecutorService executor) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .executor(executor)
+                .build();
+    }
+
+    private static void setIfAbsent(String key, String value) {
+        if (System.getProperty(key) == null) {
+            System.setProperty(key, value);
+        } else {
+            log.info("Keeping {}={} from the JVM arguments", key, System.getProperty(key));
+        }
+    }
+}
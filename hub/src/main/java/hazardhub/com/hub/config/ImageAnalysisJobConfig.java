@@ -0,0 +1,66 @@
+package hazardhub.com.hub.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Asynchronous image analysis. Jobs are queued in Mongo and processed by a
+ * fixed number of workers per instance; 0 workers makes an instance accept
+ * and serve jobs without processing any.
+ */
+@Configuration
+public class ImageAnalysisJobConfig {
+
+    @Value("${image.analysis.jobs.workers:4}")
+    private int workers;
+
+    @Value("${image.analysis.jobs.poll-interval-ms:2000}")
+    private long pollIntervalMs;
+
+    @Value("${image.analysis.jobs.lease-ms:120000}")
+    private long leaseMs;
+
+    @Value("${image.analysis.jobs.max-attempts:4}")
+    private int maxAttempts;
+
+    @Value("${image.analysis.jobs.retry-backoff-ms:5000}")
+    private long retryBackoffMs;
+
+    @Value("${image.analysis.jobs.retention-hours:24}")
+    private long retentionHours;
+
+    @Value("${image.analysis.jobs.sse-timeout-ms:180000}")
+    private long sseTimeoutMs;
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    public long getPollIntervalMs() {
+        return pollIntervalMs;
+    }
+
+    /** Must outlast one download plus a Gemini call with retries. */
+    public Duration getLease() {
+        return Duration.ofMillis(leaseMs);
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /** Delay before a failed job is retried, doubled for each attempt. */
+    public Duration retryDelay(int attempts) {
+        return Duration.ofMillis(retryBackoffMs << Math.min(Math.max(attempts - 1, 0), 10));
+    }
+
+    public Duration getRetention() {
+        return Duration.ofHours(retentionHours);
+    }
+
+    public long getSseTimeoutMs() {
+        return sseTimeoutMs;
+    }
+}
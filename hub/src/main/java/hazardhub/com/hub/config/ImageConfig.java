@@ -0,0 +1,132 @@
+package hazardhub.com.hub.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class ImageConfig {
+
+    @Value("${image.download.max-bytes:20971520}")
+    private long maxDownloadBytes;
+
+    @Value("${image.download.connect-timeout-ms:5000}")
+    private int connectTimeoutMs;
+
+    @Value("${image.download.read-timeout-ms:15000}")
+    private int readTimeoutMs;
+
+    @Value("${image.analysis.max-dimension:1024}")
+    private int analysisMaxDimension;
+
+    @Value("${image.jpeg-quality:0.85}")
+    private float jpegQuality;
+
+    @Value("${image.analysis.max-passthrough-bytes:4194304}")
+    private long maxPassthroughBytes;
+
+    @Value("${image.thumbnail.width:320}")
+    private int thumbnailWidth;
+
+    @Value("${image.thumbnail.height:240}")
+    private int thumbnailHeight;
+
+    @Value("${image.thumbnail.jpeg-quality:0.8}")
+    private float thumbnailJpegQuality;
+
+    @Value("${image.thumbnail.workers:2}")
+    private int thumbnailWorkers;
+
+    @Value("${image.thumbnail.queue-capacity:200}")
+    private int thumbnailQueueCapacity;
+
+    @Value("${image.thumbnail.backfill-batch-size:100}")
+    private int thumbnailBackfillBatchSize;
+
+    @Value("${image.analysis.cache.enabled:true}")
+    private boolean analysisCacheEnabled;
+
+    @Value("${image.analysis.cache.max-entries:2000}")
+    private int analysisCacheMaxEntries;
+
+    @Value("${image.analysis.cache.content-ttl-days:30}")
+    private long analysisCacheContentTtlDays;
+
+    @Value("${image.analysis.cache.url-ttl-hours:24}")
+    private long analysisCacheUrlTtlHours;
+
+    public long getMaxDownloadBytes() {
+        return maxDownloadBytes;
+    }
+
+    public int getConnectTimeoutMs() {
+        return connectTimeoutMs;
+    }
+
+    public int getReadTimeoutMs() {
+        return readTimeoutMs;
+    }
+
+    public int getAnalysisMaxDimension() {
+        return analysisMaxDimension;
+    }
+
+    public float getJpegQuality() {
+        return jpegQuality;
+    }
+
+    /**
+     * Largest original sent to Gemini as-is when ImageIO cannot decode it
+     * (e.g. WebP); bigger ones are rejected rather than uploaded unscaled.
+     */
+    public long getMaxPassthroughBytes() {
+        return maxPassthroughBytes;
+    }
+
+    public int getThumbnailWidth() {
+        return thumbnailWidth;
+    }
+
+    public int getThumbnailHeight() {
+        return thumbnailHeight;
+    }
+
+    public float getThumbnailJpegQuality() {
+        return thumbnailJpegQuality;
+    }
+
+    public int getThumbnailWorkers() {
+        return thumbnailWorkers;
+    }
+
+    /** Thumbnails that do not fit are left to the periodic backfill. */
+    public int getThumbnailQueueCapacity() {
+        return thumbnailQueueCapacity;
+    }
+
+    public int getThumbnailBackfillBatchSize() {
+        return thumbnailBackfillBatchSize;
+    }
+
+    public boolean isAnalysisCacheEnabled() {
+        return analysisCacheEnabled;
+    }
+
+    /** Size of the in-memory tier; the Mongo tier is bounded only by TTL. */
+    public int getAnalysisCacheMaxEntries() {
+        return analysisCacheMaxEntries;
+    }
+
+    public Duration getAnalysisCacheContentTtl() {
+        return Duration.ofDays(analysisCacheContentTtlDays);
+    }
+
+    /**
+     * Kept shorter than the content TTL: an object overwritten in place can
+     * keep its download URL while its bytes change.
+     */
+    public Duration getAnalysisCacheUrlTtl() {
+        return Duration.ofHours(analysisCacheUrlTtlHours);
+    }
+}
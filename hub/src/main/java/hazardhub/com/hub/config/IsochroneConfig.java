@@ -0,0 +1,68 @@
+package hazardhub.com.hub.config;
+
+import hazardhub.com.hub.routing.IsochroneSearch;
+import hazardhub.com.hub.routing.RoadGraph;
+import hazardhub.com.hub.routing.TravelMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Reachability isochrones. With {@code routing.provider=local} they expand
+ * over the road graph; otherwise they fall back to a grid approximation that
+ * assumes a straight-line speed per travel mode, discounted for how much
+ * longer real streets are than the crow flies.
+ */
+@Configuration
+public class IsochroneConfig {
+
+    @Value("${isochrone.cell-meters:100}")
+    private double cellMeters;
+
+    @Value("${isochrone.max-cells-per-side:400}")
+    private int maxCellsPerSide;
+
+    @Value("${isochrone.road-dilation-cells:1}")
+    private int roadDilationCells;
+
+    @Value("${isochrone.access-meters:300}")
+    private double accessMeters;
+
+    @Value("${isochrone.grid.driving-speed-kmh:30}")
+    private double gridDrivingSpeedKmh;
+
+    @Value("${isochrone.grid.circuity:1.3}")
+    private double gridCircuity;
+
+    @Bean
+    @ConditionalOnProperty(name = "routing.provider", havingValue = "local")
+    public IsochroneSearch isochroneSearch(RoadGraph roadGraph) {
+        return new IsochroneSearch(roadGraph);
+    }
+
+    /**
+     * Cell size for a region of the given radius: the configured size, or
+     * coarser if that would exceed the per-side cell limit.
+     */
+    public double cellMetersFor(double radiusMeters) {
+        return Math.max(cellMeters, 2 * radiusMeters / maxCellsPerSide);
+    }
+
+    public int getRoadDilationCells() {
+        return roadDilationCells;
+    }
+
+    public double getAccessMeters() {
+        return accessMeters;
+    }
+
+    /**
+     * Effective straight-line speed in meters per second the grid
+     * approximation assumes for a mode.
+     */
+    public double gridSpeedMetersPerSecond(TravelMode mode) {
+        double kmh = mode.getFixedSpeedKmh() > 0 ? mode.getFixedSpeedKmh() : gridDrivingSpeedKmh;
+        return kmh / 3.6 / gridCircuity;
+    }
+}
@@ -11,11 +11,13 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.AuditorAware;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.config.EnableMongoAuditing;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.index.CompoundIndexDefinition;
 import org.springframework.data.mongodb.core.index.GeoSpatialIndexType;
 import org.springframework.data.mongodb.core.index.GeospatialIndex;
+import org.springframework.data.mongodb.core.index.Index;
 import org.springframework.data.mongodb.core.index.IndexOperations;
 
 import java.util.Optional;
@@ -48,6 +50,9 @@ public class MongoConfig {
         } else {
             log.info("Index on 'location' field already exists for Hazard collection");
         }
+
+        // Thumbnail backfill looks for hazards that have an image but no thumbnail yet
+        indexOps.createIndex(new Index().on("image_url", Sort.Direction.ASC).sparse());
     }
 
     @EventListener(ApplicationReadyEvent.class)
@@ -84,5 +89,20 @@ public class MongoConfig {
         } else {
             log.info("Compound index on 'trip_id' + 'is_selected' already exists for Route collection");
         }
+
+        boolean pathIndexExists = indexOps.getIndexInfo().stream()
+                .anyMatch(indexInfo -> indexInfo.getIndexFields().stream()
+                        .anyMatch(field -> "path".equals(field.getKey())));
+
+        if (!pathIndexExists) {
+            indexOps.createIndex(new GeospatialIndex("path").typed(GeoSpatialIndexType.GEO_2DSPHERE));
+            log.info("Created 2dsphere index on 'path' field for Route collection");
+        } else {
+            log.info("Index on 'path' field already exists for Route collection");
+        }
+
+        // Re-scoring finds routes by the hazards they were scored with and by their pending mark
+        indexOps.createIndex(new Index().on("hazards_considered", Sort.Direction.ASC));
+        indexOps.createIndex(new Index().on("rescore_pending", Sort.Direction.ASC).sparse());
     }
 }
@@ -0,0 +1,80 @@
+package hazardhub.com.hub.config;
+
+import hazardhub.com.hub.service.RateLimitService.Policy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+
+/**
+ * Request budgets for the AI endpoints. Each endpoint has a per-user bucket
+ * (keyed on the Firebase uid) and a global bucket shared by all users, so one
+ * client cannot exhaust the Gemini quota for everyone else.
+ */
+@Configuration
+public class RateLimitConfig {
+
+    public static final String ANALYZE_IMAGE = "analyze-image";
+    public static final String SUGGEST_ROUTES = "suggest-routes";
+    public static final String CHAT = "chat";
+
+    @Value("${rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${rate-limit.max-tracked-clients:100000}")
+    private int maxTrackedClients;
+
+    @Value("${rate-limit.analyze-image.user.capacity:5}")
+    private int analyzeImageUserCapacity;
+
+    @Value("${rate-limit.analyze-image.user.per-minute:10}")
+    private double analyzeImageUserPerMinute;
+
+    @Value("${rate-limit.analyze-image.global.capacity:50}")
+    private int analyzeImageGlobalCapacity;
+
+    @Value("${rate-limit.analyze-image.global.per-minute:300}")
+    private double analyzeImageGlobalPerMinute;
+
+    @Value("${rate-limit.suggest-routes.user.capacity:5}")
+    private int suggestRoutesUserCapacity;
+
+    @Value("${rate-limit.suggest-routes.user.per-minute:20}")
+    private double suggestRoutesUserPerMinute;
+
+    @Value("${rate-limit.suggest-routes.global.capacity:100}")
+    private int suggestRoutesGlobalCapacity;
+
+    @Value("${rate-limit.suggest-routes.global.per-minute:600}")
+    private double suggestRoutesGlobalPerMinute;
+
+    @Value("${rate-limit.chat.user.capacity:10}")
+    private int chatUserCapacity;
+
+    @Value("${rate-limit.chat.user.per-minute:30}")
+    private double chatUserPerMinute;
+
+    @Value("${rate-limit.chat.global.capacity:100}")
+    private int chatGlobalCapacity;
+
+    @Value("${rate-limit.chat.global.per-minute:600}")
+    private double chatGlobalPerMinute;
+
+    public Map<String, Policy> getPolicies() {
+        return Map.of(
+                ANALYZE_IMAGE, new Policy(analyzeImageUserCapacity, analyzeImageUserPerMinute,
+                        analyzeImageGlobalCapacity, analyzeImageGlobalPerMinute),
+                SUGGEST_ROUTES, new Policy(suggestRoutesUserCapacity, suggestRoutesUserPerMinute,
+                        suggestRoutesGlobalCapacity, suggestRoutesGlobalPerMinute),
+                CHAT, new Policy(chatUserCapacity, chatUserPerMinute,
+                        chatGlobalCapacity, chatGlobalPerMinute));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getMaxTrackedClients() {
+        return maxTrackedClients;
+    }
+}
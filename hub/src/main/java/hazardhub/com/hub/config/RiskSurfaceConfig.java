@@ -0,0 +1,81 @@
+package hazardhub.com.hub.config;
+
+import hazardhub.com.hub.model.enums.HazardSeverity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.time.ZoneId;
+
+/**
+ * Historical hazard-risk surface. Risk is a decayed count of hazard-hours per
+ * cell and hour of week, weighted by severity; route scoring turns it into a
+ * capped safety-score penalty.
+ */
+@Configuration
+public class RiskSurfaceConfig {
+
+    @Value("${risk.surface.cell-degrees:0.005}")
+    private double cellDegrees;
+
+    @Value("${risk.surface.half-life-days:90}")
+    private long halfLifeDays;
+
+    @Value("${risk.surface.time-zone:UTC}")
+    private String timeZone;
+
+    @Value("${risk.surface.max-active-hours:168}")
+    private int maxActiveHours;
+
+    @Value("${risk.surface.weight.low:1}")
+    private double lowWeight;
+
+    @Value("${risk.surface.weight.medium:2}")
+    private double mediumWeight;
+
+    @Value("${risk.surface.weight.high:4}")
+    private double highWeight;
+
+    @Value("${risk.surface.weight.critical:8}")
+    private double criticalWeight;
+
+    @Value("${risk.surface.safety-penalty-per-unit:2}")
+    private double safetyPenaltyPerUnit;
+
+    @Value("${risk.surface.max-safety-penalty:20}")
+    private double maxSafetyPenalty;
+
+    public double getCellDegrees() {
+        return cellDegrees;
+    }
+
+    public Duration getHalfLife() {
+        return Duration.ofDays(halfLifeDays);
+    }
+
+    public ZoneId getZone() {
+        return ZoneId.of(timeZone);
+    }
+
+    /**
+     * Cap on the hours one hazard contributes, so a report left active for
+     * months does not dominate its cell.
+     */
+    public int getMaxActiveHours() {
+        return maxActiveHours;
+    }
+
+    /** Weight per {@link HazardSeverity#ordinal()}. */
+    public double[] getSeverityWeights() {
+        double[] weights = new double[HazardSeverity.values().length];
+        weights[HazardSeverity.LOW.ordinal()] = lowWeight;
+        weights[HazardSeverity.MEDIUM.ordinal()] = mediumWeight;
+        weights[HazardSeverity.HIGH.ordinal()] = highWeight;
+        weights[HazardSeverity.CRITICAL.ordinal()] = criticalWeight;
+        return weights;
+    }
+
+    public double safetyPenalty(double risk) {
+        return Math.min(maxSafetyPenalty, risk * safetyPenaltyPerUnit);
+    }
+}
@@ -0,0 +1,54 @@
+package hazardhub.com.hub.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Incremental re-scoring of stored routes. Hazard changes mark the routes of
+ * planning and active trips they may affect; a background worker re-scores
+ * marked routes in batches.
+ */
+@Configuration
+public class RouteRescoringConfig {
+
+    @Value("${route.rescore.batch-size:200}")
+    private int batchSize;
+
+    @Value("${route.rescore.max-batches-per-run:10}")
+    private int maxBatchesPerRun;
+
+    @Value("${route.rescore.circle-segments:16}")
+    private int circleSegments;
+
+    @Value("${route.rescore.min-hazard-radius-meters:25}")
+    private double minHazardRadiusMeters;
+
+    @Value("${route.rescore.hazard-search-margin-meters:2000}")
+    private double hazardSearchMarginMeters;
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public int getMaxBatchesPerRun() {
+        return maxBatchesPerRun;
+    }
+
+    /** Vertices of the polygon approximating a hazard's radius in the route lookup. */
+    public int getCircleSegments() {
+        return circleSegments;
+    }
+
+    /** Radius used to find routes through hazards reported without one. */
+    public double getMinHazardRadiusMeters() {
+        return minHazardRadiusMeters;
+    }
+
+    /**
+     * How far beyond a route's extent to look for hazards, which must cover
+     * the largest affected radius a hazard can have.
+     */
+    public double getHazardSearchMarginMeters() {
+        return hazardSearchMarginMeters;
+    }
+}
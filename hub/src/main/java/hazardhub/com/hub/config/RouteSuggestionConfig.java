@@ -0,0 +1,73 @@
+package hazardhub.com.hub.config;
+
+import hazardhub.com.hub.geo.DetourWaypointPlanner;
+import hazardhub.com.hub.model.enums.HazardSeverity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RouteSuggestionConfig {
+
+    /**
+     * Where detour waypoints come from. PLANNER computes them geometrically
+     * from the direct route and hazard radii; GEMINI asks the model.
+     */
+    public enum WaypointSource {
+        PLANNER,
+        GEMINI
+    }
+
+    @Value("${route.suggestion.fast-path.enabled:true}")
+    private boolean fastPathEnabled;
+
+    @Value("${route.suggestion.fast-path.max-severity:LOW}")
+    private HazardSeverity fastPathMaxSeverity;
+
+    @Value("${route.suggestion.fast-path.max-hazards:3}")
+    private int fastPathMaxHazards;
+
+    @Value("${route.suggestion.dedup.waypoint-tolerance-meters:75}")
+    private double dedupWaypointToleranceMeters;
+
+    @Value("${route.suggestion.dedup.polyline-tolerance-meters:40}")
+    private double dedupPolylineToleranceMeters;
+
+    @Value("${route.suggestion.waypoints.source:PLANNER}")
+    private WaypointSource waypointSource;
+
+    @Value("${route.suggestion.planner.clearance-meters:50}")
+    private double plannerClearanceMeters;
+
+    @Value("${route.suggestion.planner.max-detour-meters:3000}")
+    private double plannerMaxDetourMeters;
+
+    @Bean
+    public DetourWaypointPlanner detourWaypointPlanner() {
+        return new DetourWaypointPlanner(plannerClearanceMeters, plannerMaxDetourMeters);
+    }
+
+    public boolean isFastPathEnabled() {
+        return fastPathEnabled;
+    }
+
+    public HazardSeverity getFastPathMaxSeverity() {
+        return fastPathMaxSeverity;
+    }
+
+    public int getFastPathMaxHazards() {
+        return fastPathMaxHazards;
+    }
+
+    public double getDedupWaypointToleranceMeters() {
+        return dedupWaypointToleranceMeters;
+    }
+
+    public double getDedupPolylineToleranceMeters() {
+        return dedupPolylineToleranceMeters;
+    }
+
+    public WaypointSource getWaypointSource() {
+        return waypointSource;
+    }
+}
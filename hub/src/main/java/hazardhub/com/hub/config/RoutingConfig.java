@@ -0,0 +1,152 @@
+package hazardhub.com.hub.config;
+
+import hazardhub.com.hub.model.enums.HazardSeverity;
+import hazardhub.com.hub.routing.AStarRouter;
+import hazardhub.com.hub.routing.CchRouter;
+import hazardhub.com.hub.routing.ContractionHierarchy;
+import hazardhub.com.hub.routing.RoadGraph;
+import hazardhub.com.hub.routing.TravelMode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Directions provider selection. {@code routing.provider=google} (default)
+ * calls the Google Directions API; {@code local} routes over an offline road
+ * graph loaded from {@code routing.graph.path}, penalizing edges near hazards.
+ *
+ * <p>
+ * With {@code routing.cch.enabled} the local provider answers from a
+ * contraction hierarchy whose hazard overlay is refreshed in the background,
+ * and uses per-query A* only until the first customization completes.
+ */
+@Configuration
+@Slf4j
+public class RoutingConfig {
+
+    public static final String CCH_ENABLED = "'${routing.provider:google}' == 'local' and ${routing.cch.enabled:true}";
+
+    @Value("${routing.graph.path:}")
+    private String graphPath;
+
+    @Value("${routing.snap-max-meters:300}")
+    private double snapMaxMeters;
+
+    @Value("${routing.hazard-search-margin-meters:2000}")
+    private double hazardSearchMarginMeters;
+
+    @Value("${routing.cch.path:}")
+    private String cchPath;
+
+    @Value("${routing.cch.modes:driving,bicycling,walking}")
+    private List<String> cchModes;
+
+    @Value("${routing.cch.full-refresh-ms:60000}")
+    private long cchFullRefreshMs;
+
+    @Value("${routing.hazard-penalty.low:1.5}")
+    private double lowPenalty;
+
+    @Value("${routing.hazard-penalty.medium:3}")
+    private double mediumPenalty;
+
+    @Value("${routing.hazard-penalty.high:10}")
+    private double highPenalty;
+
+    @Value("${routing.hazard-penalty.critical:100}")
+    private double criticalPenalty;
+
+    @Bean
+    @ConditionalOnProperty(name = "routing.provider", havingValue = "local")
+    public RoadGraph roadGraph() {
+        if (graphPath.isBlank()) {
+            throw new IllegalStateException("routing.provider=local requires routing.graph.path");
+        }
+        long start = System.nanoTime();
+        try {
+            RoadGraph graph = RoadGraph.load(Path.of(graphPath));
+            log.info("Loaded road graph {} ({} nodes, {} edges) in {}ms", graphPath, graph.getNodeCount(),
+                    graph.getEdgeCount(), (System.nanoTime() - start) / 1_000_000);
+            return graph;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load road graph " + graphPath, e);
+        }
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "routing.provider", havingValue = "local")
+    public AStarRouter aStarRouter(RoadGraph roadGraph) {
+        return new AStarRouter(roadGraph);
+    }
+
+    /**
+     * Loads the persisted hierarchy next to the graph, building and persisting
+     * it first if it is missing or was built for a different graph.
+     */
+    @Bean
+    @ConditionalOnExpression(CCH_ENABLED)
+    public ContractionHierarchy contractionHierarchy(RoadGraph roadGraph) {
+        Path path = Path.of(cchPath.isBlank() ? graphPath + ".cch" : cchPath);
+        long start = System.nanoTime();
+        try {
+            ContractionHierarchy hierarchy = ContractionHierarchy.loadOrBuild(path, roadGraph);
+            log.info("Contraction hierarchy {} ready ({} arcs) in {}ms", path, hierarchy.getArcCount(),
+                    (System.nanoTime() - start) / 1_000_000);
+            return hierarchy;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load or build contraction hierarchy " + path, e);
+        }
+    }
+
+    @Bean
+    @ConditionalOnExpression(CCH_ENABLED)
+    public CchRouter cchRouter(RoadGraph roadGraph, ContractionHierarchy contractionHierarchy) {
+        return new CchRouter(roadGraph, contractionHierarchy);
+    }
+
+    public double getSnapMaxMeters() {
+        return snapMaxMeters;
+    }
+
+    public double getHazardSearchMarginMeters() {
+        return hazardSearchMarginMeters;
+    }
+
+    public Set<TravelMode> getCchModes() {
+        Set<TravelMode> modes = EnumSet.noneOf(TravelMode.class);
+        for (String mode : cchModes) {
+            modes.add(TravelMode.fromDirectionsMode(mode.strip()));
+        }
+        return modes;
+    }
+
+    public long getCchFullRefreshMs() {
+        return cchFullRefreshMs;
+    }
+
+    /**
+     * Travel-time multiplier for an edge inside a hazard's affected radius, by
+     * severity. CRITICAL is steep rather than infinite so a route still exists
+     * when a hazard blocks the only road.
+     */
+    public Map<HazardSeverity, Double> getHazardPenalties() {
+        Map<HazardSeverity, Double> penalties = new EnumMap<>(HazardSeverity.class);
+        penalties.put(HazardSeverity.LOW, lowPenalty);
+        penalties.put(HazardSeverity.MEDIUM, mediumPenalty);
+        penalties.put(HazardSeverity.HIGH, highPenalty);
+        penalties.put(HazardSeverity.CRITICAL, criticalPenalty);
+        return penalties;
+    }
+}
@@ -0,0 +1,48 @@
+package hazardhub.com.hub.config;
+
+import hazardhub.com.hub.security.RateLimitInterceptor;
+import hazardhub.com.hub.service.RateLimitService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Collaborators are looked up lazily because {@code @WebMvcTest} slices load
+ * this configurer without the config and service beans it relies on; when
+ * they are absent the corresponding handlers are simply not registered.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<RateLimitConfig> rateLimitConfig;
+    private final ObjectProvider<RateLimitService> rateLimitService;
+    private final ObjectProvider<BlobStorageConfig> blobStorageConfig;
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        BlobStorageConfig blobs = blobStorageConfig.getIfAvailable();
+        if (blobs != null && blobs.isFilesystem()) {
+            registry.addResourceHandler(blobs.getFilesystemBasePath() + "**")
+                    .addResourceLocations(blobs.getFilesystemRoot().toUri().toString());
+        }
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        RateLimitConfig config = rateLimitConfig.getIfAvailable();
+        RateLimitService service = rateLimitService.getIfAvailable();
+        if (config == null || service == null || !config.isEnabled()) {
+            return;
+        }
+        registry.addInterceptor(new RateLimitInterceptor(service, RateLimitConfig.ANALYZE_IMAGE))
+                .addPathPatterns("/api/v1/ai/analyze-hazard-image", "/api/v1/ai/image-analysis-jobs");
+        registry.addInterceptor(new RateLimitInterceptor(service, RateLimitConfig.SUGGEST_ROUTES))
+                .addPathPatterns("/api/v1/ai/suggest-routes");
+        registry.addInterceptor(new RateLimitInterceptor(service, RateLimitConfig.CHAT))
+                .addPathPatterns("/api/v1/ai/chat");
+    }
+}
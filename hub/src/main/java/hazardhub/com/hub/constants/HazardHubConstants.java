@@ -104,6 +104,7 @@ public final class HazardHubConstants {
         - Always suggest 2-3 routes when possible (safest, balanced, most direct).
         - If no hazards exist in the corridor, return 1 route with safetyScore 100 and tier RECOMMENDED.
         - The "message" field should be a friendly, concise summary a user would see in a chat.
+          It is shown to the user as the chat reply, so if the user message asks something, answer it there briefly.
         - Do NOT include polyline, distanceMeters, or durationSeconds — the backend will fill those from the Directions API.
         """;
 
@@ -1,8 +1,12 @@
 package hazardhub.com.hub.controller;
 
+import hazardhub.com.hub.exception.ExternalApiUnavailableException;
+import hazardhub.com.hub.geo.GeoMath;
 import hazardhub.com.hub.model.dto.ChatRequestDTO;
 import hazardhub.com.hub.model.dto.ChatResponseDTO;
 import hazardhub.com.hub.model.dto.HazardDTO;
+import hazardhub.com.hub.model.dto.ImageAnalysisJobDTO;
+import hazardhub.com.hub.model.dto.ImageAnalysisJobRequestDTO;
 import hazardhub.com.hub.model.dto.ImageAnalysisRequestDTO;
 import hazardhub.com.hub.model.dto.ImageAnalysisResponseDTO;
 import hazardhub.com.hub.model.dto.RouteSuggestionRequestDTO;
@@ -10,23 +14,32 @@ import hazardhub.com.hub.model.dto.RouteSuggestionResponseDTO;
 import hazardhub.com.hub.model.enums.VehicleType;
 import hazardhub.com.hub.service.GeminiService;
 import hazardhub.com.hub.service.HazardService;
+import hazardhub.com.hub.service.ImageAnalysisJobService;
 import hazardhub.com.hub.service.RouteSuggestionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/ai")
 @RequiredArgsConstructor
+@Slf4j
 @Validated
 @Tag(name = "AI", description = "AI-powered hazard analysis and route suggestions")
 public class AIController {
@@ -34,6 +47,7 @@ public class AIController {
     private final GeminiService geminiService;
     private final RouteSuggestionService routeSuggestionService;
     private final HazardService hazardService;
+    private final ImageAnalysisJobService imageAnalysisJobService;
 
     @PostMapping("/analyze-hazard-image")
     @Operation(summary = "Analyze a hazard image using Gemini AI", description = "Takes a Firebase Storage image URL and returns an AI-generated hazard description")
@@ -43,6 +57,30 @@ public class AIController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/image-analysis-jobs")
+    @Operation(summary = "Queue a hazard image for AI analysis", description = "Returns a job id immediately; poll the job, subscribe to its events, or pass a hazardId to have the description attached to the hazard")
+    public ResponseEntity<ImageAnalysisJobDTO> submitImageAnalysisJob(
+            @AuthenticationPrincipal String uid,
+            @Valid @RequestBody ImageAnalysisJobRequestDTO request) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(imageAnalysisJobService.submit(request, uid));
+    }
+
+    @GetMapping("/image-analysis-jobs/{id}")
+    @Operation(summary = "Get an image analysis job", description = "Returns the job's status and, once it has succeeded, the AI-generated description")
+    public ResponseEntity<ImageAnalysisJobDTO> getImageAnalysisJob(
+            @AuthenticationPrincipal String uid,
+            @PathVariable String id) {
+        return ResponseEntity.ok(imageAnalysisJobService.findById(id, uid));
+    }
+
+    @GetMapping(value = "/image-analysis-jobs/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Wait for an image analysis job", description = "Server-sent events stream that emits one 'job' event when the job succeeds or fails")
+    public SseEmitter streamImageAnalysisJob(
+            @AuthenticationPrincipal String uid,
+            @PathVariable String id) {
+        return imageAnalysisJobService.subscribe(id, uid);
+    }
+
     @PostMapping("/suggest-routes")
     @Operation(summary = "AI-powered route suggestions avoiding hazards", description = "Uses Gemini AI to analyze hazards and suggest safe routes with Google Directions API polylines")
     public ResponseEntity<RouteSuggestionResponseDTO> suggestRoutes(
@@ -71,7 +109,12 @@ public class AIController {
                     .build();
 
             nearbyHazards = findNearbyActiveHazards(routeRequest);
-            routeSuggestion = routeSuggestionService.suggestRoutes(routeRequest, nearbyHazards);
+            try {
+                routeSuggestion = routeSuggestionService.suggestRoutes(routeRequest, nearbyHazards);
+            } catch (ExternalApiUnavailableException e) {
+                // Gemini/Directions saturated — still answer the chat with the fallback reply
+                log.warn("Route suggestion unavailable for chat: {}", e.getMessage());
+            }
         }
 
         ChatResponseDTO response = geminiService.chat(request, routeSuggestion, nearbyHazards);
@@ -91,7 +134,7 @@ public class AIController {
         double midLng = (request.getOriginLongitude() + request.getDestinationLongitude()) / 2;
 
         // Search radius = distance between origin/dest * 1.5, minimum 5000m
-        double distanceBetween = haversineMeters(
+        double distanceBetween = GeoMath.haversineMeters(
                 request.getOriginLatitude(), request.getOriginLongitude(),
                 request.getDestinationLatitude(), request.getDestinationLongitude());
         double searchRadius = Math.max(distanceBetween * 1.5, 5000);
@@ -102,17 +145,4 @@ public class AIController {
 
     // TODO: an alternative search formula is corridor search, which would be more
     // efficient
-    /**
-     * Haversine formula to calculate distance in meters between two lat/lng points.
-     */
-    private double haversineMeters(double lat1, double lng1, double lat2, double lng2) {
-        double R = 6_371_000; // Earth radius in meters
-        double dLat = Math.toRadians(lat2 - lat1);
-        double dLng = Math.toRadians(lng2 - lng1);
-        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
-                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
-                        * Math.sin(dLng / 2) * Math.sin(dLng / 2);
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-        return R * c;
-    }
 }
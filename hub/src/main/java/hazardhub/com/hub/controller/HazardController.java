@@ -1,9 +1,11 @@
 package hazardhub.com.hub.controller;
 
+import hazardhub.com.hub.model.dto.HazardChangesDTO;
 import hazardhub.com.hub.model.dto.HazardDTO;
 import hazardhub.com.hub.model.entity.Hazard;
 import hazardhub.com.hub.model.enums.HazardStatus;
 import hazardhub.com.hub.service.HazardService;
+import hazardhub.com.hub.service.HazardSyncService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -32,6 +34,7 @@ import java.util.List;
 public class HazardController {
 
     private final HazardService hazardService;
+    private final HazardSyncService hazardSyncService;
 
     @PostMapping
     @Operation(summary = "Create a new hazard report")
@@ -40,6 +43,14 @@ public class HazardController {
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
+    @GetMapping("/changes")
+    @Operation(summary = "Get hazards created, updated or deleted since a sync token")
+    public ResponseEntity<HazardChangesDTO> findChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "500") @Min(1) @Max(1000) int limit) {
+        return ResponseEntity.ok(hazardSyncService.findChanges(since, limit));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get a hazard by ID")
     public ResponseEntity<HazardDTO> findById(@PathVariable String id) {
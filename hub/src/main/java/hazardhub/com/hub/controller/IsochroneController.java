@@ -0,0 +1,31 @@
+package hazardhub.com.hub.controller;
+
+import hazardhub.com.hub.model.dto.IsochroneRequestDTO;
+import hazardhub.com.hub.model.dto.IsochroneResponseDTO;
+import hazardhub.com.hub.service.IsochroneService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/isochrones")
+@RequiredArgsConstructor
+@Validated
+@Tag(name = "Isochrones", description = "Areas reachable within a time budget while avoiding hazards")
+public class IsochroneController {
+
+    private final IsochroneService isochroneService;
+
+    @PostMapping
+    @Operation(summary = "Compute the hazard-free area reachable within a time budget", description = "Returns a GeoJSON MultiPolygon of everywhere reachable from the point by the given vehicle type, with active hazards as holes")
+    public ResponseEntity<IsochroneResponseDTO> compute(@Valid @RequestBody IsochroneRequestDTO request) {
+        return ResponseEntity.ok(isochroneService.computeIsochrone(request));
+    }
+}
@@ -0,0 +1,30 @@
+package hazardhub.com.hub.event;
+
+import hazardhub.com.hub.model.enums.HazardStatus;
+
+/**
+ * Published after a hazard is created, updated or deleted, for components
+ * that keep derived state (routing overlays, caches, risk history) in sync.
+ * {@code previousStatus} is null on creation and {@code status} null on
+ * deletion, so listeners can spot transitions without reloading the hazard.
+ * <p>
+ * {@code remote} events describe a write made by another instance and are
+ * replayed by {@link hazardhub.com.hub.service.CacheInvalidationBus}.
+ * Listeners that only refresh in-memory state handle both kinds; listeners
+ * whose work is persisted ignore remote events, since the writing instance
+ * has already done it.
+ */
+public record HazardChangedEvent(String hazardId, ChangeType changeType, HazardStatus previousStatus,
+        HazardStatus status, boolean remote) {
+
+    public HazardChangedEvent(String hazardId, ChangeType changeType, HazardStatus previousStatus,
+            HazardStatus status) {
+        this(hazardId, changeType, previousStatus, status, false);
+    }
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
@@ -0,0 +1,10 @@
+package hazardhub.com.hub.event;
+
+/**
+ * Published when this instance may have missed changes made by other
+ * instances, for example after falling behind the invalidation log. Listeners
+ * should rebuild whatever they derive from shared data instead of relying on
+ * individual {@link HazardChangedEvent}s.
+ */
+public record InvalidationGapEvent() {
+}
@@ -0,0 +1,20 @@
+package hazardhub.com.hub.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when an outbound dependency (Gemini, Google Directions) is saturated,
+ * its circuit breaker is open, or it kept failing after retries.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ExternalApiUnavailableException extends RuntimeException {
+
+    public ExternalApiUnavailableException(String message) {
+        super(message);
+    }
+
+    public ExternalApiUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
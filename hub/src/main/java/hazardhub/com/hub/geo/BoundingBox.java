@@ -0,0 +1,93 @@
+package hazardhub.com.hub.geo;
+
+/**
+ * Axis-aligned lat/lng box. Does not handle boxes crossing the antimeridian,
+ * which no route in our service area does.
+ */
+public final class BoundingBox {
+
+    private final double minLat;
+    private final double minLng;
+    private final double maxLat;
+    private final double maxLng;
+
+    public BoundingBox(double minLat, double minLng, double maxLat, double maxLng) {
+        this.minLat = minLat;
+        this.minLng = minLng;
+        this.maxLat = maxLat;
+        this.maxLng = maxLng;
+    }
+
+    public static BoundingBox of(double[] lats, double[] lngs, int count) {
+        if (count == 0) {
+            throw new IllegalArgumentException("Cannot compute bounding box of an empty polyline");
+        }
+        double minLat = lats[0];
+        double maxLat = lats[0];
+        double minLng = lngs[0];
+        double maxLng = lngs[0];
+        for (int i = 1; i < count; i++) {
+            double lat = lats[i];
+            double lng = lngs[i];
+            if (lat < minLat) {
+                minLat = lat;
+            } else if (lat > maxLat) {
+                maxLat = lat;
+            }
+            if (lng < minLng) {
+                minLng = lng;
+            } else if (lng > maxLng) {
+                maxLng = lng;
+            }
+        }
+        return new BoundingBox(minLat, minLng, maxLat, maxLng);
+    }
+
+    /**
+     * Grows the box by {@code meters} on every side.
+     */
+    public BoundingBox expand(double meters) {
+        double dLat = GeoMath.metersToLatDegrees(meters);
+        double widestLat = Math.max(Math.abs(minLat), Math.abs(maxLat));
+        double dLng = GeoMath.metersToLngDegrees(meters, widestLat);
+        return new BoundingBox(minLat - dLat, minLng - dLng, maxLat + dLat, maxLng + dLng);
+    }
+
+    public boolean contains(double lat, double lng) {
+        return lat >= minLat && lat <= maxLat && lng >= minLng && lng <= maxLng;
+    }
+
+    public boolean intersects(BoundingBox other) {
+        return other.minLat <= maxLat && other.maxLat >= minLat
+                && other.minLng <= maxLng && other.maxLng >= minLng;
+    }
+
+    public double getMinLat() {
+        return minLat;
+    }
+
+    public double getMinLng() {
+        return minLng;
+    }
+
+    public double getMaxLat() {
+        return maxLat;
+    }
+
+    public double getMaxLng() {
+        return maxLng;
+    }
+
+    public double getCenterLat() {
+        return (minLat + maxLat) / 2;
+    }
+
+    public double getCenterLng() {
+        return (minLng + maxLng) / 2;
+    }
+
+    @Override
+    public String toString() {
+        return "BoundingBox[" + minLat + "," + minLng + " .. " + maxLat + "," + maxLng + "]";
+    }
+}
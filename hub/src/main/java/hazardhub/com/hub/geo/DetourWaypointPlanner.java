@@ -0,0 +1,429 @@
+package hazardhub.com.hub.geo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Deterministic via-waypoint placement around hazard disks crossed by a direct
+ * route.
+ *
+ * <p>
+ * Disks are inflated by a clearance, and overlapping ones are merged into one
+ * convex obstacle (the hull of their circumscribed polygons). For each
+ * obstacle the route's entry point A and exit point B are found, and on each
+ * side the waypoint is the apex where the tangent from A meets the tangent
+ * from B: the shortest single-bend path A → W → B that keeps the whole
+ * obstacle on one side. Work happens in a local equirectangular projection in
+ * meters, which is accurate at city scale.
+ */
+public final class DetourWaypointPlanner {
+
+    public record Disk(double lat, double lng, double radiusMeters) {
+    }
+
+    private static final int SEGMENTS_PER_DISK = 16;
+    private static final int MAX_CANDIDATES = 3;
+    private static final int MAX_WAYPOINTS = 23;
+    private static final double METERS_PER_DEGREE = 1 / GeoMath.metersToLatDegrees(1);
+
+    private final double clearanceMeters;
+    private final double maxDetourMeters;
+
+    /**
+     * @param clearanceMeters extra distance kept from every hazard radius
+     * @param maxDetourMeters waypoints farther than this from the route chord
+     *                        they bypass are discarded as impractical
+     */
+    public DetourWaypointPlanner(double clearanceMeters, double maxDetourMeters) {
+        this.clearanceMeters = clearanceMeters;
+        this.maxDetourMeters = maxDetourMeters;
+    }
+
+    /**
+     * Plans up to three waypoint sets for {@code route}: the shorter side of
+     * every obstacle, then all obstacles passed on the left, then on the
+     * right, de-duplicated and ordered by path length.
+     *
+     * @return waypoint sequences in travel order, empty if the route crosses no
+     *         disk or no obstacle can be bypassed
+     */
+    public List<Polyline> plan(Polyline route, List<Disk> disks) {
+        if (route.size() < 2 || disks.isEmpty()) {
+            return List.of();
+        }
+        Projection projection = new Projection(route.lat(0), route.lng(0));
+        int n = route.size();
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = projection.x(route.lng(i));
+            ys[i] = projection.y(route.lat(i));
+        }
+
+        int d = disks.size();
+        double[] cx = new double[d];
+        double[] cy = new double[d];
+        double[] radius = new double[d];
+        boolean[] crossed = new boolean[d];
+        for (int i = 0; i < d; i++) {
+            Disk disk = disks.get(i);
+            cx[i] = projection.x(disk.lng());
+            cy[i] = projection.y(disk.lat());
+            radius[i] = disk.radiusMeters() + clearanceMeters;
+            crossed[i] = route.distanceToMeters(disk.lat(), disk.lng()) <= disk.radiusMeters();
+        }
+
+        List<Obstacle> obstacles = new ArrayList<>();
+        for (int[] cluster : clusters(cx, cy, radius)) {
+            if (Arrays.stream(cluster).noneMatch(i -> crossed[i])) {
+                continue;
+            }
+            Obstacle obstacle = Obstacle.of(hull(cluster, cx, cy, radius), xs, ys);
+            if (obstacle != null) {
+                obstacle.left = apex(obstacle, xs, ys, true, cx, cy, radius);
+                obstacle.right = apex(obstacle, xs, ys, false, cx, cy, radius);
+                obstacles.add(obstacle);
+            }
+        }
+        obstacles.sort(Comparator.comparingInt(o -> o.entry));
+
+        List<List<double[]>> candidates = new ArrayList<>();
+        candidates.add(choose(obstacles, null, xs, ys));
+        candidates.add(choose(obstacles, Boolean.TRUE, xs, ys));
+        candidates.add(choose(obstacles, Boolean.FALSE, xs, ys));
+
+        List<Polyline> result = new ArrayList<>();
+        List<List<double[]>> kept = new ArrayList<>();
+        candidates.stream()
+                .filter(c -> c != null && !c.isEmpty() && c.size() <= MAX_WAYPOINTS)
+                .sorted(Comparator.comparingDouble(c -> pathLength(c, xs[0], ys[0], xs[n - 1], ys[n - 1])))
+                .forEach(c -> {
+                    if (kept.stream().noneMatch(k -> samePoints(k, c)) && kept.size() < MAX_CANDIDATES) {
+                        kept.add(c);
+                    }
+                });
+        for (List<double[]> waypoints : kept) {
+            double[] lats = new double[waypoints.size()];
+            double[] lngs = new double[waypoints.size()];
+            for (int i = 0; i < waypoints.size(); i++) {
+                lats[i] = projection.lat(waypoints.get(i)[1]);
+                lngs[i] = projection.lng(waypoints.get(i)[0]);
+            }
+            result.add(new Polyline(lats, lngs, waypoints.size()));
+        }
+        return result;
+    }
+
+    /**
+     * @param side null for the shorter side of each obstacle, otherwise true
+     *             for left; null if some obstacle cannot be passed on the
+     *             requested side
+     */
+    private static List<double[]> choose(List<Obstacle> obstacles, Boolean side, double[] xs, double[] ys) {
+        List<double[]> waypoints = new ArrayList<>();
+        for (Obstacle obstacle : obstacles) {
+            double[] pick;
+            if (side == null) {
+                pick = shorter(obstacle, xs, ys);
+                if (pick == null) {
+                    // Unavoidable; leave it to the scoring to flag the route
+                    continue;
+                }
+            } else {
+                pick = side ? obstacle.left : obstacle.right;
+                if (pick == null) {
+                    return null;
+                }
+            }
+            waypoints.add(pick);
+        }
+        return waypoints;
+    }
+
+    private static double[] shorter(Obstacle obstacle, double[] xs, double[] ys) {
+        if (obstacle.left == null || obstacle.right == null) {
+            return obstacle.left != null ? obstacle.left : obstacle.right;
+        }
+        double ax = xs[obstacle.entry];
+        double ay = ys[obstacle.entry];
+        double bx = xs[obstacle.exit];
+        double by = ys[obstacle.exit];
+        double viaLeft = Math.hypot(obstacle.left[0] - ax, obstacle.left[1] - ay)
+                + Math.hypot(bx - obstacle.left[0], by - obstacle.left[1]);
+        double viaRight = Math.hypot(obstacle.right[0] - ax, obstacle.right[1] - ay)
+                + Math.hypot(bx - obstacle.right[0], by - obstacle.right[1]);
+        return viaLeft <= viaRight ? obstacle.left : obstacle.right;
+    }
+
+    /**
+     * Intersection of the tangents from the entry and exit points on one side
+     * of the obstacle, or null if they do not meet in front of both points,
+     * meet too far from the route, or land inside another hazard.
+     */
+    private double[] apex(Obstacle obstacle, double[] xs, double[] ys, boolean left,
+            double[] cx, double[] cy, double[] radius) {
+        double ax = xs[obstacle.entry];
+        double ay = ys[obstacle.entry];
+        double bx = xs[obstacle.exit];
+        double by = ys[obstacle.exit];
+
+        // Seen from A looking at B, the left tangent has the largest angle; from B
+        // looking back at A, the route's left side is on B's right
+        double[] fromA = tangent(obstacle.hull, ax, ay, bx - ax, by - ay, left);
+        double[] fromB = tangent(obstacle.hull, bx, by, ax - bx, ay - by, !left);
+
+        double ux = fromA[0] - ax;
+        double uy = fromA[1] - ay;
+        double vx = fromB[0] - bx;
+        double vy = fromB[1] - by;
+        double denominator = cross(ux, uy, vx, vy);
+        if (Math.abs(denominator) < 1e-9) {
+            return null;
+        }
+        double t = cross(bx - ax, by - ay, vx, vy) / denominator;
+        double s = cross(bx - ax, by - ay, ux, uy) / denominator;
+        if (t <= 0 || s <= 0) {
+            return null;
+        }
+        double wx = ax + t * ux;
+        double wy = ay + t * uy;
+
+        double mx = (ax + bx) / 2;
+        double my = (ay + by) / 2;
+        if (Math.hypot(wx - mx, wy - my) > maxDetourMeters + Math.hypot(bx - ax, by - ay) / 2) {
+            return null;
+        }
+        for (int i = 0; i < cx.length; i++) {
+            if (Math.hypot(wx - cx[i], wy - cy[i]) <= radius[i]) {
+                return null;
+            }
+        }
+        return new double[] { wx, wy };
+    }
+
+    /**
+     * Hull vertex with the largest (or smallest) signed angle from direction
+     * (dx, dy) as seen from (px, py).
+     */
+    private static double[] tangent(double[][] hull, double px, double py, double dx, double dy, boolean largest) {
+        double[] best = null;
+        double bestAngle = 0;
+        for (double[] v : hull) {
+            double vx = v[0] - px;
+            double vy = v[1] - py;
+            double angle = Math.atan2(cross(dx, dy, vx, vy), dx * vx + dy * vy);
+            if (best == null || (largest ? angle > bestAngle : angle < bestAngle)) {
+                best = v;
+                bestAngle = angle;
+            }
+        }
+        return best;
+    }
+
+    private static List<int[]> clusters(double[] cx, double[] cy, double[] radius) {
+        int d = cx.length;
+        int[] parent = new int[d];
+        for (int i = 0; i < d; i++) {
+            parent[i] = i;
+        }
+        for (int i = 0; i < d; i++) {
+            for (int j = i + 1; j < d; j++) {
+                if (Math.hypot(cx[i] - cx[j], cy[i] - cy[j]) <= radius[i] + radius[j]) {
+                    parent[find(parent, i)] = find(parent, j);
+                }
+            }
+        }
+        List<int[]> clusters = new ArrayList<>();
+        boolean[] done = new boolean[d];
+        for (int i = 0; i < d; i++) {
+            int root = find(parent, i);
+            if (done[root]) {
+                continue;
+            }
+            done[root] = true;
+            clusters.add(IntStream.range(0, d).filter(j -> find(parent, j) == root).toArray());
+        }
+        return clusters;
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    /**
+     * Counter-clockwise convex hull (Andrew's monotone chain) of polygons
+     * circumscribing each disk of the cluster.
+     */
+    private static double[][] hull(int[] cluster, double[] cx, double[] cy, double[] radius) {
+        double circumscribe = 1 / Math.cos(Math.PI / SEGMENTS_PER_DISK);
+        double[][] points = new double[cluster.length * SEGMENTS_PER_DISK][];
+        int p = 0;
+        for (int i : cluster) {
+            for (int k = 0; k < SEGMENTS_PER_DISK; k++) {
+                double angle = 2 * Math.PI * k / SEGMENTS_PER_DISK;
+                double r = radius[i] * circumscribe;
+                points[p++] = new double[] { cx[i] + r * Math.cos(angle), cy[i] + r * Math.sin(angle) };
+            }
+        }
+        Arrays.sort(points, Comparator.<double[]>comparingDouble(q -> q[0]).thenComparingDouble(q -> q[1]));
+
+        double[][] hull = new double[2 * points.length][];
+        int size = 0;
+        for (double[] q : points) {
+            while (size >= 2 && turn(hull[size - 2], hull[size - 1], q) <= 0) {
+                size--;
+            }
+            hull[size++] = q;
+        }
+        for (int i = points.length - 2, lower = size + 1; i >= 0; i--) {
+            double[] q = points[i];
+            while (size >= lower && turn(hull[size - 2], hull[size - 1], q) <= 0) {
+                size--;
+            }
+            hull[size++] = q;
+        }
+        return Arrays.copyOf(hull, size - 1);
+    }
+
+    private static double turn(double[] o, double[] a, double[] b) {
+        return cross(a[0] - o[0], a[1] - o[1], b[0] - o[0], b[1] - o[1]);
+    }
+
+    private static double cross(double ax, double ay, double bx, double by) {
+        return ax * by - ay * bx;
+    }
+
+    private static double pathLength(List<double[]> waypoints, double sx, double sy, double ex, double ey) {
+        double length = 0;
+        double px = sx;
+        double py = sy;
+        for (double[] w : waypoints) {
+            length += Math.hypot(w[0] - px, w[1] - py);
+            px = w[0];
+            py = w[1];
+        }
+        return length + Math.hypot(ex - px, ey - py);
+    }
+
+    /**
+     * Candidates reuse the obstacles' apex arrays, so identity is equality.
+     */
+    private static boolean samePoints(List<double[]> a, List<double[]> b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < a.size(); i++) {
+            if (a.get(i) != b.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A merged obstacle and the route vertices just outside it.
+     */
+    private static final class Obstacle {
+        private final double[][] hull;
+        private final int entry;
+        private final int exit;
+        private double[] left;
+        private double[] right;
+
+        private Obstacle(double[][] hull, int entry, int exit) {
+            this.hull = hull;
+            this.entry = entry;
+            this.exit = exit;
+        }
+
+        /**
+         * @return null if the route never meets the hull, or starts or ends
+         *         inside it (nothing to route around)
+         */
+        static Obstacle of(double[][] hull, double[] xs, double[] ys) {
+            int first = -1;
+            int last = -1;
+            for (int i = 0; i + 1 < xs.length; i++) {
+                if (segmentMeetsHull(hull, xs[i], ys[i], xs[i + 1], ys[i + 1])) {
+                    if (first < 0) {
+                        first = i;
+                    }
+                    last = i;
+                }
+            }
+            if (first < 0) {
+                return null;
+            }
+            int entry = first;
+            int exit = last + 1;
+            if (contains(hull, xs[entry], ys[entry]) || contains(hull, xs[exit], ys[exit])) {
+                return null;
+            }
+            return new Obstacle(hull, entry, exit);
+        }
+
+        private static boolean contains(double[][] hull, double px, double py) {
+            for (int i = 0; i < hull.length; i++) {
+                double[] a = hull[i];
+                double[] b = hull[(i + 1) % hull.length];
+                if (cross(b[0] - a[0], b[1] - a[1], px - a[0], py - a[1]) < 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean segmentMeetsHull(double[][] hull, double ax, double ay, double bx, double by) {
+            if (contains(hull, ax, ay) || contains(hull, bx, by)) {
+                return true;
+            }
+            for (int i = 0; i < hull.length; i++) {
+                double[] c = hull[i];
+                double[] d = hull[(i + 1) % hull.length];
+                double d1 = cross(bx - ax, by - ay, c[0] - ax, c[1] - ay);
+                double d2 = cross(bx - ax, by - ay, d[0] - ax, d[1] - ay);
+                double d3 = cross(d[0] - c[0], d[1] - c[1], ax - c[0], ay - c[1]);
+                double d4 = cross(d[0] - c[0], d[1] - c[1], bx - c[0], by - c[1]);
+                if (d1 * d2 < 0 && d3 * d4 < 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static final class Projection {
+        private final double lat0;
+        private final double lng0;
+        private final double cosLat;
+
+        Projection(double lat0, double lng0) {
+            this.lat0 = lat0;
+            this.lng0 = lng0;
+            this.cosLat = Math.cos(Math.toRadians(lat0));
+        }
+
+        double x(double lng) {
+            return (lng - lng0) * cosLat * METERS_PER_DEGREE;
+        }
+
+        double y(double lat) {
+            return (lat - lat0) * METERS_PER_DEGREE;
+        }
+
+        double lat(double y) {
+            return lat0 + y / METERS_PER_DEGREE;
+        }
+
+        double lng(double x) {
+            return lng0 + x / (cosLat * METERS_PER_DEGREE);
+        }
+    }
+}
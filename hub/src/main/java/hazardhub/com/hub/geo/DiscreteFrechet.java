@@ -0,0 +1,66 @@
+package hazardhub.com.hub.geo;
+
+/**
+ * Discrete Fréchet distance between two point sequences, in meters. Unlike
+ * Hausdorff it respects the order of travel, so a route and its reverse, or
+ * two routes that visit the same streets in a different order, are not
+ * considered close.
+ */
+public final class DiscreteFrechet {
+
+    private DiscreteFrechet() {
+    }
+
+    /**
+     * Computes the distance, giving up as soon as it is provably greater than
+     * {@code boundMeters}. Every coupling passes through each row of the DP
+     * table, so once a whole row exceeds the bound the result must too.
+     *
+     * @return the distance, or {@link Double#POSITIVE_INFINITY} if it exceeds
+     *         the bound or either sequence is empty
+     */
+    public static double distanceMeters(double[] aLats, double[] aLngs, int aCount,
+            double[] bLats, double[] bLngs, int bCount, double boundMeters) {
+        if (aCount == 0 || bCount == 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        // Endpoints are always coupled — cheapest rejection
+        if (GeoMath.equirectangularMeters(aLats[0], aLngs[0], bLats[0], bLngs[0]) > boundMeters
+                || GeoMath.equirectangularMeters(aLats[aCount - 1], aLngs[aCount - 1],
+                        bLats[bCount - 1], bLngs[bCount - 1]) > boundMeters) {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        double[] prev = new double[bCount];
+        double[] curr = new double[bCount];
+        for (int i = 0; i < aCount; i++) {
+            double rowMin = Double.POSITIVE_INFINITY;
+            for (int j = 0; j < bCount; j++) {
+                double d = GeoMath.equirectangularMeters(aLats[i], aLngs[i], bLats[j], bLngs[j]);
+                double reach;
+                if (i == 0 && j == 0) {
+                    reach = 0;
+                } else if (i == 0) {
+                    reach = curr[j - 1];
+                } else if (j == 0) {
+                    reach = prev[0];
+                } else {
+                    reach = Math.min(Math.min(prev[j], prev[j - 1]), curr[j - 1]);
+                }
+                curr[j] = Math.max(reach, d);
+                rowMin = Math.min(rowMin, curr[j]);
+            }
+            if (rowMin > boundMeters) {
+                return Double.POSITIVE_INFINITY;
+            }
+            double[] swap = prev;
+            prev = curr;
+            curr = swap;
+        }
+        return prev[bCount - 1];
+    }
+
+    public static double distanceMeters(Polyline a, Polyline b, double boundMeters) {
+        return distanceMeters(a.lats(), a.lngs(), a.size(), b.lats(), b.lngs(), b.size(), boundMeters);
+    }
+}
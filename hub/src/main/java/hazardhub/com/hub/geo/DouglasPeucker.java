@@ -0,0 +1,71 @@
+package hazardhub.com.hub.geo;
+
+/**
+ * Douglas-Peucker line simplification with a tolerance in meters. Iterative,
+ * so very long routes cannot overflow the stack.
+ */
+public final class DouglasPeucker {
+
+    private DouglasPeucker() {
+    }
+
+    /**
+     * Simplifies the first {@code count} points and writes the survivors to
+     * {@code outLats}/{@code outLngs}, which may be the input arrays.
+     * Endpoints are always kept.
+     *
+     * @return the number of points written
+     */
+    public static int simplify(double[] lats, double[] lngs, int count, double toleranceMeters,
+            double[] outLats, double[] outLngs) {
+        if (count <= 2) {
+            System.arraycopy(lats, 0, outLats, 0, count);
+            System.arraycopy(lngs, 0, outLngs, 0, count);
+            return count;
+        }
+
+        boolean[] keep = new boolean[count];
+        keep[0] = true;
+        keep[count - 1] = true;
+
+        // Each stack frame is a [first, last] index pair
+        int[] stack = new int[2 * count];
+        int top = 0;
+        stack[top++] = 0;
+        stack[top++] = count - 1;
+
+        while (top > 0) {
+            int last = stack[--top];
+            int first = stack[--top];
+
+            double maxDistance = -1;
+            int farthest = -1;
+            for (int i = first + 1; i < last; i++) {
+                double d = GeoMath.pointToSegmentMeters(lats[i], lngs[i],
+                        lats[first], lngs[first], lats[last], lngs[last]);
+                if (d > maxDistance) {
+                    maxDistance = d;
+                    farthest = i;
+                }
+            }
+
+            if (farthest >= 0 && maxDistance > toleranceMeters) {
+                keep[farthest] = true;
+                stack[top++] = first;
+                stack[top++] = farthest;
+                stack[top++] = farthest;
+                stack[top++] = last;
+            }
+        }
+
+        int written = 0;
+        for (int i = 0; i < count; i++) {
+            if (keep[i]) {
+                outLats[written] = lats[i];
+                outLngs[written] = lngs[i];
+                written++;
+            }
+        }
+        return written;
+    }
+}
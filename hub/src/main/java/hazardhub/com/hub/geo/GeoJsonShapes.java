@@ -0,0 +1,66 @@
+package hazardhub.com.hub.geo;
+
+import org.springframework.data.geo.Point;
+import org.springframework.data.mongodb.core.geo.GeoJsonLineString;
+import org.springframework.data.mongodb.core.geo.GeoJsonPolygon;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Conversions from route geometry to the GeoJSON types stored in Mongo.
+ */
+public final class GeoJsonShapes {
+
+    /** Simplification tolerance for persisted route paths, well below GPS noise. */
+    public static final double ROUTE_PATH_TOLERANCE_METERS = 10;
+
+    private GeoJsonShapes() {
+    }
+
+    /**
+     * Decodes and simplifies an encoded polyline into a LineString. Returns
+     * null when the input is blank, malformed, or collapses to fewer than two
+     * distinct points, so the stored path is always optional.
+     */
+    public static GeoJsonLineString simplifiedLineString(String encodedPolyline) {
+        if (encodedPolyline == null || encodedPolyline.isBlank()) {
+            return null;
+        }
+        Polyline polyline;
+        try {
+            polyline = Polyline.decode(encodedPolyline).simplify(ROUTE_PATH_TOLERANCE_METERS);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        return lineString(polyline);
+    }
+
+    public static GeoJsonLineString lineString(Polyline polyline) {
+        List<Point> points = new ArrayList<>(polyline.size());
+        for (int i = 0; i < polyline.size(); i++) {
+            Point point = new Point(polyline.lng(i), polyline.lat(i));
+            // 2dsphere rejects consecutive duplicate vertices
+            if (points.isEmpty() || !points.get(points.size() - 1).equals(point)) {
+                points.add(point);
+            }
+        }
+        return points.size() >= 2 ? new GeoJsonLineString(points) : null;
+    }
+
+    /**
+     * Regular polygon approximating a circle, for {@code $geoIntersects}
+     * queries against a hazard's affected radius.
+     */
+    public static GeoJsonPolygon circle(double lat, double lng, double radiusMeters, int segments) {
+        double dLat = GeoMath.metersToLatDegrees(radiusMeters);
+        double dLng = GeoMath.metersToLngDegrees(radiusMeters, lat);
+        List<Point> ring = new ArrayList<>(segments + 1);
+        for (int i = 0; i < segments; i++) {
+            double angle = 2 * Math.PI * i / segments;
+            ring.add(new Point(lng + dLng * Math.cos(angle), lat + dLat * Math.sin(angle)));
+        }
+        ring.add(ring.get(0));
+        return new GeoJsonPolygon(ring);
+    }
+}
@@ -0,0 +1,136 @@
+package hazardhub.com.hub.geo;
+
+/**
+ * Spherical distance helpers shared by corridor search, route scoring and
+ * alerting. All distances are in meters, all coordinates in degrees.
+ *
+ * <p>
+ * {@link #haversineMeters} is exact on the sphere; the equirectangular
+ * variants are a few times cheaper and accurate to well under 0.1% over the
+ * city-scale distances we deal with, so they are preferred in inner loops.
+ */
+public final class GeoMath {
+
+    public static final double EARTH_RADIUS_METERS = 6_371_000;
+
+    private static final double METERS_PER_DEGREE = Math.toRadians(1) * EARTH_RADIUS_METERS;
+
+    private GeoMath() {
+    }
+
+    public static double haversineMeters(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double sinLat = Math.sin(dLat / 2);
+        double sinLng = Math.sin(dLng / 2);
+        double a = sinLat * sinLat
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * sinLng * sinLng;
+        return 2 * EARTH_RADIUS_METERS * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+
+    public static double equirectangularMeters(double lat1, double lng1, double lat2, double lng2) {
+        double x = (lng2 - lng1) * Math.cos(Math.toRadians((lat1 + lat2) / 2));
+        double y = lat2 - lat1;
+        return Math.sqrt(x * x + y * y) * METERS_PER_DEGREE;
+    }
+
+    /**
+     * Distance from point P to segment AB, computed in a local equirectangular
+     * projection centred on P.
+     */
+    public static double pointToSegmentMeters(double pLat, double pLng,
+            double aLat, double aLng, double bLat, double bLng) {
+        double cosLat = Math.cos(Math.toRadians(pLat));
+        double ax = (aLng - pLng) * cosLat;
+        double ay = aLat - pLat;
+        double bx = (bLng - pLng) * cosLat;
+        double by = bLat - pLat;
+
+        double dx = bx - ax;
+        double dy = by - ay;
+        double lenSq = dx * dx + dy * dy;
+        double t = lenSq == 0 ? 0 : -(ax * dx + ay * dy) / lenSq;
+        if (t < 0) {
+            t = 0;
+        } else if (t > 1) {
+            t = 1;
+        }
+        double cx = ax + t * dx;
+        double cy = ay + t * dy;
+        return Math.sqrt(cx * cx + cy * cy) * METERS_PER_DEGREE;
+    }
+
+    /**
+     * Minimum distance from a point to a polyline. Stops early once a segment
+     * within {@code stopBelowMeters} is found — pass 0 for the exact minimum.
+     */
+    public static double pointToPolylineMeters(double pLat, double pLng,
+            double[] lats, double[] lngs, int count, double stopBelowMeters) {
+        if (count == 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        if (count == 1) {
+            return equirectangularMeters(pLat, pLng, lats[0], lngs[0]);
+        }
+        double best = Double.POSITIVE_INFINITY;
+        for (int i = 1; i < count; i++) {
+            double d = pointToSegmentMeters(pLat, pLng, lats[i - 1], lngs[i - 1], lats[i], lngs[i]);
+            if (d < best) {
+                best = d;
+                if (best <= stopBelowMeters) {
+                    break;
+                }
+            }
+        }
+        return best;
+    }
+
+    public static double polylineLengthMeters(double[] lats, double[] lngs, int count) {
+        double total = 0;
+        for (int i = 1; i < count; i++) {
+            total += haversineMeters(lats[i - 1], lngs[i - 1], lats[i], lngs[i]);
+        }
+        return total;
+    }
+
+    /**
+     * Degrees of latitude spanning {@code meters}.
+     */
+    public static double metersToLatDegrees(double meters) {
+        return meters / METERS_PER_DEGREE;
+    }
+
+    /**
+     * Degrees of longitude spanning {@code meters} at the given latitude.
+     */
+    public static double metersToLngDegrees(double meters, double atLat) {
+        double cosLat = Math.max(Math.cos(Math.toRadians(atLat)), 1e-6);
+        return meters / (METERS_PER_DEGREE * cosLat);
+    }
+
+    /**
+     * Parses a Directions-style {@code "lat,lng"} location, optionally prefixed
+     * with {@code via:}.
+     *
+     * @return {@code [lat, lng]}, or null if the value is not a coordinate pair
+     *         (e.g. a street address)
+     */
+    public static double[] parseLatLng(String latLng) {
+        if (latLng == null) {
+            return null;
+        }
+        String value = latLng.strip();
+        if (value.startsWith("via:")) {
+            value = value.substring("via:".length());
+        }
+        String[] parts = value.split(",");
+        if (parts.length != 2) {
+            return null;
+        }
+        try {
+            return new double[] { Double.parseDouble(parts[0].strip()), Double.parseDouble(parts[1].strip()) };
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
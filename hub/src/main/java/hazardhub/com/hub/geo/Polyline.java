@@ -0,0 +1,120 @@
+package hazardhub.com.hub.geo;
+
+/**
+ * Decoded route geometry as parallel primitive arrays. Convenience wrapper for
+ * callers that do not need to manage their own buffers.
+ */
+public final class Polyline {
+
+    private final double[] lats;
+    private final double[] lngs;
+    private final int size;
+
+    public Polyline(double[] lats, double[] lngs, int size) {
+        this.lats = lats;
+        this.lngs = lngs;
+        this.size = size;
+    }
+
+    public static Polyline decode(String encoded) {
+        int n = PolylineCodec.countPoints(encoded);
+        double[] lats = new double[n];
+        double[] lngs = new double[n];
+        int size = PolylineCodec.decode(encoded, lats, lngs);
+        return new Polyline(lats, lngs, size);
+    }
+
+    public String encode() {
+        return PolylineCodec.encode(lats, lngs, size);
+    }
+
+    public Polyline simplify(double toleranceMeters) {
+        double[] outLats = new double[size];
+        double[] outLngs = new double[size];
+        int n = DouglasPeucker.simplify(lats, lngs, size, toleranceMeters, outLats, outLngs);
+        return new Polyline(outLats, outLngs, n);
+    }
+
+    /**
+     * Points every {@code spacingMeters} along the line, plus its last vertex.
+     * Discrete Fréchet only compares vertices, so two encodings of the same
+     * street geometry with different vertex density only compare as close
+     * once both are resampled to the same spacing.
+     */
+    public Polyline resample(double spacingMeters) {
+        if (size < 2 || spacingMeters <= 0) {
+            return this;
+        }
+        double[] segments = new double[size - 1];
+        double total = 0;
+        for (int i = 0; i < size - 1; i++) {
+            segments[i] = GeoMath.equirectangularMeters(lats[i], lngs[i], lats[i + 1], lngs[i + 1]);
+            total += segments[i];
+        }
+
+        int capacity = (int) (total / spacingMeters) + 2;
+        double[] outLats = new double[capacity];
+        double[] outLngs = new double[capacity];
+        outLats[0] = lats[0];
+        outLngs[0] = lngs[0];
+        int n = 1;
+        double next = spacingMeters;
+        double start = 0;
+        for (int i = 0; i < size - 1; i++) {
+            double end = start + segments[i];
+            while (next < end && n < capacity - 1) {
+                double t = (next - start) / segments[i];
+                outLats[n] = lats[i] + t * (lats[i + 1] - lats[i]);
+                outLngs[n] = lngs[i] + t * (lngs[i + 1] - lngs[i]);
+                n++;
+                next += spacingMeters;
+            }
+            start = end;
+        }
+        outLats[n] = lats[size - 1];
+        outLngs[n] = lngs[size - 1];
+        return new Polyline(outLats, outLngs, n + 1);
+    }
+
+    public double lengthMeters() {
+        return GeoMath.polylineLengthMeters(lats, lngs, size);
+    }
+
+    public BoundingBox boundingBox() {
+        return BoundingBox.of(lats, lngs, size);
+    }
+
+    public double distanceToMeters(double lat, double lng) {
+        return GeoMath.pointToPolylineMeters(lat, lng, lats, lngs, size, 0);
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public double lat(int i) {
+        return lats[i];
+    }
+
+    public double lng(int i) {
+        return lngs[i];
+    }
+
+    /**
+     * Backing latitude array; only the first {@link #size()} entries are valid.
+     */
+    public double[] lats() {
+        return lats;
+    }
+
+    /**
+     * Backing longitude array; only the first {@link #size()} entries are valid.
+     */
+    public double[] lngs() {
+        return lngs;
+    }
+}
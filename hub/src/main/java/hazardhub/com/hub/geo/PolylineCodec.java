@@ -0,0 +1,112 @@
+package hazardhub.com.hub.geo;
+
+/**
+ * Google encoded-polyline format (precision 1e5), as returned in
+ * {@code overview_polyline.points} by the Directions API.
+ *
+ * <p>
+ * The decoder writes into caller-supplied primitive arrays and allocates
+ * nothing, so hot paths can reuse buffers across calls; use
+ * {@link #countPoints(CharSequence)} to size them.
+ */
+public final class PolylineCodec {
+
+    private static final double PRECISION = 1e5;
+
+    private PolylineCodec() {
+    }
+
+    /**
+     * Number of points in an encoded polyline, without decoding it.
+     */
+    public static int countPoints(CharSequence encoded) {
+        int values = 0;
+        for (int i = 0, n = encoded.length(); i < n; i++) {
+            // A chunk without the continuation bit terminates one value
+            if (encoded.charAt(i) - 63 < 0x20) {
+                values++;
+            }
+        }
+        return values / 2;
+    }
+
+    /**
+     * Decodes {@code encoded} into {@code lats}/{@code lngs}.
+     *
+     * @return the number of points written
+     * @throws IllegalArgumentException if the input is malformed or the arrays
+     *                                  are too small
+     */
+    public static int decode(CharSequence encoded, double[] lats, double[] lngs) {
+        int index = 0;
+        int length = encoded.length();
+        int count = 0;
+        int lat = 0;
+        int lng = 0;
+
+        while (index < length) {
+            if (count >= lats.length || count >= lngs.length) {
+                throw new IllegalArgumentException("Output arrays too small for encoded polyline");
+            }
+
+            int result = 0;
+            int shift = 0;
+            int b;
+            do {
+                b = nextChunk(encoded, index++, length);
+                result |= (b & 0x1f) << shift;
+                shift += 5;
+            } while (b >= 0x20);
+            lat += (result & 1) != 0 ? ~(result >> 1) : (result >> 1);
+
+            result = 0;
+            shift = 0;
+            do {
+                b = nextChunk(encoded, index++, length);
+                result |= (b & 0x1f) << shift;
+                shift += 5;
+            } while (b >= 0x20);
+            lng += (result & 1) != 0 ? ~(result >> 1) : (result >> 1);
+
+            lats[count] = lat / PRECISION;
+            lngs[count] = lng / PRECISION;
+            count++;
+        }
+        return count;
+    }
+
+    public static String encode(double[] lats, double[] lngs, int count) {
+        StringBuilder out = new StringBuilder(count * 8);
+        long prevLat = 0;
+        long prevLng = 0;
+        for (int i = 0; i < count; i++) {
+            long lat = Math.round(lats[i] * PRECISION);
+            long lng = Math.round(lngs[i] * PRECISION);
+            encodeValue(lat - prevLat, out);
+            encodeValue(lng - prevLng, out);
+            prevLat = lat;
+            prevLng = lng;
+        }
+        return out.toString();
+    }
+
+    private static int nextChunk(CharSequence encoded, int index, int length) {
+        if (index >= length) {
+            throw new IllegalArgumentException("Truncated encoded polyline at index " + index);
+        }
+        int b = encoded.charAt(index) - 63;
+        if (b < 0 || b > 63) {
+            throw new IllegalArgumentException("Invalid character in encoded polyline at index " + index);
+        }
+        return b;
+    }
+
+    private static void encodeValue(long value, StringBuilder out) {
+        long v = value < 0 ? ~(value << 1) : (value << 1);
+        while (v >= 0x20) {
+            out.append((char) ((0x20 | (v & 0x1f)) + 63));
+            v >>= 5;
+        }
+        out.append((char) (v + 63));
+    }
+}
@@ -0,0 +1,459 @@
+package hazardhub.com.hub.geo;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Square raster of reachable cells around an origin, and the polygon outline
+ * of what was reached. Callers either mark what a road-graph search reached
+ * ({@link #markSegment}) and {@link #dilate} it into an area, or let the grid
+ * approximate reachability itself with {@link #expand}. Cells inside
+ * {@linkplain #block blocked} hazard disks are never marked, so they show up
+ * as holes or notches in the outline.
+ *
+ * <p>
+ * Cell {@code (col, row)} is centred {@code (col - half, row - half)} cells
+ * east and north of the origin; outlines are traced along cell edges with
+ * the reached region on the left, so shells come out counter-clockwise and
+ * holes clockwise, as GeoJSON expects.
+ */
+public final class ReachabilityGrid {
+
+    /** Outer ring and holes, each closed (first point repeated last). */
+    public record Area(Polyline shell, List<Polyline> holes) {
+    }
+
+    // Boundary edge directions on the cell-corner lattice, counter-clockwise order
+    private static final int EAST = 0;
+    private static final int NORTH = 1;
+    private static final int WEST = 2;
+    private static final int SOUTH = 3;
+    private static final int[] DX = { 1, 0, -1, 0 };
+    private static final int[] DY = { 0, 1, 0, -1 };
+
+    private final double originLat;
+    private final double originLng;
+    private final double cellMeters;
+    private final double cellLat;
+    private final double cellLng;
+    private final int half;
+    private final int size;
+    private final boolean[] reached;
+    private final boolean[] blocked;
+
+    /**
+     * @param radiusMeters farthest distance from the origin that may be
+     *                     marked; the grid adds a margin so outlines close
+     */
+    public ReachabilityGrid(double originLat, double originLng, double radiusMeters, double cellMeters) {
+        if (cellMeters <= 0) {
+            throw new IllegalArgumentException("cellMeters must be positive");
+        }
+        this.originLat = originLat;
+        this.originLng = originLng;
+        this.cellMeters = cellMeters;
+        this.cellLat = GeoMath.metersToLatDegrees(cellMeters);
+        this.cellLng = GeoMath.metersToLngDegrees(cellMeters, originLat);
+        this.half = (int) Math.ceil(radiusMeters / cellMeters) + 2;
+        this.size = 2 * half + 1;
+        this.reached = new boolean[size * size];
+        this.blocked = new boolean[size * size];
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public double getCellMeters() {
+        return cellMeters;
+    }
+
+    public int getReachedCellCount() {
+        int count = 0;
+        for (boolean cell : reached) {
+            if (cell) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public double getReachedAreaSquareMeters() {
+        return getReachedCellCount() * cellMeters * cellMeters;
+    }
+
+    public boolean isReached(double lat, double lng) {
+        int cell = cellOf(lat, lng);
+        return cell >= 0 && reached[cell];
+    }
+
+    /**
+     * Blocks cells within half a cell of a disk, so even a disk smaller than
+     * one cell blocks the cell it sits in.
+     *
+     * @return the number of cells newly blocked
+     */
+    public int block(double lat, double lng, double radiusMeters) {
+        double reach = radiusMeters + cellMeters / 2;
+        int centerCol = col(lng);
+        int centerRow = row(lat);
+        int span = (int) Math.ceil(reach / cellMeters);
+        int count = 0;
+        for (int row = Math.max(0, centerRow - span); row <= Math.min(size - 1, centerRow + span); row++) {
+            for (int col = Math.max(0, centerCol - span); col <= Math.min(size - 1, centerCol + span); col++) {
+                int cell = row * size + col;
+                if (!blocked[cell] && GeoMath.equirectangularMeters(lat, lng, cellLat(row), cellLng(col)) <= reach) {
+                    blocked[cell] = true;
+                    reached[cell] = false;
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    public void markPoint(double lat, double lng) {
+        mark(cellOf(lat, lng));
+    }
+
+    /**
+     * Marks every cell the straight segment passes through, sampling at half
+     * a cell so no cell it crosses is skipped.
+     */
+    public void markSegment(double lat1, double lng1, double lat2, double lng2) {
+        double length = GeoMath.equirectangularMeters(lat1, lng1, lat2, lng2);
+        int steps = Math.max(1, (int) Math.ceil(length / (cellMeters / 2)));
+        for (int i = 0; i <= steps; i++) {
+            double t = (double) i / steps;
+            mark(cellOf(lat1 + (lat2 - lat1) * t, lng1 + (lng2 - lng1) * t));
+        }
+    }
+
+    /**
+     * Grid approximation of reachability when there is no road graph: marks
+     * every unblocked cell within {@code maxMeters} of the origin's cell by an
+     * 8-connected path that never crosses a blocked cell.
+     */
+    public void expand(double lat, double lng, double maxMeters) {
+        int start = cellOf(lat, lng);
+        if (start < 0) {
+            return;
+        }
+        double[] distance = new double[size * size];
+        Arrays.fill(distance, Double.POSITIVE_INFINITY);
+        distance[start] = 0;
+        PriorityQueue<double[]> queue = new PriorityQueue<>(Comparator.comparingDouble(entry -> entry[0]));
+        queue.add(new double[] { 0, start });
+
+        double diagonal = cellMeters * Math.sqrt(2);
+        while (!queue.isEmpty()) {
+            double[] entry = queue.poll();
+            int cell = (int) entry[1];
+            if (entry[0] > distance[cell]) {
+                continue;
+            }
+            // The origin cell itself is walkable even inside a hazard, so a user there can still get out
+            if (blocked[cell] && cell != start) {
+                continue;
+            }
+            mark(cell);
+            int row = cell / size;
+            int col = cell % size;
+            for (int dRow = -1; dRow <= 1; dRow++) {
+                for (int dCol = -1; dCol <= 1; dCol++) {
+                    int nRow = row + dRow;
+                    int nCol = col + dCol;
+                    if ((dRow == 0 && dCol == 0) || nRow < 0 || nRow >= size || nCol < 0 || nCol >= size) {
+                        continue;
+                    }
+                    int next = nRow * size + nCol;
+                    if (blocked[next]) {
+                        continue;
+                    }
+                    double candidate = entry[0] + (dRow != 0 && dCol != 0 ? diagonal : cellMeters);
+                    if (candidate <= maxMeters && candidate < distance[next]) {
+                        distance[next] = candidate;
+                        queue.add(new double[] { candidate, next });
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Grows the reached region by {@code cells} in every direction (Chebyshev
+     * distance), turning marked road lines into the area around them.
+     */
+    public void dilate(int cells) {
+        if (cells <= 0) {
+            return;
+        }
+        boolean[] source = reached.clone();
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                if (!source[row * size + col]) {
+                    continue;
+                }
+                for (int r = Math.max(0, row - cells); r <= Math.min(size - 1, row + cells); r++) {
+                    for (int c = Math.max(0, col - cells); c <= Math.min(size - 1, col + cells); c++) {
+                        mark(r * size + c);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Marks unreached cells the outside of the grid cannot get to, such as
+     * blocks enclosed by reachable streets. Blocked cells stay unmarked, so
+     * hazards inside the region remain holes.
+     */
+    public void fillHoles() {
+        boolean[] outside = new boolean[size * size];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int i = 0; i < size; i++) {
+            seedOutside(i, outside, queue);
+            seedOutside((size - 1) * size + i, outside, queue);
+            seedOutside(i * size, outside, queue);
+            seedOutside(i * size + size - 1, outside, queue);
+        }
+        while (!queue.isEmpty()) {
+            int cell = queue.poll();
+            int row = cell / size;
+            int col = cell % size;
+            if (row > 0) {
+                seedOutside(cell - size, outside, queue);
+            }
+            if (row < size - 1) {
+                seedOutside(cell + size, outside, queue);
+            }
+            if (col > 0) {
+                seedOutside(cell - 1, outside, queue);
+            }
+            if (col < size - 1) {
+                seedOutside(cell + 1, outside, queue);
+            }
+        }
+        for (int cell = 0; cell < outside.length; cell++) {
+            if (!outside[cell]) {
+                mark(cell);
+            }
+        }
+    }
+
+    /**
+     * Traces the reached region into polygons, largest first, simplifying
+     * each ring with the given tolerance. Rings that collapse below a
+     * triangle are dropped.
+     */
+    public List<Area> areas(double toleranceMeters) {
+        int corners = size + 1;
+        // Outgoing boundary edges per lattice corner; a corner has two where filled cells touch diagonally
+        int[] firstOut = new int[corners * corners];
+        int[] secondOut = new int[corners * corners];
+        Arrays.fill(firstOut, -1);
+        Arrays.fill(secondOut, -1);
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                if (!filled(row, col)) {
+                    continue;
+                }
+                if (!filled(row - 1, col)) {
+                    addEdge(firstOut, secondOut, row * corners + col, EAST);
+                }
+                if (!filled(row, col + 1)) {
+                    addEdge(firstOut, secondOut, row * corners + col + 1, NORTH);
+                }
+                if (!filled(row + 1, col)) {
+                    addEdge(firstOut, secondOut, (row + 1) * corners + col + 1, WEST);
+                }
+                if (!filled(row, col - 1)) {
+                    addEdge(firstOut, secondOut, (row + 1) * corners + col, SOUTH);
+                }
+            }
+        }
+
+        List<int[]> shells = new ArrayList<>();
+        List<int[]> holes = new ArrayList<>();
+        // Start rings at plain corners first: closing back at a diagonal touch would need the turn rule twice
+        for (int pass = 0; pass < 2; pass++) {
+            for (int corner = 0; corner < firstOut.length; corner++) {
+                while (firstOut[corner] >= 0 && (pass == 1 || secondOut[corner] < 0)) {
+                    int[] ring = traceRing(firstOut, secondOut, corner, corners);
+                    if (signedArea(ring) > 0) {
+                        shells.add(ring);
+                    } else {
+                        holes.add(ring);
+                    }
+                }
+            }
+        }
+        shells.sort(Comparator.comparingDouble((int[] ring) -> signedArea(ring)).reversed());
+
+        List<List<Polyline>> holesByShell = new ArrayList<>();
+        for (int i = 0; i < shells.size(); i++) {
+            holesByShell.add(new ArrayList<>());
+        }
+        for (int[] hole : holes) {
+            // The innermost shell containing a hole owns it; shells are sorted largest first
+            int owner = -1;
+            for (int i = 0; i < shells.size(); i++) {
+                if (contains(shells.get(i), hole[0], hole[1])) {
+                    owner = i;
+                }
+            }
+            Polyline simplified = toPolyline(hole, toleranceMeters);
+            if (owner >= 0 && simplified != null) {
+                holesByShell.get(owner).add(simplified);
+            }
+        }
+
+        List<Area> areas = new ArrayList<>();
+        for (int i = 0; i < shells.size(); i++) {
+            Polyline shell = toPolyline(shells.get(i), toleranceMeters);
+            if (shell != null) {
+                areas.add(new Area(shell, holesByShell.get(i)));
+            }
+        }
+        return areas;
+    }
+
+    private void seedOutside(int cell, boolean[] outside, ArrayDeque<Integer> queue) {
+        if (!outside[cell] && !reached[cell]) {
+            outside[cell] = true;
+            if (!blocked[cell]) {
+                queue.add(cell);
+            }
+        }
+    }
+
+    private static void addEdge(int[] firstOut, int[] secondOut, int corner, int direction) {
+        if (firstOut[corner] < 0) {
+            firstOut[corner] = direction;
+        } else {
+            secondOut[corner] = direction;
+        }
+    }
+
+    /**
+     * Follows boundary edges from {@code start} until the ring closes,
+     * consuming them, and returns its corners as interleaved x,y lattice
+     * coordinates. At a diagonal touch the left turn is taken, keeping
+     * diagonally adjacent cells in separate rings.
+     */
+    private static int[] traceRing(int[] firstOut, int[] secondOut, int start, int corners) {
+        int[] ring = new int[16];
+        int length = 0;
+        int corner = start;
+        int incoming = -1;
+        do {
+            int direction = takeEdge(firstOut, secondOut, corner, incoming);
+            if (direction < 0) {
+                break;
+            }
+            if (direction != incoming) {
+                if (length + 2 > ring.length) {
+                    ring = Arrays.copyOf(ring, ring.length * 2);
+                }
+                ring[length++] = corner % corners;
+                ring[length++] = corner / corners;
+            }
+            corner += DY[direction] * corners + DX[direction];
+            incoming = direction;
+        } while (corner != start);
+        return Arrays.copyOf(ring, length);
+    }
+
+    private static int takeEdge(int[] firstOut, int[] secondOut, int corner, int incoming) {
+        int direction = firstOut[corner];
+        if (secondOut[corner] >= 0 && incoming >= 0 && secondOut[corner] == (incoming + 1) % 4) {
+            direction = secondOut[corner];
+            secondOut[corner] = -1;
+        } else {
+            firstOut[corner] = secondOut[corner];
+            secondOut[corner] = -1;
+        }
+        return direction;
+    }
+
+    private static double signedArea(int[] ring) {
+        double area = 0;
+        int points = ring.length / 2;
+        for (int i = 0; i < points; i++) {
+            int j = (i + 1) % points;
+            area += (double) ring[2 * i] * ring[2 * j + 1] - (double) ring[2 * j] * ring[2 * i + 1];
+        }
+        return area / 2;
+    }
+
+    /**
+     * Even-odd test of a point just inside-right of lattice corner (x, y),
+     * which for a hole's first corner lies inside the hole and therefore
+     * inside every shell enclosing it.
+     */
+    private static boolean contains(int[] ring, int x, int y) {
+        double px = x + 0.5;
+        double py = y + 0.25;
+        boolean inside = false;
+        int points = ring.length / 2;
+        for (int i = 0, j = points - 1; i < points; j = i++) {
+            double xi = ring[2 * i];
+            double yi = ring[2 * i + 1];
+            double xj = ring[2 * j];
+            double yj = ring[2 * j + 1];
+            if ((yi > py) != (yj > py) && px < (xj - xi) * (py - yi) / (yj - yi) + xi) {
+                inside = !inside;
+            }
+        }
+        return inside;
+    }
+
+    private Polyline toPolyline(int[] ring, double toleranceMeters) {
+        int points = ring.length / 2;
+        double[] lats = new double[points + 1];
+        double[] lngs = new double[points + 1];
+        for (int i = 0; i <= points; i++) {
+            int k = i % points;
+            lngs[i] = originLng + (ring[2 * k] - half - 0.5) * cellLng;
+            lats[i] = originLat + (ring[2 * k + 1] - half - 0.5) * cellLat;
+        }
+        int kept = DouglasPeucker.simplify(lats, lngs, points + 1, toleranceMeters, lats, lngs);
+        return kept >= 4 ? new Polyline(lats, lngs, kept) : null;
+    }
+
+    private boolean filled(int row, int col) {
+        return row >= 0 && row < size && col >= 0 && col < size && reached[row * size + col];
+    }
+
+    private void mark(int cell) {
+        if (cell >= 0 && !blocked[cell]) {
+            reached[cell] = true;
+        }
+    }
+
+    private int cellOf(double lat, double lng) {
+        int row = row(lat);
+        int col = col(lng);
+        return row >= 0 && row < size && col >= 0 && col < size ? row * size + col : -1;
+    }
+
+    private int row(double lat) {
+        return (int) Math.floor((lat - originLat) / cellLat + 0.5) + half;
+    }
+
+    private int col(double lng) {
+        return (int) Math.floor((lng - originLng) / cellLng + 0.5) + half;
+    }
+
+    private double cellLat(int row) {
+        return originLat + (row - half) * cellLat;
+    }
+
+    private double cellLng(int col) {
+        return originLng + (col - half) * cellLng;
+    }
+}
@@ -0,0 +1,47 @@
+package hazardhub.com.hub.http;
+
+import hazardhub.com.hub.resilience.ExternalApiGuard;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Exports the per-upstream bulkhead as connection-pool style gauges. The JDK
+ * HTTP client keeps its pool internal, and since every outbound call holds a
+ * guard permit, in-flight permits are the number of busy streams/connections.
+ * Request latency is recorded separately as {@code http.client.requests} via
+ * the observed {@code RestClient.Builder}.
+ */
+@Component
+@RequiredArgsConstructor
+public class ExternalApiGuardMetrics implements MeterBinder {
+
+    private final List<ExternalApiGuard> guards;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (ExternalApiGuard guard : guards) {
+            Gauge.builder("hazardhub.external.pool.active", guard, ExternalApiGuard::getInFlight)
+                    .tag("client", guard.getName())
+                    .description("Outbound calls currently holding a bulkhead permit")
+                    .register(registry);
+            Gauge.builder("hazardhub.external.pool.max", guard, ExternalApiGuard::getMaxConcurrent)
+                    .tag("client", guard.getName())
+                    .description("Bulkhead size, i.e. max concurrent outbound calls")
+                    .register(registry);
+            Gauge.builder("hazardhub.external.circuit.open", guard, g -> g.isOpen() ? 1 : 0)
+                    .tag("client", guard.getName())
+                    .description("1 while the circuit breaker is open")
+                    .register(registry);
+            FunctionCounter.builder("hazardhub.external.rejected", guard, ExternalApiGuard::getRejectedCount)
+                    .tag("client", guard.getName())
+                    .description("Calls rejected because the bulkhead was full or the circuit open")
+                    .register(registry);
+        }
+    }
+}
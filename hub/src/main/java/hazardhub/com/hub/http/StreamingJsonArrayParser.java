@@ -0,0 +1,160 @@
+package hazardhub.com.hub.http;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Incrementally parses one JSON object that arrives as text fragments (e.g. a
+ * streamed LLM response) and hands every object element of a chosen top-level
+ * array field to a callback as soon as that element's closing brace is seen.
+ * Top-level scalar fields are collected and readable once the document is
+ * complete.
+ *
+ * <p>
+ * Backed by Jackson's non-blocking parser, so fragments may split tokens
+ * anywhere. Elements are buffered in a {@link TokenBuffer} while open and
+ * materialized as Maps only when they close.
+ */
+public class StreamingJsonArrayParser implements Closeable {
+
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper;
+    private final String arrayField;
+    private final Consumer<Map<String, Object>> onElement;
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+    private final Map<String, Object> scalars = new LinkedHashMap<>();
+
+    private int depth;
+    private String currentField;
+    private boolean inArray;
+    private TokenBuffer element;
+    private int elementDepth;
+    private int elementCount;
+    private char pendingHighSurrogate;
+
+    public StreamingJsonArrayParser(ObjectMapper objectMapper, String arrayField,
+            Consumer<Map<String, Object>> onElement) throws IOException {
+        this.objectMapper = objectMapper;
+        this.arrayField = arrayField;
+        this.onElement = onElement;
+        this.parser = objectMapper.getFactory().createNonBlockingByteArrayParser();
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    public void feed(String fragment) throws IOException {
+        if (fragment == null || fragment.isEmpty()) {
+            return;
+        }
+        StringBuilder text = new StringBuilder(fragment.length() + 1);
+        if (pendingHighSurrogate != 0) {
+            text.append(pendingHighSurrogate);
+            pendingHighSurrogate = 0;
+        }
+        text.append(fragment);
+        // Never encode half a surrogate pair; hold it until its partner arrives
+        if (Character.isHighSurrogate(text.charAt(text.length() - 1))) {
+            pendingHighSurrogate = text.charAt(text.length() - 1);
+            text.setLength(text.length() - 1);
+        }
+
+        byte[] bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+        feeder.feedInput(bytes, 0, bytes.length);
+        drain();
+    }
+
+    /**
+     * Signals end of input and verifies the document was complete.
+     *
+     * @throws IOException if the JSON was truncated or malformed
+     */
+    public void finish() throws IOException {
+        feeder.endOfInput();
+        drain();
+        if (depth != 0 || element != null) {
+            throw new IOException("Truncated JSON document after " + elementCount + " element(s)");
+        }
+    }
+
+    public int getElementCount() {
+        return elementCount;
+    }
+
+    public String getString(String field) {
+        Object value = scalars.get(field);
+        return value != null ? value.toString() : null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+
+    private void drain() throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            if (element != null) {
+                capture(token);
+                continue;
+            }
+            switch (token) {
+                case START_OBJECT, START_ARRAY -> {
+                    if (inArray && depth == 2 && token == JsonToken.START_OBJECT) {
+                        element = new TokenBuffer(parser);
+                        elementDepth = 0;
+                        capture(token);
+                    } else {
+                        depth++;
+                        if (depth == 2) {
+                            inArray = token == JsonToken.START_ARRAY && arrayField.equals(currentField);
+                        }
+                    }
+                }
+                case END_OBJECT, END_ARRAY -> {
+                    if (depth == 2) {
+                        inArray = false;
+                    }
+                    depth--;
+                }
+                case FIELD_NAME -> {
+                    if (depth == 1) {
+                        currentField = parser.currentName();
+                    }
+                }
+                default -> {
+                    if (depth == 1 && token.isScalarValue()) {
+                        scalars.put(currentField, token == JsonToken.VALUE_NULL ? null : parser.getText());
+                    }
+                }
+            }
+        }
+    }
+
+    private void capture(JsonToken token) throws IOException {
+        element.copyCurrentEvent(parser);
+        if (token.isStructStart()) {
+            elementDepth++;
+        } else if (token.isStructEnd() && --elementDepth == 0) {
+            Map<String, Object> value;
+            try (JsonParser buffered = element.asParser()) {
+                value = objectMapper.readValue(buffered, MAP_TYPE);
+            }
+            element = null;
+            elementCount++;
+            onElement.accept(value);
+        }
+    }
+}
@@ -58,6 +58,8 @@ public final class HazardMapper {
                 .disputeCount(entity.getDisputeCount())
                 .disabledAt(entity.getDisabledAt())
                 .affectedRadiusMeters(entity.getAffectedRadiusMeters())
+                .aiDescription(entity.getAiDescription())
+                .updatedAt(entity.getUpdatedAt())
                 .longitude(entity.getLocation().getX())
                 .latitude(entity.getLocation().getY());
 
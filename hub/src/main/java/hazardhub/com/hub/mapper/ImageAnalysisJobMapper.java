@@ -0,0 +1,29 @@
+package hazardhub.com.hub.mapper;
+
+import hazardhub.com.hub.model.dto.ImageAnalysisJobDTO;
+import hazardhub.com.hub.model.entity.ImageAnalysisJob;
+
+public final class ImageAnalysisJobMapper {
+
+    private ImageAnalysisJobMapper() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    public static ImageAnalysisJobDTO toDTO(ImageAnalysisJob entity) {
+        if (entity == null) {
+            return null;
+        }
+
+        return ImageAnalysisJobDTO.builder()
+                .id(entity.getId())
+                .status(entity.getStatus())
+                .imageUrl(entity.getImageUrl())
+                .hazardId(entity.getHazardId())
+                .attempts(entity.getAttempts())
+                .description(entity.getDescription())
+                .error(entity.getError())
+                .createdAt(entity.getCreatedAt())
+                .completedAt(entity.getCompletedAt())
+                .build();
+    }
+}
@@ -1,5 +1,6 @@
 package hazardhub.com.hub.mapper;
 
+import hazardhub.com.hub.geo.GeoJsonShapes;
 import hazardhub.com.hub.model.dto.RouteDTO;
 import hazardhub.com.hub.model.entity.Route;
 
@@ -21,6 +22,7 @@ public final class RouteMapper {
         return Route.builder()
                 .tripId(dto.getTripId())
                 .polyline(dto.getPolyline())
+                .path(GeoJsonShapes.simplifiedLineString(dto.getPolyline()))
                 .waypoints(dto.getWaypoints())
                 .distanceMeters(dto.getDistanceMeters())
                 .durationSeconds(dto.getDurationSeconds())
@@ -70,6 +72,7 @@ public final class RouteMapper {
 
         if (dto.getPolyline() != null) {
             entity.setPolyline(dto.getPolyline());
+            entity.setPath(GeoJsonShapes.simplifiedLineString(dto.getPolyline()));
         }
         if (dto.getWaypoints() != null) {
             entity.setWaypoints(dto.getWaypoints());
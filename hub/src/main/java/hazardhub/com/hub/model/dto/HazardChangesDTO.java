@@ -0,0 +1,30 @@
+package hazardhub.com.hub.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HazardChangesDTO {
+
+    // Created or updated since the token; apply when updatedAt is newer than the local copy
+    private List<HazardDTO> changed;
+
+    // Ids of hazards deleted since the token
+    private List<String> deleted;
+
+    // Pass as ?since= on the next request
+    private String nextToken;
+
+    // More changes are waiting; request again right away with nextToken
+    private boolean hasMore;
+
+    // The client must drop its local hazards before applying this page
+    private boolean reset;
+}
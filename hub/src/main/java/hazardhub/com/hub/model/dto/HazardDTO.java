@@ -68,4 +68,10 @@ public class HazardDTO {
     @NotNull(message = "Affected radius is required")
     @Positive(message = "Affected radius must be positive")
     private Double affectedRadiusMeters;
+
+    // Read-only; set by image analysis jobs
+    private String aiDescription;
+
+    // Read-only; lets sync clients tell which copy of a hazard is newer
+    private Instant updatedAt;
 }
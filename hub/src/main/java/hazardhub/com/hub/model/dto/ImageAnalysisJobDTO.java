@@ -0,0 +1,34 @@
+package hazardhub.com.hub.model.dto;
+
+import hazardhub.com.hub.model.enums.ImageAnalysisJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImageAnalysisJobDTO {
+
+    private String id;
+
+    private ImageAnalysisJobStatus status;
+
+    private String imageUrl;
+
+    private String hazardId;
+
+    private Integer attempts;
+
+    private String description;
+
+    private String error;
+
+    private Instant createdAt;
+
+    private Instant completedAt;
+}
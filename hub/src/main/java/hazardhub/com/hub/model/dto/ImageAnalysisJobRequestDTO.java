@@ -0,0 +1,20 @@
+package hazardhub.com.hub.model.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImageAnalysisJobRequestDTO {
+
+    @NotBlank(message = "Image URL is required")
+    private String imageUrl;
+
+    // Optional; the finished description is attached to this hazard
+    private String hazardId;
+}
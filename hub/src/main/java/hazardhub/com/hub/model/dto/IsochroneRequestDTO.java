@@ -0,0 +1,37 @@
+package hazardhub.com.hub.model.dto;
+
+import hazardhub.com.hub.model.enums.VehicleType;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IsochroneRequestDTO {
+
+    @NotNull(message = "Longitude is required")
+    @DecimalMin(value = "-180.0", message = "Longitude must be >= -180")
+    @DecimalMax(value = "180.0", message = "Longitude must be <= 180")
+    private Double longitude;
+
+    @NotNull(message = "Latitude is required")
+    @DecimalMin(value = "-90.0", message = "Latitude must be >= -90")
+    @DecimalMax(value = "90.0", message = "Latitude must be <= 90")
+    private Double latitude;
+
+    @NotNull(message = "Vehicle type is required")
+    private VehicleType vehicleType;
+
+    @NotNull(message = "Time budget is required")
+    @Min(value = 1, message = "Time budget must be at least 1 minute")
+    @Max(value = 60, message = "Time budget must be at most 60 minutes")
+    private Integer budgetMinutes;
+}
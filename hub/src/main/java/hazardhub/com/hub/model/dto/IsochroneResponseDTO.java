@@ -0,0 +1,33 @@
+package hazardhub.com.hub.model.dto;
+
+import hazardhub.com.hub.model.enums.VehicleType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IsochroneResponseDTO {
+
+    private Double longitude;
+
+    private Double latitude;
+
+    private VehicleType vehicleType;
+
+    private Integer budgetMinutes;
+
+    private String method; // "ROAD_GRAPH" or "GRID"
+
+    private Integer avoidedHazardCount;
+
+    private Double areaSquareMeters;
+
+    // GeoJSON MultiPolygon, [longitude, latitude] positions
+    private Map<String, Object> geometry;
+}
@@ -1,5 +1,6 @@
 package hazardhub.com.hub.model.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -16,4 +17,8 @@ public class RouteSuggestionResponseDTO {
     private String message;
 
     private List<SuggestedRouteDTO> routes;
+
+    // True when Gemini wrote the message in reply to the user's request, false for canned templates
+    @JsonIgnore
+    private boolean messageFromGemini;
 }
@@ -34,6 +34,8 @@ public class SuggestedRouteDTO {
 
     private Integer hazardCount;
 
+    private Double historicalRisk; // decayed, severity-weighted past hazards along the route at this time of week
+
     // --- Fields populated by backend from Google Directions API ---
 
     @Positive(message = "Distance must be positive")
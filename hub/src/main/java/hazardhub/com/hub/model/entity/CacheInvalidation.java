@@ -0,0 +1,50 @@
+package hazardhub.com.hub.model.entity;
+
+import hazardhub.com.hub.event.HazardChangedEvent.ChangeType;
+import hazardhub.com.hub.model.enums.HazardStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.Instant;
+
+/**
+ * Entry in the capped invalidation log that instances tail to learn about
+ * each other's writes; see
+ * {@link hazardhub.com.hub.service.CacheInvalidationBus}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "cache_invalidations")
+public class CacheInvalidation {
+
+    public static final String TOPIC_HAZARD = "hazard";
+
+    @Id
+    private String id;
+
+    // Instance that made the write; it skips its own entries
+    private String origin;
+
+    private String topic;
+
+    // Id of the changed entity within the topic
+    private String key;
+
+    @Field("change_type")
+    private ChangeType changeType;
+
+    @Field("previous_status")
+    private HazardStatus previousStatus;
+
+    private HazardStatus status;
+
+    @Field("created_at")
+    private Instant createdAt;
+}
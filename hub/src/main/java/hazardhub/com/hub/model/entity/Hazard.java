@@ -67,4 +67,8 @@ public class Hazard extends BaseEntity {
 
     @Field("affected_radius_meters")
     private Double affectedRadiusMeters;
+
+    // Written by image analysis jobs submitted for this hazard
+    @Field("ai_description")
+    private String aiDescription;
 }
@@ -0,0 +1,34 @@
+package hazardhub.com.hub.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.Instant;
+
+/**
+ * Record of a deleted hazard, kept so that clients syncing through
+ * {@link hazardhub.com.hub.service.HazardSyncService} learn about the
+ * deletion. The id is the deleted hazard's id.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "hazard_tombstones")
+public class HazardTombstone {
+
+    @Id
+    private String id;
+
+    @Field("deleted_at")
+    private Instant deletedAt;
+
+    // Removed by a TTL index once no valid sync token can predate it
+    @Field("expires_at")
+    private Instant expiresAt;
+}
@@ -0,0 +1,36 @@
+package hazardhub.com.hub.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.Instant;
+
+/**
+ * Persisted Gemini description of a hazard image, keyed by the image's
+ * content hash or URL; see
+ * {@link hazardhub.com.hub.service.ImageAnalysisCacheService}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "image_analysis_cache")
+public class ImageAnalysisCacheEntry {
+
+    @Id
+    private String id;
+
+    private String description;
+
+    @Field("created_at")
+    private Instant createdAt;
+
+    // Removed by a TTL index
+    @Field("expires_at")
+    private Instant expiresAt;
+}
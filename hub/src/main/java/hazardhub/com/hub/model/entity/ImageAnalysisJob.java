@@ -0,0 +1,67 @@
+package hazardhub.com.hub.model.entity;
+
+import hazardhub.com.hub.model.BaseEntity;
+import hazardhub.com.hub.model.enums.ImageAnalysisJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.Instant;
+
+/**
+ * Queued Gemini analysis of a hazard image. A worker claims a job by setting
+ * it RUNNING with a lease; a job whose lease runs out is claimed again, so a
+ * crashed instance does not strand it.
+ */
+@Data
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+@Document(collection = "image_analysis_jobs")
+public class ImageAnalysisJob extends BaseEntity {
+
+    @Id
+    private String id;
+
+    @Field("image_url")
+    private String imageUrl;
+
+    // When set, the description is also written to the hazard
+    @Field("hazard_id")
+    private String hazardId;
+
+    @Field("requester_id")
+    private String requesterId;
+
+    private ImageAnalysisJobStatus status;
+
+    // Number of times the job has been claimed
+    private Integer attempts;
+
+    @Field("available_at")
+    private Instant availableAt;
+
+    @Field("lease_owner")
+    private String leaseOwner;
+
+    @Field("lease_expires_at")
+    private Instant leaseExpiresAt;
+
+    private String description;
+
+    // Last failure; kept on retried jobs for diagnosis
+    private String error;
+
+    @Field("completed_at")
+    private Instant completedAt;
+
+    // Finished jobs are removed by a TTL index after the retention period
+    @Field("expires_at")
+    private Instant expiresAt;
+}
@@ -0,0 +1,33 @@
+package hazardhub.com.hub.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Latest gzipped {@link hazardhub.com.hub.risk.RiskSurface}, kept as a single
+ * document so a restart loads history without replaying every hazard.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "risk_surface_snapshots")
+public class RiskSurfaceSnapshot {
+
+    public static final String CURRENT_ID = "current";
+
+    @Id
+    private String id;
+
+    private Instant savedAt;
+
+    private Integer slotCount;
+
+    private byte[] data;
+}
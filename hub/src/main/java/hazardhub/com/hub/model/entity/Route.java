@@ -8,6 +8,7 @@ import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.geo.GeoJsonLineString;
 import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
@@ -33,6 +34,10 @@ public class Route extends BaseEntity {
     @Field("polyline")
     private String polyline;
 
+    // Simplified, decoded copy of the polyline; 2dsphere-indexed so routes can be found by location
+    @Field("path")
+    private GeoJsonLineString path;
+
     @Field("waypoints")
     private Map<String, Object> waypoints;
 
@@ -54,4 +59,8 @@ public class Route extends BaseEntity {
     @Field("is_selected")
     @Builder.Default
     private Boolean isSelected = false;
+
+    // Hazard changes since the score was last computed; absent when the score is current
+    @Field("rescore_pending")
+    private Integer rescorePending;
 }
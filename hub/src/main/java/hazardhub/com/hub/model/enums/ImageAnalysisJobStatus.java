@@ -0,0 +1,8 @@
+package hazardhub.com.hub.model.enums;
+
+public enum ImageAnalysisJobStatus {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED
+}
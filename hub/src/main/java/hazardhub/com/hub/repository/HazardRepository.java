@@ -10,6 +10,7 @@ import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface HazardRepository extends MongoRepository<Hazard, String> {
@@ -18,6 +19,8 @@ public interface HazardRepository extends MongoRepository<Hazard, String> {
 
     List<Hazard> findByStatus(HazardStatus status);
 
+    Stream<Hazard> streamAllBy();
+
     Page<Hazard> findByStatus(HazardStatus status, Pageable pageable);
 
     @Query("{ 'location': { $nearSphere: { $geometry: ?0, $maxDistance: ?1 } } }")
@@ -0,0 +1,9 @@
+package hazardhub.com.hub.repository;
+
+import hazardhub.com.hub.model.entity.ImageAnalysisCacheEntry;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ImageAnalysisCacheRepository extends MongoRepository<ImageAnalysisCacheEntry, String> {
+}
@@ -0,0 +1,9 @@
+package hazardhub.com.hub.repository;
+
+import hazardhub.com.hub.model.entity.ImageAnalysisJob;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ImageAnalysisJobRepository extends MongoRepository<ImageAnalysisJob, String> {
+}
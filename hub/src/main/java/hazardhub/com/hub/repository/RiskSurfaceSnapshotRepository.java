@@ -0,0 +1,9 @@
+package hazardhub.com.hub.repository;
+
+import hazardhub.com.hub.model.entity.RiskSurfaceSnapshot;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RiskSurfaceSnapshotRepository extends MongoRepository<RiskSurfaceSnapshot, String> {
+}
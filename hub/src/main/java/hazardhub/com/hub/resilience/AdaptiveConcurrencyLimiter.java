@@ -0,0 +1,138 @@
+package hazardhub.com.hub.resilience;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Concurrency limit that adapts to observed latency, in the style of the
+ * gradient algorithm: a long-term RTT average is the "no queueing" baseline,
+ * and when the short-term average rises above it the limit shrinks in
+ * proportion; when latency is flat the limit grows by roughly
+ * {@code sqrt(limit)} per sample.
+ *
+ * <p>
+ * Admission is split into priority lanes over the same limit. LOW traffic may
+ * only fill {@code lowShare} of it and NORMAL traffic {@code normalShare}; the
+ * rest is reserved for CRITICAL traffic, which may additionally exceed the
+ * limit by {@code criticalHeadroom}. Under overload low-priority calls are
+ * therefore shed first and safety-critical calls keep a short queue.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    public enum Priority {
+        CRITICAL,
+        NORMAL,
+        LOW
+    }
+
+    @Getter
+    @Builder
+    public static class Settings {
+        @Builder.Default
+        private final int initialLimit = 50;
+        @Builder.Default
+        private final int minLimit = 10;
+        @Builder.Default
+        private final int maxLimit = 400;
+        @Builder.Default
+        private final double lowShare = 0.5;
+        @Builder.Default
+        private final double normalShare = 0.9;
+        @Builder.Default
+        private final int criticalHeadroom = 20;
+        @Builder.Default
+        private final double rttTolerance = 1.5;
+        @Builder.Default
+        private final double smoothing = 0.2;
+    }
+
+    private static final double SHORT_ALPHA = 2.0 / (10 + 1);
+    private static final double LONG_ALPHA = 2.0 / (500 + 1);
+
+    private final Settings settings;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+
+    private volatile double limit;
+    private double shortRttNanos;
+    private double longRttNanos;
+
+    public AdaptiveConcurrencyLimiter(Settings settings) {
+        this.settings = settings;
+        this.limit = settings.getInitialLimit();
+    }
+
+    /**
+     * Claims a slot in the given lane.
+     *
+     * @return true if admitted; the caller must then call {@link #release}
+     */
+    public boolean tryAcquire(Priority priority) {
+        double current = limit;
+        double ceiling = switch (priority) {
+            case CRITICAL -> current + settings.getCriticalHeadroom();
+            case NORMAL -> current * settings.getNormalShare();
+            case LOW -> current * settings.getLowShare();
+        };
+        while (true) {
+            int active = inFlight.get();
+            if (active + 1 > ceiling) {
+                rejected.incrementAndGet();
+                return false;
+            }
+            if (inFlight.compareAndSet(active, active + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases a slot and feeds the call's latency into the limit estimate.
+     *
+     * @param rttNanos wall-clock duration of the admitted call
+     */
+    public void release(long rttNanos) {
+        int active = inFlight.getAndDecrement();
+        onSample(rttNanos, active);
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    private synchronized void onSample(long rttNanos, int inFlightAtCompletion) {
+        if (longRttNanos == 0) {
+            shortRttNanos = rttNanos;
+            longRttNanos = rttNanos;
+            return;
+        }
+        shortRttNanos += SHORT_ALPHA * (rttNanos - shortRttNanos);
+        longRttNanos += LONG_ALPHA * (rttNanos - longRttNanos);
+
+        // After a sustained slowdown, let the baseline catch up instead of staying pinned low forever
+        if (longRttNanos / shortRttNanos > 2) {
+            longRttNanos *= 0.95;
+        }
+
+        // An under-used limit says nothing about capacity; don't inflate it
+        if (inFlightAtCompletion < limit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, settings.getRttTolerance() * longRttNanos / shortRttNanos));
+        double target = limit * gradient + Math.sqrt(limit);
+        double next = limit * (1 - settings.getSmoothing()) + target * settings.getSmoothing();
+        limit = Math.max(settings.getMinLimit(), Math.min(settings.getMaxLimit(), next));
+    }
+}
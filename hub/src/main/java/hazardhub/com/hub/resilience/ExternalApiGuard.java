@@ -0,0 +1,200 @@
+package hazardhub.com.hub.resilience;
+
+import hazardhub.com.hub.exception.ExternalApiUnavailableException;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bulkhead, circuit breaker and retry policy for one outbound dependency.
+ *
+ * <p>
+ * At most {@code maxConcurrent} calls are in flight; callers wait at most
+ * {@code acquireTimeoutMs} for a permit and are rejected with
+ * {@link ExternalApiUnavailableException} otherwise, so a slow upstream cannot
+ * pin every servlet thread. 429 and 503 responses are retried with full-jitter
+ * exponential backoff. After {@code failureThreshold} consecutive failures the
+ * circuit opens for {@code openMs}, then lets a single trial call through.
+ */
+@Slf4j
+public class ExternalApiGuard {
+
+    @Getter
+    @Builder
+    public static class Settings {
+        @Builder.Default
+        private final int maxConcurrent = 8;
+        @Builder.Default
+        private final long acquireTimeoutMs = 250;
+        @Builder.Default
+        private final int maxAttempts = 3;
+        @Builder.Default
+        private final long baseBackoffMs = 200;
+        @Builder.Default
+        private final long maxBackoffMs = 2000;
+        @Builder.Default
+        private final int failureThreshold = 5;
+        @Builder.Default
+        private final long openMs = 30_000;
+    }
+
+    private final String name;
+    private final Settings settings;
+    private final Semaphore permits;
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicLong openUntilNanos = new AtomicLong();
+    private final AtomicBoolean halfOpenTrialInFlight = new AtomicBoolean();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public ExternalApiGuard(String name, Settings settings) {
+        this.name = name;
+        this.settings = settings;
+        this.permits = new Semaphore(settings.getMaxConcurrent(), true);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxConcurrent() {
+        return settings.getMaxConcurrent();
+    }
+
+    public int getInFlight() {
+        return settings.getMaxConcurrent() - permits.availablePermits();
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    public boolean isOpen() {
+        return System.nanoTime() < openUntilNanos.get();
+    }
+
+    public <T> T call(Supplier<T> action) {
+        boolean trial = enterCircuit();
+        try {
+            return callWithRetry(action);
+        } finally {
+            if (trial) {
+                halfOpenTrialInFlight.set(false);
+            }
+        }
+    }
+
+    /**
+     * Returns true when this call is the half-open trial that decides whether
+     * the circuit closes again.
+     */
+    private boolean enterCircuit() {
+        long openUntil = openUntilNanos.get();
+        if (openUntil == 0) {
+            return false;
+        }
+        if (System.nanoTime() < openUntil) {
+            rejected.incrementAndGet();
+            throw new ExternalApiUnavailableException(name + " circuit is open");
+        }
+        if (!halfOpenTrialInFlight.compareAndSet(false, true)) {
+            rejected.incrementAndGet();
+            throw new ExternalApiUnavailableException(name + " circuit is half-open, trial call in progress");
+        }
+        return true;
+    }
+
+    private void acquirePermit() {
+        try {
+            if (!permits.tryAcquire(settings.getAcquireTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                rejected.incrementAndGet();
+                throw new ExternalApiUnavailableException(name + " is saturated ("
+                        + settings.getMaxConcurrent() + " calls in flight)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExternalApiUnavailableException("Interrupted while waiting for " + name, e);
+        }
+    }
+
+    private <T> T callWithRetry(Supplier<T> action) {
+        for (int attempt = 1;; attempt++) {
+            long delay;
+            acquirePermit();
+            try {
+                T result = action.get();
+                onSuccess();
+                return result;
+            } catch (RestClientResponseException e) {
+                int status = e.getStatusCode().value();
+                boolean retryable = status == 429 || status == 503;
+                if (!retryable || attempt >= settings.getMaxAttempts()) {
+                    if (status == 429 || e.getStatusCode().is5xxServerError()) {
+                        onFailure();
+                    }
+                    throw e;
+                }
+                delay = backoffMs(attempt, e.getResponseHeaders());
+                log.warn("{} returned {}, retrying in {}ms (attempt {}/{})",
+                        name, status, delay, attempt, settings.getMaxAttempts());
+            } catch (ResourceAccessException e) {
+                // Connect/read timeouts and I/O errors — not retried, the caller's budget is already spent
+                onFailure();
+                throw e;
+            } finally {
+                permits.release();
+            }
+            // Back off without the permit, so throttled calls do not hold the budget while idle
+            sleep(delay);
+        }
+    }
+
+    private long backoffMs(int attempt, HttpHeaders headers) {
+        String retryAfter = headers != null ? headers.getFirst(HttpHeaders.RETRY_AFTER) : null;
+        if (retryAfter != null) {
+            try {
+                long seconds = Long.parseLong(retryAfter.trim());
+                return Math.min(seconds * 1000, settings.getMaxBackoffMs());
+            } catch (NumberFormatException ignored) {
+                // HTTP-date form — fall through to computed backoff
+            }
+        }
+        long ceiling = Math.min(settings.getMaxBackoffMs(), settings.getBaseBackoffMs() << (attempt - 1));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExternalApiUnavailableException("Interrupted while retrying " + name, e);
+        }
+    }
+
+    private void onSuccess() {
+        consecutiveFailures.set(0);
+        if (openUntilNanos.getAndSet(0) != 0) {
+            log.info("{} circuit closed", name);
+        }
+    }
+
+    private void onFailure() {
+        int failures = consecutiveFailures.incrementAndGet();
+        if (failures >= settings.getFailureThreshold()) {
+            openUntilNanos.set(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(settings.getOpenMs()));
+            log.warn("{} circuit opened after {} consecutive failures", name, failures);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package hazardhub.com.hub.resilience;
+
+import hazardhub.com.hub.exception.ExternalApiUnavailableException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls with the same key into one execution. The first
+ * caller for a key runs the supplier on its own thread; callers arriving while
+ * it is in flight wait for that result instead of starting their own. Nothing
+ * is cached: once the leader finishes, the next call for the key runs again.
+ *
+ * <p>
+ * Waiters give up after {@code waitTimeout} with
+ * {@link ExternalApiUnavailableException}. A failure of the leader is rethrown
+ * to every waiter.
+ */
+@Slf4j
+public class SingleFlight<K, V> {
+
+    private final String name;
+    private final Duration waitTimeout;
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    public SingleFlight(String name, Duration waitTimeout) {
+        this.name = name;
+        this.waitTimeout = waitTimeout;
+    }
+
+    public V execute(K key, Supplier<V> supplier) {
+        CompletableFuture<V> leader = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, leader);
+        if (existing == null) {
+            return lead(key, leader, supplier);
+        }
+
+        coalesced.incrementAndGet();
+        log.debug("{}: joining in-flight call for {}", name, key);
+        return await(existing);
+    }
+
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    public long getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    private V lead(K key, CompletableFuture<V> leader, Supplier<V> supplier) {
+        try {
+            V value = supplier.get();
+            leader.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            leader.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, leader);
+        }
+    }
+
+    private V await(CompletableFuture<V> existing) {
+        try {
+            return existing.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new ExternalApiUnavailableException(
+                    name + ": identical request still in flight after " + waitTimeout.toMillis() + "ms");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExternalApiUnavailableException("Interrupted while waiting for " + name, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(name + " failed", cause);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package hazardhub.com.hub.resilience;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token bucket holding up to {@code capacity} tokens and refilling
+ * at {@code tokensPerMinute}.
+ *
+ * <p>
+ * Stored in GCRA form: instead of a token count plus a last-refill time, the
+ * bucket keeps a single "theoretical arrival time" in one {@link AtomicLong},
+ * so an acquire is one CAS with no lock and no torn state. The bucket is
+ * exactly as full as that time lies in the past.
+ */
+public class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucket(int capacity, double tokensPerMinute) {
+        this(capacity, tokensPerMinute, System::nanoTime);
+    }
+
+    TokenBucket(int capacity, double tokensPerMinute, LongSupplier nanoClock) {
+        if (capacity < 1 || tokensPerMinute <= 0) {
+            throw new IllegalArgumentException("capacity must be >= 1 and tokensPerMinute > 0");
+        }
+        this.intervalNanos = (long) (TimeUnit.MINUTES.toNanos(1) / tokensPerMinute);
+        this.burstNanos = intervalNanos * capacity;
+        this.nanoClock = nanoClock;
+        this.theoreticalArrival = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    /**
+     * Takes one token if available.
+     *
+     * @return 0 when a token was taken, otherwise the nanoseconds until one
+     *         will be available
+     */
+    public long tryAcquire() {
+        while (true) {
+            long now = nanoClock.getAsLong();
+            long tat = theoreticalArrival.get();
+            // Compare by difference; nanoTime values may wrap or be negative
+            long next = (tat - now > 0 ? tat : now) + intervalNanos;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(tat, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Returns a token taken by {@link #tryAcquire()} whose request was then
+     * turned away further down the line.
+     */
+    public void refund() {
+        theoreticalArrival.addAndGet(-intervalNanos);
+    }
+
+    /**
+     * True when the bucket has refilled completely, i.e. it holds no state
+     * worth keeping and may be evicted.
+     */
+    public boolean isFull() {
+        return theoreticalArrival.get() - nanoClock.getAsLong() <= 0;
+    }
+}
@@ -0,0 +1,329 @@
+package hazardhub.com.hub.risk;
+
+import hazardhub.com.hub.geo.GeoMath;
+import hazardhub.com.hub.model.enums.HazardSeverity;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Exponentially decayed count of past hazard reports per geo cell, hour of
+ * week and severity.
+ *
+ * <p>
+ * Cells are squares of {@code cellDegrees} on a lat/lng grid. Each (cell,
+ * hour-of-week) slot holds one float per severity in an open-addressed hash
+ * of primitive arrays, so a city's worth of history is a few megabytes and a
+ * lookup is one probe sequence. Decay is applied forward: a report at time t
+ * adds {@code exp((t - reference) / tau)}, and reads scale by
+ * {@code exp(-(now - reference) / tau)}, so nothing has to be touched as time
+ * passes. The reference is moved forward before the exponent can overflow a
+ * float.
+ *
+ * <p>
+ * Thread-safe: reads share a lock, writes take it exclusively.
+ */
+public final class RiskSurface {
+
+    public static final int HOURS_PER_WEEK = 7 * 24;
+
+    private static final int SEVERITIES = HazardSeverity.values().length;
+    private static final long EMPTY = -1;
+    private static final int FORMAT_VERSION = 1;
+    /** e^40 is about 2e17, far inside float range even after many reports. */
+    private static final double REBASE_EXPONENT = 40;
+
+    private final double cellDegrees;
+    private final double tauSeconds;
+    private final ZoneId zone;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long referenceEpochSeconds;
+    private long[] keys;
+    private float[] values;
+    private int size;
+
+    public RiskSurface(double cellDegrees, Duration halfLife, ZoneId zone, Instant reference) {
+        if (cellDegrees <= 0 || halfLife.isNegative() || halfLife.isZero()) {
+            throw new IllegalArgumentException("cellDegrees and halfLife must be positive");
+        }
+        this.cellDegrees = cellDegrees;
+        this.tauSeconds = halfLife.toSeconds() / Math.log(2);
+        this.zone = zone;
+        this.referenceEpochSeconds = reference.getEpochSecond();
+        this.keys = new long[1024];
+        this.values = new float[keys.length * SEVERITIES];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    public double getCellDegrees() {
+        return cellDegrees;
+    }
+
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    /** Number of (cell, hour-of-week) slots holding history. */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int hourOfWeek(Instant at) {
+        ZonedDateTime local = at.atZone(zone);
+        return (local.getDayOfWeek().getValue() - DayOfWeek.MONDAY.getValue()) * 24 + local.getHour();
+    }
+
+    /**
+     * Records {@code weight} reports of the given severity at a location and
+     * time.
+     */
+    public void add(double lat, double lng, Instant at, HazardSeverity severity, double weight) {
+        long key = key(lat, lng, hourOfWeek(at));
+        lock.writeLock().lock();
+        try {
+            double exponent = (at.getEpochSecond() - referenceEpochSeconds) / tauSeconds;
+            if (exponent > REBASE_EXPONENT) {
+                rebase(at.getEpochSecond());
+                exponent = 0;
+            }
+            int slot = findOrInsert(key);
+            values[slot * SEVERITIES + severity.ordinal()] += (float) (weight * Math.exp(exponent));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Records a hazard that stayed active from {@code from} to {@code to}:
+     * one count for every further hour it was active after the hour it was
+     * reported in, which {@link #add} already counted, up to {@code maxHours}.
+     *
+     * @return the number of hours recorded
+     */
+    public int addActiveHours(double lat, double lng, Instant from, Instant to, HazardSeverity severity,
+            int maxHours) {
+        int hours = 0;
+        for (Instant at = from.plus(Duration.ofHours(1)); at.isBefore(to) && hours < maxHours; at = at
+                .plus(Duration.ofHours(1))) {
+            add(lat, lng, at, severity, 1);
+            hours++;
+        }
+        return hours;
+    }
+
+    /**
+     * Decayed, severity-weighted report count for one cell and hour of week.
+     *
+     * @param severityWeights weight per {@link HazardSeverity#ordinal()}
+     */
+    public double risk(double lat, double lng, int hourOfWeek, Instant now, double[] severityWeights) {
+        long key = key(lat, lng, hourOfWeek);
+        lock.readLock().lock();
+        try {
+            return weighted(find(key), severityWeights) * decay(now);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Predicted risk along a route departing at {@code departure}: the sum of
+     * {@link #risk} over each distinct cell the polyline's vertices fall in,
+     * at the hour of week the traveller is expected to reach it (progress
+     * along the route scaled to {@code durationSeconds}). Linear in the
+     * number of vertices.
+     */
+    public double routeRisk(double[] lats, double[] lngs, int count, Instant departure, long durationSeconds,
+            double[] severityWeights) {
+        if (count == 0) {
+            return 0;
+        }
+        double total = GeoMath.polylineLengthMeters(lats, lngs, count);
+        int departureHour = hourOfWeek(departure);
+        lock.readLock().lock();
+        try {
+            double risk = 0;
+            double travelled = 0;
+            long lastCell = Long.MIN_VALUE;
+            for (int i = 0; i < count; i++) {
+                if (i > 0) {
+                    travelled += GeoMath.equirectangularMeters(lats[i - 1], lngs[i - 1], lats[i], lngs[i]);
+                }
+                long cell = cell(lats[i], lngs[i]);
+                if (cell == lastCell) {
+                    continue;
+                }
+                lastCell = cell;
+                long offsetSeconds = total > 0 ? Math.round(durationSeconds * travelled / total) : 0;
+                int hour = (int) ((departureHour + offsetSeconds / 3600) % HOURS_PER_WEEK);
+                risk += weighted(find(cell << 8 | hour), severityWeights);
+            }
+            return risk * decay(departure);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Writes the surface in a compact binary form; see {@link #read}.
+     */
+    public void write(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        lock.readLock().lock();
+        try {
+            data.writeInt(FORMAT_VERSION);
+            data.writeDouble(cellDegrees);
+            data.writeDouble(tauSeconds);
+            data.writeUTF(zone.getId());
+            data.writeLong(referenceEpochSeconds);
+            data.writeInt(size);
+            for (int slot = 0; slot < keys.length; slot++) {
+                if (keys[slot] == EMPTY) {
+                    continue;
+                }
+                data.writeLong(keys[slot]);
+                for (int s = 0; s < SEVERITIES; s++) {
+                    data.writeFloat(values[slot * SEVERITIES + s]);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        data.flush();
+    }
+
+    /**
+     * @throws IOException if the data is not a surface snapshot or was
+     *                     written with a different cell size, half-life or
+     *                     time zone — callers rebuild from history then
+     */
+    public static RiskSurface read(InputStream in, double cellDegrees, Duration halfLife, ZoneId zone)
+            throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != FORMAT_VERSION) {
+            throw new IOException("Unsupported risk surface format");
+        }
+        double storedCell = data.readDouble();
+        double storedTau = data.readDouble();
+        String storedZone = data.readUTF();
+        long reference = data.readLong();
+
+        RiskSurface surface = new RiskSurface(cellDegrees, halfLife, zone, Instant.ofEpochSecond(reference));
+        if (storedCell != cellDegrees || Math.abs(storedTau - surface.tauSeconds) > 1
+                || !storedZone.equals(zone.getId())) {
+            throw new IOException("Risk surface snapshot was built with different settings");
+        }
+        int entries = data.readInt();
+        for (int i = 0; i < entries; i++) {
+            int slot = surface.findOrInsert(data.readLong());
+            for (int s = 0; s < SEVERITIES; s++) {
+                surface.values[slot * SEVERITIES + s] = data.readFloat();
+            }
+        }
+        return surface;
+    }
+
+    private double decay(Instant now) {
+        return Math.exp(-(now.getEpochSecond() - referenceEpochSeconds) / tauSeconds);
+    }
+
+    private double weighted(int slot, double[] severityWeights) {
+        if (slot < 0) {
+            return 0;
+        }
+        double sum = 0;
+        for (int s = 0; s < SEVERITIES; s++) {
+            sum += values[slot * SEVERITIES + s] * severityWeights[s];
+        }
+        return sum;
+    }
+
+    private void rebase(long newReferenceEpochSeconds) {
+        float scale = (float) Math.exp(-(newReferenceEpochSeconds - referenceEpochSeconds) / tauSeconds);
+        for (int i = 0; i < values.length; i++) {
+            values[i] *= scale;
+        }
+        referenceEpochSeconds = newReferenceEpochSeconds;
+    }
+
+    private long key(double lat, double lng, int hourOfWeek) {
+        return cell(lat, lng) << 8 | hourOfWeek;
+    }
+
+    /** Row in the high 27 bits, column in the low 28; leaves 8 bits for the hour. */
+    private long cell(double lat, double lng) {
+        long row = (long) Math.floor((lat + 90) / cellDegrees);
+        long col = (long) Math.floor((lng + 180) / cellDegrees);
+        return row << 28 | col;
+    }
+
+    private int find(long key) {
+        int mask = keys.length - 1;
+        for (int slot = mix(key) & mask;; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            if (keys[slot] == EMPTY) {
+                return -1;
+            }
+        }
+    }
+
+    private int findOrInsert(long key) {
+        if ((size + 1) * 4L > keys.length * 3L) {
+            grow();
+        }
+        int mask = keys.length - 1;
+        for (int slot = mix(key) & mask;; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            if (keys[slot] == EMPTY) {
+                keys[slot] = key;
+                size++;
+                return slot;
+            }
+        }
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        float[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new float[keys.length * SEVERITIES];
+        Arrays.fill(keys, EMPTY);
+        int mask = keys.length - 1;
+        for (int old = 0; old < oldKeys.length; old++) {
+            if (oldKeys[old] == EMPTY) {
+                continue;
+            }
+            int slot = mix(oldKeys[old]) & mask;
+            while (keys[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = oldKeys[old];
+            System.arraycopy(oldValues, old * SEVERITIES, values, slot * SEVERITIES, SEVERITIES);
+        }
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,109 @@
+package hazardhub.com.hub.routing;
+
+import hazardhub.com.hub.geo.GeoMath;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * A* over a {@link RoadGraph}, minimizing travel time scaled by
+ * {@link HazardPenalties}. The heuristic is straight-line distance at the
+ * mode's top speed, which never overestimates because penalties only make
+ * edges dearer.
+ *
+ * <p>
+ * Thread-safe. Per-node search arrays are sized to the graph, so they are
+ * pooled and reset lazily by generation stamp rather than allocated or
+ * cleared per query.
+ */
+public class AStarRouter {
+
+    /** Slack so floating-point error in the heuristic can never make it inadmissible. */
+    private static final double HEURISTIC_SCALE = 0.99;
+
+    private final RoadGraph graph;
+    private final ConcurrentLinkedQueue<SearchState> pool = new ConcurrentLinkedQueue<>();
+
+    public AStarRouter(RoadGraph graph) {
+        this.graph = graph;
+    }
+
+    public RoadGraph getGraph() {
+        return graph;
+    }
+
+    public Optional<RoutePath> route(int source, int target, TravelMode mode, HazardPenalties penalties) {
+        SearchState state = pool.poll();
+        if (state == null) {
+            state = new SearchState(graph.getNodeCount());
+        }
+        try {
+            return search(state, source, target, mode, penalties);
+        } finally {
+            pool.offer(state);
+        }
+    }
+
+    private Optional<RoutePath> search(SearchState state, int source, int target, TravelMode mode,
+            HazardPenalties penalties) {
+        state.reset();
+        double targetLat = graph.lat(target);
+        double targetLng = graph.lng(target);
+        double secondsPerMeter = HEURISTIC_SCALE / mode.maxSpeedMetersPerSecond(graph);
+
+        state.open(source, 0, -1, -1);
+        state.heap.push(source, heuristic(source, targetLat, targetLng, secondsPerMeter));
+
+        while (!state.heap.isEmpty()) {
+            int u = state.heap.pop();
+            if (state.isClosed(u)) {
+                continue;
+            }
+            if (u == target) {
+                return Optional.of(buildPath(state, source, target, mode));
+            }
+            state.close(u);
+
+            double costU = state.cost[u];
+            for (int e = graph.firstEdge(u); e < graph.endEdge(u); e++) {
+                if (!graph.allows(e, mode)) {
+                    continue;
+                }
+                int v = graph.target(e);
+                if (state.isClosed(v)) {
+                    continue;
+                }
+                double seconds = graph.lengthMeters(e) / mode.speedMetersPerSecond(graph, e);
+                double candidate = costU + seconds * penalties.multiplier(e);
+                if (!state.isSeen(v) || candidate < state.cost[v]) {
+                    state.open(v, candidate, u, e);
+                    state.heap.push(v, candidate + heuristic(v, targetLat, targetLng, secondsPerMeter));
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    private double heuristic(int node, double targetLat, double targetLng, double secondsPerMeter) {
+        return GeoMath.haversineMeters(graph.lat(node), graph.lng(node), targetLat, targetLng) * secondsPerMeter;
+    }
+
+    private RoutePath buildPath(SearchState state, int source, int target, TravelMode mode) {
+        int length = 1;
+        for (int node = target; node != source; node = state.parentNode[node]) {
+            length++;
+        }
+        int[] nodes = new int[length];
+        double distance = 0;
+        double duration = 0;
+        int i = length - 1;
+        for (int node = target; node != source; node = state.parentNode[node]) {
+            nodes[i--] = node;
+            int edge = state.parentEdge[node];
+            distance += graph.lengthMeters(edge);
+            duration += graph.lengthMeters(edge) / mode.speedMetersPerSecond(graph, edge);
+        }
+        nodes[0] = source;
+        return new RoutePath(nodes, distance, duration, state.cost[target]);
+    }
+}
@@ -0,0 +1,90 @@
+package hazardhub.com.hub.routing;
+
+import java.util.Arrays;
+
+/**
+ * Edge weights of a {@link ContractionHierarchy} for one travel mode and one
+ * set of hazard penalties. Each arc has an upward weight (lower → higher
+ * rank) and a downward weight, plus how it was obtained: either a graph edge
+ * or a lower triangle through a middle node, which is what path unpacking
+ * follows.
+ *
+ * <p>
+ * Customization is linear in the number of lower triangles and needs no
+ * priority queue, so a whole metric is rebuilt in a few seconds for a metro
+ * graph. Instances are immutable once built and swapped in atomically.
+ */
+final class CchMetric {
+
+    static final float INFINITY = Float.POSITIVE_INFINITY;
+
+    /** Marks an arc with no path behind it in that direction. */
+    static final int NO_PATH = Integer.MIN_VALUE;
+
+    final float[] up;
+    final float[] down;
+    // >= 0: middle rank of the lower triangle; otherwise -(edge + 1)
+    final int[] upVia;
+    final int[] downVia;
+
+    private CchMetric(int arcs) {
+        up = new float[arcs];
+        down = new float[arcs];
+        upVia = new int[arcs];
+        downVia = new int[arcs];
+        Arrays.fill(up, INFINITY);
+        Arrays.fill(down, INFINITY);
+        Arrays.fill(upVia, NO_PATH);
+        Arrays.fill(downVia, NO_PATH);
+    }
+
+    static CchMetric customize(ContractionHierarchy ch, RoadGraph graph, TravelMode mode,
+            HazardPenalties penalties) {
+        CchMetric metric = new CchMetric(ch.getArcCount());
+
+        for (int u = 0; u < graph.getNodeCount(); u++) {
+            for (int e = graph.firstEdge(u); e < graph.endEdge(u); e++) {
+                int arc = ch.edgeArc(e);
+                if (arc < 0 || !graph.allows(e, mode)) {
+                    continue;
+                }
+                float cost = (float) (graph.lengthMeters(e) / mode.speedMetersPerSecond(graph, e)
+                        * penalties.multiplier(e));
+                boolean upward = ch.rank(u) < ch.rank(graph.target(e));
+                float[] weights = upward ? metric.up : metric.down;
+                if (cost < weights[arc]) {
+                    weights[arc] = cost;
+                    (upward ? metric.upVia : metric.downVia)[arc] = -(e + 1);
+                }
+            }
+        }
+
+        // Lower triangles: for v below x < y, x -> y may go x -> v -> y and y -> x may go y -> v -> x.
+        // Ranks are processed bottom-up so both arcs out of v are final when used.
+        for (int v = 0; v < ch.getNodeCount(); v++) {
+            int end = ch.endArc(v);
+            for (int i = ch.firstArc(v); i < end; i++) {
+                int x = ch.arcTarget(i);
+                int k = ch.firstArc(x);
+                for (int j = i + 1; j < end; j++) {
+                    int y = ch.arcTarget(j);
+                    // Upper neighbours of v are a clique, so x -> y exists; merge along x's sorted arcs
+                    while (ch.arcTarget(k) < y) {
+                        k++;
+                    }
+                    float viaUp = metric.down[i] + metric.up[j];
+                    if (viaUp < metric.up[k]) {
+                        metric.up[k] = viaUp;
+                        metric.upVia[k] = v;
+                    }
+                    float viaDown = metric.down[j] + metric.up[i];
+                    if (viaDown < metric.down[k]) {
+                        metric.down[k] = viaDown;
+                        metric.downVia[k] = v;
+                    }
+                }
+            }
+        }
+        return metric;
+    }
+}
@@ -0,0 +1,280 @@
+package hazardhub.com.hub.routing;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Shortest-path queries over a customized {@link ContractionHierarchy}.
+ *
+ * <p>
+ * A query walks the elimination-tree ancestors of source and target,
+ * relaxing upward arcs from the source and downward arcs towards the target,
+ * and meets at the cheapest common ancestor — no priority queue, and the
+ * search space is bounded by the tree height. Hazard penalties live in
+ * the metric: {@link #customize} rebuilds the metrics off to the side and
+ * swaps them in, so queries never block on a hazard update.
+ *
+ * <p>
+ * Thread-safe. Search arrays are pooled like {@link AStarRouter}'s.
+ */
+public class CchRouter {
+
+    private final RoadGraph graph;
+    private final ContractionHierarchy hierarchy;
+    private final ConcurrentLinkedQueue<SearchState> pool = new ConcurrentLinkedQueue<>();
+    private volatile Map<TravelMode, CchMetric> metrics = Collections.emptyMap();
+
+    public CchRouter(RoadGraph graph, ContractionHierarchy hierarchy) {
+        this.graph = graph;
+        this.hierarchy = hierarchy;
+    }
+
+    public RoadGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Recomputes the metrics for {@code modes} with the given penalties and
+     * publishes them together.
+     */
+    public void customize(Set<TravelMode> modes, HazardPenalties penalties) {
+        Map<TravelMode, CchMetric> next = new EnumMap<>(TravelMode.class);
+        modes.parallelStream()
+                .map(mode -> Map.entry(mode, CchMetric.customize(hierarchy, graph, mode, penalties)))
+                .toList()
+                .forEach(entry -> next.put(entry.getKey(), entry.getValue()));
+        metrics = next;
+    }
+
+    public boolean isCustomized(TravelMode mode) {
+        return metrics.containsKey(mode);
+    }
+
+    /**
+     * @throws IllegalStateException if {@code mode} has not been customized
+     */
+    public Optional<RoutePath> route(int source, int target, TravelMode mode) {
+        CchMetric metric = metrics.get(mode);
+        if (metric == null) {
+            throw new IllegalStateException("No customized metric for " + mode);
+        }
+        SearchState state = pool.poll();
+        if (state == null) {
+            state = new SearchState(hierarchy.getNodeCount());
+        }
+        try {
+            return search(state, metric, source, target, mode);
+        } finally {
+            pool.offer(state);
+        }
+    }
+
+    private Optional<RoutePath> search(SearchState state, CchMetric metric, int source, int target,
+            TravelMode mode) {
+        state.reset();
+        int s = hierarchy.rank(source);
+        int t = hierarchy.rank(target);
+
+        state.settle(state.forward, s, 0, -1, -1);
+        state.settle(state.backward, t, 0, -1, -1);
+
+        // Walk both ancestor chains in rank order. Once they merge every node is
+        // a meeting candidate, and labels no better than the best meeting are
+        // not expanded.
+        int meet = -1;
+        double best = Double.POSITIVE_INFINITY;
+        int x = s;
+        int y = t;
+        while (x >= 0 || y >= 0) {
+            if (y < 0 || (x >= 0 && x < y)) {
+                relax(state, state.forward, metric.up, x, best);
+                x = hierarchy.parent(x);
+            } else if (x < 0 || y < x) {
+                relax(state, state.backward, metric.down, y, best);
+                y = hierarchy.parent(y);
+            } else {
+                if (state.forward.isSeen(x, state.generation) && state.backward.isSeen(x, state.generation)) {
+                    double total = state.forward.cost[x] + state.backward.cost[x];
+                    if (total < best) {
+                        best = total;
+                        meet = x;
+                    }
+                }
+                relax(state, state.forward, metric.up, x, best);
+                relax(state, state.backward, metric.down, x, best);
+                x = hierarchy.parent(x);
+                y = x;
+            }
+        }
+        if (meet < 0) {
+            return Optional.empty();
+        }
+        return Optional.of(unpack(state, metric, s, meet, best, mode));
+    }
+
+    private void relax(SearchState state, Side side, float[] weights, int x, double bound) {
+        if (!side.isSeen(x, state.generation) || side.cost[x] >= bound) {
+            return;
+        }
+        double base = side.cost[x];
+        for (int a = hierarchy.firstArc(x); a < hierarchy.endArc(x); a++) {
+            float w = weights[a];
+            if (w == CchMetric.INFINITY) {
+                continue;
+            }
+            int y = hierarchy.arcTarget(a);
+            double candidate = base + w;
+            if (!side.isSeen(y, state.generation) || candidate < side.cost[y]) {
+                state.settle(side, y, candidate, x, a);
+            }
+        }
+    }
+
+    private RoutePath unpack(SearchState state, CchMetric metric, int s, int meet, double cost, TravelMode mode) {
+        EdgeSink sink = new EdgeSink();
+
+        // Source side: arcs were traversed upwards; collect meet -> s then replay in travel order
+        int upCount = 0;
+        for (int x = meet; x != s; x = state.forward.prev[x]) {
+            upCount++;
+        }
+        int[] upArcs = new int[upCount];
+        int[] upLowers = new int[upCount];
+        int[] upHighers = new int[upCount];
+        int i = upCount;
+        for (int x = meet; x != s; x = state.forward.prev[x]) {
+            i--;
+            upArcs[i] = state.forward.arc[x];
+            upLowers[i] = state.forward.prev[x];
+            upHighers[i] = x;
+        }
+        for (i = 0; i < upCount; i++) {
+            unpackArc(metric, upArcs[i], upLowers[i], upHighers[i], true, sink);
+        }
+
+        // Target side: walking prev pointers from meet already follows travel order, downwards
+        for (int x = meet; state.backward.prev[x] >= 0; x = state.backward.prev[x]) {
+            unpackArc(metric, state.backward.arc[x], state.backward.prev[x], x, false, sink);
+        }
+
+        int[] nodes = new int[sink.count + 1];
+        nodes[0] = hierarchy.node(s);
+        double distance = 0;
+        double duration = 0;
+        for (int k = 0; k < sink.count; k++) {
+            int edge = sink.edges[k];
+            nodes[k + 1] = graph.target(edge);
+            distance += graph.lengthMeters(edge);
+            duration += graph.lengthMeters(edge) / mode.speedMetersPerSecond(graph, edge);
+        }
+        return new RoutePath(nodes, distance, duration, cost);
+    }
+
+    /**
+     * Expands one hierarchy arc into graph edges, in travel order. Upward means
+     * lower → higher. Iterative, since shortcut nesting can be deep.
+     */
+    private void unpackArc(CchMetric metric, int arc, int lower, int higher, boolean upward, EdgeSink sink) {
+        int[] stack = new int[64];
+        int size = 0;
+        stack[size++] = arc;
+        stack[size++] = lower;
+        stack[size++] = higher;
+        stack[size++] = upward ? 1 : 0;
+        while (size > 0) {
+            boolean up = stack[--size] == 1;
+            int hi = stack[--size];
+            int lo = stack[--size];
+            int a = stack[--size];
+            int via = up ? metric.upVia[a] : metric.downVia[a];
+            if (via < 0) {
+                sink.add(-(via + 1));
+                continue;
+            }
+            int toLower = hierarchy.arc(via, lo);
+            int toHigher = hierarchy.arc(via, hi);
+            if (size + 8 > stack.length) {
+                stack = Arrays.copyOf(stack, stack.length * 2);
+            }
+            // Push the second half first so the first half is expanded first
+            if (up) {
+                // lo -> via (down along via-lo), then via -> hi (up along via-hi)
+                size = push(stack, size, toHigher, via, hi, true);
+                size = push(stack, size, toLower, via, lo, false);
+            } else {
+                // hi -> via (down along via-hi), then via -> lo (up along via-lo)
+                size = push(stack, size, toLower, via, lo, true);
+                size = push(stack, size, toHigher, via, hi, false);
+            }
+        }
+    }
+
+    private static int push(int[] stack, int size, int arc, int lower, int higher, boolean upward) {
+        stack[size++] = arc;
+        stack[size++] = lower;
+        stack[size++] = higher;
+        stack[size++] = upward ? 1 : 0;
+        return size;
+    }
+
+    private static final class EdgeSink {
+        private int[] edges = new int[64];
+        private int count;
+
+        void add(int edge) {
+            if (count == edges.length) {
+                edges = Arrays.copyOf(edges, count * 2);
+            }
+            edges[count++] = edge;
+        }
+    }
+
+    private static final class Side {
+        private final double[] cost;
+        private final int[] prev;
+        private final int[] arc;
+        private final int[] seen;
+
+        Side(int nodeCount) {
+            cost = new double[nodeCount];
+            prev = new int[nodeCount];
+            arc = new int[nodeCount];
+            seen = new int[nodeCount];
+        }
+
+        boolean isSeen(int rank, int generation) {
+            return seen[rank] == generation;
+        }
+    }
+
+    private static final class SearchState {
+        private final Side forward;
+        private final Side backward;
+        private int generation;
+
+        SearchState(int nodeCount) {
+            forward = new Side(nodeCount);
+            backward = new Side(nodeCount);
+        }
+
+        void reset() {
+            if (++generation == Integer.MAX_VALUE) {
+                Arrays.fill(forward.seen, 0);
+                Arrays.fill(backward.seen, 0);
+                generation = 1;
+            }
+        }
+
+        void settle(Side side, int rank, double cost, int prev, int arc) {
+            side.seen[rank] = generation;
+            side.cost[rank] = cost;
+            side.prev[rank] = prev;
+            side.arc[rank] = arc;
+        }
+    }
+}
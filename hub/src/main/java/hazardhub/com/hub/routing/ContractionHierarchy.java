@@ -0,0 +1,279 @@
+package hazardhub.com.hub.routing;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Metric-independent topology of a customizable contraction hierarchy over a
+ * {@link RoadGraph}. Nodes are addressed by rank; every arc is stored once,
+ * at its lower-ranked end, with targets sorted ascending. The arc set is
+ * chordal — the upper neighbours of each node form a clique — so any edge
+ * weights can be applied later by {@link CchMetric#customize} without
+ * touching this structure, and the upward search space of a node is exactly
+ * its ancestors in the elimination tree ({@link #parent}).
+ *
+ * <p>
+ * Building takes seconds to minutes for a metro graph, so the result is
+ * persisted and later memory-mapped read-only:
+ *
+ * <pre>
+ * int   magic 'HHCH', version (1)
+ * int   nodeCount, edgeCount; long graph fingerprint
+ * int   arcCount
+ * int[] rankToNode[n], nodeToRank[n], parent[n]
+ * int[] arcStart[n + 1], arcTarget[arcCount], edgeArc[edgeCount]
+ * </pre>
+ */
+public final class ContractionHierarchy {
+
+    static final int MAGIC = 0x48484348;
+    static final int VERSION = 1;
+    private static final int HEADER_BYTES = 4 * Integer.BYTES + Long.BYTES + Integer.BYTES;
+
+    private final int nodeCount;
+    private final int edgeCount;
+    private final long graphFingerprint;
+    private final IntBuffer rankToNode;
+    private final IntBuffer nodeToRank;
+    private final IntBuffer parent;
+    private final IntBuffer arcStart;
+    private final IntBuffer arcTarget;
+    private final IntBuffer edgeArc;
+
+    private ContractionHierarchy(int nodeCount, int edgeCount, long graphFingerprint, IntBuffer rankToNode,
+            IntBuffer nodeToRank, IntBuffer parent, IntBuffer arcStart, IntBuffer arcTarget, IntBuffer edgeArc) {
+        this.nodeCount = nodeCount;
+        this.edgeCount = edgeCount;
+        this.graphFingerprint = graphFingerprint;
+        this.rankToNode = rankToNode;
+        this.nodeToRank = nodeToRank;
+        this.parent = parent;
+        this.arcStart = arcStart;
+        this.arcTarget = arcTarget;
+        this.edgeArc = edgeArc;
+    }
+
+    public static ContractionHierarchy build(RoadGraph graph) {
+        int n = graph.getNodeCount();
+        int[] rankToNode = NestedDissectionOrder.compute(graph);
+        int[] nodeToRank = new int[n];
+        for (int r = 0; r < n; r++) {
+            nodeToRank[rankToNode[r]] = r;
+        }
+
+        int[][] adjacency = NestedDissectionOrder.undirectedAdjacency(graph);
+        int[][] upper = new int[n][];
+        int[] upperSize = new int[n];
+        for (int r = 0; r < n; r++) {
+            int node = rankToNode[r];
+            upper[r] = new int[4];
+            for (int i = adjacency[0][node]; i < adjacency[0][node + 1]; i++) {
+                int neighbourRank = nodeToRank[adjacency[1][i]];
+                if (neighbourRank > r) {
+                    upperSize[r] = append(upper, upperSize, r, neighbourRank);
+                }
+            }
+        }
+
+        // Contract in rank order. Handing v's upper neighbours to the lowest of
+        // them is enough: cliques propagate up the elimination tree.
+        int[] parent = new int[n];
+        int[] arcStart = new int[n + 1];
+        for (int v = 0; v < n; v++) {
+            int[] list = upper[v];
+            Arrays.sort(list, 0, upperSize[v]);
+            int size = 0;
+            for (int i = 0; i < upperSize[v]; i++) {
+                if (i == 0 || list[i] != list[i - 1]) {
+                    list[size++] = list[i];
+                }
+            }
+            upper[v] = Arrays.copyOf(list, size);
+            upperSize[v] = size;
+            arcStart[v + 1] = arcStart[v] + size;
+
+            if (size == 0) {
+                parent[v] = -1;
+                continue;
+            }
+            int lowest = upper[v][0];
+            parent[v] = lowest;
+            for (int i = 1; i < size; i++) {
+                upperSize[lowest] = append(upper, upperSize, lowest, upper[v][i]);
+            }
+        }
+
+        int[] arcTarget = new int[arcStart[n]];
+        for (int v = 0; v < n; v++) {
+            System.arraycopy(upper[v], 0, arcTarget, arcStart[v], upperSize[v]);
+            upper[v] = null;
+        }
+
+        int[] edgeArc = new int[graph.getEdgeCount()];
+        for (int u = 0; u < n; u++) {
+            for (int e = graph.firstEdge(u); e < graph.endEdge(u); e++) {
+                int a = nodeToRank[u];
+                int b = nodeToRank[graph.target(e)];
+                edgeArc[e] = a == b ? -1 : findArc(arcStart, arcTarget, Math.min(a, b), Math.max(a, b));
+            }
+        }
+
+        return new ContractionHierarchy(n, graph.getEdgeCount(), graph.fingerprint(), IntBuffer.wrap(rankToNode),
+                IntBuffer.wrap(nodeToRank), IntBuffer.wrap(parent), IntBuffer.wrap(arcStart),
+                IntBuffer.wrap(arcTarget), IntBuffer.wrap(edgeArc));
+    }
+
+    /**
+     * Maps a hierarchy file written by {@link #write}.
+     *
+     * @throws IOException if the file is unreadable or was built for a
+     *                     different graph
+     */
+    public static ContractionHierarchy load(Path path, RoadGraph graph) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IOException(path + " is not a contraction hierarchy file");
+            }
+            int n = buffer.getInt();
+            int edges = buffer.getInt();
+            long fingerprint = buffer.getLong();
+            int arcs = buffer.getInt();
+            if (n != graph.getNodeCount() || edges != graph.getEdgeCount() || fingerprint != graph.fingerprint()) {
+                throw new IOException(path + " was built for a different road graph");
+            }
+            return new ContractionHierarchy(n, edges, fingerprint, slice(buffer, n), slice(buffer, n),
+                    slice(buffer, n), slice(buffer, n + 1), slice(buffer, arcs), slice(buffer, edges));
+        }
+    }
+
+    /**
+     * Loads the hierarchy at {@code path} if it matches the graph, otherwise
+     * builds one and writes it there for the next start.
+     */
+    public static ContractionHierarchy loadOrBuild(Path path, RoadGraph graph) throws IOException {
+        if (Files.exists(path)) {
+            try {
+                return load(path, graph);
+            } catch (IOException e) {
+                // Stale or corrupt — rebuild below
+            }
+        }
+        ContractionHierarchy built = build(graph);
+        built.write(path);
+        return load(path, graph);
+    }
+
+    public void write(Path path) throws IOException {
+        long bytes = HEADER_BYTES + (long) Integer.BYTES
+                * (3L * nodeCount + nodeCount + 1 + getArcCount() + edgeCount);
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.READ, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(nodeCount).putInt(edgeCount).putLong(graphFingerprint)
+                    .putInt(getArcCount());
+            for (IntBuffer section : new IntBuffer[] { rankToNode, nodeToRank, parent, arcStart, arcTarget,
+                    edgeArc }) {
+                for (int i = 0; i < section.limit(); i++) {
+                    buffer.putInt(section.get(i));
+                }
+            }
+            buffer.force();
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    public int getArcCount() {
+        return arcTarget.limit();
+    }
+
+    public int rank(int node) {
+        return nodeToRank.get(node);
+    }
+
+    public int node(int rank) {
+        return rankToNode.get(rank);
+    }
+
+    /**
+     * Elimination-tree parent of a rank, or -1 for a root.
+     */
+    public int parent(int rank) {
+        return parent.get(rank);
+    }
+
+    public int firstArc(int rank) {
+        return arcStart.get(rank);
+    }
+
+    public int endArc(int rank) {
+        return arcStart.get(rank + 1);
+    }
+
+    public int arcTarget(int arc) {
+        return arcTarget.get(arc);
+    }
+
+    /**
+     * Arc carrying a graph edge, or -1 for self-loops.
+     */
+    public int edgeArc(int edge) {
+        return edgeArc.get(edge);
+    }
+
+    /**
+     * Arc between {@code lower} and {@code higher} rank, or -1 if none.
+     */
+    public int arc(int lower, int higher) {
+        int lo = arcStart.get(lower);
+        int hi = arcStart.get(lower + 1) - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int target = arcTarget.get(mid);
+            if (target < higher) {
+                lo = mid + 1;
+            } else if (target > higher) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private static int findArc(int[] arcStart, int[] arcTarget, int lower, int higher) {
+        int index = Arrays.binarySearch(arcTarget, arcStart[lower], arcStart[lower + 1], higher);
+        if (index < 0) {
+            throw new IllegalStateException("Missing arc " + lower + " -> " + higher);
+        }
+        return index;
+    }
+
+    private static int append(int[][] lists, int[] sizes, int owner, int value) {
+        int size = sizes[owner];
+        if (size == lists[owner].length) {
+            lists[owner] = Arrays.copyOf(lists[owner], Math.max(4, size * 2));
+        }
+        lists[owner][size] = value;
+        return size + 1;
+    }
+
+    private static IntBuffer slice(ByteBuffer buffer, int count) {
+        IntBuffer view = buffer.slice(buffer.position(), count * Integer.BYTES).asIntBuffer();
+        buffer.position(buffer.position() + count * Integer.BYTES);
+        return view;
+    }
+}
@@ -0,0 +1,93 @@
+package hazardhub.com.hub.routing;
+
+import hazardhub.com.hub.geo.GeoMath;
+import hazardhub.com.hub.model.dto.HazardDTO;
+import hazardhub.com.hub.model.enums.HazardSeverity;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-query edge cost multipliers for edges that pass within a hazard's
+ * affected radius. Only the handful of affected edges are stored, as a sorted
+ * edge array with parallel multipliers, so unaffected edges cost one binary
+ * search over a short array. Where several hazards touch an edge the harshest
+ * multiplier wins.
+ */
+public final class HazardPenalties {
+
+    public static final HazardPenalties NONE = new HazardPenalties(new int[0], new float[0]);
+
+    /** Radius used for hazards reported without one. */
+    static final double DEFAULT_RADIUS_METERS = 25;
+
+    /** Longer edges are rare (ferries, motorways); cap the node search around hazards. */
+    private static final double MAX_EDGE_SEARCH_METERS = 2_000;
+
+    private final int[] edges;
+    private final float[] multipliers;
+
+    private HazardPenalties(int[] edges, float[] multipliers) {
+        this.edges = edges;
+        this.multipliers = multipliers;
+    }
+
+    public static HazardPenalties build(RoadGraph graph, List<HazardDTO> hazards,
+            Map<HazardSeverity, Double> severityMultipliers) {
+        if (hazards == null || hazards.isEmpty()) {
+            return NONE;
+        }
+        Map<HazardSeverity, Double> bySeverity = new EnumMap<>(severityMultipliers);
+        Map<Integer, Float> affected = new HashMap<>();
+        double edgeReach = Math.min(graph.getMaxEdgeLengthMeters(), MAX_EDGE_SEARCH_METERS);
+
+        for (HazardDTO hazard : hazards) {
+            if (hazard.getLatitude() == null || hazard.getLongitude() == null) {
+                continue;
+            }
+            double lat = hazard.getLatitude();
+            double lng = hazard.getLongitude();
+            double radius = hazard.getAffectedRadiusMeters() != null ? hazard.getAffectedRadiusMeters()
+                    : DEFAULT_RADIUS_METERS;
+            float multiplier = bySeverity.getOrDefault(
+                    hazard.getSeverity() != null ? hazard.getSeverity() : HazardSeverity.MEDIUM, 1.0).floatValue();
+            if (multiplier <= 1) {
+                continue;
+            }
+
+            // Any edge passing within the radius has its source within radius + edge length
+            graph.forEachNodeNear(lat, lng, radius + edgeReach, u -> {
+                for (int e = graph.firstEdge(u); e < graph.endEdge(u); e++) {
+                    int v = graph.target(e);
+                    double d = GeoMath.pointToSegmentMeters(lat, lng, graph.lat(u), graph.lng(u), graph.lat(v),
+                            graph.lng(v));
+                    if (d <= radius) {
+                        affected.merge(e, multiplier, Math::max);
+                    }
+                }
+            });
+        }
+
+        int[] edges = affected.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+        float[] multipliers = new float[edges.length];
+        for (int i = 0; i < edges.length; i++) {
+            multipliers[i] = affected.get(edges[i]);
+        }
+        return new HazardPenalties(edges, multipliers);
+    }
+
+    public double multiplier(int edge) {
+        if (edges.length == 0) {
+            return 1;
+        }
+        int index = Arrays.binarySearch(edges, edge);
+        return index >= 0 ? multipliers[index] : 1;
+    }
+
+    public int getAffectedEdgeCount() {
+        return edges.length;
+    }
+}
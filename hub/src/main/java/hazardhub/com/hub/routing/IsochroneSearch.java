@@ -0,0 +1,119 @@
+package hazardhub.com.hub.routing;
+
+import hazardhub.com.hub.geo.GeoMath;
+import hazardhub.com.hub.geo.ReachabilityGrid;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Time-bounded Dijkstra over a {@link RoadGraph} that paints everything
+ * reachable within a budget onto a {@link ReachabilityGrid}. The search is
+ * multi-source: every road node near the start is seeded with the time it
+ * takes to walk to it, so a start between two roads reaches both. Edges whose
+ * {@link HazardPenalties} multiplier is infinite are impassable; an edge the
+ * budget runs out on is painted up to the point where time runs out.
+ *
+ * <p>
+ * Thread-safe; search arrays are pooled like {@link AStarRouter}'s.
+ */
+public class IsochroneSearch {
+
+    private final RoadGraph graph;
+    private final ConcurrentLinkedQueue<SearchState> pool = new ConcurrentLinkedQueue<>();
+
+    public IsochroneSearch(RoadGraph graph) {
+        this.graph = graph;
+    }
+
+    public RoadGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Upper bound on how far from the start the search can paint, for sizing
+     * the grid and the hazard lookup.
+     */
+    public double maxReachMeters(TravelMode mode, double budgetSeconds, double accessMeters) {
+        return accessMeters + mode.maxSpeedMetersPerSecond(graph) * budgetSeconds;
+    }
+
+    /**
+     * @param accessMeters how far from the start a road node may be to seed
+     *                     the search
+     * @return the number of nodes reached within the budget
+     */
+    public int expand(double lat, double lng, double accessMeters, TravelMode mode, double budgetSeconds,
+            HazardPenalties penalties, ReachabilityGrid grid) {
+        SearchState state = pool.poll();
+        if (state == null) {
+            state = new SearchState(graph.getNodeCount());
+        }
+        try {
+            return search(state, lat, lng, accessMeters, mode, budgetSeconds, penalties, grid);
+        } finally {
+            pool.offer(state);
+        }
+    }
+
+    private int search(SearchState state, double lat, double lng, double accessMeters, TravelMode mode,
+            double budgetSeconds, HazardPenalties penalties, ReachabilityGrid grid) {
+        state.reset();
+        grid.markPoint(lat, lng);
+        double walkSpeed = TravelMode.WALKING.getFixedSpeedKmh() / 3.6;
+
+        graph.forEachNodeNear(lat, lng, accessMeters, u -> {
+            double meters = GeoMath.haversineMeters(lat, lng, graph.lat(u), graph.lng(u));
+            if (meters > accessMeters || !graph.hasUsableEdge(u, mode)) {
+                return;
+            }
+            double seconds = meters / walkSpeed;
+            if (seconds <= budgetSeconds && (!state.isSeen(u) || seconds < state.cost[u])) {
+                state.open(u, seconds, -1, -1);
+                state.heap.push(u, seconds);
+            }
+        });
+
+        int settled = 0;
+        while (!state.heap.isEmpty()) {
+            int u = state.heap.pop();
+            if (state.isClosed(u)) {
+                continue;
+            }
+            state.close(u);
+            settled++;
+            if (state.parentNode[u] < 0) {
+                grid.markSegment(lat, lng, graph.lat(u), graph.lng(u));
+            }
+
+            double costU = state.cost[u];
+            for (int e = graph.firstEdge(u); e < graph.endEdge(u); e++) {
+                if (!graph.allows(e, mode)) {
+                    continue;
+                }
+                double multiplier = penalties.multiplier(e);
+                if (Double.isInfinite(multiplier)) {
+                    continue;
+                }
+                int v = graph.target(e);
+                double seconds = graph.lengthMeters(e) / mode.speedMetersPerSecond(graph, e) * multiplier;
+                double arrival = costU + seconds;
+                if (arrival > budgetSeconds) {
+                    paintPartial(grid, u, v, (budgetSeconds - costU) / seconds);
+                    continue;
+                }
+                grid.markSegment(graph.lat(u), graph.lng(u), graph.lat(v), graph.lng(v));
+                if (!state.isClosed(v) && (!state.isSeen(v) || arrival < state.cost[v])) {
+                    state.open(v, arrival, u, e);
+                    state.heap.push(v, arrival);
+                }
+            }
+        }
+        return settled;
+    }
+
+    private void paintPartial(ReachabilityGrid grid, int u, int v, double fraction) {
+        double lat = graph.lat(u) + (graph.lat(v) - graph.lat(u)) * fraction;
+        double lng = graph.lng(u) + (graph.lng(v) - graph.lng(u)) * fraction;
+        grid.markSegment(graph.lat(u), graph.lng(u), lat, lng);
+    }
+}
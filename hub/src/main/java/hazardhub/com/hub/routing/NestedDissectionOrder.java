@@ -0,0 +1,209 @@
+package hazardhub.com.hub.routing;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Metric-independent node order for a {@link ContractionHierarchy}, by
+ * geometric nested dissection: the node set is split at the coordinate median
+ * along its wider axis, the nodes bordering the cut become a separator, and
+ * separators are ranked above both halves. Road networks have small
+ * geometric separators, which keeps shortcut fill-in and the elimination tree
+ * height low without looking at any edge weight — so the order survives every
+ * change in hazards.
+ */
+final class NestedDissectionOrder {
+
+    private static final int LEAF_SIZE = 32;
+
+    private final RoadGraph graph;
+    private final int[] adjacencyStart;
+    private final int[] adjacency;
+    private final int[] side;
+    private final int[] rankToNode;
+    private int stamp;
+    private int nextRank;
+
+    private NestedDissectionOrder(RoadGraph graph) {
+        this.graph = graph;
+        int n = graph.getNodeCount();
+        int[][] undirected = undirectedAdjacency(graph);
+        this.adjacencyStart = undirected[0];
+        this.adjacency = undirected[1];
+        this.side = new int[n];
+        this.rankToNode = new int[n];
+    }
+
+    /**
+     * @return {@code rankToNode}: the node contracted first is at index 0
+     */
+    static int[] compute(RoadGraph graph) {
+        NestedDissectionOrder order = new NestedDissectionOrder(graph);
+        int[] nodes = new int[graph.getNodeCount()];
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = i;
+        }
+        order.dissect(nodes, 0, nodes.length);
+        return order.rankToNode;
+    }
+
+    /**
+     * Symmetric, de-duplicated neighbour lists in CSR form: {@code [start, neighbours]}.
+     */
+    static int[][] undirectedAdjacency(RoadGraph graph) {
+        int n = graph.getNodeCount();
+        int[] degree = new int[n + 1];
+        for (int u = 0; u < n; u++) {
+            for (int e = graph.firstEdge(u); e < graph.endEdge(u); e++) {
+                int v = graph.target(e);
+                if (v != u) {
+                    degree[u + 1]++;
+                    degree[v + 1]++;
+                }
+            }
+        }
+        for (int u = 0; u < n; u++) {
+            degree[u + 1] += degree[u];
+        }
+        int[] raw = new int[degree[n]];
+        int[] fill = Arrays.copyOf(degree, n);
+        for (int u = 0; u < n; u++) {
+            for (int e = graph.firstEdge(u); e < graph.endEdge(u); e++) {
+                int v = graph.target(e);
+                if (v != u) {
+                    raw[fill[u]++] = v;
+                    raw[fill[v]++] = u;
+                }
+            }
+        }
+
+        int[] start = new int[n + 1];
+        int[] neighbours = new int[raw.length];
+        int count = 0;
+        for (int u = 0; u < n; u++) {
+            Arrays.sort(raw, degree[u], degree[u + 1]);
+            start[u] = count;
+            for (int i = degree[u]; i < degree[u + 1]; i++) {
+                if (i == degree[u] || raw[i] != raw[i - 1]) {
+                    neighbours[count++] = raw[i];
+                }
+            }
+        }
+        start[n] = count;
+        return new int[][] { start, Arrays.copyOf(neighbours, count) };
+    }
+
+    private void dissect(int[] nodes, int from, int to) {
+        int size = to - from;
+        if (size <= LEAF_SIZE) {
+            for (int i = from; i < to; i++) {
+                rankToNode[nextRank++] = nodes[i];
+            }
+            return;
+        }
+
+        boolean byLat = latSpread(nodes, from, to) >= lngSpread(nodes, from, to);
+        int mid = from + size / 2;
+        select(nodes, from, to, mid, byLat);
+
+        int left = ++stamp;
+        for (int i = from; i < mid; i++) {
+            side[nodes[i]] = left;
+        }
+
+        // Right-half nodes adjacent to the left half form the separator; move them to the end
+        int separatorStart = to;
+        for (int i = mid; i < separatorStart;) {
+            if (touches(nodes[i], left)) {
+                swap(nodes, i, --separatorStart);
+            } else {
+                i++;
+            }
+        }
+
+        dissect(nodes, from, mid);
+        dissect(nodes, mid, separatorStart);
+        for (int i = separatorStart; i < to; i++) {
+            rankToNode[nextRank++] = nodes[i];
+        }
+    }
+
+    private boolean touches(int node, int sideStamp) {
+        for (int i = adjacencyStart[node]; i < adjacencyStart[node + 1]; i++) {
+            if (side[adjacency[i]] == sideStamp) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Spreads are in degrees of latitude so the two axes compare fairly.
+     */
+    private double latSpread(int[] nodes, int from, int to) {
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = from; i < to; i++) {
+            double lat = graph.lat(nodes[i]);
+            min = Math.min(min, lat);
+            max = Math.max(max, lat);
+        }
+        return max - min;
+    }
+
+    private double lngSpread(int[] nodes, int from, int to) {
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        double minLat = Double.POSITIVE_INFINITY;
+        for (int i = from; i < to; i++) {
+            double lng = graph.lng(nodes[i]);
+            min = Math.min(min, lng);
+            max = Math.max(max, lng);
+            minLat = Math.min(minLat, Math.abs(graph.lat(nodes[i])));
+        }
+        return (max - min) * Math.cos(Math.toRadians(minLat));
+    }
+
+    private double key(int node, boolean byLat) {
+        return byLat ? graph.lat(node) : graph.lng(node);
+    }
+
+    /**
+     * Quickselect: afterwards {@code nodes[k]} holds the k-th smallest key in
+     * {@code [from, to)}, with smaller keys before it and larger after.
+     */
+    private void select(int[] nodes, int from, int to, int k, boolean byLat) {
+        int lo = from;
+        int hi = to - 1;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (lo < hi) {
+            double pivot = key(nodes[lo + random.nextInt(hi - lo + 1)], byLat);
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (key(nodes[i], byLat) < pivot) {
+                    i++;
+                }
+                while (key(nodes[j], byLat) > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(nodes, i++, j--);
+                }
+            }
+            if (k <= j) {
+                hi = j;
+            } else if (k >= i) {
+                lo = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private static void swap(int[] values, int a, int b) {
+        int tmp = values[a];
+        values[a] = values[b];
+        values[b] = tmp;
+    }
+}
@@ -0,0 +1,334 @@
+package hazardhub.com.hub.routing;
+
+import hazardhub.com.hub.geo.GeoMath;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.IntConsumer;
+
+/**
+ * Directed road graph in compressed sparse row form. The outgoing edges of
+ * node {@code u} are {@code firstEdge[u] .. firstEdge[u + 1] - 1}; every
+ * per-node and per-edge attribute is a primitive array, so a regional graph
+ * with millions of edges costs tens of megabytes and no object headers.
+ *
+ * <p>
+ * The graph is produced offline from an OSM extract and stored in the binary
+ * layout below (big-endian):
+ *
+ * <pre>
+ * int     magic 'HHRG'
+ * int     version (1)
+ * int     nodeCount, edgeCount
+ * int[]   latE7[nodeCount], lngE7[nodeCount]     degrees * 1e7
+ * int[]   firstEdge[nodeCount + 1]
+ * int[]   target[edgeCount]
+ * float[] lengthMeters[edgeCount]
+ * byte[]  speedKmh[edgeCount]                    unsigned, driving speed
+ * byte[]  access[edgeCount]                      {@link TravelMode} bit mask
+ * </pre>
+ *
+ * A uniform grid over the nodes is built on load for coordinate snapping.
+ */
+public final class RoadGraph {
+
+    static final int MAGIC = 0x48485247;
+    static final int VERSION = 1;
+
+    private static final double COORD_SCALE = 1e7;
+    private static final double CELL_DEGREES = 0.01;
+
+    private final int nodeCount;
+    private final int[] latE7;
+    private final int[] lngE7;
+    private final int[] firstEdge;
+    private final int[] target;
+    private final float[] lengthMeters;
+    private final byte[] speedKmh;
+    private final byte[] access;
+
+    private final double maxEdgeLengthMeters;
+    private final int maxSpeedKmh;
+
+    private final double gridMinLat;
+    private final double gridMinLng;
+    private final int gridRows;
+    private final int gridCols;
+    private final int[] cellStart;
+    private final int[] cellNodes;
+
+    public RoadGraph(int[] latE7, int[] lngE7, int[] firstEdge, int[] target, float[] lengthMeters,
+            byte[] speedKmh, byte[] access) {
+        this.nodeCount = latE7.length;
+        if (lngE7.length != nodeCount || firstEdge.length != nodeCount + 1) {
+            throw new IllegalArgumentException("Node arrays disagree on node count");
+        }
+        int edgeCount = target.length;
+        if (lengthMeters.length != edgeCount || speedKmh.length != edgeCount || access.length != edgeCount
+                || firstEdge[nodeCount] != edgeCount) {
+            throw new IllegalArgumentException("Edge arrays disagree on edge count");
+        }
+        this.latE7 = latE7;
+        this.lngE7 = lngE7;
+        this.firstEdge = firstEdge;
+        this.target = target;
+        this.lengthMeters = lengthMeters;
+        this.speedKmh = speedKmh;
+        this.access = access;
+
+        double maxLength = 0;
+        int maxSpeed = 1;
+        for (int e = 0; e < edgeCount; e++) {
+            maxLength = Math.max(maxLength, lengthMeters[e]);
+            maxSpeed = Math.max(maxSpeed, speedKmh[e] & 0xff);
+        }
+        this.maxEdgeLengthMeters = maxLength;
+        this.maxSpeedKmh = maxSpeed;
+
+        double minLat = Double.POSITIVE_INFINITY;
+        double minLng = Double.POSITIVE_INFINITY;
+        double maxLat = Double.NEGATIVE_INFINITY;
+        double maxLng = Double.NEGATIVE_INFINITY;
+        for (int u = 0; u < nodeCount; u++) {
+            minLat = Math.min(minLat, lat(u));
+            maxLat = Math.max(maxLat, lat(u));
+            minLng = Math.min(minLng, lng(u));
+            maxLng = Math.max(maxLng, lng(u));
+        }
+        this.gridMinLat = nodeCount == 0 ? 0 : minLat;
+        this.gridMinLng = nodeCount == 0 ? 0 : minLng;
+        this.gridRows = nodeCount == 0 ? 1 : (int) ((maxLat - minLat) / CELL_DEGREES) + 1;
+        this.gridCols = nodeCount == 0 ? 1 : (int) ((maxLng - minLng) / CELL_DEGREES) + 1;
+
+        // Counting sort of nodes into cells
+        this.cellStart = new int[gridRows * gridCols + 1];
+        this.cellNodes = new int[nodeCount];
+        for (int u = 0; u < nodeCount; u++) {
+            cellStart[cellOf(u) + 1]++;
+        }
+        for (int c = 0; c < gridRows * gridCols; c++) {
+            cellStart[c + 1] += cellStart[c];
+        }
+        int[] fill = cellStart.clone();
+        for (int u = 0; u < nodeCount; u++) {
+            cellNodes[fill[cellOf(u)]++] = u;
+        }
+    }
+
+    /**
+     * Loads a graph file written by {@link #write}.
+     */
+    public static RoadGraph load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException(path + " is not a road graph file");
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported road graph version " + version + " in " + path);
+            }
+            int nodes = buffer.getInt();
+            int edges = buffer.getInt();
+
+            int[] latE7 = readInts(buffer, nodes);
+            int[] lngE7 = readInts(buffer, nodes);
+            int[] firstEdge = readInts(buffer, nodes + 1);
+            int[] target = readInts(buffer, edges);
+            float[] lengthMeters = new float[edges];
+            buffer.asFloatBuffer().get(lengthMeters);
+            buffer.position(buffer.position() + edges * Float.BYTES);
+            byte[] speedKmh = new byte[edges];
+            buffer.get(speedKmh);
+            byte[] access = new byte[edges];
+            buffer.get(access);
+            return new RoadGraph(latE7, lngE7, firstEdge, target, lengthMeters, speedKmh, access);
+        }
+    }
+
+    public void write(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeInt(nodeCount);
+        data.writeInt(getEdgeCount());
+        writeInts(data, latE7);
+        writeInts(data, lngE7);
+        writeInts(data, firstEdge);
+        writeInts(data, target);
+        for (float length : lengthMeters) {
+            data.writeFloat(length);
+        }
+        data.write(speedKmh);
+        data.write(access);
+        data.flush();
+    }
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    public int getEdgeCount() {
+        return target.length;
+    }
+
+    public double lat(int node) {
+        return latE7[node] / COORD_SCALE;
+    }
+
+    public double lng(int node) {
+        return lngE7[node] / COORD_SCALE;
+    }
+
+    public int firstEdge(int node) {
+        return firstEdge[node];
+    }
+
+    public int endEdge(int node) {
+        return firstEdge[node + 1];
+    }
+
+    public int target(int edge) {
+        return target[edge];
+    }
+
+    public double lengthMeters(int edge) {
+        return lengthMeters[edge];
+    }
+
+    public int speedKmh(int edge) {
+        return speedKmh[edge] & 0xff;
+    }
+
+    public boolean allows(int edge, TravelMode mode) {
+        return (access[edge] & mode.getAccessBit()) != 0;
+    }
+
+    /**
+     * Hash of the graph's topology and coordinates, used to tell whether
+     * derived files such as a {@link ContractionHierarchy} still match it.
+     */
+    public long fingerprint() {
+        long hash = 1125899906842597L;
+        hash = 31 * hash + nodeCount;
+        for (int i = 0; i < nodeCount; i++) {
+            hash = 31 * hash + latE7[i];
+            hash = 31 * hash + lngE7[i];
+        }
+        for (int value : firstEdge) {
+            hash = 31 * hash + value;
+        }
+        for (int value : target) {
+            hash = 31 * hash + value;
+        }
+        return hash;
+    }
+
+    public double getMaxEdgeLengthMeters() {
+        return maxEdgeLengthMeters;
+    }
+
+    public int getMaxSpeedKmh() {
+        return maxSpeedKmh;
+    }
+
+    /**
+     * Nearest node to a coordinate that has at least one outgoing edge usable
+     * in {@code mode}, searching rings of grid cells outwards.
+     *
+     * @return the node, or -1 if none lies within {@code maxMeters}
+     */
+    public int nearestNode(double lat, double lng, double maxMeters, TravelMode mode) {
+        int row = clamp((int) Math.floor((lat - gridMinLat) / CELL_DEGREES), gridRows);
+        int col = clamp((int) Math.floor((lng - gridMinLng) / CELL_DEGREES), gridCols);
+        // Longitude degrees are the shorter ones in meters, so they bound both axes
+        double degreesPerMeter = GeoMath.metersToLngDegrees(1, lat);
+        int maxRing = (int) Math.ceil(maxMeters * degreesPerMeter / CELL_DEGREES) + 1;
+
+        int best = -1;
+        double bestMeters = maxMeters;
+        for (int ring = 0; ring <= maxRing; ring++) {
+            // Cells in ring r are at least (r - 1) cells away from the query point
+            if (best >= 0 && (ring - 1) * CELL_DEGREES / degreesPerMeter > bestMeters) {
+                break;
+            }
+            for (int r = row - ring; r <= row + ring; r++) {
+                for (int c = col - ring; c <= col + ring; c++) {
+                    boolean onRing = Math.abs(r - row) == ring || Math.abs(c - col) == ring;
+                    if (!onRing || r < 0 || c < 0 || r >= gridRows || c >= gridCols) {
+                        continue;
+                    }
+                    int cell = r * gridCols + c;
+                    for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+                        int node = cellNodes[i];
+                        double d = GeoMath.equirectangularMeters(lat, lng, lat(node), lng(node));
+                        if (d <= bestMeters && hasUsableEdge(node, mode)) {
+                            best = node;
+                            bestMeters = d;
+                        }
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Calls {@code visitor} for every node within roughly {@code radiusMeters}
+     * of a coordinate. Cheap pre-filter only: callers check exact distances.
+     */
+    public void forEachNodeNear(double lat, double lng, double radiusMeters, IntConsumer visitor) {
+        double dLat = GeoMath.metersToLatDegrees(radiusMeters);
+        double dLng = GeoMath.metersToLngDegrees(radiusMeters, lat);
+        int rowFrom = clamp((int) Math.floor((lat - dLat - gridMinLat) / CELL_DEGREES), gridRows);
+        int rowTo = clamp((int) Math.floor((lat + dLat - gridMinLat) / CELL_DEGREES), gridRows);
+        int colFrom = clamp((int) Math.floor((lng - dLng - gridMinLng) / CELL_DEGREES), gridCols);
+        int colTo = clamp((int) Math.floor((lng + dLng - gridMinLng) / CELL_DEGREES), gridCols);
+        for (int r = rowFrom; r <= rowTo; r++) {
+            for (int c = colFrom; c <= colTo; c++) {
+                int cell = r * gridCols + c;
+                for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+                    visitor.accept(cellNodes[i]);
+                }
+            }
+        }
+    }
+
+    boolean hasUsableEdge(int node, TravelMode mode) {
+        for (int e = firstEdge[node]; e < firstEdge[node + 1]; e++) {
+            if (allows(e, mode)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int cellOf(int node) {
+        int row = (int) ((lat(node) - gridMinLat) / CELL_DEGREES);
+        int col = (int) ((lng(node) - gridMinLng) / CELL_DEGREES);
+        return row * gridCols + col;
+    }
+
+    private static int clamp(int value, int size) {
+        return Math.max(0, Math.min(size - 1, value));
+    }
+
+    private static int[] readInts(ByteBuffer buffer, int count) {
+        int[] values = new int[count];
+        buffer.asIntBuffer().get(values);
+        buffer.position(buffer.position() + count * Integer.BYTES);
+        return values;
+    }
+
+    private static void writeInts(DataOutputStream data, int[] values) throws IOException {
+        for (int value : values) {
+            data.writeInt(value);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package hazardhub.com.hub.routing;
+
+/**
+ * A routed path through the graph. {@code distanceMeters} and
+ * {@code durationSeconds} are the real travel figures; {@code cost} includes
+ * hazard penalties and is what the search minimized.
+ */
+public record RoutePath(int[] nodes, double distanceMeters, double durationSeconds, double cost) {
+}
@@ -0,0 +1,56 @@
+package hazardhub.com.hub.routing;
+
+import java.util.Arrays;
+
+/**
+ * Per-node search arrays for one graph search, reused across queries. Entries
+ * are valid only when stamped with the current generation, so a reset is O(1)
+ * instead of clearing arrays the size of the graph.
+ */
+final class SearchState {
+
+    final double[] cost;
+    final int[] parentNode;
+    final int[] parentEdge;
+    // seen[u] == generation: cost/parent valid; closed[u] == generation: settled
+    private final int[] seen;
+    private final int[] closed;
+    final NodeHeap heap = new NodeHeap();
+    private int generation;
+
+    SearchState(int nodeCount) {
+        cost = new double[nodeCount];
+        parentNode = new int[nodeCount];
+        parentEdge = new int[nodeCount];
+        seen = new int[nodeCount];
+        closed = new int[nodeCount];
+    }
+
+    void reset() {
+        heap.clear();
+        if (++generation == Integer.MAX_VALUE) {
+            Arrays.fill(seen, 0);
+            Arrays.fill(closed, 0);
+            generation = 1;
+        }
+    }
+
+    boolean isSeen(int node) {
+        return seen[node] == generation;
+    }
+
+    boolean isClosed(int node) {
+        return closed[node] == generation;
+    }
+
+    void open(int node, double nodeCost, int parent, int edge) {
+        seen[node] = generation;
+        cost[node] = nodeCost;
+        parentNode[node] = parent;
+        parentEdge[node] = edge;
+    }
+
+    void close(int node) {
+        closed[node] = generation;
+    }
+}
@@ -0,0 +1,59 @@
+package hazardhub.com.hub.routing;
+
+import hazardhub.com.hub.model.enums.VehicleType;
+import lombok.Getter;
+
+/**
+ * Directions travel modes the local router supports, with the access bit each
+ * uses in {@link RoadGraph} and the speed assumed where the graph's per-edge
+ * driving speed does not apply.
+ */
+@Getter
+public enum TravelMode {
+    DRIVING("driving", 0x01, 0),
+    BICYCLING("bicycling", 0x02, 15),
+    WALKING("walking", 0x04, 5);
+
+    private final String directionsMode;
+    private final int accessBit;
+    private final int fixedSpeedKmh;
+
+    TravelMode(String directionsMode, int accessBit, int fixedSpeedKmh) {
+        this.directionsMode = directionsMode;
+        this.accessBit = accessBit;
+        this.fixedSpeedKmh = fixedSpeedKmh;
+    }
+
+    /**
+     * @throws IllegalArgumentException for modes without a road graph
+     *                                  equivalent, such as transit
+     */
+    public static TravelMode fromDirectionsMode(String mode) {
+        for (TravelMode travelMode : values()) {
+            if (travelMode.directionsMode.equalsIgnoreCase(mode)) {
+                return travelMode;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported travel mode for local routing: " + mode);
+    }
+
+    public static TravelMode fromVehicleType(VehicleType vehicleType) {
+        return switch (vehicleType) {
+            case CAR -> DRIVING;
+            case BICYCLE -> BICYCLING;
+            case WALKING -> WALKING;
+        };
+    }
+
+    /**
+     * Speed on an edge in meters per second.
+     */
+    double speedMetersPerSecond(RoadGraph graph, int edge) {
+        int kmh = fixedSpeedKmh > 0 ? fixedSpeedKmh : Math.max(graph.speedKmh(edge), 1);
+        return kmh / 3.6;
+    }
+
+    double maxSpeedMetersPerSecond(RoadGraph graph) {
+        return (fixedSpeedKmh > 0 ? fixedSpeedKmh : graph.getMaxSpeedKmh()) / 3.6;
+    }
+}
@@ -0,0 +1,75 @@
+package hazardhub.com.hub.security;
+
+import hazardhub.com.hub.resilience.AdaptiveConcurrencyLimiter;
+import hazardhub.com.hub.resilience.AdaptiveConcurrencyLimiter.Priority;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+
+/**
+ * Servlet-level admission control in front of everything else, so overload is
+ * shed before a request costs a Firebase token check or a Mongo query.
+ *
+ * <p>
+ * SOS and emergency-contact calls run in the CRITICAL lane. Paged listings
+ * (including SOS history) and AI chat run in the LOW lane and are rejected
+ * first. Rejections are a 503 with {@code Retry-After: 1} in the same body
+ * shape as {@code GlobalExceptionHandler}.
+ */
+@Slf4j
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Priority priority = classify(request.getRequestURI());
+        if (!limiter.tryAcquire(priority)) {
+            log.warn("Shedding {} request {} {} (limit {}, in flight {})", priority, request.getMethod(),
+                    request.getRequestURI(), limiter.getLimit(), limiter.getInFlight());
+            reject(response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            limiter.release(System.nanoTime() - start);
+        }
+    }
+
+    static Priority classify(String path) {
+        if (path.endsWith("/paged") || path.startsWith("/api/v1/ai/chat")) {
+            return Priority.LOW;
+        }
+        if (path.startsWith("/api/v1/sos-events") || path.startsWith("/api/v1/emergency-contacts")) {
+            return Priority.CRITICAL;
+        }
+        return Priority.NORMAL;
+    }
+
+    private static void reject(HttpServletResponse response) throws IOException {
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"timestamp\":\"" + Instant.now() + "\",\"status\":" + status.value()
+                + ",\"error\":\"" + status.getReasonPhrase()
+                + "\",\"message\":\"Server is overloaded, please retry shortly\"}");
+    }
+}
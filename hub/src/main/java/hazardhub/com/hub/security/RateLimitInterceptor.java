@@ -0,0 +1,48 @@
+package hazardhub.com.hub.security;
+
+import hazardhub.com.hub.exception.RateLimitExceededException;
+import hazardhub.com.hub.service.RateLimitService;
+import hazardhub.com.hub.service.RateLimitService.Decision;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Admits a request only if the caller's budget for one endpoint allows it.
+ * Runs after the security filter chain, so the Firebase uid set by
+ * {@link FirebaseAuthFilter} is available; unauthenticated callers are keyed
+ * by address. Rejections surface as {@link RateLimitExceededException}.
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final RateLimitService rateLimitService;
+    private final String policy;
+
+    public RateLimitInterceptor(RateLimitService rateLimitService, String policy) {
+        this.rateLimitService = rateLimitService;
+        this.policy = policy;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Decision decision = rateLimitService.tryAcquire(policy, clientKey(request));
+        if (!decision.allowed()) {
+            throw new RateLimitExceededException(
+                    "Too many " + policy + " requests (" + decision.scope() + " limit), retry in "
+                            + decision.retryAfterSeconds() + "s",
+                    decision.retryAfterSeconds());
+        }
+        return true;
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && authentication.getPrincipal() instanceof String uid && !"anonymousUser".equals(uid)) {
+            return "uid:" + uid;
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,23 @@
+package hazardhub.com.hub.service;
+
+import java.util.Optional;
+
+public interface BlobStorageService {
+
+    /**
+     * Writes {@code data} under {@code key}, replacing any existing object.
+     *
+     * @param key slash-separated object name, e.g. {@code thumbnails/<hazardId>/<hash>.jpg}
+     * @return URL clients can fetch the object from
+     */
+    String put(String key, byte[] data, String contentType);
+
+    /** Removes the object under {@code key}; a missing object is not an error. */
+    void delete(String key);
+
+    /**
+     * Maps a URL returned by {@link #put} back to its key. Empty for URLs this
+     * store did not produce, such as images uploaded by the mobile client.
+     */
+    Optional<String> keyOf(String url);
+}
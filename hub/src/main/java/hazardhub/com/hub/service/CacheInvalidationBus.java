@@ -0,0 +1,14 @@
+package hazardhub.com.hub.service;
+
+import hazardhub.com.hub.event.HazardChangedEvent;
+
+public interface CacheInvalidationBus {
+
+    /**
+     * Appends a local hazard change to the shared invalidation log. Every
+     * other instance replays it as a remote {@link HazardChangedEvent}, so
+     * in-memory state derived from hazards stays current on all of them.
+     * Remote events are not published again.
+     */
+    void publish(HazardChangedEvent event);
+}
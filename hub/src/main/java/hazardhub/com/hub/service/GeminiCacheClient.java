@@ -0,0 +1,34 @@
+package hazardhub.com.hub.service;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Thin client for Gemini's {@code cachedContents} API. Kept separate from
+ * {@link GeminiPromptCacheService} so the caching policy can be exercised
+ * against a local stub.
+ */
+public interface GeminiCacheClient {
+
+    /**
+     * Creates cached content holding {@code systemInstruction} for {@code model}.
+     *
+     * @param model             model id, e.g. {@code gemini-2.0-flash}
+     * @param systemInstruction text to cache as the system instruction
+     * @param ttl               requested time to live
+     * @return the handle to reference from generateContent requests
+     */
+    CachedContent create(String model, String systemInstruction, Duration ttl);
+
+    /**
+     * Extends the TTL of existing cached content.
+     *
+     * @param name handle returned by {@link #create}, e.g. {@code cachedContents/abc}
+     * @param ttl  new time to live, counted from now
+     * @return the handle with its new expiry
+     */
+    CachedContent refresh(String name, Duration ttl);
+
+    record CachedContent(String name, Instant expireTime) {
+    }
+}
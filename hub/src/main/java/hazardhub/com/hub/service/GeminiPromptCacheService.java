@@ -0,0 +1,26 @@
+package hazardhub.com.hub.service;
+
+import java.util.Optional;
+
+public interface GeminiPromptCacheService {
+
+    /**
+     * Returns the cached-content name to send as {@code cachedContent} in place
+     * of {@code systemInstruction}, creating the cache on first use and
+     * extending its TTL shortly before it expires. Empty when caching is
+     * disabled or the cache could not be created (e.g. the prompt is below the
+     * model's minimum cacheable size), in which case the caller sends the
+     * prompt inline.
+     *
+     * @param key          stable identifier for the prompt
+     * @param systemPrompt the static system instruction
+     * @return the cached-content name, if available
+     */
+    Optional<String> cachedContentName(String key, String systemPrompt);
+
+    /**
+     * Forgets the handle for {@code key}, e.g. after Gemini rejected it as
+     * unknown; the next call recreates it.
+     */
+    void invalidate(String key);
+}
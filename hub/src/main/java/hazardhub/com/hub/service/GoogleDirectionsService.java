@@ -1,14 +1,66 @@
 package hazardhub.com.hub.service;
 
+import java.util.List;
 import java.util.Map;
 
+/**
+ * Directions lookups. Responses use the Google Directions JSON shape whichever
+ * implementation is active, so the extractors below are shared.
+ */
 public interface GoogleDirectionsService {
 
     Map<String, Object> getDirections(String origin, String destination, String waypoints, String mode);
 
-    String extractPolyline(Map<String, Object> directionsResponse);
+    @SuppressWarnings("unchecked")
+    default String extractPolyline(Map<String, Object> directionsResponse) {
+        List<Map<String, Object>> routes = (List<Map<String, Object>>) directionsResponse.get("routes");
+        if (routes == null || routes.isEmpty()) {
+            return null;
+        }
+        Map<String, Object> overviewPolyline = (Map<String, Object>) routes.get(0).get("overview_polyline");
+        return overviewPolyline != null ? (String) overviewPolyline.get("points") : null;
+    }
 
-    double extractDistanceMeters(Map<String, Object> directionsResponse);
+    @SuppressWarnings("unchecked")
+    default double extractDistanceMeters(Map<String, Object> directionsResponse) {
+        List<Map<String, Object>> legs = extractAllLegs(directionsResponse);
+        if (legs == null)
+            return 0;
 
-    int extractDurationSeconds(Map<String, Object> directionsResponse);
+        double total = 0;
+        for (Map<String, Object> leg : legs) {
+            Map<String, Object> distance = (Map<String, Object>) leg.get("distance");
+            if (distance != null) {
+                total += ((Number) distance.get("value")).doubleValue();
+            }
+        }
+        return total;
+    }
+
+    @SuppressWarnings("unchecked")
+    default int extractDurationSeconds(Map<String, Object> directionsResponse) {
+        List<Map<String, Object>> legs = extractAllLegs(directionsResponse);
+        if (legs == null)
+            return 0;
+
+        int total = 0;
+        for (Map<String, Object> leg : legs) {
+            Map<String, Object> duration = (Map<String, Object>) leg.get("duration");
+            if (duration != null) {
+                total += ((Number) duration.get("value")).intValue();
+            }
+        }
+        return total;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> extractAllLegs(Map<String, Object> directionsResponse) {
+        List<Map<String, Object>> routes = (List<Map<String, Object>>) directionsResponse.get("routes");
+        if (routes == null || routes.isEmpty())
+            return null;
+        List<Map<String, Object>> legs = (List<Map<String, Object>>) routes.get(0).get("legs");
+        if (legs == null || legs.isEmpty())
+            return null;
+        return legs;
+    }
 }
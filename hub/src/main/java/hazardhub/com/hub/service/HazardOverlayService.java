@@ -0,0 +1,10 @@
+package hazardhub.com.hub.service;
+
+public interface HazardOverlayService {
+
+    /**
+     * Re-customizes the local router's hazard overlay from the current ACTIVE,
+     * unexpired hazards.
+     */
+    void refresh();
+}
@@ -0,0 +1,24 @@
+package hazardhub.com.hub.service;
+
+import java.time.Instant;
+
+public interface HazardRiskService {
+
+    /**
+     * Predicted risk along an encoded polyline for a trip starting at
+     * {@code departure}: severity-weighted, decayed hazard history of the
+     * cells it passes at the hours it passes them. 0 when there is no
+     * history or the polyline cannot be decoded.
+     */
+    double routeRisk(String encodedPolyline, Instant departure, long durationSeconds);
+
+    /**
+     * Replaces the surface with one rebuilt from every stored hazard.
+     */
+    void rebuild();
+
+    /**
+     * Persists the current surface.
+     */
+    void snapshot();
+}
@@ -0,0 +1,20 @@
+package hazardhub.com.hub.service;
+
+import hazardhub.com.hub.model.dto.HazardChangesDTO;
+
+public interface HazardSyncService {
+
+    /**
+     * Returns hazards created, updated or deleted after the position encoded
+     * in {@code since}, oldest first. Changes from the last few seconds may be
+     * delivered again on the following call, so clients apply them by id.
+     *
+     * @param since token from a previous response, or null for a full sync
+     * @param limit maximum number of changes in this page
+     * @throws hazardhub.com.hub.exception.BadRequestException if the token is malformed
+     */
+    HazardChangesDTO findChanges(String since, int limit);
+
+    /** Records that a hazard was deleted, for clients that still hold it. */
+    void recordDeletion(String hazardId);
+}
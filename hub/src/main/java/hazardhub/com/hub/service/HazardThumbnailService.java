@@ -0,0 +1,22 @@
+package hazardhub.com.hub.service;
+
+public interface HazardThumbnailService {
+
+    /**
+     * Creates the thumbnail for the hazard's current image on the calling
+     * thread and stores its URL on the hazard. Does nothing when the hazard
+     * has no image, already has a thumbnail of that image, or carries a
+     * thumbnail the client uploaded itself.
+     *
+     * @return the thumbnail URL now stored on the hazard, or null if none was written
+     */
+    String generate(String hazardId);
+
+    /**
+     * Queues hazards that have an image but no thumbnail, such as those
+     * created before thumbnails existed or dropped while the queue was full.
+     *
+     * @return number of hazards queued
+     */
+    int backfill();
+}
@@ -0,0 +1,26 @@
+package hazardhub.com.hub.service;
+
+import java.util.Optional;
+
+public interface ImageAnalysisCacheService {
+
+    /**
+     * Description previously produced for this image URL. Checked before
+     * downloading, so a hit costs no download and no Gemini call.
+     */
+    Optional<String> findByUrl(String imageUrl);
+
+    /**
+     * Description previously produced for an image with these bytes, under
+     * any URL.
+     *
+     * @param contentSha256 hex SHA-256 of the original image bytes
+     */
+    Optional<String> findByContent(String contentSha256);
+
+    /**
+     * Remembers a description under the URL and, when known, the content
+     * hash. Failures to persist are logged, never thrown.
+     */
+    void put(String imageUrl, String contentSha256, String description);
+}
@@ -0,0 +1,34 @@
+package hazardhub.com.hub.service;
+
+import hazardhub.com.hub.model.dto.ImageAnalysisJobDTO;
+import hazardhub.com.hub.model.dto.ImageAnalysisJobRequestDTO;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface ImageAnalysisJobService {
+
+    /**
+     * Queues an analysis and returns the QUEUED job without waiting for it.
+     * Throws ResourceNotFoundException if a hazard id is given that does not
+     * exist.
+     */
+    ImageAnalysisJobDTO submit(ImageAnalysisJobRequestDTO request, String requesterId);
+
+    /**
+     * Returns the job, or throws ResourceNotFoundException if it does not
+     * exist or was submitted by someone else.
+     */
+    ImageAnalysisJobDTO findById(String id, String requesterId);
+
+    /**
+     * Returns an emitter that receives one {@code job} event once the job has
+     * succeeded or failed, then completes.
+     */
+    SseEmitter subscribe(String id, String requesterId);
+
+    /**
+     * Claims and processes one due job on the calling thread.
+     *
+     * @return false if no job was due
+     */
+    boolean processNext();
+}
@@ -0,0 +1,113 @@
+package hazardhub.com.hub.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public interface ImageProcessingService {
+
+    /**
+     * Downloads the image at {@code imageUrl} through a size-capped stream into
+     * a temporary file and hashes it on the way, without decoding it, so
+     * callers can look the content up before paying for {@link #downscale}.
+     *
+     * @param imageUrl HTTPS Firebase Storage URL
+     * @return the original, backed by its spooled file; the caller must close it
+     * @throws IllegalArgumentException if the URL is not allowed or the image
+     *                                  is too large
+     */
+    ProcessedImage fetch(String imageUrl);
+
+    /**
+     * Re-encodes a fetched original as a JPEG whose longest edge is at most
+     * {@code maxDimension} pixels. Formats ImageIO cannot decode are passed
+     * through unchanged from the original's file, so the result may share it;
+     * close the result before the original.
+     *
+     * @param original     image returned by {@link #fetch}
+     * @param maxDimension upper bound for the longest edge, in pixels
+     * @return the processed image; the caller must close it
+     */
+    ProcessedImage downscale(ProcessedImage original, int maxDimension);
+
+    /**
+     * Downloads the image at {@code imageUrl} like {@link #fetch} and
+     * renders an exactly {@code width} x {@code height} JPEG, scaled to cover
+     * the box and center-cropped.
+     *
+     * @throws IllegalArgumentException if the URL is not allowed, the image
+     *                                  is too large or its format cannot be
+     *                                  decoded
+     */
+    ProcessedImage thumbnail(String imageUrl, int width, int height);
+
+    /**
+     * Result of {@link #fetch}, {@link #downscale} and {@link #thumbnail}. Either
+     * holds a small re-encoded buffer or points at a spooled temporary file
+     * that is deleted on close.
+     */
+    final class ProcessedImage implements Closeable {
+
+        private final String mimeType;
+        private final byte[] data;
+        private final Path file;
+        private final long sizeBytes;
+        private final String contentSha256;
+
+        private ProcessedImage(String mimeType, byte[] data, Path file, long sizeBytes, String contentSha256) {
+            this.mimeType = mimeType;
+            this.data = data;
+            this.file = file;
+            this.sizeBytes = sizeBytes;
+            this.contentSha256 = contentSha256;
+        }
+
+        public static ProcessedImage ofBytes(String mimeType, byte[] data, String contentSha256) {
+            return new ProcessedImage(mimeType, data, null, data.length, contentSha256);
+        }
+
+        public static ProcessedImage ofFile(String mimeType, Path file, long sizeBytes, String contentSha256) {
+            return new ProcessedImage(mimeType, null, file, sizeBytes, contentSha256);
+        }
+
+        public String getMimeType() {
+            return mimeType;
+        }
+
+        public long getSizeBytes() {
+            return sizeBytes;
+        }
+
+        /**
+         * Hex SHA-256 of the downloaded original, before downscaling, so the
+         * same upload hashes the same whatever the analysis settings.
+         */
+        public String getContentSha256() {
+            return contentSha256;
+        }
+
+        /** Spooled file backing this image, or null when it is held in memory. */
+        public Path getFile() {
+            return file;
+        }
+
+        public InputStream openStream() throws IOException {
+            return data != null ? new ByteArrayInputStream(data) : Files.newInputStream(file);
+        }
+
+        @Override
+        public void close() {
+            if (file == null) {
+                return;
+            }
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ignored) {
+                // best effort — the spool lives in the system temp directory
+            }
+        }
+    }
+}
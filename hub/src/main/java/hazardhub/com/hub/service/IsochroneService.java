@@ -0,0 +1,9 @@
+package hazardhub.com.hub.service;
+
+import hazardhub.com.hub.model.dto.IsochroneRequestDTO;
+import hazardhub.com.hub.model.dto.IsochroneResponseDTO;
+
+public interface IsochroneService {
+
+    IsochroneResponseDTO computeIsochrone(IsochroneRequestDTO request);
+}
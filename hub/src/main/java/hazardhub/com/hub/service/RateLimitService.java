@@ -0,0 +1,30 @@
+package hazardhub.com.hub.service;
+
+public interface RateLimitService {
+
+    /**
+     * Takes one request from the caller's budget for {@code policy}, then from
+     * the policy's global budget. The per-user budget is checked first so a
+     * client that is over its own limit cannot drain the shared one; a request
+     * the global budget rejects is refunded to the caller's budget.
+     *
+     * @param policy    endpoint budget name, see {@link hazardhub.com.hub.config.RateLimitConfig}
+     * @param clientKey Firebase uid, or a client address for anonymous callers
+     * @return the decision; when rejected, how long to wait before retrying
+     */
+    Decision tryAcquire(String policy, String clientKey);
+
+    record Decision(boolean allowed, long retryAfterSeconds, String scope) {
+
+        public static Decision allow() {
+            return new Decision(true, 0, null);
+        }
+
+        public static Decision reject(String scope, long retryAfterSeconds) {
+            return new Decision(false, Math.max(1, retryAfterSeconds), scope);
+        }
+    }
+
+    record Policy(int userCapacity, double userPerMinute, int globalCapacity, double globalPerMinute) {
+    }
+}
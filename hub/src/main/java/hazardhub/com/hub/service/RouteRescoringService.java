@@ -0,0 +1,21 @@
+package hazardhub.com.hub.service;
+
+public interface RouteRescoringService {
+
+    /**
+     * Marks the stored routes of PLANNING and ACTIVE trips that a hazard
+     * change may affect: routes whose path crosses the hazard's current
+     * radius and routes last scored with it.
+     *
+     * @return the number of routes marked
+     */
+    int markAffectedRoutes(String hazardId);
+
+    /**
+     * Re-scores up to one batch of marked routes against the currently active
+     * hazards and clears their marks.
+     *
+     * @return the number of routes processed
+     */
+    int rescoreBatch();
+}
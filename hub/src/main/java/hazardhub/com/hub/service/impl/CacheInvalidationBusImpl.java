@@ -0,0 +1,238 @@
+package hazardhub.com.hub.service.impl;
+
+import com.mongodb.CursorType;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Filters;
+import hazardhub.com.hub.config.CacheInvalidationConfig;
+import hazardhub.com.hub.event.HazardChangedEvent;
+import hazardhub.com.hub.event.HazardChangedEvent.ChangeType;
+import hazardhub.com.hub.event.InvalidationGapEvent;
+import hazardhub.com.hub.model.entity.CacheInvalidation;
+import hazardhub.com.hub.model.enums.HazardStatus;
+import hazardhub.com.hub.service.CacheInvalidationBus;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.CollectionOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/*
+Writes are appended to a capped collection and every instance follows it with a tailable cursor; unlike change
+streams this also works on a standalone MongoDB. A capped collection drops its oldest entries when full, so an
+instance whose cursor died and whose last-seen entry has since been dropped cannot tell what it missed: it publishes
+an InvalidationGapEvent and listeners rebuild from the hazards collection.
+
+Reopening resumes slightly before the newest entry seen, because ObjectIds generated on different instances are not
+strictly ordered; entries read twice are dropped by id.
+*/
+@Service
+@ConditionalOnProperty(name = "cache.invalidation.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class CacheInvalidationBusImpl implements CacheInvalidationBus {
+
+    private final MongoTemplate mongoTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheInvalidationConfig cacheInvalidationConfig;
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Map<ObjectId, Boolean> delivered;
+    private volatile boolean running;
+    private Thread follower;
+
+    // Only touched by the follower thread once started
+    private ObjectId lastSeenId;
+    private Instant resumeFrom = Instant.now();
+
+    public CacheInvalidationBusImpl(MongoTemplate mongoTemplate, ApplicationEventPublisher eventPublisher,
+            CacheInvalidationConfig cacheInvalidationConfig) {
+        this.mongoTemplate = mongoTemplate;
+        this.eventPublisher = eventPublisher;
+        this.cacheInvalidationConfig = cacheInvalidationConfig;
+        int window = cacheInvalidationConfig.getDedupeWindow();
+        this.delivered = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ObjectId, Boolean> eldest) {
+                return size() > window;
+            }
+        };
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        String name = collectionName();
+        if (!mongoTemplate.collectionExists(name)) {
+            try {
+                mongoTemplate.createCollection(name, CollectionOptions.empty().capped()
+                        .size(cacheInvalidationConfig.getCollectionSizeBytes())
+                        .maxDocuments(cacheInvalidationConfig.getMaxDocuments()));
+            } catch (DataAccessException e) {
+                log.debug("Invalidation log already created by another instance: {}", e.getMessage());
+            }
+        }
+
+        // Entries written before this instance started describe state it has already loaded
+        skipToNow();
+        running = true;
+        follower = Thread.ofVirtual().name("cache-invalidation-follower").start(this::follow);
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void stop() {
+        running = false;
+        if (follower != null) {
+            follower.interrupt();
+        }
+    }
+
+    @EventListener
+    public void onHazardChanged(HazardChangedEvent event) {
+        publish(event);
+    }
+
+    @Override
+    public void publish(HazardChangedEvent event) {
+        if (event.remote()) {
+            return;
+        }
+        try {
+            mongoTemplate.insert(CacheInvalidation.builder()
+                    .origin(instanceId)
+                    .topic(CacheInvalidation.TOPIC_HAZARD)
+                    .key(event.hazardId())
+                    .changeType(event.changeType())
+                    .previousStatus(event.previousStatus())
+                    .status(event.status())
+                    .createdAt(Instant.now())
+                    .build());
+        } catch (RuntimeException e) {
+            // The write itself has succeeded; other instances catch up on their next periodic refresh
+            log.warn("Could not publish invalidation for hazard {}: {}", event.hazardId(), e.getMessage());
+        }
+    }
+
+    private void follow() {
+        while (running) {
+            try {
+                tail();
+            } catch (RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Invalidation log cursor failed, reopening: {}", e.getMessage());
+            }
+            try {
+                TimeUnit.MILLISECONDS.sleep(cacheInvalidationConfig.getRetryDelay().toMillis());
+                if (running && mayHaveMissedEntries()) {
+                    log.warn("Fell behind the invalidation log, rebuilding hazard-derived state");
+                    skipToNow();
+                    eventPublisher.publishEvent(new InvalidationGapEvent());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Could not check the invalidation log for gaps: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void tail() {
+        try (MongoCursor<Document> cursor = collection().find(since(resumeFrom))
+                .cursorType(CursorType.TailableAwait)
+                .maxAwaitTime(cacheInvalidationConfig.getMaxAwait().toMillis(), TimeUnit.MILLISECONDS)
+                .iterator()) {
+            while (running) {
+                Document entry = cursor.tryNext();
+                if (entry != null) {
+                    deliver(entry);
+                } else if (cursor.getServerCursor() == null) {
+                    // Dead cursor: the log was empty, or the entry it pointed at was overwritten
+                    return;
+                }
+            }
+        }
+    }
+
+    /** Replays one log entry locally, unless this instance wrote it or has already seen it. */
+    void deliver(Document entry) {
+        ObjectId id = entry.getObjectId("_id");
+        lastSeenId = id;
+        Instant written = id.getDate().toInstant();
+        if (written.isAfter(resumeFrom)) {
+            resumeFrom = written;
+        }
+        if (!remember(id) || instanceId.equals(entry.getString("origin"))
+                || !CacheInvalidation.TOPIC_HAZARD.equals(entry.getString("topic"))) {
+            return;
+        }
+        try {
+            eventPublisher.publishEvent(new HazardChangedEvent(entry.getString("key"),
+                    ChangeType.valueOf(entry.getString("change_type")), status(entry, "previous_status"),
+                    status(entry, "status"), true));
+        } catch (RuntimeException e) {
+            log.warn("Replaying invalidation {} failed: {}", id, e.getMessage());
+        }
+    }
+
+    String instanceId() {
+        return instanceId;
+    }
+
+    /** Moves the resume point to the end of the log without replaying anything. */
+    private void skipToNow() {
+        resumeFrom = Instant.now();
+        Document newest = collection().find().sort(new Document("$natural", -1)).limit(1).first();
+        lastSeenId = newest != null ? newest.getObjectId("_id") : null;
+        try (MongoCursor<Document> recent = collection().find(since(resumeFrom)).iterator()) {
+            recent.forEachRemaining(entry -> remember(entry.getObjectId("_id")));
+        }
+    }
+
+    private boolean mayHaveMissedEntries() {
+        if (lastSeenId != null) {
+            // The log only drops from the front, so while our last entry is there nothing after it is gone
+            return collection().find(Filters.eq("_id", lastSeenId)).first() == null;
+        }
+        return collection().estimatedDocumentCount() >= cacheInvalidationConfig.getMaxDocuments();
+    }
+
+    private boolean remember(ObjectId id) {
+        synchronized (delivered) {
+            return delivered.put(id, Boolean.TRUE) == null;
+        }
+    }
+
+    private Bson since(Instant from) {
+        Instant start = from.minus(cacheInvalidationConfig.getReopenOverlap());
+        return Filters.gte("_id", new ObjectId(Date.from(start)));
+    }
+
+    private MongoCollection<Document> collection() {
+        return mongoTemplate.getCollection(collectionName());
+    }
+
+    private String collectionName() {
+        return mongoTemplate.getCollectionName(CacheInvalidation.class);
+    }
+
+    private static HazardStatus status(Document entry, String field) {
+        String value = entry.getString(field);
+        return value != null ? HazardStatus.valueOf(value) : null;
+    }
+}
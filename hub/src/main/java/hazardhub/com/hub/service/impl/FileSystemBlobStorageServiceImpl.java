@@ -0,0 +1,80 @@
+package hazardhub.com.hub.service.impl;
+
+import hazardhub.com.hub.config.BlobStorageConfig;
+import hazardhub.com.hub.service.BlobStorageService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+/*
+For local testing: objects live under a directory that WebMvcConfig serves at the configured base path. Writes go
+through a temporary file and a rename so a reader never sees a half-written object.
+*/
+@Service
+@ConditionalOnProperty(name = BlobStorageConfig.PROVIDER, havingValue = "filesystem")
+@RequiredArgsConstructor
+public class FileSystemBlobStorageServiceImpl implements BlobStorageService {
+
+    private final BlobStorageConfig blobStorageConfig;
+
+    @Override
+    public String put(String key, byte[] data, String contentType) {
+        Path target = resolve(key);
+        try {
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), ".upload-", ".tmp");
+            try {
+                Files.write(temp, data);
+                moveIntoPlace(temp, target);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store blob " + key, e);
+        }
+        return blobStorageConfig.getFilesystemBasePath() + key;
+    }
+
+    @Override
+    public void delete(String key) {
+        try {
+            Files.deleteIfExists(resolve(key));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to delete blob " + key, e);
+        }
+    }
+
+    @Override
+    public Optional<String> keyOf(String url) {
+        String basePath = blobStorageConfig.getFilesystemBasePath();
+        if (url == null || !url.startsWith(basePath)) {
+            return Optional.empty();
+        }
+        return Optional.of(url.substring(basePath.length()));
+    }
+
+    private Path resolve(String key) {
+        Path root = blobStorageConfig.getFilesystemRoot();
+        Path resolved = root.resolve(key).normalize();
+        if (key.isBlank() || !resolved.startsWith(root) || resolved.equals(root)) {
+            throw new IllegalArgumentException("Invalid blob key: " + key);
+        }
+        return resolved;
+    }
+
+    private static void moveIntoPlace(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
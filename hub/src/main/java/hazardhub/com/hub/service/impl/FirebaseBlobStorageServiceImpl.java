@@ -0,0 +1,77 @@
+package hazardhub.com.hub.service.impl;
+
+import com.google.cloud.storage.BlobId;
+import com.google.cloud.storage.BlobInfo;
+import com.google.cloud.storage.Bucket;
+import com.google.firebase.cloud.StorageClient;
+import hazardhub.com.hub.config.BlobStorageConfig;
+import hazardhub.com.hub.service.BlobStorageService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/*
+Objects get a Firebase download token, so the returned URL has the same shape as the ones the mobile client uploads
+and passes the Firebase-only check in ImageProcessingServiceImpl.
+*/
+@Service
+@ConditionalOnProperty(name = BlobStorageConfig.PROVIDER, havingValue = "firebase", matchIfMissing = true)
+@RequiredArgsConstructor
+public class FirebaseBlobStorageServiceImpl implements BlobStorageService {
+
+    private static final String DOWNLOAD_URL = "https://firebasestorage.googleapis.com/v0/b/";
+
+    private final BlobStorageConfig blobStorageConfig;
+
+    @Override
+    public String put(String key, byte[] data, String contentType) {
+        Bucket bucket = bucket();
+        String token = UUID.randomUUID().toString();
+        BlobInfo info = BlobInfo.newBuilder(bucket.getName(), key)
+                .setContentType(contentType)
+                .setMetadata(Map.of("firebaseStorageDownloadTokens", token))
+                .build();
+        bucket.getStorage().create(info, data);
+        return prefix(bucket.getName()) + URLEncoder.encode(key, StandardCharsets.UTF_8)
+                + "?alt=media&token=" + token;
+    }
+
+    @Override
+    public void delete(String key) {
+        Bucket bucket = bucket();
+        bucket.getStorage().delete(BlobId.of(bucket.getName(), key));
+    }
+
+    @Override
+    public Optional<String> keyOf(String url) {
+        String bucketName = blobStorageConfig.getFirebaseBucket();
+        if (url == null || bucketName.isEmpty() || !url.startsWith(prefix(bucketName))) {
+            return Optional.empty();
+        }
+        String encoded = url.substring(prefix(bucketName).length());
+        int query = encoded.indexOf('?');
+        if (query >= 0) {
+            encoded = encoded.substring(0, query);
+        }
+        return Optional.of(URLDecoder.decode(encoded, StandardCharsets.UTF_8));
+    }
+
+    private Bucket bucket() {
+        String bucketName = blobStorageConfig.getFirebaseBucket();
+        if (bucketName.isEmpty()) {
+            throw new IllegalStateException("storage.blob.firebase.bucket is not configured");
+        }
+        return StorageClient.getInstance().bucket(bucketName);
+    }
+
+    private static String prefix(String bucketName) {
+        return DOWNLOAD_URL + bucketName + "/o/";
+    }
+}
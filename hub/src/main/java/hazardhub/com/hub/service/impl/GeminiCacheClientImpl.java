@@ -0,0 +1,67 @@
+package hazardhub.com.hub.service.impl;
+
+import hazardhub.com.hub.config.GeminiConfig;
+import hazardhub.com.hub.resilience.ExternalApiGuard;
+import hazardhub.com.hub.service.GeminiCacheClient;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GeminiCacheClientImpl implements GeminiCacheClient {
+
+    private final RestClient geminiRestClient;
+    private final GeminiConfig geminiConfig;
+    private final ExternalApiGuard geminiApiGuard;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public CachedContent create(String model, String systemInstruction, Duration ttl) {
+        Map<String, Object> requestBody = Map.of(
+                "model", "models/" + model,
+                "systemInstruction", Map.of(
+                        "parts", List.of(Map.of("text", systemInstruction))),
+                "ttl", ttl.toSeconds() + "s");
+
+        Map<String, Object> response = geminiApiGuard.call(() -> geminiRestClient.post()
+                .uri("/cachedContents?key={key}", geminiConfig.getApiKey())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(requestBody)
+                .retrieve()
+                .body(Map.class));
+
+        return toCachedContent(response);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public CachedContent refresh(String name, Duration ttl) {
+        Map<String, Object> response = geminiApiGuard.call(() -> geminiRestClient.patch()
+                // name is "cachedContents/<id>"; a URI variable would encode its slash
+                .uri("/" + name + "?updateMask=ttl&key={key}", geminiConfig.getApiKey())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of("ttl", ttl.toSeconds() + "s"))
+                .retrieve()
+                .body(Map.class));
+
+        return toCachedContent(response);
+    }
+
+    private CachedContent toCachedContent(Map<String, Object> response) {
+        if (response == null || response.get("name") == null) {
+            throw new RuntimeException("Gemini returned no cached content name");
+        }
+        Object expireTime = response.get("expireTime");
+        return new CachedContent((String) response.get("name"),
+                expireTime != null ? Instant.parse(expireTime.toString()) : null);
+    }
+}
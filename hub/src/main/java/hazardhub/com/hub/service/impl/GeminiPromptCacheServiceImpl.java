@@ -0,0 +1,142 @@
+package hazardhub.com.hub.service.impl;
+
+import hazardhub.com.hub.config.GeminiConfig;
+import hazardhub.com.hub.exception.ExternalApiUnavailableException;
+import hazardhub.com.hub.resilience.SingleFlight;
+import hazardhub.com.hub.service.GeminiCacheClient;
+import hazardhub.com.hub.service.GeminiCacheClient.CachedContent;
+import hazardhub.com.hub.service.GeminiPromptCacheService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/*
+Handles are created lazily per prompt and model, and their TTL is pushed out once a request arrives within the
+refresh margin of expiry, so an active deployment never lets the cache lapse. Creation failures (most often a
+prompt below the model's minimum cacheable size) are remembered for a cooldown so every request does not pay a
+failing round-trip. Concurrent callers for the same key share a single create/refresh, which runs outside the map
+so a slow Gemini call never holds up lookups for other keys.
+*/
+@Service
+@Slf4j
+public class GeminiPromptCacheServiceImpl implements GeminiPromptCacheService {
+
+    private final GeminiCacheClient geminiCacheClient;
+    private final GeminiConfig geminiConfig;
+    private final Clock clock;
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final SingleFlight<String, Entry> updates;
+
+    @Autowired
+    public GeminiPromptCacheServiceImpl(GeminiCacheClient geminiCacheClient, GeminiConfig geminiConfig) {
+        this(geminiCacheClient, geminiConfig, Clock.systemUTC());
+    }
+
+    GeminiPromptCacheServiceImpl(GeminiCacheClient geminiCacheClient, GeminiConfig geminiConfig, Clock clock) {
+        this.geminiCacheClient = geminiCacheClient;
+        this.geminiConfig = geminiConfig;
+        this.clock = clock;
+        this.updates = new SingleFlight<>("gemini-prompt-cache",
+                Duration.ofMillis(geminiConfig.getSingleFlightWaitTimeoutMs()));
+    }
+
+    @Override
+    public Optional<String> cachedContentName(String key, String systemPrompt) {
+        if (!geminiConfig.isPromptCacheEnabled()) {
+            return Optional.empty();
+        }
+        String model = geminiConfig.getModel();
+        Entry current = entries.get(key);
+        if (isSettled(current, model, systemPrompt, clock.instant())) {
+            return Optional.ofNullable(current.name());
+        }
+
+        Entry entry;
+        try {
+            entry = updates.execute(key, () -> {
+                Entry updated = ensureFresh(entries.get(key), model, systemPrompt);
+                entries.put(key, updated);
+                return updated;
+            });
+        } catch (ExternalApiUnavailableException e) {
+            // Another caller's create/refresh is taking too long; do not wait on it
+            log.warn("Gemini cached content for '{}' not ready, sending prompt inline: {}", key, e.getMessage());
+            return Optional.empty();
+        }
+        return Optional.ofNullable(entry.name());
+    }
+
+    @Override
+    public void invalidate(String key) {
+        if (entries.remove(key) != null) {
+            log.info("Invalidated Gemini cached content for '{}'", key);
+        }
+    }
+
+    /**
+     * True when the entry can be used as is: a handle outside its refresh
+     * margin, or a failed creation still in its cooldown.
+     */
+    private boolean isSettled(Entry entry, String model, String systemPrompt, Instant now) {
+        if (entry == null || !entry.model().equals(model) || entry.promptHash() != systemPrompt.hashCode()) {
+            return false;
+        }
+        if (entry.name() == null) {
+            return now.isBefore(entry.retryAfter());
+        }
+        Duration margin = Duration.ofSeconds(geminiConfig.getPromptCacheRefreshMarginSeconds());
+        return now.isBefore(entry.expireTime().minus(margin));
+    }
+
+    private Entry ensureFresh(Entry current, String model, String systemPrompt) {
+        Instant now = clock.instant();
+        Duration ttl = Duration.ofSeconds(geminiConfig.getPromptCacheTtlSeconds());
+
+        // A caller that waited on the previous update may find it already done
+        if (isSettled(current, model, systemPrompt, now)) {
+            return current;
+        }
+        boolean sameSource = current != null && current.model().equals(model)
+                && current.promptHash() == systemPrompt.hashCode();
+        if (sameSource && current.name() != null) {
+            if (now.isBefore(current.expireTime())) {
+                try {
+                    CachedContent refreshed = geminiCacheClient.refresh(current.name(), ttl);
+                    return current.withExpiry(expiryOf(refreshed, now, ttl));
+                } catch (RuntimeException e) {
+                    log.warn("Failed to refresh Gemini cached content {}: {}", current.name(), e.getMessage());
+                    // Still valid until it expires; try again on the next request
+                    return current;
+                }
+            }
+        }
+
+        try {
+            CachedContent created = geminiCacheClient.create(model, systemPrompt, ttl);
+            log.info("Created Gemini cached content {} for model {}", created.name(), model);
+            return new Entry(created.name(), model, systemPrompt.hashCode(), expiryOf(created, now, ttl), null);
+        } catch (RuntimeException e) {
+            Duration cooldown = Duration.ofSeconds(geminiConfig.getPromptCacheFailureCooldownSeconds());
+            log.warn("Gemini context caching unavailable, sending prompt inline for {}: {}", cooldown, e.getMessage());
+            return new Entry(null, model, systemPrompt.hashCode(), null, now.plus(cooldown));
+        }
+    }
+
+    private static Instant expiryOf(CachedContent content, Instant now, Duration ttl) {
+        return content.expireTime() != null ? content.expireTime() : now.plus(ttl);
+    }
+
+    private record Entry(String name, String model, int promptHash, Instant expireTime, Instant retryAfter) {
+
+        Entry withExpiry(Instant newExpireTime) {
+            return new Entry(name, model, promptHash, newExpireTime, null);
+        }
+    }
+}
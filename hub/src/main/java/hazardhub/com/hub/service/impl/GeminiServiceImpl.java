@@ -1,33 +1,44 @@
 package hazardhub.com.hub.service.impl;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import hazardhub.com.hub.config.GeminiConfig;
+import hazardhub.com.hub.config.ImageConfig;
 import hazardhub.com.hub.constants.HazardHubConstants;
+import hazardhub.com.hub.exception.ExternalApiUnavailableException;
 import hazardhub.com.hub.model.dto.ChatRequestDTO;
 import hazardhub.com.hub.model.dto.ChatResponseDTO;
 import hazardhub.com.hub.model.dto.ChatRouteOptionDTO;
 import hazardhub.com.hub.model.dto.HazardDTO;
 import hazardhub.com.hub.model.dto.ImageAnalysisResponseDTO;
 import hazardhub.com.hub.model.dto.RouteSuggestionResponseDTO;
+import hazardhub.com.hub.resilience.ExternalApiGuard;
+import hazardhub.com.hub.resilience.SingleFlight;
+import hazardhub.com.hub.service.GeminiPromptCacheService;
 import hazardhub.com.hub.service.GeminiService;
+import hazardhub.com.hub.service.ImageAnalysisCacheService;
+import hazardhub.com.hub.service.ImageProcessingService;
+import hazardhub.com.hub.service.ImageProcessingService.ProcessedImage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClient;
 
+import java.io.IOException;
 import java.io.InputStream;
-import java.net.URI;
-import java.util.Base64;
+import java.io.OutputStream;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 /*
-The current approach relies temporarily store the image in base64 format in-memory in server, this is not a long-term solution.
-This is only implemented because gemini api is not config to read directly from firebase bucket yet.
-Will need some better, well-rounded solution in the future
+Gemini cannot read directly from the Firebase bucket, so images are sent inline. To keep per-request memory flat,
+the image is downscaled by ImageProcessingService and its bytes are Base64-streamed straight into the request body
+instead of being materialized as a String inside a Map.
 */
 @Service
 @RequiredArgsConstructor
@@ -36,26 +47,59 @@ public class GeminiServiceImpl implements GeminiService {
 
         private final RestClient geminiRestClient;
         private final GeminiConfig geminiConfig;
+        private final ImageConfig imageConfig;
+        private final ImageProcessingService imageProcessingService;
+        private final ExternalApiGuard geminiApiGuard;
+        private final GeminiPromptCacheService geminiPromptCacheService;
+        private final ImageAnalysisCacheService imageAnalysisCacheService;
+        private final SingleFlight<String, ImageAnalysisResponseDTO> imageAnalysisFlight;
         private final ObjectMapper objectMapper = new ObjectMapper();
 
+        private static final String CHAT_PROMPT_CACHE_KEY = "chat";
+
         @Override
         public ImageAnalysisResponseDTO analyzeHazardImage(String imageUrl) {
-                log.info("Analyzing hazard image: {}", imageUrl);
+                // Several reporters of one hazard often submit the same upload; analyze it once
+                return imageAnalysisFlight.execute(imageUrl, () -> analyzeImage(imageUrl));
+        }
 
-                Map<String, Object> requestBody = buildRequestBody(imageUrl);
+        private ImageAnalysisResponseDTO analyzeImage(String imageUrl) {
+                Optional<String> cached = imageAnalysisCacheService.findByUrl(imageUrl);
+                if (cached.isPresent()) {
+                        log.info("Image analysis cache hit (URL): {}", imageUrl);
+                        return ImageAnalysisResponseDTO.builder().description(cached.get()).build();
+                }
+
+                log.info("Analyzing hazard image: {}", imageUrl);
 
                 String uri = String.format("/models/%s:generateContent?key=%s",
                                 geminiConfig.getModel(), geminiConfig.getApiKey());
 
-                @SuppressWarnings("unchecked")
-                Map<String, Object> response = geminiRestClient.post()
-                                .uri(uri)
-                                .contentType(MediaType.APPLICATION_JSON)
-                                .body(requestBody)
-                                .retrieve()
-                                .body(Map.class);
+                Map<String, Object> response;
+                String contentSha256;
+                try (ProcessedImage original = imageProcessingService.fetch(imageUrl)) {
+                        contentSha256 = original.getContentSha256();
+                        // Same bytes under another URL: a re-upload or another reporter's copy. Checked before
+                        // decoding, so a hit costs only the download
+                        cached = contentSha256 != null ? imageAnalysisCacheService.findByContent(contentSha256)
+                                        : Optional.empty();
+                        if (cached.isPresent()) {
+                                log.info("Image analysis cache hit (content): {}", imageUrl);
+                                imageAnalysisCacheService.put(imageUrl, contentSha256, cached.get());
+                                return ImageAnalysisResponseDTO.builder().description(cached.get()).build();
+                        }
+                        try (ProcessedImage image = imageProcessingService.downscale(original,
+                                        imageConfig.getAnalysisMaxDimension())) {
+                                response = geminiApiGuard.call(() -> postImageAnalysisRequest(uri, image));
+                        }
+                }
 
-                String description = extractTextFromResponse(response, "Unable to analyze the image.");
+                String description = extractTextFromResponse(response, null);
+                if (description != null && !description.isBlank()) {
+                        imageAnalysisCacheService.put(imageUrl, contentSha256, description);
+                } else {
+                        description = "Unable to analyze the image.";
+                }
 
                 log.info("Gemini analysis complete for image: {}", imageUrl);
                 return ImageAnalysisResponseDTO.builder()
@@ -67,13 +111,22 @@ public class GeminiServiceImpl implements GeminiService {
         public ChatResponseDTO chat(ChatRequestDTO request, RouteSuggestionResponseDTO routeSuggestion,
                         List<HazardDTO> hazards) {
                 List<ChatRouteOptionDTO> routeOptions = mapRouteOptions(routeSuggestion);
-                String prompt = buildChatPrompt(request, routeSuggestion, routeOptions, hazards);
 
                 String reply = null;
-                try {
-                        reply = generateChatReply(prompt);
-                } catch (Exception e) {
-                        log.error("Gemini chat generation failed", e);
+                if (geminiConfig.getChatMode() == GeminiConfig.ChatMode.ROUTE_MESSAGE && hasRouteMessage(routeSuggestion)
+                                && routeSuggestion.isMessageFromGemini()) {
+                        // The route-suggestion prompt already saw the user's message and answered it;
+                        // fast-path and planner messages are templates that never read it
+                        reply = routeSuggestion.getMessage();
+                } else {
+                        String prompt = buildChatPrompt(request, routeSuggestion, routeOptions, hazards);
+                        try {
+                                reply = generateChatReply(prompt);
+                        } catch (ExternalApiUnavailableException e) {
+                                log.warn("Gemini unavailable for chat, using fallback reply: {}", e.getMessage());
+                        } catch (Exception e) {
+                                log.error("Gemini chat generation failed", e);
+                        }
                 }
 
                 if (reply == null || reply.isBlank()) {
@@ -86,29 +139,51 @@ public class GeminiServiceImpl implements GeminiService {
                                 .build();
         }
 
-        @SuppressWarnings("unchecked")
         private String generateChatReply(String prompt) {
-                Map<String, Object> requestBody = Map.of(
-                                "contents", List.of(
-                                                Map.of("role", "user",
-                                                                "parts", List.of(Map.of("text", prompt)))));
+                String systemPrompt = HazardHubConstants.HazardGemini.CHAT_SYSTEM_PROMPT;
+                Map<String, Object> requestBody = new LinkedHashMap<>();
+                requestBody.put("contents", List.of(
+                                Map.of("role", "user",
+                                                "parts", List.of(Map.of("text", prompt)))));
+                // The static instructions go out as a cache handle when available, inline otherwise
+                geminiPromptCacheService.cachedContentName(CHAT_PROMPT_CACHE_KEY, systemPrompt).ifPresentOrElse(
+                                name -> requestBody.put("cachedContent", name),
+                                () -> requestBody.put("systemInstruction", Map.of(
+                                                "parts", List.of(Map.of("text", systemPrompt)))));
 
                 String uri = String.format("/models/%s:generateContent?key=%s",
                                 geminiConfig.getModel(), geminiConfig.getApiKey());
 
-                Map<String, Object> response = geminiRestClient.post()
+                Map<String, Object> response;
+                try {
+                        response = postChatRequest(uri, requestBody);
+                } catch (HttpClientErrorException e) {
+                        if (!requestBody.containsKey("cachedContent")) {
+                                throw e;
+                        }
+                        // Likely a handle Gemini expired or evicted; answer with the prompt inline this time
+                        // and let the next chat recreate it
+                        log.warn("Gemini rejected cached chat prompt, retrying inline: {}", e.getMessage());
+                        geminiPromptCacheService.invalidate(CHAT_PROMPT_CACHE_KEY);
+                        requestBody.remove("cachedContent");
+                        requestBody.put("systemInstruction", Map.of(
+                                        "parts", List.of(Map.of("text", systemPrompt))));
+                        response = postChatRequest(uri, requestBody);
+                }
+
+                return extractTextFromResponse(response, null);
+        }
+
+        @SuppressWarnings("unchecked")
+        private Map<String, Object> postChatRequest(String uri, Map<String, Object> requestBody) {
+                return geminiApiGuard.call(() -> geminiRestClient.post()
                                 .uri(uri)
                                 .contentType(MediaType.APPLICATION_JSON)
                                 .body(requestBody)
                                 .retrieve()
-                                .body(Map.class);
-
-                return extractTextFromResponse(response, null);
+                                .body(Map.class));
         }
 
-        private static final long MAX_IMAGE_BYTES = 20 * 1024 * 1024; // 20 MB guard
-        private static final String ALLOWED_HOST = "firebasestorage.googleapis.com";
-
         private String buildChatPrompt(ChatRequestDTO request,
                         RouteSuggestionResponseDTO routeSuggestion,
                         List<ChatRouteOptionDTO> routeOptions,
@@ -123,8 +198,6 @@ public class GeminiServiceImpl implements GeminiService {
                 String hazardsJson = serializeHazardsForPrompt(hazards);
 
                 return """
-                                %s
-
                                 User message:
                                 %s
 
@@ -142,7 +215,6 @@ public class GeminiServiceImpl implements GeminiService {
 
                                 Generate a single response for the user.
                                 """.formatted(
-                                HazardHubConstants.HazardGemini.CHAT_SYSTEM_PROMPT,
                                 request.getMessage(),
                                 routeContextJson,
                                 hazardsJson,
@@ -241,10 +313,14 @@ public class GeminiServiceImpl implements GeminiService {
                                 .build()).toList();
         }
 
-        private String buildFallbackReply(RouteSuggestionResponseDTO routeSuggestion, List<ChatRouteOptionDTO> routeOptions) {
-                if (routeSuggestion != null
+        private boolean hasRouteMessage(RouteSuggestionResponseDTO routeSuggestion) {
+                return routeSuggestion != null
                                 && routeSuggestion.getMessage() != null
-                                && !routeSuggestion.getMessage().isBlank()) {
+                                && !routeSuggestion.getMessage().isBlank();
+        }
+
+        private String buildFallbackReply(RouteSuggestionResponseDTO routeSuggestion, List<ChatRouteOptionDTO> routeOptions) {
+                if (hasRouteMessage(routeSuggestion)) {
                         return routeSuggestion.getMessage();
                 }
 
@@ -255,52 +331,60 @@ public class GeminiServiceImpl implements GeminiService {
                 return "I can help with hazard-aware navigation. Share your route details and I will suggest safer options.";
         }
 
-        private Map<String, Object> buildRequestBody(String imageUrl) {
-                // SSRF guard — only allow downloads from Firebase Storage
-                URI uri = URI.create(imageUrl);
-                if (!"https".equalsIgnoreCase(uri.getScheme())
-                                || !ALLOWED_HOST.equalsIgnoreCase(uri.getHost())) {
-                        throw new IllegalArgumentException(
-                                        "Image URL must be an HTTPS Firebase Storage URL");
-                }
-
-                // Download image and send as inline base64 — Firebase Storage URLs
-                // aren't directly accessible to Gemini via gs:// or https://.
-                byte[] imageBytes;
-                try (InputStream in = uri.toURL().openStream()) {
-                        imageBytes = in.readAllBytes();
-                } catch (Exception e) {
-                        log.error("Failed to download image from URL: {}", imageUrl, e);
-                        throw new RuntimeException("Failed to download hazard image for analysis", e);
-                }
+        @SuppressWarnings("unchecked")
+        private Map<String, Object> postImageAnalysisRequest(String uri, ProcessedImage image) {
+                return geminiRestClient.post()
+                                .uri(uri)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .body(outputStream -> writeImageAnalysisRequest(outputStream, image))
+                                .retrieve()
+                                .body(Map.class);
+        }
 
-                if (imageBytes.length > MAX_IMAGE_BYTES) {
-                        throw new IllegalArgumentException(
-                                        "Image too large for analysis (" + imageBytes.length / (1024 * 1024)
-                                                        + " MB). Max: 20 MB.");
+        /**
+         * Writes the generateContent request directly to the HTTP body. The image is
+         * Base64-encoded on the fly by {@link JsonGenerator#writeBinary(InputStream, int)},
+         * so neither the raw bytes nor the encoded String are ever held in full.
+         */
+        private void writeImageAnalysisRequest(OutputStream outputStream, ProcessedImage image) throws IOException {
+                JsonGenerator gen = objectMapper.getFactory().createGenerator(outputStream);
+                gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+                gen.writeStartObject();
+
+                gen.writeArrayFieldStart("contents");
+                gen.writeStartObject();
+                gen.writeStringField("role", "user");
+                gen.writeArrayFieldStart("parts");
+
+                gen.writeStartObject();
+                gen.writeObjectFieldStart("inlineData");
+                gen.writeStringField("mimeType", image.getMimeType());
+                gen.writeFieldName("data");
+                try (InputStream in = image.openStream()) {
+                        gen.writeBinary(in, (int) image.getSizeBytes());
                 }
-
-                String base64Image = Base64.getEncoder().encodeToString(imageBytes);
-                String mimeType = detectMimeType(imageUrl);
-
-                Map<String, Object> imagePart = Map.of(
-                                "inlineData", Map.of(
-                                                "mimeType", mimeType,
-                                                "data", base64Image));
-
-                Map<String, Object> textPart = Map.of(
-                                "text", "Describe the hazard in this image.");
-
-                Map<String, Object> userContent = Map.of(
-                                "role", "user",
-                                "parts", List.of(imagePart, textPart));
-
-                Map<String, Object> systemInstruction = Map.of(
-                                "parts", List.of(Map.of("text", HazardHubConstants.HazardGemini.IMAGE_ANALYSIS_SYSTEM_PROMPT)));
-
-                return Map.of(
-                                "contents", List.of(userContent),
-                                "systemInstruction", systemInstruction);
+                gen.writeEndObject();
+                gen.writeEndObject();
+
+                gen.writeStartObject();
+                gen.writeStringField("text", "Describe the hazard in this image.");
+                gen.writeEndObject();
+
+                gen.writeEndArray();
+                gen.writeEndObject();
+                gen.writeEndArray();
+
+                gen.writeObjectFieldStart("systemInstruction");
+                gen.writeArrayFieldStart("parts");
+                gen.writeStartObject();
+                gen.writeStringField("text", HazardHubConstants.HazardGemini.IMAGE_ANALYSIS_SYSTEM_PROMPT);
+                gen.writeEndObject();
+                gen.writeEndArray();
+                gen.writeEndObject();
+
+                gen.writeEndObject();
+                gen.close();
         }
 
         @SuppressWarnings("unchecked")
@@ -332,15 +416,4 @@ public class GeminiServiceImpl implements GeminiService {
                         return defaultText;
                 }
         }
-
-        private String detectMimeType(String url) {
-                String lower = url.toLowerCase();
-                if (lower.contains(".png"))
-                        return "image/png";
-                if (lower.contains(".webp"))
-                        return "image/webp";
-                if (lower.contains(".gif"))
-                        return "image/gif";
-                return "image/jpeg";
-        }
 }
@@ -0,0 +1,86 @@
+package hazardhub.com.hub.service.impl;
+
+import hazardhub.com.hub.config.RoutingConfig;
+import hazardhub.com.hub.event.HazardChangedEvent;
+import hazardhub.com.hub.event.InvalidationGapEvent;
+import hazardhub.com.hub.mapper.HazardMapper;
+import hazardhub.com.hub.model.dto.HazardDTO;
+import hazardhub.com.hub.model.enums.HazardStatus;
+import hazardhub.com.hub.repository.HazardRepository;
+import hazardhub.com.hub.routing.CchRouter;
+import hazardhub.com.hub.routing.HazardPenalties;
+import hazardhub.com.hub.service.HazardOverlayService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps the contraction-hierarchy router's metrics in step with hazards.
+ * Hazard writes only mark the overlay dirty; a scheduled pass re-customizes
+ * at most once per interval, so a burst of reports costs one customization.
+ * A periodic refresh also runs when nothing changed, to drop expired hazards.
+ */
+@Service
+@ConditionalOnExpression(RoutingConfig.CCH_ENABLED)
+@RequiredArgsConstructor
+@Slf4j
+public class HazardOverlayServiceImpl implements HazardOverlayService {
+
+    private final CchRouter cchRouter;
+    private final HazardRepository hazardRepository;
+    private final RoutingConfig routingConfig;
+
+    private final AtomicBoolean dirty = new AtomicBoolean(true);
+    private volatile long lastRefreshNanos;
+
+    @EventListener
+    public void onHazardChanged(HazardChangedEvent event) {
+        dirty.set(true);
+    }
+
+    @EventListener(InvalidationGapEvent.class)
+    public void onInvalidationGap() {
+        dirty.set(true);
+    }
+
+    @Scheduled(fixedDelayString = "${routing.cch.refresh-interval-ms:2000}")
+    public void refreshIfStale() {
+        boolean due = System.nanoTime() - lastRefreshNanos > TimeUnit.MILLISECONDS
+                .toNanos(routingConfig.getCchFullRefreshMs());
+        if (!dirty.getAndSet(false) && !due) {
+            return;
+        }
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            dirty.set(true);
+            log.warn("Hazard overlay refresh failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void refresh() {
+        long start = System.nanoTime();
+        Instant now = Instant.now();
+        List<HazardDTO> hazards = hazardRepository.findByStatus(HazardStatus.ACTIVE).stream()
+                .filter(hazard -> hazard.getExpiresAt() == null || hazard.getExpiresAt().isAfter(now))
+                .map(HazardMapper::toDTO)
+                .toList();
+
+        HazardPenalties penalties = HazardPenalties.build(cchRouter.getGraph(), hazards,
+                routingConfig.getHazardPenalties());
+        cchRouter.customize(routingConfig.getCchModes(), penalties);
+        lastRefreshNanos = System.nanoTime();
+
+        log.info("Hazard overlay customized: {} hazard(s), {} penalized edge(s), {}ms", hazards.size(),
+                penalties.getAffectedEdgeCount(), (lastRefreshNanos - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,190 @@
+package hazardhub.com.hub.service.impl;
+
+import hazardhub.com.hub.config.RiskSurfaceConfig;
+import hazardhub.com.hub.event.HazardChangedEvent;
+import hazardhub.com.hub.event.InvalidationGapEvent;
+import hazardhub.com.hub.geo.Polyline;
+import hazardhub.com.hub.model.entity.Hazard;
+import hazardhub.com.hub.model.entity.RiskSurfaceSnapshot;
+import hazardhub.com.hub.model.enums.HazardSeverity;
+import hazardhub.com.hub.model.enums.HazardStatus;
+import hazardhub.com.hub.repository.HazardRepository;
+import hazardhub.com.hub.repository.RiskSurfaceSnapshotRepository;
+import hazardhub.com.hub.risk.RiskSurface;
+import hazardhub.com.hub.service.HazardRiskService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Maintains the {@link RiskSurface} from hazard events. A hazard counts once
+ * at the hour it becomes ACTIVE and, when it is resolved, once more for each
+ * further hour it stayed active. The surface is loaded from its Mongo
+ * snapshot at startup (or rebuilt from every stored hazard if there is none
+ * or the settings changed) and snapshotted again when it has changed.
+ */
+@Service
+@ConditionalOnProperty(name = "risk.surface.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class HazardRiskServiceImpl implements HazardRiskService {
+
+    private final HazardRepository hazardRepository;
+    private final RiskSurfaceSnapshotRepository riskSurfaceSnapshotRepository;
+    private final RiskSurfaceConfig riskSurfaceConfig;
+
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private volatile RiskSurface surface;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        RiskSurfaceSnapshot snapshot = riskSurfaceSnapshotRepository.findById(RiskSurfaceSnapshot.CURRENT_ID)
+                .orElse(null);
+        if (snapshot != null && snapshot.getData() != null) {
+            try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(snapshot.getData()))) {
+                surface = RiskSurface.read(in, riskSurfaceConfig.getCellDegrees(), riskSurfaceConfig.getHalfLife(),
+                        riskSurfaceConfig.getZone());
+                log.info("Loaded risk surface snapshot from {} ({} slots)", snapshot.getSavedAt(), surface.size());
+                return;
+            } catch (IOException e) {
+                log.warn("Discarding risk surface snapshot: {}", e.getMessage());
+            }
+        }
+        rebuild();
+    }
+
+    @EventListener
+    public void onHazardChanged(HazardChangedEvent event) {
+        RiskSurface current = surface;
+        boolean activated = event.status() == HazardStatus.ACTIVE && event.previousStatus() != HazardStatus.ACTIVE;
+        boolean resolved = event.previousStatus() == HazardStatus.ACTIVE && event.status() == HazardStatus.INACTIVE;
+        if (current == null || (!activated && !resolved)) {
+            return;
+        }
+        Hazard hazard = hazardRepository.findById(event.hazardId()).orElse(null);
+        if (hazard == null || hazard.getLocation() == null) {
+            return;
+        }
+        Instant now = Instant.now();
+        if (activated) {
+            current.add(hazard.getLocation().getY(), hazard.getLocation().getX(), now, severityOf(hazard), 1);
+        } else {
+            Instant since = hazard.getCreatedAt() != null ? hazard.getCreatedAt() : now;
+            current.addActiveHours(hazard.getLocation().getY(), hazard.getLocation().getX(), since, now,
+                    severityOf(hazard), riskSurfaceConfig.getMaxActiveHours());
+        }
+        dirty.set(true);
+    }
+
+    @EventListener(InvalidationGapEvent.class)
+    public void onInvalidationGap() {
+        // Incremental updates from other instances may be missing; start again from the hazards themselves
+        rebuild();
+    }
+
+    @Override
+    public double routeRisk(String encodedPolyline, Instant departure, long durationSeconds) {
+        RiskSurface current = surface;
+        if (current == null || current.size() == 0 || encodedPolyline == null) {
+            return 0;
+        }
+        Polyline polyline;
+        try {
+            polyline = Polyline.decode(encodedPolyline);
+        } catch (IllegalArgumentException e) {
+            return 0;
+        }
+        return current.routeRisk(polyline.lats(), polyline.lngs(), polyline.size(), departure, durationSeconds,
+                riskSurfaceConfig.getSeverityWeights());
+    }
+
+    @Override
+    public void rebuild() {
+        long start = System.nanoTime();
+        Instant now = Instant.now();
+        RiskSurface rebuilt = new RiskSurface(riskSurfaceConfig.getCellDegrees(), riskSurfaceConfig.getHalfLife(),
+                riskSurfaceConfig.getZone(), now);
+        int hazards = 0;
+        try (Stream<Hazard> all = hazardRepository.streamAllBy()) {
+            for (Hazard hazard : (Iterable<Hazard>) all::iterator) {
+                if (hazard.getLocation() == null || hazard.getCreatedAt() == null
+                        || hazard.getStatus() == HazardStatus.PENDING) {
+                    continue;
+                }
+                double lat = hazard.getLocation().getY();
+                double lng = hazard.getLocation().getX();
+                rebuilt.add(lat, lng, hazard.getCreatedAt(), severityOf(hazard), 1);
+                // Still-active hazards add their hours when they are resolved
+                if (hazard.getStatus() == HazardStatus.INACTIVE) {
+                    Instant resolvedAt = hazard.getDisabledAt() != null ? hazard.getDisabledAt()
+                            : hazard.getUpdatedAt() != null ? hazard.getUpdatedAt() : hazard.getCreatedAt();
+                    rebuilt.addActiveHours(lat, lng, hazard.getCreatedAt(), resolvedAt, severityOf(hazard),
+                            riskSurfaceConfig.getMaxActiveHours());
+                }
+                hazards++;
+            }
+        }
+        surface = rebuilt;
+        dirty.set(true);
+        log.info("Rebuilt risk surface from {} hazard(s): {} slots in {}ms", hazards, rebuilt.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Scheduled(fixedDelayString = "${risk.surface.snapshot-interval-ms:300000}")
+    public void snapshotIfDirty() {
+        if (!dirty.getAndSet(false)) {
+            return;
+        }
+        try {
+            snapshot();
+        } catch (RuntimeException e) {
+            dirty.set(true);
+            log.warn("Risk surface snapshot failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void snapshotOnShutdown() {
+        snapshotIfDirty();
+    }
+
+    @Override
+    public void snapshot() {
+        RiskSurface current = surface;
+        if (current == null) {
+            return;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            current.write(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to serialize risk surface", e);
+        }
+        riskSurfaceSnapshotRepository.save(RiskSurfaceSnapshot.builder()
+                .id(RiskSurfaceSnapshot.CURRENT_ID)
+                .savedAt(Instant.now())
+                .slotCount(current.size())
+                .data(bytes.toByteArray())
+                .build());
+        log.info("Saved risk surface snapshot: {} slots, {} bytes", current.size(), bytes.size());
+    }
+
+    private static HazardSeverity severityOf(Hazard hazard) {
+        return hazard.getSeverity() != null ? hazard.getSeverity() : HazardSeverity.MEDIUM;
+    }
+}
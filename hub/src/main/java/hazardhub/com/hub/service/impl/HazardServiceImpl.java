@@ -1,6 +1,8 @@
 package hazardhub.com.hub.service.impl;
 
 import hazardhub.com.hub.constants.HazardHubConstants;
+import hazardhub.com.hub.event.HazardChangedEvent;
+import hazardhub.com.hub.event.HazardChangedEvent.ChangeType;
 import hazardhub.com.hub.exception.ResourceNotFoundException;
 import hazardhub.com.hub.mapper.HazardMapper;
 import hazardhub.com.hub.model.dto.HazardDTO;
@@ -8,8 +10,10 @@ import hazardhub.com.hub.model.entity.Hazard;
 import hazardhub.com.hub.model.enums.HazardStatus;
 import hazardhub.com.hub.repository.HazardRepository;
 import hazardhub.com.hub.service.HazardService;
+import hazardhub.com.hub.service.HazardSyncService;
 import hazardhub.com.hub.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
@@ -24,6 +28,8 @@ public class HazardServiceImpl implements HazardService {
 
     private final HazardRepository hazardRepository;
     private final UserService userService;
+    private final HazardSyncService hazardSyncService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public HazardDTO create(HazardDTO hazardDTO) {
@@ -41,6 +47,7 @@ public class HazardServiceImpl implements HazardService {
             hazard.setAffectedRadiusMeters(HazardHubConstants.Hazard.DEFAULT_AFFECTED_RADIUS_METERS);
         }
         Hazard res = hazardRepository.save(hazard);
+        eventPublisher.publishEvent(new HazardChangedEvent(res.getId(), ChangeType.CREATED, null, res.getStatus()));
         return HazardMapper.toDTO(res);
     }
 
@@ -67,17 +74,22 @@ public class HazardServiceImpl implements HazardService {
     public HazardDTO update(String id, HazardDTO hazardDTO) {
         Hazard existingHazard = hazardRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Hazard not found with id: " + id));
+        HazardStatus previousStatus = existingHazard.getStatus();
         HazardMapper.updateEntityFromDTO(hazardDTO, existingHazard);
         Hazard updated = hazardRepository.save(existingHazard);
+        eventPublisher.publishEvent(
+                new HazardChangedEvent(id, ChangeType.UPDATED, previousStatus, updated.getStatus()));
         return HazardMapper.toDTO(updated);
     }
 
     @Override
     public void delete(String id) {
-        if (!hazardRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Hazard not found with id: " + id);
-        }
+        Hazard existingHazard = hazardRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Hazard not found with id: " + id));
         hazardRepository.deleteById(id);
+        hazardSyncService.recordDeletion(id);
+        eventPublisher.publishEvent(
+                new HazardChangedEvent(id, ChangeType.DELETED, existingHazard.getStatus(), null));
     }
 
     @Override
@@ -0,0 +1,194 @@
+package hazardhub.com.hub.service.impl;
+
+import hazardhub.com.hub.config.HazardSyncConfig;
+import hazardhub.com.hub.exception.BadRequestException;
+import hazardhub.com.hub.mapper.HazardMapper;
+import hazardhub.com.hub.model.dto.HazardChangesDTO;
+import hazardhub.com.hub.model.dto.HazardDTO;
+import hazardhub.com.hub.model.entity.Hazard;
+import hazardhub.com.hub.model.entity.HazardTombstone;
+import hazardhub.com.hub.repository.HazardTombstoneRepository;
+import hazardhub.com.hub.service.HazardSyncService;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.CompoundIndexDefinition;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+
+/*
+Sync position is (timestamp, id) over two ordered streams: hazards by updatedAt and tombstones by deleted_at, merged
+by the same key. Timestamps come from several instances and writes can commit after a later-stamped one, so the
+token handed back never passes now - settle; anything newer is re-sent next time instead of being skipped.
+
+Tokens carry their phase. A full sync pages through every hazard without tombstones; its tokens remember when it
+started, and its last page hands out an incremental token from that moment, so changes and deletions made while the
+client was paging are replayed. An incremental token older than the tombstone retention may have missed deletions
+whose tombstones have expired, so it restarts with a full sync.
+*/
+@Service
+public class HazardSyncServiceImpl implements HazardSyncService {
+
+    private static final Cursor START = new Cursor(Instant.EPOCH, "");
+    private static final Comparator<Cursor> ORDER = Comparator.comparing(Cursor::time).thenComparing(Cursor::id);
+
+    private final MongoTemplate mongoTemplate;
+    private final HazardTombstoneRepository hazardTombstoneRepository;
+    private final HazardSyncConfig hazardSyncConfig;
+    private final Clock clock;
+
+    @Autowired
+    public HazardSyncServiceImpl(MongoTemplate mongoTemplate, HazardTombstoneRepository hazardTombstoneRepository,
+            HazardSyncConfig hazardSyncConfig) {
+        this(mongoTemplate, hazardTombstoneRepository, hazardSyncConfig, Clock.systemUTC());
+    }
+
+    HazardSyncServiceImpl(MongoTemplate mongoTemplate, HazardTombstoneRepository hazardTombstoneRepository,
+            HazardSyncConfig hazardSyncConfig, Clock clock) {
+        this.mongoTemplate = mongoTemplate;
+        this.hazardTombstoneRepository = hazardTombstoneRepository;
+        this.hazardSyncConfig = hazardSyncConfig;
+        this.clock = clock;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initSyncIndexesAfterStartup() {
+        mongoTemplate.indexOps(Hazard.class).createIndex(
+                new CompoundIndexDefinition(new Document("updatedAt", 1).append("_id", 1)));
+        IndexOperations tombstoneIndexes = mongoTemplate.indexOps(HazardTombstone.class);
+        tombstoneIndexes.createIndex(new CompoundIndexDefinition(new Document("deleted_at", 1).append("_id", 1)));
+        tombstoneIndexes.createIndex(new Index().on("expires_at", Sort.Direction.ASC).expire(Duration.ZERO));
+    }
+
+    @Override
+    public HazardChangesDTO findChanges(String since, int limit) {
+        int pageSize = Math.min(limit, hazardSyncConfig.getMaxPageSize());
+        Instant now = clock.instant();
+        SyncToken token = since == null || since.isBlank() ? null : SyncToken.decode(since);
+        boolean reset = token == null || (!token.isFullSync()
+                && token.position().time().isBefore(now.minus(hazardSyncConfig.getTombstoneRetention())));
+        if (reset) {
+            token = new SyncToken(now, START);
+        }
+        Cursor from = token.position();
+
+        List<Change> changes = new ArrayList<>();
+        mongoTemplate.find(page(from, "updatedAt", pageSize), Hazard.class)
+                .forEach(hazard -> changes.add(new Change(
+                        new Cursor(hazard.getUpdatedAt(), hazard.getId()), HazardMapper.toDTO(hazard))));
+        // A full sync starts from nothing, so there is nothing for tombstones to remove
+        if (!token.isFullSync()) {
+            mongoTemplate.find(page(from, "deleted_at", pageSize), HazardTombstone.class)
+                    .forEach(tombstone -> changes.add(new Change(
+                            new Cursor(tombstone.getDeletedAt(), tombstone.getId()), null)));
+        }
+        changes.sort(Comparator.comparing(Change::position, ORDER));
+
+        boolean hasMore = changes.size() > pageSize;
+        List<Change> pageChanges = hasMore ? changes.subList(0, pageSize) : changes;
+        SyncToken next;
+        if (hasMore) {
+            // A full page always advances, so a burst larger than a page inside the settle window cannot stall a client
+            next = new SyncToken(token.fullSyncStart(), pageChanges.getLast().position());
+        } else if (token.isFullSync()) {
+            next = new SyncToken(null, new Cursor(token.fullSyncStart().minus(hazardSyncConfig.getSettle()), ""));
+        } else {
+            Cursor horizon = new Cursor(now.minus(hazardSyncConfig.getSettle()), "");
+            next = new SyncToken(null, ORDER.compare(from, horizon) > 0 ? from : horizon);
+        }
+
+        return HazardChangesDTO.builder()
+                .changed(pageChanges.stream().filter(change -> change.hazard() != null).map(Change::hazard).toList())
+                .deleted(pageChanges.stream().filter(change -> change.hazard() == null)
+                        .map(change -> change.position().id()).toList())
+                .nextToken(next.encode())
+                .hasMore(hasMore)
+                .reset(reset)
+                .build();
+    }
+
+    @Override
+    public void recordDeletion(String hazardId) {
+        Instant now = clock.instant();
+        hazardTombstoneRepository.save(HazardTombstone.builder()
+                .id(hazardId)
+                .deletedAt(now)
+                .expiresAt(now.plus(hazardSyncConfig.getTombstoneRetention()))
+                .build());
+    }
+
+    private static Query page(Cursor from, String timeField, int pageSize) {
+        Criteria after = from.id().isEmpty()
+                ? Criteria.where(timeField).gte(from.time())
+                : new Criteria().orOperator(
+                        Criteria.where(timeField).gt(from.time()),
+                        Criteria.where(timeField).is(from.time()).and("_id").gt(from.id()));
+        return Query.query(after)
+                .with(Sort.by(Sort.Order.asc(timeField), Sort.Order.asc("_id")))
+                .limit(pageSize + 1);
+    }
+
+    private record Change(Cursor position, HazardDTO hazard) {
+    }
+
+    /** Position in the change stream. */
+    private record Cursor(Instant time, String id) {
+    }
+
+    /**
+     * Position plus phase; {@code fullSyncStart} is set while a full sync is
+     * being paged. Tokens are the URL-safe Base64 form of
+     * {@code i:<millis>:<id>} or {@code f:<startMillis>:<millis>:<id>}.
+     */
+    private record SyncToken(Instant fullSyncStart, Cursor position) {
+
+        boolean isFullSync() {
+            return fullSyncStart != null;
+        }
+
+        String encode() {
+            String raw = (isFullSync() ? "f:" + fullSyncStart.toEpochMilli() : "i")
+                    + ":" + position.time().toEpochMilli() + ":" + position.id();
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static SyncToken decode(String token) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+                String[] parts = raw.split(":", -1);
+                return switch (parts[0]) {
+                    case "i" -> parts.length == 3 ? new SyncToken(null, cursor(parts[1], parts[2])) : invalid();
+                    case "f" -> parts.length == 4
+                            ? new SyncToken(Instant.ofEpochMilli(Long.parseLong(parts[1])), cursor(parts[2], parts[3]))
+                            : invalid();
+                    default -> invalid();
+                };
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Invalid sync token");
+            }
+        }
+
+        private static Cursor cursor(String millis, String id) {
+            return new Cursor(Instant.ofEpochMilli(Long.parseLong(millis)), id);
+        }
+
+        private static SyncToken invalid() {
+            throw new BadRequestException("Invalid sync token");
+        }
+    }
+}
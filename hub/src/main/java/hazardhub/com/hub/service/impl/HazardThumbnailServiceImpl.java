@@ -0,0 +1,267 @@
+package hazardhub.com.hub.service.impl;
+
+import com.mongodb.client.result.UpdateResult;
+import hazardhub.com.hub.config.ImageConfig;
+import hazardhub.com.hub.event.HazardChangedEvent;
+import hazardhub.com.hub.event.HazardChangedEvent.ChangeType;
+import hazardhub.com.hub.model.entity.Hazard;
+import hazardhub.com.hub.repository.HazardRepository;
+import hazardhub.com.hub.service.BlobStorageService;
+import hazardhub.com.hub.service.HazardThumbnailService;
+import hazardhub.com.hub.service.ImageProcessingService;
+import hazardhub.com.hub.service.ImageProcessingService.ProcessedImage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders hazard image thumbnails off the request thread. Hazard writes queue
+ * the hazard on a small bounded pool; when the queue is full the hazard is
+ * dropped and picked up by the periodic backfill, which looks for hazards
+ * with an image but no thumbnail. Thumbnail keys include a hash of the image
+ * URL, so a replaced image gets a new object and the old one is deleted once
+ * the hazard points at the new one.
+ *
+ * <p>
+ * The backfill walks hazards in {@code _id} order from a cursor and wraps
+ * around at the end, so images that keep failing cannot occupy every batch.
+ * An image whose download or decode fails {@code MAX_RENDER_FAILURES} times
+ * is skipped until restart, like one that can never be decoded.
+ */
+@Service
+@ConditionalOnProperty(name = "image.thumbnail.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class HazardThumbnailServiceImpl implements HazardThumbnailService {
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final int MAX_RENDER_FAILURES = 3;
+
+    private final MongoTemplate mongoTemplate;
+    private final HazardRepository hazardRepository;
+    private final ImageProcessingService imageProcessingService;
+    private final BlobStorageService blobStorageService;
+    private final ImageConfig imageConfig;
+
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    // Images that can never be thumbnailed (bad URL, undecodable format); cleared on restart
+    private final Set<String> unusableImages = ConcurrentHashMap.newKeySet();
+    private final Map<String, Integer> renderFailures = new ConcurrentHashMap<>();
+    private volatile ThreadPoolExecutor workers;
+    // Last hazard id queued by the backfill; null starts again from the lowest id
+    private volatile String backfillCursor;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        int count = imageConfig.getThumbnailWorkers();
+        if (count <= 0) {
+            log.info("Thumbnail workers disabled");
+            return;
+        }
+        // Platform threads: resizing is CPU-bound, so the pool size is what bounds the load
+        workers = new ThreadPoolExecutor(count, count, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(imageConfig.getThumbnailQueueCapacity()),
+                Thread.ofPlatform().name("thumbnail-", 0).daemon(true).factory());
+        log.info("Started {} thumbnail worker(s)", count);
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void stop() {
+        if (workers != null) {
+            // Unfinished hazards still have no thumbnail, so the backfill finds them after restart
+            workers.shutdownNow();
+        }
+    }
+
+    @EventListener
+    public void onHazardChanged(HazardChangedEvent event) {
+        if (!event.remote() && event.changeType() != ChangeType.DELETED) {
+            enqueue(event.hazardId());
+        }
+    }
+
+    @Override
+    public String generate(String hazardId) {
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            Hazard hazard = hazardRepository.findById(hazardId).orElse(null);
+            if (hazard == null || hazard.getImageUrl() == null || hazard.getImageUrl().isBlank()) {
+                return null;
+            }
+            String imageUrl = hazard.getImageUrl();
+            String current = hazard.getThumbnailUrl();
+            Optional<String> currentKey = blobStorageService.keyOf(current);
+            String key = thumbnailKey(hazardId, imageUrl);
+            if (current != null && (currentKey.isEmpty() || currentKey.get().equals(key))) {
+                return null;
+            }
+            if (unusableImages.contains(imageUrl)) {
+                return null;
+            }
+
+            String thumbnailUrl = render(imageUrl, key);
+            if (thumbnailUrl == null) {
+                return null;
+            }
+
+            Criteria unchanged = Criteria.where("_id").is(hazardId).and("image_url").is(imageUrl);
+            unchanged = current != null
+                    ? unchanged.and("thumbnail_url").is(current)
+                    : unchanged.and("thumbnail_url").exists(false);
+            // updatedAt is bumped by hand so sync clients pick up the thumbnail
+            UpdateResult result = mongoTemplate.updateFirst(Query.query(unchanged),
+                    new Update().set("thumbnail_url", thumbnailUrl).set("updatedAt", Instant.now()),
+                    Hazard.class);
+            if (result.getMatchedCount() > 0) {
+                currentKey.ifPresent(this::deleteQuietly);
+                return thumbnailUrl;
+            }
+            // The image or thumbnail changed while rendering; drop ours and look again
+            deleteQuietly(key);
+        }
+        log.warn("Hazard {} kept changing while its thumbnail was rendered, leaving it to the backfill", hazardId);
+        return null;
+    }
+
+    @Override
+    public int backfill() {
+        if (workers == null) {
+            return 0;
+        }
+        int batchSize = imageConfig.getThumbnailBackfillBatchSize();
+        Criteria criteria = Criteria.where("image_url").exists(true).nin(unusableImages)
+                .and("thumbnail_url").exists(false);
+        String cursor = backfillCursor;
+        if (cursor != null) {
+            criteria = criteria.and("_id").gt(new ObjectId(cursor));
+        }
+        Query query = Query.query(criteria)
+                .with(Sort.by(Sort.Direction.ASC, "_id"))
+                .limit(batchSize);
+        query.fields().include("_id");
+        List<Hazard> missing = mongoTemplate.find(query, Hazard.class);
+        // A short page means the end was reached; the next run starts over
+        backfillCursor = missing.size() < batchSize ? null : missing.getLast().getId();
+        int queued = 0;
+        for (Hazard hazard : missing) {
+            if (enqueue(hazard.getId())) {
+                queued++;
+            }
+        }
+        return queued;
+    }
+
+    @Scheduled(fixedDelayString = "${image.thumbnail.backfill-interval-ms:60000}")
+    public void runBackfill() {
+        try {
+            int queued = backfill();
+            if (queued > 0) {
+                log.info("Queued {} hazard(s) for thumbnail backfill", queued);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Thumbnail backfill failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    private boolean enqueue(String hazardId) {
+        ThreadPoolExecutor pool = workers;
+        if (pool == null || !inFlight.add(hazardId)) {
+            return false;
+        }
+        try {
+            pool.execute(() -> {
+                try {
+                    generate(hazardId);
+                } catch (RuntimeException e) {
+                    log.warn("Thumbnail generation failed for hazard {}: {}", hazardId, e.getMessage());
+                } finally {
+                    inFlight.remove(hazardId);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(hazardId);
+            log.debug("Thumbnail queue full, leaving hazard {} to the backfill", hazardId);
+            return false;
+        }
+    }
+
+    /** Renders and stores the thumbnail; null if the image can never be thumbnailed. */
+    private String render(String imageUrl, String key) {
+        ProcessedImage thumbnail;
+        try {
+            thumbnail = imageProcessingService.thumbnail(imageUrl,
+                    imageConfig.getThumbnailWidth(), imageConfig.getThumbnailHeight());
+        } catch (IllegalArgumentException e) {
+            markUnusable(imageUrl, e.getMessage());
+            return null;
+        } catch (RuntimeException e) {
+            int failures = renderFailures.merge(imageUrl, 1, Integer::sum);
+            if (failures >= MAX_RENDER_FAILURES) {
+                markUnusable(imageUrl, "failed " + failures + " times, last: " + e.getMessage());
+                return null;
+            }
+            throw e;
+        }
+        renderFailures.remove(imageUrl);
+
+        // Storage failures are not the image's fault, so they are not counted against it
+        try (thumbnail; InputStream in = thumbnail.openStream()) {
+            return blobStorageService.put(key, in.readAllBytes(), thumbnail.getMimeType());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read rendered thumbnail", e);
+        }
+    }
+
+    private void markUnusable(String imageUrl, String reason) {
+        unusableImages.add(imageUrl);
+        renderFailures.remove(imageUrl);
+        log.info("Skipping thumbnail for {}: {}", imageUrl, reason);
+    }
+
+    private void deleteQuietly(String key) {
+        try {
+            blobStorageService.delete(key);
+        } catch (RuntimeException e) {
+            log.warn("Could not delete thumbnail {}: {}", key, e.getMessage());
+        }
+    }
+
+    static String thumbnailKey(String hazardId, String imageUrl) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            String hash = HexFormat.of().formatHex(digest.digest(imageUrl.getBytes(StandardCharsets.UTF_8)));
+            return "thumbnails/" + hazardId + "/" + hash.substring(0, 16) + ".jpg";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
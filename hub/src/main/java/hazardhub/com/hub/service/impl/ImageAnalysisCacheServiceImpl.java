@@ -0,0 +1,157 @@
+package hazardhub.com.hub.service.impl;
+
+import hazardhub.com.hub.config.GeminiConfig;
+import hazardhub.com.hub.config.ImageConfig;
+import hazardhub.com.hub.model.entity.ImageAnalysisCacheEntry;
+import hazardhub.com.hub.repository.ImageAnalysisCacheRepository;
+import hazardhub.com.hub.service.ImageAnalysisCacheService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/*
+Two tiers: a small LRU map in front of the image_analysis_cache collection, which survives restarts and is shared by
+every instance. Keys carry the Gemini model, so switching models starts from an empty cache instead of serving
+descriptions from the old one. URLs are hashed into the key to keep long Firebase URLs out of the index.
+*/
+@Service
+@Slf4j
+public class ImageAnalysisCacheServiceImpl implements ImageAnalysisCacheService {
+
+    private final ImageAnalysisCacheRepository imageAnalysisCacheRepository;
+    private final MongoTemplate mongoTemplate;
+    private final ImageConfig imageConfig;
+    private final GeminiConfig geminiConfig;
+    private final Clock clock;
+    private final Map<String, ImageAnalysisCacheEntry> memory;
+
+    @Autowired
+    public ImageAnalysisCacheServiceImpl(ImageAnalysisCacheRepository imageAnalysisCacheRepository,
+            MongoTemplate mongoTemplate, ImageConfig imageConfig, GeminiConfig geminiConfig) {
+        this(imageAnalysisCacheRepository, mongoTemplate, imageConfig, geminiConfig, Clock.systemUTC());
+    }
+
+    ImageAnalysisCacheServiceImpl(ImageAnalysisCacheRepository imageAnalysisCacheRepository,
+            MongoTemplate mongoTemplate, ImageConfig imageConfig, GeminiConfig geminiConfig, Clock clock) {
+        this.imageAnalysisCacheRepository = imageAnalysisCacheRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.imageConfig = imageConfig;
+        this.geminiConfig = geminiConfig;
+        this.clock = clock;
+        int maxEntries = imageConfig.getAnalysisCacheMaxEntries();
+        this.memory = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ImageAnalysisCacheEntry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initCacheIndexesAfterStartup() {
+        mongoTemplate.indexOps(ImageAnalysisCacheEntry.class).createIndex(
+                new Index().on("expires_at", Sort.Direction.ASC).expire(Duration.ZERO));
+    }
+
+    @Override
+    public Optional<String> findByUrl(String imageUrl) {
+        return find(key("url", sha256Hex(imageUrl)));
+    }
+
+    @Override
+    public Optional<String> findByContent(String contentSha256) {
+        return find(key("sha256", contentSha256));
+    }
+
+    @Override
+    public void put(String imageUrl, String contentSha256, String description) {
+        if (!imageConfig.isAnalysisCacheEnabled()) {
+            return;
+        }
+        Instant now = clock.instant();
+        List<ImageAnalysisCacheEntry> entries = new ArrayList<>(2);
+        entries.add(entry(key("url", sha256Hex(imageUrl)), description, now, imageConfig.getAnalysisCacheUrlTtl()));
+        if (contentSha256 != null) {
+            entries.add(entry(key("sha256", contentSha256), description, now,
+                    imageConfig.getAnalysisCacheContentTtl()));
+        }
+        synchronized (memory) {
+            entries.forEach(entry -> memory.put(entry.getId(), entry));
+        }
+        try {
+            imageAnalysisCacheRepository.saveAll(entries);
+        } catch (RuntimeException e) {
+            log.warn("Could not persist image analysis cache entry: {}", e.getMessage());
+        }
+    }
+
+    private Optional<String> find(String key) {
+        if (!imageConfig.isAnalysisCacheEnabled()) {
+            return Optional.empty();
+        }
+        Instant now = clock.instant();
+        synchronized (memory) {
+            ImageAnalysisCacheEntry cached = memory.get(key);
+            if (cached != null && now.isBefore(cached.getExpiresAt())) {
+                return Optional.of(cached.getDescription());
+            }
+            memory.remove(key);
+        }
+
+        ImageAnalysisCacheEntry stored;
+        try {
+            stored = imageAnalysisCacheRepository.findById(key).orElse(null);
+        } catch (RuntimeException e) {
+            log.warn("Image analysis cache lookup failed: {}", e.getMessage());
+            return Optional.empty();
+        }
+        // The TTL monitor runs about once a minute, so expired documents can still be read
+        if (stored == null || stored.getExpiresAt() == null || !now.isBefore(stored.getExpiresAt())) {
+            return Optional.empty();
+        }
+        synchronized (memory) {
+            memory.put(key, stored);
+        }
+        return Optional.of(stored.getDescription());
+    }
+
+    private String key(String kind, String hash) {
+        return kind + ":" + geminiConfig.getModel() + ":" + hash;
+    }
+
+    private static ImageAnalysisCacheEntry entry(String key, String description, Instant now, Duration ttl) {
+        return ImageAnalysisCacheEntry.builder()
+                .id(key)
+                .description(description)
+                .createdAt(now)
+                .expiresAt(now.plus(ttl))
+                .build();
+    }
+
+    private static String sha256Hex(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package hazardhub.com.hub.service.impl;
+
+import hazardhub.com.hub.config.ImageAnalysisJobConfig;
+import hazardhub.com.hub.exception.ResourceNotFoundException;
+import hazardhub.com.hub.mapper.ImageAnalysisJobMapper;
+import hazardhub.com.hub.model.dto.ImageAnalysisJobDTO;
+import hazardhub.com.hub.model.dto.ImageAnalysisJobRequestDTO;
+import hazardhub.com.hub.model.entity.Hazard;
+import hazardhub.com.hub.model.entity.ImageAnalysisJob;
+import hazardhub.com.hub.model.enums.ImageAnalysisJobStatus;
+import hazardhub.com.hub.repository.HazardRepository;
+import hazardhub.com.hub.repository.ImageAnalysisJobRepository;
+import hazardhub.com.hub.service.GeminiService;
+import hazardhub.com.hub.service.ImageAnalysisJobService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.CompoundIndexDefinition;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mongo-backed queue for Gemini image analysis. Submission only inserts a
+ * QUEUED job; a fixed pool of workers per instance claims due jobs with an
+ * atomic findAndModify that sets a lease, so each job runs on one worker at a
+ * time and a job whose worker died is claimed again once its lease expires.
+ * Transient failures (Gemini or the download unavailable) are retried with
+ * exponential backoff up to a maximum number of attempts; invalid images fail
+ * at once. Results are read by polling, pushed to SSE subscribers, and
+ * written to the hazard when the job names one.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ImageAnalysisJobServiceImpl implements ImageAnalysisJobService {
+
+    private static final List<ImageAnalysisJobStatus> FINISHED = List.of(ImageAnalysisJobStatus.SUCCEEDED,
+            ImageAnalysisJobStatus.FAILED);
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final ImageAnalysisJobRepository imageAnalysisJobRepository;
+    private final HazardRepository hazardRepository;
+    private final MongoTemplate mongoTemplate;
+    private final GeminiService geminiService;
+    private final ImageAnalysisJobConfig imageAnalysisJobConfig;
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Semaphore wakeups = new Semaphore(0);
+    private final Map<String, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    private volatile boolean running;
+    private ExecutorService workers;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        IndexOperations indexOps = mongoTemplate.indexOps(ImageAnalysisJob.class);
+        indexOps.createIndex(new CompoundIndexDefinition(new Document("status", 1).append("available_at", 1)));
+        indexOps.createIndex(new CompoundIndexDefinition(new Document("status", 1).append("lease_expires_at", 1)));
+        indexOps.createIndex(new Index().on("expires_at", Sort.Direction.ASC).expire(Duration.ZERO));
+
+        int count = imageAnalysisJobConfig.getWorkers();
+        if (count <= 0) {
+            log.info("Image analysis workers disabled on this instance");
+            return;
+        }
+        running = true;
+        workers = Executors.newFixedThreadPool(count, Thread.ofVirtual().name("image-analysis-", 0).factory());
+        for (int i = 0; i < count; i++) {
+            workers.execute(this::runWorker);
+        }
+        log.info("Started {} image analysis worker(s)", count);
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void stop() {
+        running = false;
+        if (workers != null) {
+            // Interrupted jobs keep their lease and are claimed again when it expires
+            workers.shutdownNow();
+        }
+    }
+
+    @Override
+    public ImageAnalysisJobDTO submit(ImageAnalysisJobRequestDTO request, String requesterId) {
+        if (request.getHazardId() != null && !hazardRepository.existsById(request.getHazardId())) {
+            throw new ResourceNotFoundException("Hazard not found with id: " + request.getHazardId());
+        }
+        ImageAnalysisJob job = imageAnalysisJobRepository.save(ImageAnalysisJob.builder()
+                .imageUrl(request.getImageUrl())
+                .hazardId(request.getHazardId())
+                .requesterId(requesterId)
+                .status(ImageAnalysisJobStatus.QUEUED)
+                .attempts(0)
+                .availableAt(Instant.now())
+                .build());
+        wakeups.release();
+        return ImageAnalysisJobMapper.toDTO(job);
+    }
+
+    @Override
+    public ImageAnalysisJobDTO findById(String id, String requesterId) {
+        return ImageAnalysisJobMapper.toDTO(findOwned(id, requesterId));
+    }
+
+    @Override
+    public SseEmitter subscribe(String id, String requesterId) {
+        findOwned(id, requesterId);
+        SseEmitter emitter = new SseEmitter(imageAnalysisJobConfig.getSseTimeoutMs());
+        subscribers.computeIfAbsent(id, key -> new CopyOnWriteArrayList<>()).add(emitter);
+        Runnable unsubscribe = () -> subscribers.computeIfPresent(id, (key, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(error -> unsubscribe.run());
+
+        // Re-read after registering so a job that finished in between is not missed
+        imageAnalysisJobRepository.findById(id)
+                .filter(job -> FINISHED.contains(job.getStatus()))
+                .ifPresent(this::notifySubscribers);
+        return emitter;
+    }
+
+    /**
+     * Delivers jobs finished by workers on other instances to this instance's
+     * subscribers.
+     */
+    @Scheduled(fixedDelayString = "${image.analysis.jobs.sse-poll-interval-ms:2000}")
+    public void notifyFinishedElsewhere() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        try {
+            Query finished = Query.query(Criteria.where("_id").in(List.copyOf(subscribers.keySet()))
+                    .and("status").in(FINISHED));
+            mongoTemplate.find(finished, ImageAnalysisJob.class).forEach(this::notifySubscribers);
+        } catch (RuntimeException e) {
+            log.warn("Could not check image analysis jobs for subscribers: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean processNext() {
+        ImageAnalysisJob job = claim();
+        if (job == null) {
+            return false;
+        }
+        if (job.getAttempts() > imageAnalysisJobConfig.getMaxAttempts()) {
+            // Its leases kept expiring, e.g. the image crashes whichever worker takes it
+            finish(job, Update.update("status", ImageAnalysisJobStatus.FAILED)
+                    .set("error", "Gave up after " + imageAnalysisJobConfig.getMaxAttempts() + " attempts"));
+            return true;
+        }
+
+        try {
+            String description = geminiService.analyzeHazardImage(job.getImageUrl()).getDescription();
+            if (finish(job, Update.update("status", ImageAnalysisJobStatus.SUCCEEDED)
+                    .set("description", description)
+                    .unset("error")) && job.getHazardId() != null) {
+                mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(job.getHazardId())),
+                        Update.update("ai_description", description).set("updatedAt", Instant.now()), Hazard.class);
+            }
+        } catch (IllegalArgumentException e) {
+            // Not a Firebase Storage URL, too large, unreadable: retrying cannot help
+            finish(job, Update.update("status", ImageAnalysisJobStatus.FAILED).set("error", truncate(e)));
+        } catch (RuntimeException e) {
+            if (job.getAttempts() >= imageAnalysisJobConfig.getMaxAttempts()) {
+                log.warn("Image analysis job {} failed after {} attempts: {}", job.getId(), job.getAttempts(),
+                        e.getMessage());
+                finish(job, Update.update("status", ImageAnalysisJobStatus.FAILED).set("error", truncate(e)));
+            } else {
+                Instant retryAt = Instant.now().plus(imageAnalysisJobConfig.retryDelay(job.getAttempts()));
+                log.info("Image analysis job {} failed (attempt {}), retrying at {}: {}", job.getId(),
+                        job.getAttempts(), retryAt, e.getMessage());
+                requeue(job, Update.update("status", ImageAnalysisJobStatus.QUEUED)
+                        .set("available_at", retryAt)
+                        .set("error", truncate(e)));
+            }
+        }
+        return true;
+    }
+
+    private void runWorker() {
+        while (running) {
+            boolean processed;
+            try {
+                processed = processNext();
+            } catch (RuntimeException e) {
+                log.warn("Image analysis worker error: {}", e.getMessage());
+                processed = false;
+            }
+            if (!processed) {
+                try {
+                    wakeups.tryAcquire(imageAnalysisJobConfig.getPollIntervalMs(), TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Takes the oldest due job — queued and available, or running with an
+     * expired lease — and leases it to this worker.
+     */
+    private ImageAnalysisJob claim() {
+        Instant now = Instant.now();
+        Query due = Query.query(new Criteria().orOperator(
+                Criteria.where("status").is(ImageAnalysisJobStatus.QUEUED).and("available_at").lte(now),
+                Criteria.where("status").is(ImageAnalysisJobStatus.RUNNING).and("lease_expires_at").lte(now)))
+                .with(Sort.by(Sort.Direction.ASC, "available_at"));
+        Update lease = Update.update("status", ImageAnalysisJobStatus.RUNNING)
+                .set("lease_owner", instanceId + "/" + Thread.currentThread().getName())
+                .set("lease_expires_at", now.plus(imageAnalysisJobConfig.getLease()))
+                .inc("attempts", 1);
+        return mongoTemplate.findAndModify(due, lease, FindAndModifyOptions.options().returnNew(true),
+                ImageAnalysisJob.class);
+    }
+
+    /**
+     * Records a final outcome, unless the lease was lost and another worker
+     * has claimed the job since.
+     *
+     * @return whether this worker still held the job
+     */
+    private boolean finish(ImageAnalysisJob job, Update outcome) {
+        Instant now = Instant.now();
+        outcome.set("completed_at", now).set("expires_at", now.plus(imageAnalysisJobConfig.getRetention()));
+        ImageAnalysisJob finished = mongoTemplate.findAndModify(heldBy(job), withoutLease(outcome),
+                FindAndModifyOptions.options().returnNew(true), ImageAnalysisJob.class);
+        if (finished == null) {
+            log.warn("Image analysis job {} lost its lease before finishing", job.getId());
+            return false;
+        }
+        notifySubscribers(finished);
+        return true;
+    }
+
+    private void requeue(ImageAnalysisJob job, Update update) {
+        mongoTemplate.updateFirst(heldBy(job), withoutLease(update), ImageAnalysisJob.class);
+    }
+
+    private static Update withoutLease(Update update) {
+        return update.unset("lease_owner").unset("lease_expires_at");
+    }
+
+    private static Query heldBy(ImageAnalysisJob job) {
+        return Query.query(Criteria.where("_id").is(job.getId())
+                .and("status").is(ImageAnalysisJobStatus.RUNNING)
+                .and("lease_owner").is(job.getLeaseOwner())
+                .and("attempts").is(job.getAttempts()));
+    }
+
+    private void notifySubscribers(ImageAnalysisJob job) {
+        List<SseEmitter> emitters = subscribers.remove(job.getId());
+        if (emitters == null) {
+            return;
+        }
+        ImageAnalysisJobDTO dto = ImageAnalysisJobMapper.toDTO(job);
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(SseEmitter.event().name("job").data(dto));
+                emitter.complete();
+            } catch (IOException | IllegalStateException e) {
+                // Client went away
+                emitter.completeWithError(e);
+            }
+        }
+    }
+
+    private ImageAnalysisJob findOwned(String id, String requesterId) {
+        return imageAnalysisJobRepository.findById(id)
+                .filter(job -> job.getRequesterId() == null || job.getRequesterId().equals(requesterId))
+                .orElseThrow(() -> new ResourceNotFoundException("Image analysis job not found with id: " + id));
+    }
+
+    private static String truncate(RuntimeException e) {
+        String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+}
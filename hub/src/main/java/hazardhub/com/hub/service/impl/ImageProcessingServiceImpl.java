@@ -0,0 +1,361 @@
+package hazardhub.com.hub.service.impl;
+
+import hazardhub.com.hub.config.ImageConfig;
+import hazardhub.com.hub.service.ImageProcessingService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOException;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.function.IntBinaryOperator;
+
+/*
+Images are spooled to a temporary file through a size-capped stream, then decoded with source
+subsampling so only the downscaled raster is ever materialized. Per-request heap stays at roughly
+maxDimension^2 * 4 bytes regardless of the original upload size.
+*/
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ImageProcessingServiceImpl implements ImageProcessingService {
+
+    private static final String ALLOWED_HOST = "firebasestorage.googleapis.com";
+    private static final long MAX_SOURCE_PIXELS = 200_000_000L; // decompression-bomb guard
+
+    private final ImageConfig imageConfig;
+
+    @Override
+    public ProcessedImage fetch(String imageUrl) {
+        URI uri = validateUrl(imageUrl);
+        try {
+            Download download = download(uri);
+            return ProcessedImage.ofFile(detectMimeType(imageUrl), download.file(), Files.size(download.file()),
+                    download.contentSha256());
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Failed to download image from URL: {}", imageUrl, e);
+            throw new RuntimeException("Failed to download hazard image for processing", e);
+        }
+    }
+
+    @Override
+    public ProcessedImage downscale(ProcessedImage original, int maxDimension) {
+        if (original.getFile() == null) {
+            throw new IllegalArgumentException("Only fetched images can be downscaled");
+        }
+        try {
+            return downscaleSpooled(original.getFile(), original.getContentSha256(), original.getMimeType(),
+                    maxDimension);
+        } catch (IOException e) {
+            log.error("Failed to process spooled image {}", original.getFile(), e);
+            throw new UncheckedIOException("Failed to process hazard image", e);
+        }
+    }
+
+    /**
+     * Re-encodes a downloaded original, deleting it, or hands it over as-is
+     * when ImageIO has no reader for the format and it is small enough.
+     */
+    ProcessedImage downscaleSpooled(Path spooled, String contentSha256, String mimeType, int maxDimension)
+            throws IOException {
+        ProcessedImage processed = reencode(spooled, maxDimension, contentSha256);
+        if (processed != null) {
+            Files.deleteIfExists(spooled);
+            return processed;
+        }
+
+        // No ImageIO reader (e.g. WebP): the original goes to Gemini unscaled, so cap its size
+        long size = Files.size(spooled);
+        if (size > imageConfig.getMaxPassthroughBytes()) {
+            throw new IllegalArgumentException("Image format cannot be downscaled and the file is too large ("
+                    + size / (1024 * 1024) + " MB). Max: " + imageConfig.getMaxPassthroughBytes() / (1024 * 1024)
+                    + " MB. Upload a JPEG or PNG instead.");
+        }
+        log.info("No ImageIO reader for {} image, passing original through", mimeType);
+        return ProcessedImage.ofFile(mimeType, spooled, size, contentSha256);
+    }
+
+    private URI validateUrl(String imageUrl) {
+        // SSRF guard — only allow downloads from Firebase Storage
+        URI uri = URI.create(imageUrl);
+        if (!"https".equalsIgnoreCase(uri.getScheme())
+                || !ALLOWED_HOST.equalsIgnoreCase(uri.getHost())) {
+            throw new IllegalArgumentException("Image URL must be an HTTPS Firebase Storage URL");
+        }
+        return uri;
+    }
+
+    private Download download(URI uri) throws IOException {
+        long maxBytes = imageConfig.getMaxDownloadBytes();
+
+        URLConnection connection = uri.toURL().openConnection();
+        connection.setConnectTimeout(imageConfig.getConnectTimeoutMs());
+        connection.setReadTimeout(imageConfig.getReadTimeoutMs());
+
+        long declaredLength = connection.getContentLengthLong();
+        if (declaredLength > maxBytes) {
+            throw new IllegalArgumentException(tooLargeMessage(declaredLength, maxBytes));
+        }
+
+        Path spooled = Files.createTempFile("hazard-image-", ".bin");
+        MessageDigest sha256 = newSha256();
+        try (InputStream in = new DigestInputStream(
+                new SizeLimitedInputStream(connection.getInputStream(), maxBytes), sha256)) {
+            Files.copy(in, spooled, StandardCopyOption.REPLACE_EXISTING);
+            return new Download(spooled, HexFormat.of().formatHex(sha256.digest()));
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(spooled);
+            throw e;
+        }
+    }
+
+    /**
+     * Decodes the spooled file with source subsampling and re-encodes to JPEG.
+     * Returns null when no ImageIO reader understands the format.
+     */
+    private ProcessedImage reencode(Path spooled, int maxDimension, String contentSha256) throws IOException {
+        BufferedImage decoded = decode(spooled,
+                (width, height) -> Math.max(1, (int) Math.ceil(Math.max(width, height) / (double) maxDimension)));
+        if (decoded == null) {
+            return null;
+        }
+        byte[] jpeg = encodeJpeg(toOpaqueRgb(decoded), imageConfig.getJpegQuality());
+
+        log.debug("Re-encoded image to {}x{} JPEG ({} bytes)", decoded.getWidth(), decoded.getHeight(), jpeg.length);
+        return ProcessedImage.ofBytes("image/jpeg", jpeg, contentSha256);
+    }
+
+    @Override
+    public ProcessedImage thumbnail(String imageUrl, int width, int height) {
+        URI uri = validateUrl(imageUrl);
+
+        Path spooled = null;
+        try {
+            Download download = download(uri);
+            spooled = download.file();
+            return thumbnailSpooled(spooled, download.contentSha256(), width, height);
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Failed to create thumbnail from URL: {}", imageUrl, e);
+            throw new RuntimeException("Failed to download hazard image for thumbnail", e);
+        } finally {
+            deleteQuietly(spooled);
+        }
+    }
+
+    /**
+     * Renders a center-cropped JPEG thumbnail of a downloaded original. The
+     * spooled file is left for the caller to delete.
+     */
+    ProcessedImage thumbnailSpooled(Path spooled, String contentSha256, int width, int height) throws IOException {
+        // Subsample only as far as keeps both edges at least the thumbnail's
+        BufferedImage decoded = decode(spooled, (sourceWidth, sourceHeight) -> Math.max(1,
+                (int) Math.min(sourceWidth / (double) width, sourceHeight / (double) height)));
+        if (decoded == null) {
+            throw new IllegalArgumentException("Unsupported image format for thumbnail");
+        }
+        byte[] jpeg = encodeJpeg(coverCrop(decoded, width, height), imageConfig.getThumbnailJpegQuality());
+        return ProcessedImage.ofBytes("image/jpeg", jpeg, contentSha256);
+    }
+
+    /**
+     * Decodes the first image in the file, reading every {@code step}th pixel
+     * as chosen from the source dimensions. Returns null when no ImageIO
+     * reader understands the format, and throws IllegalArgumentException
+     * when one does but the data cannot be decoded.
+     */
+    private BufferedImage decode(Path spooled, IntBinaryOperator step) throws IOException {
+        try (ImageInputStream iis = ImageIO.createImageInputStream(spooled.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
+            if (!readers.hasNext()) {
+                return null;
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(iis, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > MAX_SOURCE_PIXELS) {
+                    throw new IllegalArgumentException(
+                            "Image dimensions too large for analysis (" + width + "x" + height + ")");
+                }
+
+                int subsampling = step.applyAsInt(width, height);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } catch (IIOException e) {
+                // A reader recognised the header but the data is corrupt; retrying will not help
+                throw new IllegalArgumentException("Image data is corrupt or truncated", e);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Scales the image to cover {@code width} x {@code height} and crops the
+     * overflow evenly from both sides, onto an opaque white background.
+     */
+    private BufferedImage coverCrop(BufferedImage source, int width, int height) {
+        double scale = Math.max(width / (double) source.getWidth(), height / (double) source.getHeight());
+        int cropWidth = (int) Math.round(width / scale);
+        int cropHeight = (int) Math.round(height / scale);
+        int x = (source.getWidth() - cropWidth) / 2;
+        int y = (source.getHeight() - cropHeight) / 2;
+
+        BufferedImage thumbnail = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = thumbnail.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, width, height);
+            g.drawImage(source, 0, 0, width, height, x, y, x + cropWidth, y + cropHeight, null);
+        } finally {
+            g.dispose();
+        }
+        return thumbnail;
+    }
+
+    private BufferedImage toOpaqueRgb(BufferedImage source) {
+        if (source.getType() == BufferedImage.TYPE_INT_RGB || source.getType() == BufferedImage.TYPE_3BYTE_BGR) {
+            return source;
+        }
+        BufferedImage rgb = new BufferedImage(source.getWidth(), source.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = rgb.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, rgb.getWidth(), rgb.getHeight());
+            g.drawImage(source, 0, 0, null);
+        } finally {
+            g.dispose();
+        }
+        return rgb;
+    }
+
+    private byte[] encodeJpeg(BufferedImage image, float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 * 1024);
+        try (ImageOutputStream ios = new MemoryCacheImageOutputStream(out)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.setOutput(ios);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private String detectMimeType(String url) {
+        String lower = url.toLowerCase();
+        if (lower.contains(".png"))
+            return "image/png";
+        if (lower.contains(".webp"))
+            return "image/webp";
+        if (lower.contains(".gif"))
+            return "image/gif";
+        return "image/jpeg";
+    }
+
+    private static String tooLargeMessage(long bytes, long maxBytes) {
+        return "Image too large for analysis (" + bytes / (1024 * 1024) + " MB). Max: "
+                + maxBytes / (1024 * 1024) + " MB.";
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete temporary image file {}: {}", path, e.getMessage());
+        }
+    }
+
+    /** Spooled original and the SHA-256 of its bytes, computed while it was copied. */
+    private record Download(Path file, String contentSha256) {
+    }
+
+    /**
+     * Fails the download as soon as more than {@code maxBytes} have been read, so a
+     * missing or lying Content-Length cannot make us spool an unbounded body.
+     */
+    private static final class SizeLimitedInputStream extends FilterInputStream {
+
+        private final long maxBytes;
+        private long count;
+
+        SizeLimitedInputStream(InputStream in, long maxBytes) {
+            super(in);
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                advance(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                advance(n);
+            }
+            return n;
+        }
+
+        private void advance(long n) {
+            count += n;
+            if (count > maxBytes) {
+                throw new IllegalArgumentException(tooLargeMessage(count, maxBytes));
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package hazardhub.com.hub.service.impl;
+
+import hazardhub.com.hub.config.IsochroneConfig;
+import hazardhub.com.hub.geo.Polyline;
+import hazardhub.com.hub.geo.ReachabilityGrid;
+import hazardhub.com.hub.model.dto.HazardDTO;
+import hazardhub.com.hub.model.dto.IsochroneRequestDTO;
+import hazardhub.com.hub.model.dto.IsochroneResponseDTO;
+import hazardhub.com.hub.model.enums.HazardSeverity;
+import hazardhub.com.hub.routing.HazardPenalties;
+import hazardhub.com.hub.routing.IsochroneSearch;
+import hazardhub.com.hub.routing.TravelMode;
+import hazardhub.com.hub.service.HazardService;
+import hazardhub.com.hub.service.IsochroneService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * "Where can I get to in N minutes without entering a hazard?" in one call.
+ * Active hazards are impassable whatever their severity: their edges are cut
+ * from the road-graph search, or their cells blocked in the grid fallback,
+ * and they appear as holes in the returned polygon.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IsochroneServiceImpl implements IsochroneService {
+
+    private static final Map<HazardSeverity, Double> IMPASSABLE = impassable();
+
+    /** Radius used for hazards reported without one, matching the router's default. */
+    private static final double DEFAULT_HAZARD_RADIUS_METERS = 25;
+
+    private final ObjectProvider<IsochroneSearch> isochroneSearch;
+    private final HazardService hazardService;
+    private final IsochroneConfig isochroneConfig;
+
+    @Override
+    public IsochroneResponseDTO computeIsochrone(IsochroneRequestDTO request) {
+        long start = System.nanoTime();
+        double lat = request.getLatitude();
+        double lng = request.getLongitude();
+        TravelMode mode = TravelMode.fromVehicleType(request.getVehicleType());
+        double budgetSeconds = request.getBudgetMinutes() * 60.0;
+
+        IsochroneSearch search = isochroneSearch.getIfAvailable();
+        double accessMeters = isochroneConfig.getAccessMeters();
+        double gridMeters = isochroneConfig.gridSpeedMetersPerSecond(mode) * budgetSeconds;
+        double radius = search != null ? search.maxReachMeters(mode, budgetSeconds, accessMeters) : gridMeters;
+
+        List<HazardDTO> hazards = hazardService.findNearbyActive(lng, lat, radius);
+        ReachabilityGrid grid = new ReachabilityGrid(lat, lng, radius, isochroneConfig.cellMetersFor(radius));
+        int avoided = 0;
+        for (HazardDTO hazard : hazards) {
+            if (hazard.getLatitude() == null || hazard.getLongitude() == null) {
+                continue;
+            }
+            double hazardRadius = hazard.getAffectedRadiusMeters() != null ? hazard.getAffectedRadiusMeters()
+                    : DEFAULT_HAZARD_RADIUS_METERS;
+            if (grid.block(hazard.getLatitude(), hazard.getLongitude(), hazardRadius) > 0) {
+                avoided++;
+            }
+        }
+
+        if (search != null) {
+            HazardPenalties blocked = HazardPenalties.build(search.getGraph(), hazards, IMPASSABLE);
+            search.expand(lat, lng, accessMeters, mode, budgetSeconds, blocked, grid);
+            grid.dilate(isochroneConfig.getRoadDilationCells());
+        } else {
+            grid.expand(lat, lng, gridMeters);
+        }
+        grid.fillHoles();
+        List<ReachabilityGrid.Area> areas = grid.areas(grid.getCellMeters() / 2);
+
+        log.info("Isochrone {} {}min via {}: {} hazard(s) avoided, {} area(s), {}x{} cells, {}ms",
+                mode.getDirectionsMode(), request.getBudgetMinutes(), search != null ? "road graph" : "grid",
+                avoided, areas.size(), grid.getSize(), grid.getSize(), (System.nanoTime() - start) / 1_000_000);
+
+        return IsochroneResponseDTO.builder()
+                .longitude(lng)
+                .latitude(lat)
+                .vehicleType(request.getVehicleType())
+                .budgetMinutes(request.getBudgetMinutes())
+                .method(search != null ? "ROAD_GRAPH" : "GRID")
+                .avoidedHazardCount(avoided)
+                .areaSquareMeters(grid.getReachedAreaSquareMeters())
+                .geometry(toMultiPolygon(areas))
+                .build();
+    }
+
+    private static Map<String, Object> toMultiPolygon(List<ReachabilityGrid.Area> areas) {
+        List<List<List<double[]>>> polygons = new ArrayList<>(areas.size());
+        for (ReachabilityGrid.Area area : areas) {
+            List<List<double[]>> rings = new ArrayList<>(1 + area.holes().size());
+            rings.add(toPositions(area.shell()));
+            for (Polyline hole : area.holes()) {
+                rings.add(toPositions(hole));
+            }
+            polygons.add(rings);
+        }
+        Map<String, Object> geometry = new LinkedHashMap<>();
+        geometry.put("type", "MultiPolygon");
+        geometry.put("coordinates", polygons);
+        return geometry;
+    }
+
+    private static List<double[]> toPositions(Polyline ring) {
+        List<double[]> positions = new ArrayList<>(ring.size());
+        for (int i = 0; i < ring.size(); i++) {
+            positions.add(new double[] { ring.lng(i), ring.lat(i) });
+        }
+        return positions;
+    }
+
+    private static Map<HazardSeverity, Double> impassable() {
+        Map<HazardSeverity, Double> multipliers = new EnumMap<>(HazardSeverity.class);
+        for (HazardSeverity severity : HazardSeverity.values()) {
+            multipliers.put(severity, Double.POSITIVE_INFINITY);
+        }
+        return multipliers;
+    }
+}
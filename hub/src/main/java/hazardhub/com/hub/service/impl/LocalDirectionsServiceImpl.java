@@ -0,0 +1,172 @@
+package hazardhub.com.hub.service.impl;
+
+import hazardhub.com.hub.config.RoutingConfig;
+import hazardhub.com.hub.geo.GeoMath;
+import hazardhub.com.hub.geo.PolylineCodec;
+import hazardhub.com.hub.model.dto.HazardDTO;
+import hazardhub.com.hub.routing.AStarRouter;
+import hazardhub.com.hub.routing.CchRouter;
+import hazardhub.com.hub.routing.HazardPenalties;
+import hazardhub.com.hub.routing.RoadGraph;
+import hazardhub.com.hub.routing.RoutePath;
+import hazardhub.com.hub.routing.TravelMode;
+import hazardhub.com.hub.service.GoogleDirectionsService;
+import hazardhub.com.hub.service.HazardService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Directions from the embedded road graph instead of the Google API. Edges
+ * near active hazards are penalized by severity, so avoidance follows the
+ * hazards' actual radii rather than the waypoints Gemini picked; those
+ * waypoints are still honored as intermediate stops. Responses mimic the
+ * Google Directions JSON so callers cannot tell the providers apart.
+ *
+ * <p>
+ * When the contraction-hierarchy router is enabled and customized, hazards
+ * come from its background overlay; otherwise each request looks up nearby
+ * hazards and runs A*.
+ */
+@Service
+@ConditionalOnProperty(name = "routing.provider", havingValue = "local")
+@RequiredArgsConstructor
+@Slf4j
+public class LocalDirectionsServiceImpl implements GoogleDirectionsService {
+
+    private final AStarRouter aStarRouter;
+    private final ObjectProvider<CchRouter> cchRouter;
+    private final HazardService hazardService;
+    private final RoutingConfig routingConfig;
+
+    @Override
+    public Map<String, Object> getDirections(String origin, String destination, String waypoints, String mode) {
+        long start = System.nanoTime();
+        TravelMode travelMode = TravelMode.fromDirectionsMode(mode);
+        List<double[]> stops = parseStops(origin, destination, waypoints);
+        RoadGraph graph = aStarRouter.getGraph();
+
+        int[] nodes = new int[stops.size()];
+        for (int i = 0; i < stops.size(); i++) {
+            double[] stop = stops.get(i);
+            nodes[i] = graph.nearestNode(stop[0], stop[1], routingConfig.getSnapMaxMeters(), travelMode);
+            if (nodes[i] < 0) {
+                log.warn("Local router: no {} road within {}m of {},{}", travelMode.getDirectionsMode(),
+                        routingConfig.getSnapMaxMeters(), stop[0], stop[1]);
+                throw new RuntimeException("Local router error: NOT_FOUND");
+            }
+        }
+
+        CchRouter cch = cchRouter.getIfAvailable();
+        boolean useCch = cch != null && cch.isCustomized(travelMode);
+        HazardPenalties penalties = useCch ? null
+                : HazardPenalties.build(graph, activeHazardsAround(stops), routingConfig.getHazardPenalties());
+
+        List<Map<String, Object>> legs = new ArrayList<>();
+        List<RoutePath> paths = new ArrayList<>();
+        for (int i = 1; i < nodes.length; i++) {
+            Optional<RoutePath> found = useCch ? cch.route(nodes[i - 1], nodes[i], travelMode)
+                    : aStarRouter.route(nodes[i - 1], nodes[i], travelMode, penalties);
+            RoutePath path = found.orElseThrow(() -> new RuntimeException("Local router error: ZERO_RESULTS"));
+            paths.add(path);
+            legs.add(toLeg(graph, path));
+        }
+
+        Map<String, Object> route = new LinkedHashMap<>();
+        route.put("summary", "HazardHub local router");
+        route.put("overview_polyline", Map.of("points", encode(graph, paths)));
+        route.put("legs", legs);
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("status", "OK");
+        response.put("routes", List.of(route));
+
+        log.info("Local router ({}): {} leg(s), {}ms", useCch ? "cch" : "a*", legs.size(),
+                (System.nanoTime() - start) / 1_000_000);
+        return response;
+    }
+
+    private static List<double[]> parseStops(String origin, String destination, String waypoints) {
+        List<String> raw = new ArrayList<>();
+        raw.add(origin);
+        if (waypoints != null && !waypoints.isBlank()) {
+            raw.addAll(List.of(waypoints.split("\\|")));
+        }
+        raw.add(destination);
+
+        List<double[]> stops = new ArrayList<>(raw.size());
+        for (String value : raw) {
+            double[] point = GeoMath.parseLatLng(value);
+            if (point == null) {
+                throw new IllegalArgumentException("Local router needs lat,lng locations, got: " + value);
+            }
+            stops.add(point);
+        }
+        return stops;
+    }
+
+    /**
+     * Active hazards in a circle covering every stop, widened by the search
+     * margin so detours that bulge outside the stops still see them.
+     */
+    private List<HazardDTO> activeHazardsAround(List<double[]> stops) {
+        double lat = 0;
+        double lng = 0;
+        for (double[] stop : stops) {
+            lat += stop[0];
+            lng += stop[1];
+        }
+        lat /= stops.size();
+        lng /= stops.size();
+
+        double radius = 0;
+        for (double[] stop : stops) {
+            radius = Math.max(radius, GeoMath.haversineMeters(lat, lng, stop[0], stop[1]));
+        }
+        return hazardService.findNearbyActive(lng, lat, radius + routingConfig.getHazardSearchMarginMeters());
+    }
+
+    private static Map<String, Object> toLeg(RoadGraph graph, RoutePath path) {
+        int first = path.nodes()[0];
+        int last = path.nodes()[path.nodes().length - 1];
+        long meters = Math.round(path.distanceMeters());
+        long seconds = Math.round(path.durationSeconds());
+
+        Map<String, Object> leg = new LinkedHashMap<>();
+        leg.put("distance", Map.of("value", meters, "text", String.format("%.1f km", meters / 1000.0)));
+        leg.put("duration", Map.of("value", seconds, "text", Math.max(1, Math.round(seconds / 60.0)) + " mins"));
+        leg.put("start_location", Map.of("lat", graph.lat(first), "lng", graph.lng(first)));
+        leg.put("end_location", Map.of("lat", graph.lat(last), "lng", graph.lng(last)));
+        return leg;
+    }
+
+    private static String encode(RoadGraph graph, List<RoutePath> paths) {
+        int total = 0;
+        for (RoutePath path : paths) {
+            total += path.nodes().length;
+        }
+        double[] lats = new double[total];
+        double[] lngs = new double[total];
+        int count = 0;
+        for (RoutePath path : paths) {
+            for (int node : path.nodes()) {
+                // Consecutive legs share their junction node
+                if (count > 0 && lats[count - 1] == graph.lat(node) && lngs[count - 1] == graph.lng(node)) {
+                    continue;
+                }
+                lats[count] = graph.lat(node);
+                lngs[count] = graph.lng(node);
+                count++;
+            }
+        }
+        return PolylineCodec.encode(lats, lngs, count);
+    }
+}
@@ -0,0 +1,88 @@
+package hazardhub.com.hub.service.impl;
+
+import hazardhub.com.hub.config.RateLimitConfig;
+import hazardhub.com.hub.service.RateLimitService;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+
+/*
+Shared budgets for multi-instance deployments: one fixed one-minute window counter per key in the rate_limit_counters
+collection, incremented with a single upserting findAndModify. Windows allow up to the per-minute rate (bucket capacity
+is not modelled), and expire through a TTL index. If Mongo is unreachable requests are admitted — losing the limiter
+must not take the AI endpoints down with it.
+*/
+@Service
+@ConditionalOnProperty(name = "rate-limit.store", havingValue = "mongo")
+@Slf4j
+public class MongoRateLimitServiceImpl implements RateLimitService {
+
+    private static final String COLLECTION = "rate_limit_counters";
+    private static final long WINDOW_SECONDS = 60;
+
+    private final MongoTemplate mongoTemplate;
+    private final Map<String, Policy> policies;
+
+    public MongoRateLimitServiceImpl(MongoTemplate mongoTemplate, RateLimitConfig rateLimitConfig) {
+        this.mongoTemplate = mongoTemplate;
+        this.policies = rateLimitConfig.getPolicies();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initCounterIndexesAfterStartup() {
+        mongoTemplate.indexOps(COLLECTION).createIndex(
+                new Index().on("expires_at", Sort.Direction.ASC).expire(Duration.ZERO));
+    }
+
+    @Override
+    public Decision tryAcquire(String policyName, String clientKey) {
+        Policy policy = policies.get(policyName);
+        if (policy == null) {
+            return Decision.allow();
+        }
+
+        long nowSeconds = Instant.now().getEpochSecond();
+        long window = nowSeconds / WINDOW_SECONDS;
+        long retryAfter = (window + 1) * WINDOW_SECONDS - nowSeconds;
+
+        try {
+            String userKey = policyName + ":user:" + clientKey;
+            if (increment(userKey, window, 1) > policy.userPerMinute()) {
+                return Decision.reject("user", retryAfter);
+            }
+            if (increment(policyName + ":global", window, 1) > policy.globalPerMinute()) {
+                // The request never ran, so it must not count against the user
+                increment(userKey, window, -1);
+                return Decision.reject("global", retryAfter);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Rate-limit counter unavailable, admitting request: {}", e.getMessage());
+        }
+        return Decision.allow();
+    }
+
+    private long increment(String key, long window, int delta) {
+        Query query = Query.query(Criteria.where("_id").is(key + ":" + window));
+        Update update = new Update()
+                .inc("count", delta)
+                .setOnInsert("expires_at", Date.from(Instant.ofEpochSecond((window + 2) * WINDOW_SECONDS)));
+        Document counter = mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().upsert(true).returnNew(true), Document.class, COLLECTION);
+        return counter != null ? ((Number) counter.get("count")).longValue() : 0;
+    }
+}
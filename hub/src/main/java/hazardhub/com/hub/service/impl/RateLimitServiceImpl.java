@@ -0,0 +1,75 @@
+package hazardhub.com.hub.service.impl;
+
+import hazardhub.com.hub.config.RateLimitConfig;
+import hazardhub.com.hub.resilience.TokenBucket;
+import hazardhub.com.hub.service.RateLimitService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/*
+Per-instance token buckets. Each instance enforces the full budget on its own, so behind N replicas a user can reach
+up to N times the configured rate; use rate-limit.store=mongo when that matters. Buckets that have refilled completely
+carry no state and are swept by a scheduled task once the map grows past rate-limit.max-tracked-clients.
+*/
+@Service
+@ConditionalOnProperty(name = "rate-limit.store", havingValue = "memory", matchIfMissing = true)
+@Slf4j
+public class RateLimitServiceImpl implements RateLimitService {
+
+    private final RateLimitConfig rateLimitConfig;
+    private final Map<String, Policy> policies;
+    private final Map<String, TokenBucket> globalBuckets = new HashMap<>();
+    private final ConcurrentMap<String, TokenBucket> userBuckets = new ConcurrentHashMap<>();
+
+    public RateLimitServiceImpl(RateLimitConfig rateLimitConfig) {
+        this.rateLimitConfig = rateLimitConfig;
+        this.policies = rateLimitConfig.getPolicies();
+        policies.forEach((name, policy) -> globalBuckets.put(name,
+                new TokenBucket(policy.globalCapacity(), policy.globalPerMinute())));
+    }
+
+    @Override
+    public Decision tryAcquire(String policyName, String clientKey) {
+        Policy policy = policies.get(policyName);
+        if (policy == null) {
+            return Decision.allow();
+        }
+
+        TokenBucket userBucket = userBuckets.computeIfAbsent(policyName + ":" + clientKey,
+                key -> new TokenBucket(policy.userCapacity(), policy.userPerMinute()));
+        long userWait = userBucket.tryAcquire();
+        if (userWait > 0) {
+            return Decision.reject("user", toSeconds(userWait));
+        }
+
+        long globalWait = globalBuckets.get(policyName).tryAcquire();
+        if (globalWait > 0) {
+            // The request never ran, so it must not count against the user
+            userBucket.refund();
+            return Decision.reject("global", toSeconds(globalWait));
+        }
+        return Decision.allow();
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.sweep-interval-ms:60000}")
+    public void sweepFullBuckets() {
+        if (userBuckets.size() <= rateLimitConfig.getMaxTrackedClients()) {
+            return;
+        }
+        int before = userBuckets.size();
+        userBuckets.values().removeIf(TokenBucket::isFull);
+        log.info("Evicted {} idle rate-limit buckets", before - userBuckets.size());
+    }
+
+    private static long toSeconds(long nanos) {
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,243 @@
+package hazardhub.com.hub.service.impl;
+
+import hazardhub.com.hub.config.RiskSurfaceConfig;
+import hazardhub.com.hub.config.RouteRescoringConfig;
+import hazardhub.com.hub.event.HazardChangedEvent;
+import hazardhub.com.hub.geo.BoundingBox;
+import hazardhub.com.hub.geo.GeoJsonShapes;
+import hazardhub.com.hub.geo.GeoMath;
+import hazardhub.com.hub.geo.Polyline;
+import hazardhub.com.hub.model.dto.HazardDTO;
+import hazardhub.com.hub.model.entity.Hazard;
+import hazardhub.com.hub.model.entity.Route;
+import hazardhub.com.hub.model.entity.Trip;
+import hazardhub.com.hub.model.enums.HazardSeverity;
+import hazardhub.com.hub.model.enums.TripStatus;
+import hazardhub.com.hub.repository.HazardRepository;
+import hazardhub.com.hub.service.HazardRiskService;
+import hazardhub.com.hub.service.HazardService;
+import hazardhub.com.hub.service.RouteRescoringService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps stored route scores current as hazards change. A hazard write marks
+ * routes of PLANNING and ACTIVE trips by incrementing {@code rescore_pending}
+ * — found through the 2dsphere index on {@code path} and the index on
+ * {@code hazards_considered}, so a hazard that moved or was resolved also
+ * reaches the routes it used to affect. The worker re-scores marked routes in
+ * batches on the scale route suggestions use and writes them back in one bulk
+ * operation per batch; a route re-marked while it was being scored keeps its
+ * mark and is picked up again.
+ */
+@Service
+@ConditionalOnProperty(name = "route.rescore.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class RouteRescoringServiceImpl implements RouteRescoringService {
+
+    static final String RESCORE_PENDING = "rescore_pending";
+    private static final List<TripStatus> LIVE_TRIP_STATUSES = List.of(TripStatus.PLANNING, TripStatus.ACTIVE);
+
+    private final MongoTemplate mongoTemplate;
+    private final HazardRepository hazardRepository;
+    private final HazardService hazardService;
+    private final RouteRescoringConfig routeRescoringConfig;
+    private final RiskSurfaceConfig riskSurfaceConfig;
+    private final ObjectProvider<HazardRiskService> hazardRiskService;
+
+    @EventListener
+    public void onHazardChanged(HazardChangedEvent event) {
+        if (event.remote()) {
+            return;
+        }
+        try {
+            int marked = markAffectedRoutes(event.hazardId());
+            if (marked > 0) {
+                log.debug("Hazard {} {}: marked {} route(s) for re-scoring", event.hazardId(), event.changeType(),
+                        marked);
+            }
+        } catch (RuntimeException e) {
+            // The hazard write itself has succeeded; a missed mark only leaves a score stale
+            log.warn("Could not mark routes for re-scoring after hazard {} changed: {}", event.hazardId(),
+                    e.getMessage());
+        }
+    }
+
+    @Override
+    public int markAffectedRoutes(String hazardId) {
+        List<Criteria> affected = new ArrayList<>();
+        affected.add(Criteria.where("hazards_considered").is(hazardId));
+        Hazard hazard = hazardRepository.findById(hazardId).orElse(null);
+        if (hazard != null && hazard.getLocation() != null) {
+            double radius = Math.max(hazard.getAffectedRadiusMeters() != null ? hazard.getAffectedRadiusMeters() : 0,
+                    routeRescoringConfig.getMinHazardRadiusMeters());
+            affected.add(Criteria.where("path").intersects(GeoJsonShapes.circle(hazard.getLocation().getY(),
+                    hazard.getLocation().getX(), radius, routeRescoringConfig.getCircleSegments())));
+        }
+        Query candidatesQuery = Query.query(new Criteria().orOperator(affected));
+        candidatesQuery.fields().include("trip_id");
+        List<Route> candidates = mongoTemplate.find(candidatesQuery, Route.class);
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+
+        Set<String> tripIds = candidates.stream()
+                .map(Route::getTripId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Query liveTripsQuery = Query.query(Criteria.where("_id").in(tripIds).and("status").in(LIVE_TRIP_STATUSES));
+        liveTripsQuery.fields().include("_id");
+        Set<String> liveTripIds = mongoTemplate.find(liveTripsQuery, Trip.class).stream()
+                .map(Trip::getId)
+                .collect(Collectors.toSet());
+
+        List<String> routeIds = candidates.stream()
+                .filter(route -> liveTripIds.contains(route.getTripId()))
+                .map(Route::getId)
+                .toList();
+        if (routeIds.isEmpty()) {
+            return 0;
+        }
+        return (int) mongoTemplate.updateMulti(Query.query(Criteria.where("_id").in(routeIds)),
+                new Update().inc(RESCORE_PENDING, 1), Route.class).getModifiedCount();
+    }
+
+    @Scheduled(fixedDelayString = "${route.rescore.interval-ms:5000}")
+    public void rescorePending() {
+        try {
+            int total = 0;
+            for (int batch = 0; batch < routeRescoringConfig.getMaxBatchesPerRun(); batch++) {
+                int processed = rescoreBatch();
+                total += processed;
+                if (processed < routeRescoringConfig.getBatchSize()) {
+                    break;
+                }
+            }
+            if (total > 0) {
+                log.info("Re-scored {} route(s) after hazard changes", total);
+            }
+        } catch (RuntimeException e) {
+            // Marks are persisted, so unfinished routes are retried on the next run
+            log.warn("Route re-scoring failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public int rescoreBatch() {
+        Query pendingQuery = Query.query(Criteria.where(RESCORE_PENDING).exists(true))
+                .limit(routeRescoringConfig.getBatchSize());
+        pendingQuery.fields().include("polyline", "duration_seconds", "safety_analysis", RESCORE_PENDING);
+        List<Route> pending = mongoTemplate.find(pendingQuery, Route.class);
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        Instant now = Instant.now();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkMode.UNORDERED, Route.class);
+        for (Route route : pending) {
+            // Only clear the mark this score accounts for; a newer one means another pass
+            Query unchanged = Query.query(Criteria.where("_id").is(route.getId())
+                    .and(RESCORE_PENDING).is(route.getRescorePending()));
+            bulk.updateOne(unchanged, scoreUpdate(route, now).unset(RESCORE_PENDING));
+        }
+        bulk.execute();
+        return pending.size();
+    }
+
+    /**
+     * Safety score against the active hazards whose radius the route crosses,
+     * less the historical-risk penalty, as in route suggestions. Routes
+     * without a usable polyline keep their score.
+     */
+    private Update scoreUpdate(Route route, Instant now) {
+        Update update = new Update();
+        if (route.getPolyline() == null) {
+            return update;
+        }
+        Polyline polyline;
+        try {
+            polyline = Polyline.decode(route.getPolyline());
+        } catch (IllegalArgumentException e) {
+            log.warn("Could not decode polyline of route {} for re-scoring: {}", route.getId(), e.getMessage());
+            return update;
+        }
+        if (polyline.isEmpty()) {
+            return update;
+        }
+
+        List<HazardDTO> crossed = hazardsCrossed(polyline);
+        double penalty = 0;
+        Map<HazardSeverity, Integer> bySeverity = new EnumMap<>(HazardSeverity.class);
+        for (HazardDTO hazard : crossed) {
+            HazardSeverity severity = hazard.getSeverity() != null ? hazard.getSeverity() : HazardSeverity.MEDIUM;
+            penalty += RouteSuggestionServiceImpl.SEVERITY_PENALTY.get(severity);
+            bySeverity.merge(severity, 1, Integer::sum);
+        }
+        Double historicalRisk = historicalRisk(route, now);
+        if (historicalRisk != null) {
+            penalty += riskSurfaceConfig.safetyPenalty(historicalRisk);
+        }
+
+        Map<String, Object> analysis = route.getSafetyAnalysis() != null
+                ? new HashMap<>(route.getSafetyAnalysis())
+                : new HashMap<>();
+        analysis.put("hazardCount", crossed.size());
+        analysis.put("hazardsBySeverity", bySeverity.entrySet().stream()
+                .collect(Collectors.toMap(e -> e.getKey().name(), Map.Entry::getValue)));
+        analysis.put("historicalRisk", historicalRisk);
+        analysis.put("rescoredAt", now);
+
+        return update.set("safety_score", Math.max(0, 100 - penalty))
+                .set("safety_analysis", analysis)
+                .set("hazards_considered", crossed.stream().map(HazardDTO::getId).toList());
+    }
+
+    private List<HazardDTO> hazardsCrossed(Polyline polyline) {
+        BoundingBox box = polyline.boundingBox();
+        double reach = GeoMath.haversineMeters(box.getCenterLat(), box.getCenterLng(), box.getMaxLat(),
+                box.getMaxLng());
+        List<HazardDTO> crossed = new ArrayList<>();
+        for (HazardDTO hazard : hazardService.findNearbyActive(box.getCenterLng(), box.getCenterLat(),
+                reach + routeRescoringConfig.getHazardSearchMarginMeters())) {
+            if (hazard.getLatitude() == null || hazard.getLongitude() == null) {
+                continue;
+            }
+            double radius = hazard.getAffectedRadiusMeters() != null ? hazard.getAffectedRadiusMeters() : 0;
+            if (polyline.distanceToMeters(hazard.getLatitude(), hazard.getLongitude()) <= radius) {
+                crossed.add(hazard);
+            }
+        }
+        return crossed;
+    }
+
+    private Double historicalRisk(Route route, Instant now) {
+        HazardRiskService riskService = hazardRiskService.getIfAvailable();
+        if (riskService == null) {
+            return null;
+        }
+        long duration = route.getDurationSeconds() != null ? route.getDurationSeconds() : 0;
+        return riskService.routeRisk(route.getPolyline(), now, duration);
+    }
+}
@@ -1,18 +1,27 @@
 package hazardhub.com.hub.service.impl;
 
 import hazardhub.com.hub.exception.ResourceNotFoundException;
+import hazardhub.com.hub.geo.GeoJsonShapes;
 import hazardhub.com.hub.mapper.RouteMapper;
 import hazardhub.com.hub.model.dto.RouteDTO;
 import hazardhub.com.hub.model.entity.Route;
 import hazardhub.com.hub.repository.RouteRepository;
 import hazardhub.com.hub.service.RouteService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.bson.types.ObjectId;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
 import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.geo.GeoJsonLineString;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -20,8 +29,11 @@ import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class RouteServiceImpl implements RouteService {
 
+    static final int PATH_BACKFILL_BATCH_SIZE = 500;
+
     private final RouteRepository routeRepository;
     private final MongoTemplate mongoTemplate;
 
@@ -86,4 +98,63 @@ public class RouteServiceImpl implements RouteService {
                 .orElseThrow(() -> new ResourceNotFoundException("Route not found with id: " + id));
         return RouteMapper.toDTO(selected);
     }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillPathsAfterStartup() {
+        try {
+            int filled = backfillPaths();
+            if (filled > 0) {
+                log.info("Backfilled 'path' on {} route(s) stored before it existed", filled);
+            }
+        } catch (RuntimeException e) {
+            // Routes still without a path are picked up again on the next startup
+            log.warn("Route path backfill failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Fills {@code path} on routes saved before it was stored, so the 2dsphere
+     * lookups used by route re-scoring reach them too. Walks the routes in
+     * {@code _id} order; a route whose polyline cannot be decoded is passed
+     * over and keeps no path.
+     *
+     * @return number of routes given a path
+     */
+    int backfillPaths() {
+        int filled = 0;
+        String lastId = null;
+        while (true) {
+            Criteria criteria = Criteria.where("path").exists(false).and("polyline").ne(null);
+            if (lastId != null) {
+                criteria = criteria.and("_id").gt(new ObjectId(lastId));
+            }
+            Query query = Query.query(criteria)
+                    .with(Sort.by(Sort.Direction.ASC, "_id"))
+                    .limit(PATH_BACKFILL_BATCH_SIZE);
+            query.fields().include("polyline");
+            List<Route> batch = mongoTemplate.find(query, Route.class);
+            if (batch.isEmpty()) {
+                return filled;
+            }
+
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkMode.UNORDERED, Route.class);
+            int updates = 0;
+            for (Route route : batch) {
+                GeoJsonLineString path = GeoJsonShapes.simplifiedLineString(route.getPolyline());
+                if (path != null) {
+                    bulk.updateOne(Query.query(Criteria.where("_id").is(route.getId()).and("path").exists(false)),
+                            new Update().set("path", path));
+                    updates++;
+                }
+            }
+            if (updates > 0) {
+                bulk.execute();
+                filled += updates;
+            }
+            if (batch.size() < PATH_BACKFILL_BATCH_SIZE) {
+                return filled;
+            }
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+    }
 }
@@ -2,28 +2,62 @@ package hazardhub.com.hub.service.impl;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import hazardhub.com.hub.config.GeminiConfig;
+import hazardhub.com.hub.config.GoogleMapsConfig;
+import hazardhub.com.hub.config.RiskSurfaceConfig;
+import hazardhub.com.hub.config.RouteSuggestionConfig;
+import hazardhub.com.hub.config.RouteSuggestionConfig.WaypointSource;
 import hazardhub.com.hub.constants.HazardHubConstants;
+import hazardhub.com.hub.exception.ExternalApiUnavailableException;
+import hazardhub.com.hub.geo.DetourWaypointPlanner;
+import hazardhub.com.hub.geo.DiscreteFrechet;
+import hazardhub.com.hub.geo.GeoMath;
+import hazardhub.com.hub.geo.Polyline;
+import hazardhub.com.hub.http.StreamingJsonArrayParser;
 import hazardhub.com.hub.model.dto.DirectionsParamsDTO;
 import hazardhub.com.hub.model.dto.HazardDTO;
 import hazardhub.com.hub.model.dto.RouteSuggestionRequestDTO;
 import hazardhub.com.hub.model.dto.RouteSuggestionResponseDTO;
 import hazardhub.com.hub.model.dto.SuggestedRouteDTO;
+import hazardhub.com.hub.resilience.ExternalApiGuard;
+import hazardhub.com.hub.resilience.SingleFlight;
+import hazardhub.com.hub.service.GeminiPromptCacheService;
 import hazardhub.com.hub.service.GoogleDirectionsService;
+import hazardhub.com.hub.service.HazardRiskService;
 import hazardhub.com.hub.service.RouteSuggestionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.RestClient;
 
+import hazardhub.com.hub.model.enums.HazardSeverity;
 import hazardhub.com.hub.model.enums.VehicleType;
 
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -33,42 +67,471 @@ public class RouteSuggestionServiceImpl implements RouteSuggestionService {
     private final RestClient geminiRestClient;
     private final GeminiConfig geminiConfig;
     private final GoogleDirectionsService googleDirectionsService;
+    private final ExternalApiGuard geminiApiGuard;
+    private final GoogleMapsConfig googleMapsConfig;
+    private final ExecutorService externalHttpExecutor;
+    private final RouteSuggestionConfig routeSuggestionConfig;
+    private final GeminiPromptCacheService geminiPromptCacheService;
+    private final SingleFlight<String, RouteSuggestionResponseDTO> routeSuggestionFlight;
+    private final DetourWaypointPlanner detourWaypointPlanner;
+    private final ObjectProvider<HazardRiskService> hazardRiskService;
+    private final RiskSurfaceConfig riskSurfaceConfig;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     @Override
     public RouteSuggestionResponseDTO suggestRoutes(RouteSuggestionRequestDTO request, List<HazardDTO> hazards) {
+        // During incidents many users ask for nearly the same trip at once; share one computation
+        return routeSuggestionFlight.execute(coalescingKey(request, hazards),
+                () -> computeSuggestion(request, hazards));
+    }
+
+    private RouteSuggestionResponseDTO computeSuggestion(RouteSuggestionRequestDTO request, List<HazardDTO> hazards) {
         // log.info("Suggesting routes from ({},{}) to ({},{}) with {} hazards",
         // request.getOriginLatitude(), request.getOriginLongitude(),
         // request.getDestinationLatitude(), request.getDestinationLongitude(),
         // hazards.size());
 
+        // 0. Nothing worth steering around — the prompt rules would return the direct route anyway
+        if (qualifiesForFastPath(hazards)) {
+            return suggestDirectRoute(request, hazards);
+        }
+
+        // 0b. Place detour waypoints geometrically rather than asking Gemini for them
+        if (routeSuggestionConfig.getWaypointSource() == WaypointSource.PLANNER) {
+            return suggestPlannedRoutes(request, hazards);
+        }
+
         // 1. Build prompts
         String systemPrompt = HazardHubConstants.HazardGemini.ROUTE_SUGGESTION_SYSTEM_PROMPT;
         String userPrompt = buildUserPrompt(request, hazards);
 
-        // 2. Call Gemini for structured JSON
-        Map<String, Object> geminiResponse = callGemini(systemPrompt, userPrompt);
+        // 2. Almost every answer includes a direct route, so fetch it while Gemini is thinking
+        CompletableFuture<Map<String, Object>> directRoute = prefetchDirectRoute(request);
 
-        // 3. Parse Gemini's response
-        RouteSuggestionResponseDTO suggestion = parseGeminiResponse(geminiResponse);
+        // 3. Ask Gemini. When streaming, each route's Directions call starts as soon as
+        // Gemini finishes generating it, overlapping with the routes still to come.
+        Map<String, Object> requestBody = buildGeminiRequestBody(systemPrompt, userPrompt);
+
+        // Routes whose waypoints nearly match an earlier one are dropped before paying for Directions
+        List<SuggestedRouteDTO> requested = new ArrayList<>();
+        List<CompletableFuture<SuggestedRouteDTO>> enrichments = new ArrayList<>();
+        // Routes streamed before a failed stream, kept so the retry can reuse their Directions calls
+        List<SuggestedRouteDTO> abandoned = new ArrayList<>();
+        List<CompletableFuture<SuggestedRouteDTO>> abandonedEnrichments = new ArrayList<>();
+        String message = null;
+        boolean streamed = false;
+        try {
+            if (geminiConfig.isRouteStreamingEnabled()) {
+                try {
+                    message = streamGemini(requestBody, route -> {
+                        if (!isNearDuplicateRequest(route, requested, request.getVehicleType())) {
+                            requested.add(route);
+                            enrichments.add(enrichAsync(route, request, directRoute));
+                        }
+                    });
+                    streamed = true;
+                } catch (ExternalApiUnavailableException e) {
+                    throw e;
+                } catch (RuntimeException e) {
+                    log.warn("Streaming route suggestion failed, retrying without streaming: {}", e.getMessage());
+                    abandoned.addAll(requested);
+                    abandonedEnrichments.addAll(enrichments);
+                    requested.clear();
+                    enrichments.clear();
+                    if (e instanceof HttpClientErrorException && requestBody.containsKey("cachedContent")) {
+                        // Most likely a cache handle Gemini no longer knows; retry with the prompt inline
+                        useInlinePrompt(requestBody, systemPrompt);
+                    }
+                }
+            }
+            if (!streamed) {
+                RouteSuggestionResponseDTO suggestion = parseGeminiResponse(callGemini(requestBody, systemPrompt));
+                message = suggestion.getMessage();
+                for (SuggestedRouteDTO route : suggestion.getRoutes()) {
+                    if (!isNearDuplicateRequest(route, requested, request.getVehicleType())) {
+                        requested.add(route);
+                        enrichments.add(reuseOrEnrich(route, request, directRoute, abandoned, abandonedEnrichments));
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            if (directRoute != null) {
+                directRoute.cancel(false);
+            }
+            throw e;
+        } finally {
+            // Streamed routes the retry did not ask for again; queued ones then skip their Directions call
+            abandonedEnrichments.forEach(future -> future.cancel(false));
+        }
 
-        // 4. For each route, call Directions API to get real polyline/distance/duration
+        // 4. Collect routes with their real polyline/distance/duration, in Gemini's order
         List<SuggestedRouteDTO> enrichedRoutes = new ArrayList<>();
-        for (SuggestedRouteDTO route : suggestion.getRoutes()) {
-            SuggestedRouteDTO enriched = enrichRouteWithDirections(route, request.getVehicleType());
+        for (CompletableFuture<SuggestedRouteDTO> enrichment : enrichments) {
+            SuggestedRouteDTO enriched = enrichment.join();
             if (enriched.getPolyline() != null) {
                 enrichedRoutes.add(enriched);
             } else {
-                log.warn("Dropping route '{}' — no polyline after Directions API call", route.getName());
+                log.warn("Dropping route '{}' — no polyline after Directions API call", enriched.getName());
             }
         }
 
         return RouteSuggestionResponseDTO.builder()
-                .message(suggestion.getMessage())
-                .routes(enrichedRoutes)
+                .message(message)
+                .routes(dropNearDuplicatePolylines(enrichedRoutes))
+                .messageFromGemini(true)
+                .build();
+    }
+
+    /**
+     * Coordinates rounded to 4 decimals (~11 m), vehicle, normalized user
+     * message and the exact hazard set, so a newly reported hazard never joins
+     * a computation that did not see it.
+     */
+    private static String coalescingKey(RouteSuggestionRequestDTO request, List<HazardDTO> hazards) {
+        String userMessage = request.getUserMessage() != null
+                ? request.getUserMessage().strip().toLowerCase(Locale.ROOT)
+                : "";
+        String hazardIds = hazards.stream()
+                .map(HazardDTO::getId)
+                .sorted(Comparator.nullsFirst(Comparator.naturalOrder()))
+                .collect(Collectors.joining(","));
+        return String.format(Locale.ROOT, "%.4f,%.4f>%.4f,%.4f|%s|%s|%s",
+                request.getOriginLatitude(), request.getOriginLongitude(),
+                request.getDestinationLatitude(), request.getDestinationLongitude(),
+                request.getVehicleType(), userMessage, hazardIds);
+    }
+
+    private boolean qualifiesForFastPath(List<HazardDTO> hazards) {
+        if (!routeSuggestionConfig.isFastPathEnabled()
+                || hazards.size() > routeSuggestionConfig.getFastPathMaxHazards()) {
+            return false;
+        }
+        HazardSeverity maxSeverity = routeSuggestionConfig.getFastPathMaxSeverity();
+        return hazards.stream().allMatch(h -> severityOf(h).compareTo(maxSeverity) <= 0);
+    }
+
+    // A hazard reported without a severity is scored as MEDIUM rather than skipped
+    private static HazardSeverity severityOf(HazardDTO hazard) {
+        return hazard.getSeverity() != null ? hazard.getSeverity() : HazardSeverity.MEDIUM;
+    }
+
+    /**
+     * Builds the single-route answer locally from one Directions call, scored
+     * the way the system prompt describes: 100 with no hazards on the route,
+     * minus a fixed penalty per minor hazard whose radius the route crosses.
+     */
+    private RouteSuggestionResponseDTO suggestDirectRoute(RouteSuggestionRequestDTO request, List<HazardDTO> hazards) {
+        log.info("Route suggestion fast path: {} minor hazard(s) nearby, skipping Gemini", hazards.size());
+
+        SuggestedRouteDTO route = enrichRouteWithDirections(SuggestedRouteDTO.builder()
+                .name(DIRECT_ROUTE_NAME)
+                .recommendationTier("RECOMMENDED")
+                .directionsParams(directionsParams(request, ""))
+                .build(), request, null);
+
+        if (route.getPolyline() == null) {
+            log.warn("Dropping route '{}' — no polyline after Directions API call", route.getName());
+            return RouteSuggestionResponseDTO.builder()
+                    .message(NO_ROUTE_MESSAGE)
+                    .routes(List.of())
+                    .build();
+        }
+
+        int hazardsOnRoute = hazardsOnRoute(route.getPolyline(), hazards).size();
+        double safetyScore = Math.max(0, 100 - MINOR_HAZARD_PENALTY * hazardsOnRoute - historicalPenalty(route));
+        double efficiencyScore = 100;
+        route.setSafetyScore(safetyScore);
+        route.setEfficiencyScore(efficiencyScore);
+        route.setRankScore(safetyScore * 0.75 + efficiencyScore * 0.25);
+        route.setHazardCount(hazardsOnRoute);
+        route.setAiSummary(hazardsOnRoute == 0
+                ? "No active hazards are reported along this route."
+                : hazardsOnRoute + " low-severity hazard(s) reported along this route; no detour is needed.");
+
+        return RouteSuggestionResponseDTO.builder()
+                .message(hazards.isEmpty() ? CLEAR_CORRIDOR_MESSAGE : MINOR_HAZARDS_MESSAGE)
+                .routes(List.of(route))
                 .build();
     }
 
+    /**
+     * Routes around the hazards the direct route actually crosses, with
+     * waypoints from {@link DetourWaypointPlanner}: one Directions call for the
+     * direct route, then up to three detours enriched in parallel. Scores,
+     * tiers and wording follow the rules the Gemini prompt describes, so
+     * clients see the same shape of answer. The free-text {@code userMessage}
+     * is not interpreted here; follow-up questions reach Gemini through
+     * {@code /ai/chat}, which does not reuse these canned messages.
+     */
+    private RouteSuggestionResponseDTO suggestPlannedRoutes(RouteSuggestionRequestDTO request,
+            List<HazardDTO> hazards) {
+        SuggestedRouteDTO direct = enrichRouteWithDirections(SuggestedRouteDTO.builder()
+                .name(DIRECT_ROUTE_NAME)
+                .directionsParams(directionsParams(request, ""))
+                .build(), request, null);
+        if (direct.getPolyline() == null) {
+            log.warn("Dropping route '{}' — no polyline after Directions API call", direct.getName());
+            return RouteSuggestionResponseDTO.builder()
+                    .message(NO_ROUTE_MESSAGE)
+                    .routes(List.of())
+                    .build();
+        }
+
+        List<Polyline> waypointSets = List.of();
+        Polyline directPath = null;
+        try {
+            directPath = Polyline.decode(direct.getPolyline());
+            List<DetourWaypointPlanner.Disk> disks = hazards.stream()
+                    .filter(h -> h.getLatitude() != null && h.getLongitude() != null)
+                    .map(h -> new DetourWaypointPlanner.Disk(h.getLatitude(), h.getLongitude(),
+                            h.getAffectedRadiusMeters() != null ? h.getAffectedRadiusMeters() : 0))
+                    .toList();
+            waypointSets = detourWaypointPlanner.plan(directPath, disks);
+        } catch (IllegalArgumentException e) {
+            log.warn("Could not decode Directions polyline for detour planning: {}", e.getMessage());
+        }
+        log.info("Route suggestion planner: {} hazard(s) nearby, {} detour candidate(s)", hazards.size(),
+                waypointSets.size());
+
+        List<String> names = new ArrayList<>(List.of(DIRECT_ROUTE_NAME));
+        List<CompletableFuture<SuggestedRouteDTO>> detours = new ArrayList<>();
+        for (Polyline waypoints : waypointSets) {
+            StringBuilder via = new StringBuilder();
+            for (int i = 0; i < waypoints.size(); i++) {
+                if (i > 0) {
+                    via.append('|');
+                }
+                via.append(String.format(Locale.ROOT, "via:%.6f,%.6f", waypoints.lat(i), waypoints.lng(i)));
+            }
+            String name = detourName(directPath, waypoints, names);
+            names.add(name);
+            detours.add(enrichAsync(SuggestedRouteDTO.builder()
+                    .name(name)
+                    .directionsParams(directionsParams(request, via.toString()))
+                    .build(), request, null));
+        }
+
+        List<SuggestedRouteDTO> routes = new ArrayList<>(List.of(direct));
+        for (CompletableFuture<SuggestedRouteDTO> detour : detours) {
+            SuggestedRouteDTO enriched = detour.join();
+            if (enriched.getPolyline() != null) {
+                routes.add(enriched);
+            } else {
+                log.warn("Dropping route '{}' — no polyline after Directions API call", enriched.getName());
+            }
+        }
+        for (SuggestedRouteDTO route : routes) {
+            scorePlannedRoute(route, direct, hazardsOnRoute(route.getPolyline(), hazards));
+        }
+        routes = new ArrayList<>(dropNearDuplicatePolylines(routes));
+        routes.sort(Comparator.comparing(SuggestedRouteDTO::getRankScore).reversed());
+        assignTiers(routes);
+
+        return RouteSuggestionResponseDTO.builder()
+                .message(plannedMessage(routes.get(0), direct))
+                .routes(routes)
+                .build();
+    }
+
+    private void scorePlannedRoute(SuggestedRouteDTO route, SuggestedRouteDTO direct,
+            List<HazardDTO> crossed) {
+        double penalty = 0;
+        boolean severe = false;
+        for (HazardDTO hazard : crossed) {
+            HazardSeverity severity = severityOf(hazard);
+            penalty += SEVERITY_PENALTY.get(severity);
+            severe |= severity.compareTo(HazardSeverity.HIGH) >= 0;
+        }
+        double safetyScore = Math.max(0, 100 - penalty - historicalPenalty(route));
+        double efficiencyScore = 100;
+        if (direct.getDurationSeconds() != null && route.getDurationSeconds() != null
+                && route.getDurationSeconds() > 0) {
+            efficiencyScore = Math.min(100, 100.0 * direct.getDurationSeconds() / route.getDurationSeconds());
+        }
+        route.setSafetyScore(safetyScore);
+        route.setEfficiencyScore(efficiencyScore);
+        route.setRankScore(safetyScore * 0.75 + efficiencyScore * 0.25);
+        route.setHazardCount(crossed.size());
+        route.setRecommendationTier(severe ? "RISKY" : null);
+
+        int extraMinutes = extraMinutes(route, direct);
+        if (crossed.isEmpty()) {
+            route.setAiSummary(route == direct || extraMinutes == 0
+                    ? "Avoids every reported hazard."
+                    : "Avoids every reported hazard, adding about " + extraMinutes + " min over the direct route.");
+        } else {
+            route.setAiSummary("Passes through " + crossed.size() + " hazard zone(s)"
+                    + (severe ? ", including high-severity ones." : "; all are moderate or minor."));
+        }
+    }
+
+    /**
+     * Best non-risky route is RECOMMENDED and the rest ALTERNATIVE; RISKY was
+     * already set for routes through high or critical hazards. Expects routes
+     * sorted best rank first.
+     */
+    private static void assignTiers(List<SuggestedRouteDTO> routes) {
+        boolean recommended = false;
+        for (SuggestedRouteDTO route : routes) {
+            if (route.getRecommendationTier() != null) {
+                continue;
+            }
+            route.setRecommendationTier(recommended ? "ALTERNATIVE" : "RECOMMENDED");
+            recommended = true;
+        }
+    }
+
+    static String plannedMessage(SuggestedRouteDTO best, SuggestedRouteDTO direct) {
+        if (best.getHazardCount() > 0) {
+            return String.format(UNAVOIDABLE_HAZARDS_MESSAGE, best.getName());
+        }
+        if (best == direct) {
+            return direct.getHazardCount() == 0 ? CLEAR_CORRIDOR_MESSAGE : MINOR_HAZARDS_MESSAGE;
+        }
+        if (direct.getHazardCount() == 0) {
+            // Nothing was avoided; the detour won on historical risk or travel time
+            return String.format(SAFER_ALTERNATIVE_MESSAGE, best.getName());
+        }
+        return String.format(DETOUR_MESSAGE, best.getName(), direct.getHazardCount(), extraMinutes(best, direct));
+    }
+
+    private static int extraMinutes(SuggestedRouteDTO route, SuggestedRouteDTO direct) {
+        if (route.getDurationSeconds() == null || direct.getDurationSeconds() == null) {
+            return 0;
+        }
+        return (int) Math.max(0, Math.round((route.getDurationSeconds() - direct.getDurationSeconds()) / 60.0));
+    }
+
+    /**
+     * Names a detour by the compass side of the direct route it swings to.
+     */
+    private static String detourName(Polyline directPath, Polyline waypoints, List<String> taken) {
+        double midLat = (directPath.lat(0) + directPath.lat(directPath.size() - 1)) / 2;
+        double midLng = (directPath.lng(0) + directPath.lng(directPath.size() - 1)) / 2;
+        double dLat = 0;
+        double dLng = 0;
+        for (int i = 0; i < waypoints.size(); i++) {
+            dLat += waypoints.lat(i) - midLat;
+            dLng += (waypoints.lng(i) - midLng) * Math.cos(Math.toRadians(midLat));
+        }
+        String side = Math.abs(dLat) >= Math.abs(dLng)
+                ? (dLat >= 0 ? "Northern" : "Southern")
+                : (dLng >= 0 ? "Eastern" : "Western");
+        String name = side + " Detour";
+        for (int n = 2; taken.contains(name); n++) {
+            name = side + " Detour " + n;
+        }
+        return name;
+    }
+
+    /**
+     * Predicted risk from past hazards along the route at the hours it will
+     * be driven, or null when the risk surface is disabled.
+     */
+    private Double historicalRisk(SuggestedRouteDTO route) {
+        HazardRiskService riskService = hazardRiskService.getIfAvailable();
+        if (riskService == null || route.getPolyline() == null) {
+            return null;
+        }
+        long duration = route.getDurationSeconds() != null ? route.getDurationSeconds() : 0;
+        return riskService.routeRisk(route.getPolyline(), Instant.now(), duration);
+    }
+
+    private double historicalPenalty(SuggestedRouteDTO route) {
+        return route.getHistoricalRisk() != null ? riskSurfaceConfig.safetyPenalty(route.getHistoricalRisk()) : 0;
+    }
+
+    private DirectionsParamsDTO directionsParams(RouteSuggestionRequestDTO request, String waypoints) {
+        return DirectionsParamsDTO.builder()
+                .origin(request.getOriginLatitude() + "," + request.getOriginLongitude())
+                .destination(request.getDestinationLatitude() + "," + request.getDestinationLongitude())
+                .waypoints(waypoints)
+                .mode(normalizeMode(null, request.getVehicleType()))
+                .build();
+    }
+
+    /**
+     * Hazards whose affected radius the route passes through. All of them if
+     * the polyline cannot be decoded, so scoring errs on the cautious side.
+     */
+    private List<HazardDTO> hazardsOnRoute(String encodedPolyline, List<HazardDTO> hazards) {
+        if (hazards.isEmpty()) {
+            return List.of();
+        }
+        Polyline polyline;
+        try {
+            polyline = Polyline.decode(encodedPolyline);
+        } catch (IllegalArgumentException e) {
+            log.warn("Could not decode Directions polyline for scoring: {}", e.getMessage());
+            return hazards;
+        }
+        List<HazardDTO> crossed = new ArrayList<>();
+        for (HazardDTO hazard : hazards) {
+            if (hazard.getLatitude() == null || hazard.getLongitude() == null) {
+                // Cannot be placed on the map, as in detour planning
+                continue;
+            }
+            double radius = hazard.getAffectedRadiusMeters() != null ? hazard.getAffectedRadiusMeters() : 0;
+            if (polyline.distanceToMeters(hazard.getLatitude(), hazard.getLongitude()) <= radius) {
+                crossed.add(hazard);
+            }
+        }
+        return crossed;
+    }
+
+    // Gemini responseSchema (OpenAPI subset). Routes are generated before the message so
+    // they stream out first and the message can summarize them.
+    private static final Map<String, Object> ROUTE_SUGGESTION_SCHEMA = Map.of(
+            "type", "OBJECT",
+            "properties", Map.of(
+                    "routes", Map.of(
+                            "type", "ARRAY",
+                            "items", Map.of(
+                                    "type", "OBJECT",
+                                    "properties", Map.of(
+                                            "name", Map.of("type", "STRING"),
+                                            "recommendationTier", Map.of("type", "STRING",
+                                                    "enum", List.of("RECOMMENDED", "ALTERNATIVE", "RISKY")),
+                                            "rankScore", Map.of("type", "NUMBER"),
+                                            "safetyScore", Map.of("type", "NUMBER"),
+                                            "efficiencyScore", Map.of("type", "NUMBER"),
+                                            "aiSummary", Map.of("type", "STRING"),
+                                            "hazardCount", Map.of("type", "INTEGER"),
+                                            "directionsParams", Map.of(
+                                                    "type", "OBJECT",
+                                                    "properties", Map.of(
+                                                            "origin", Map.of("type", "STRING"),
+                                                            "destination", Map.of("type", "STRING"),
+                                                            "waypoints", Map.of("type", "STRING"),
+                                                            "mode", Map.of("type", "STRING",
+                                                                    "enum", List.of("driving", "bicycling", "walking"))),
+                                                    "required", List.of("origin", "destination", "mode"))),
+                                    "required", List.of("name", "recommendationTier", "rankScore", "safetyScore",
+                                            "efficiencyScore", "aiSummary", "hazardCount", "directionsParams"),
+                                    "propertyOrdering", List.of("name", "recommendationTier", "rankScore",
+                                            "safetyScore", "efficiencyScore", "aiSummary", "hazardCount",
+                                            "directionsParams"))),
+                    "message", Map.of("type", "STRING")),
+            "required", List.of("routes", "message"),
+            "propertyOrdering", List.of("routes", "message"));
+
+    private static final String PROMPT_CACHE_KEY = "route-suggestion";
+
+    private static final String DIRECT_ROUTE_NAME = "Direct Route";
+    private static final double MINOR_HAZARD_PENALTY = 5;
+    private static final String CLEAR_CORRIDOR_MESSAGE = "Good news — there are no active hazards reported between you and your destination, so the direct route is your best option.";
+    private static final String MINOR_HAZARDS_MESSAGE = "Only minor hazards are reported near your trip, so the direct route is still your best option. Stay alert as you go.";
+    // Shared with RouteRescoringServiceImpl so stored routes are re-scored on the same scale
+    static final Map<HazardSeverity, Double> SEVERITY_PENALTY = Map.of(
+            HazardSeverity.LOW, MINOR_HAZARD_PENALTY,
+            HazardSeverity.MEDIUM, 15.0,
+            HazardSeverity.HIGH, 30.0,
+            HazardSeverity.CRITICAL, 50.0);
+    private static final String DETOUR_MESSAGE = "I found a way around the hazards on your direct path: the %s avoids all %d of them and adds about %d min.";
+    private static final String SAFER_ALTERNATIVE_MESSAGE = "No active hazards are reported on your direct path, but the %s is rated the better option overall.";
+    private static final String UNAVOIDABLE_HAZARDS_MESSAGE = "Every route I found passes near a reported hazard. The %s keeps your exposure lowest — please take extra care.";
+    private static final String NO_ROUTE_MESSAGE = "Sorry, I couldn't find a route between these locations right now. Please try again shortly.";
+
     private String buildUserPrompt(RouteSuggestionRequestDTO request, List<HazardDTO> hazards) {
         String hazardsJson;
         try {
@@ -107,28 +570,60 @@ public class RouteSuggestionServiceImpl implements RouteSuggestionService {
                 .replace("<user_message>", userMessage);
     }
 
-    @SuppressWarnings("unchecked")
-    private Map<String, Object> callGemini(String systemPrompt, String userPrompt) {
-        Map<String, Object> requestBody = Map.of(
-                "contents", List.of(
-                        Map.of("role", "user",
-                                "parts", List.of(Map.of("text", userPrompt)))),
-                "systemInstruction", Map.of(
-                        "parts", List.of(Map.of("text", systemPrompt))),
-                "generationConfig", Map.of(
-                        "responseMimeType", "application/json"));
+    private Map<String, Object> buildGeminiRequestBody(String systemPrompt, String userPrompt) {
+        Map<String, Object> requestBody = new LinkedHashMap<>();
+        requestBody.put("contents", List.of(
+                Map.of("role", "user",
+                        "parts", List.of(Map.of("text", userPrompt)))));
+        // Gemini rejects systemInstruction alongside cachedContent, so send one or the other
+        geminiPromptCacheService.cachedContentName(PROMPT_CACHE_KEY, systemPrompt).ifPresentOrElse(
+                name -> requestBody.put("cachedContent", name),
+                () -> requestBody.put("systemInstruction", Map.of(
+                        "parts", List.of(Map.of("text", systemPrompt)))));
+        requestBody.put("generationConfig", Map.of(
+                "responseMimeType", "application/json",
+                "responseSchema", ROUTE_SUGGESTION_SCHEMA));
+        return requestBody;
+    }
 
+    /**
+     * Swaps a cached prompt handle for the prompt itself and drops the handle,
+     * so the next suggestion creates a fresh one.
+     */
+    private void useInlinePrompt(Map<String, Object> requestBody, String systemPrompt) {
+        geminiPromptCacheService.invalidate(PROMPT_CACHE_KEY);
+        requestBody.remove("cachedContent");
+        requestBody.put("systemInstruction", Map.of(
+                "parts", List.of(Map.of("text", systemPrompt))));
+    }
+
+    private Map<String, Object> callGemini(Map<String, Object> requestBody, String systemPrompt) {
+        try {
+            return postGemini(requestBody);
+        } catch (HttpClientErrorException e) {
+            if (!requestBody.containsKey("cachedContent")) {
+                throw e;
+            }
+            // Likely a handle Gemini expired or evicted; answer with the prompt inline this time
+            log.warn("Gemini rejected cached route prompt, retrying inline: {}", e.getMessage());
+            useInlinePrompt(requestBody, systemPrompt);
+            return postGemini(requestBody);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> postGemini(Map<String, Object> requestBody) {
         String uri = String.format("/models/%s:generateContent?key=%s",
                 geminiConfig.getModel(), geminiConfig.getApiKey());
 
         log.info("Calling Gemini for route suggestions");
 
-        Map<String, Object> response = geminiRestClient.post()
+        Map<String, Object> response = geminiApiGuard.call(() -> geminiRestClient.post()
                 .uri(uri)
                 .contentType(MediaType.APPLICATION_JSON)
                 .body(requestBody)
                 .retrieve()
-                .body(Map.class);
+                .body(Map.class));
 
         if (response == null) {
             throw new RuntimeException("Gemini returned null response for route suggestion");
@@ -137,6 +632,58 @@ public class RouteSuggestionServiceImpl implements RouteSuggestionService {
         return response;
     }
 
+    /**
+     * Calls streamGenerateContent over SSE and feeds the generated text into an
+     * incremental parser, passing each route to {@code onRoute} the moment its
+     * object closes. Returns the top-level {@code message}.
+     *
+     * <p>
+     * Error statuses are raised before any route is emitted, so the guard's
+     * retries never replay routes that were already handed out.
+     */
+    private String streamGemini(Map<String, Object> requestBody, Consumer<SuggestedRouteDTO> onRoute) {
+        String uri = String.format("/models/%s:streamGenerateContent?alt=sse&key=%s",
+                geminiConfig.getModel(), geminiConfig.getApiKey());
+
+        log.info("Streaming Gemini route suggestions");
+
+        return geminiApiGuard.call(() -> geminiRestClient.post()
+                .uri(uri)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .body(requestBody)
+                .exchange((clientRequest, clientResponse) -> {
+                    HttpStatusCode status = clientResponse.getStatusCode();
+                    if (status.isError()) {
+                        byte[] body = clientResponse.getBody().readAllBytes();
+                        String statusText = clientResponse.getStatusText();
+                        HttpHeaders headers = clientResponse.getHeaders();
+                        throw status.is4xxClientError()
+                                ? HttpClientErrorException.create(status, statusText, headers, body, StandardCharsets.UTF_8)
+                                : HttpServerErrorException.create(status, statusText, headers, body, StandardCharsets.UTF_8);
+                    }
+
+                    try (StreamingJsonArrayParser parser = new StreamingJsonArrayParser(objectMapper, "routes",
+                            routeMap -> onRoute.accept(toSuggestedRoute(routeMap)));
+                            BufferedReader reader = new BufferedReader(
+                                    new InputStreamReader(clientResponse.getBody(), StandardCharsets.UTF_8))) {
+                        String line;
+                        while ((line = reader.readLine()) != null) {
+                            if (!line.startsWith("data:")) {
+                                continue;
+                            }
+                            JsonNode chunk = objectMapper.readTree(line.substring("data:".length()).strip());
+                            for (JsonNode part : chunk.path("candidates").path(0).path("content").path("parts")) {
+                                parser.feed(part.path("text").asText(""));
+                            }
+                        }
+                        parser.finish();
+                        log.info("Gemini streamed {} route(s)", parser.getElementCount());
+                        return parser.getString("message");
+                    }
+                }));
+    }
+
     @SuppressWarnings("unchecked")
     private RouteSuggestionResponseDTO parseGeminiResponse(Map<String, Object> response) {
         try {
@@ -160,27 +707,7 @@ public class RouteSuggestionServiceImpl implements RouteSuggestionService {
 
             List<SuggestedRouteDTO> routes = new ArrayList<>();
             for (Map<String, Object> routeMap : routeMaps) {
-                Map<String, Object> paramsMap = (Map<String, Object>) routeMap.get("directionsParams");
-
-                DirectionsParamsDTO directionsParams = DirectionsParamsDTO.builder()
-                        .origin((String) paramsMap.get("origin"))
-                        .destination((String) paramsMap.get("destination"))
-                        .waypoints((String) paramsMap.get("waypoints"))
-                        .mode((String) paramsMap.get("mode"))
-                        .build();
-
-                SuggestedRouteDTO route = SuggestedRouteDTO.builder()
-                        .name((String) routeMap.get("name"))
-                        .recommendationTier((String) routeMap.get("recommendationTier"))
-                        .safetyScore(toDouble(routeMap.get("safetyScore")))
-                        .efficiencyScore(toDouble(routeMap.get("efficiencyScore")))
-                        .rankScore(toDouble(routeMap.get("rankScore")))
-                        .aiSummary((String) routeMap.get("aiSummary"))
-                        .hazardCount(toInteger(routeMap.get("hazardCount")))
-                        .directionsParams(directionsParams)
-                        .build();
-
-                routes.add(route);
+                routes.add(toSuggestedRoute(routeMap));
             }
 
             return RouteSuggestionResponseDTO.builder()
@@ -194,26 +721,120 @@ public class RouteSuggestionServiceImpl implements RouteSuggestionService {
         }
     }
 
-    private SuggestedRouteDTO enrichRouteWithDirections(SuggestedRouteDTO route, VehicleType vehicleType) {
+    /**
+     * Starts the no-waypoint Directions request for the requested vehicle type on
+     * the external HTTP executor. Returns null when prefetching is disabled.
+     */
+    private CompletableFuture<Map<String, Object>> prefetchDirectRoute(RouteSuggestionRequestDTO request) {
+        if (!googleMapsConfig.isSpeculativePrefetch()) {
+            return null;
+        }
+        String origin = request.getOriginLatitude() + "," + request.getOriginLongitude();
+        String destination = request.getDestinationLatitude() + "," + request.getDestinationLongitude();
+        String mode = normalizeMode(null, request.getVehicleType());
+
+        return CompletableFuture.supplyAsync(
+                () -> googleDirectionsService.getDirections(origin, destination, "", mode),
+                externalHttpExecutor);
+    }
+
+    @SuppressWarnings("unchecked")
+    private SuggestedRouteDTO toSuggestedRoute(Map<String, Object> routeMap) {
+        Map<String, Object> paramsMap = (Map<String, Object>) routeMap.get("directionsParams");
+
+        DirectionsParamsDTO directionsParams = paramsMap == null ? null
+                : DirectionsParamsDTO.builder()
+                        .origin((String) paramsMap.get("origin"))
+                        .destination((String) paramsMap.get("destination"))
+                        .waypoints((String) paramsMap.get("waypoints"))
+                        .mode((String) paramsMap.get("mode"))
+                        .build();
+
+        return SuggestedRouteDTO.builder()
+                .name((String) routeMap.get("name"))
+                .recommendationTier((String) routeMap.get("recommendationTier"))
+                .safetyScore(toDouble(routeMap.get("safetyScore")))
+                .efficiencyScore(toDouble(routeMap.get("efficiencyScore")))
+                .rankScore(toDouble(routeMap.get("rankScore")))
+                .aiSummary((String) routeMap.get("aiSummary"))
+                .hazardCount(toInteger(routeMap.get("hazardCount")))
+                .directionsParams(directionsParams)
+                .build();
+    }
+
+    /**
+     * Enriches the route on the external HTTP executor. Cancelling the returned
+     * future before the task starts skips its Directions call; one already in
+     * flight runs to completion.
+     */
+    private CompletableFuture<SuggestedRouteDTO> enrichAsync(SuggestedRouteDTO route,
+            RouteSuggestionRequestDTO request, CompletableFuture<Map<String, Object>> directRoute) {
+        CompletableFuture<SuggestedRouteDTO> enrichment = new CompletableFuture<>();
+        externalHttpExecutor.execute(() -> {
+            if (enrichment.isDone()) {
+                return;
+            }
+            try {
+                enrichment.complete(enrichRouteWithDirections(route, request, directRoute));
+            } catch (RuntimeException e) {
+                enrichment.completeExceptionally(e);
+            }
+        });
+        return enrichment;
+    }
+
+    /**
+     * Takes over the Directions result of a route streamed before the stream
+     * failed when the retry asks for nearly the same one, so the call is not
+     * paid for twice. The match is removed from {@code abandoned}.
+     */
+    private CompletableFuture<SuggestedRouteDTO> reuseOrEnrich(SuggestedRouteDTO route,
+            RouteSuggestionRequestDTO request, CompletableFuture<Map<String, Object>> directRoute,
+            List<SuggestedRouteDTO> abandoned, List<CompletableFuture<SuggestedRouteDTO>> abandonedEnrichments) {
+        int match = nearDuplicateRequestIndex(route, abandoned, request.getVehicleType());
+        if (match < 0) {
+            return enrichAsync(route, request, directRoute);
+        }
+        abandoned.remove(match);
+        return abandonedEnrichments.remove(match).thenApply(earlier -> {
+            route.setDirectionsParams(earlier.getDirectionsParams());
+            route.setPolyline(earlier.getPolyline());
+            route.setDistanceMeters(earlier.getDistanceMeters());
+            route.setDurationSeconds(earlier.getDurationSeconds());
+            route.setHistoricalRisk(earlier.getHistoricalRisk());
+            return route;
+        });
+    }
+
+    private SuggestedRouteDTO enrichRouteWithDirections(SuggestedRouteDTO route, RouteSuggestionRequestDTO request,
+            CompletableFuture<Map<String, Object>> directRoute) {
         DirectionsParamsDTO params = route.getDirectionsParams();
         if (params == null) {
             log.warn("Route '{}' has no directionsParams, skipping Directions API call", route.getName());
             return route;
         }
 
+        VehicleType vehicleType = request.getVehicleType();
         String normalizedMode = normalizeMode(params.getMode(), vehicleType);
         params.setMode(normalizedMode);
 
         try {
-            Map<String, Object> directionsResponse = googleDirectionsService.getDirections(
-                    params.getOrigin(),
-                    params.getDestination(),
-                    params.getWaypoints() != null ? params.getWaypoints() : "",
-                    normalizedMode);
+            Map<String, Object> directionsResponse = null;
+            if (directRoute != null && isDirectRoute(params, request)) {
+                directionsResponse = awaitPrefetched(directRoute, route.getName());
+            }
+            if (directionsResponse == null) {
+                directionsResponse = googleDirectionsService.getDirections(
+                        params.getOrigin(),
+                        params.getDestination(),
+                        params.getWaypoints() != null ? params.getWaypoints() : "",
+                        normalizedMode);
+            }
 
             route.setPolyline(googleDirectionsService.extractPolyline(directionsResponse));
             route.setDistanceMeters(googleDirectionsService.extractDistanceMeters(directionsResponse));
             route.setDurationSeconds(googleDirectionsService.extractDurationSeconds(directionsResponse));
+            route.setHistoricalRisk(historicalRisk(route));
 
             log.info("Enriched route '{}': polyline={}, distance={}m, duration={}s",
                     route.getName(),
@@ -230,6 +851,160 @@ public class RouteSuggestionServiceImpl implements RouteSuggestionService {
         return route;
     }
 
+    /**
+     * True when Gemini's params describe the same request the prefetch made:
+     * no waypoints, the vehicle's default mode, and origin/destination within
+     * {@link #COORDINATE_TOLERANCE_DEGREES} of the request coordinates.
+     */
+    private boolean isDirectRoute(DirectionsParamsDTO params, RouteSuggestionRequestDTO request) {
+        if (params.getWaypoints() != null && !params.getWaypoints().isBlank()) {
+            return false;
+        }
+        return params.getMode().equals(normalizeMode(null, request.getVehicleType()))
+                && matchesCoordinate(params.getOrigin(), request.getOriginLatitude(), request.getOriginLongitude())
+                && matchesCoordinate(params.getDestination(), request.getDestinationLatitude(),
+                        request.getDestinationLongitude());
+    }
+
+    // ~11 m; Gemini tends to echo coordinates with fewer decimals than it was given
+    private static final double COORDINATE_TOLERANCE_DEGREES = 1e-4;
+
+    private static boolean matchesCoordinate(String latLng, double latitude, double longitude) {
+        double[] point = GeoMath.parseLatLng(latLng);
+        // An address rather than coordinates cannot be matched safely
+        return point != null
+                && Math.abs(point[0] - latitude) <= COORDINATE_TOLERANCE_DEGREES
+                && Math.abs(point[1] - longitude) <= COORDINATE_TOLERANCE_DEGREES;
+    }
+
+    /**
+     * First dedup pass, before any Directions call: a route is redundant when
+     * it uses the same mode as an already accepted route and its
+     * origin → waypoints → destination sequence is within the waypoint
+     * tolerance of that route's, measured by discrete Fréchet distance.
+     */
+    private boolean isNearDuplicateRequest(SuggestedRouteDTO candidate, List<SuggestedRouteDTO> accepted,
+            VehicleType vehicleType) {
+        int match = nearDuplicateRequestIndex(candidate, accepted, vehicleType);
+        if (match < 0) {
+            return false;
+        }
+        log.info("Skipping route '{}' — waypoints nearly match '{}'",
+                candidate.getName(), accepted.get(match).getName());
+        return true;
+    }
+
+    /** Index of the first route in {@code others} that {@code candidate} nearly duplicates, or -1. */
+    private int nearDuplicateRequestIndex(SuggestedRouteDTO candidate, List<SuggestedRouteDTO> others,
+            VehicleType vehicleType) {
+        Polyline candidatePoints = controlPoints(candidate.getDirectionsParams());
+        if (candidatePoints == null) {
+            return -1;
+        }
+        String candidateMode = normalizeMode(candidate.getDirectionsParams().getMode(), vehicleType);
+        double tolerance = routeSuggestionConfig.getDedupWaypointToleranceMeters();
+
+        for (int i = 0; i < others.size(); i++) {
+            DirectionsParamsDTO otherParams = others.get(i).getDirectionsParams();
+            Polyline otherPoints = controlPoints(otherParams);
+            if (otherPoints == null || !candidateMode.equals(normalizeMode(otherParams.getMode(), vehicleType))) {
+                continue;
+            }
+            if (DiscreteFrechet.distanceMeters(candidatePoints, otherPoints, tolerance) <= tolerance) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static Polyline controlPoints(DirectionsParamsDTO params) {
+        if (params == null) {
+            return null;
+        }
+        List<String> stops = new ArrayList<>();
+        stops.add(params.getOrigin());
+        if (params.getWaypoints() != null && !params.getWaypoints().isBlank()) {
+            stops.addAll(List.of(params.getWaypoints().split("\\|")));
+        }
+        stops.add(params.getDestination());
+
+        double[] lats = new double[stops.size()];
+        double[] lngs = new double[stops.size()];
+        for (int i = 0; i < stops.size(); i++) {
+            double[] point = GeoMath.parseLatLng(stops.get(i));
+            if (point == null) {
+                return null;
+            }
+            lats[i] = point[0];
+            lngs[i] = point[1];
+        }
+        return new Polyline(lats, lngs, stops.size());
+    }
+
+    /**
+     * Second dedup pass, on the real Directions geometry: different waypoints
+     * often snap to the same streets. Routes are visited best rank first, and
+     * any whose polyline is within the polyline tolerance of a kept route is
+     * dropped. Survivors keep Gemini's order.
+     */
+    private List<SuggestedRouteDTO> dropNearDuplicatePolylines(List<SuggestedRouteDTO> routes) {
+        if (routes.size() < 2) {
+            return routes;
+        }
+        double tolerance = routeSuggestionConfig.getDedupPolylineToleranceMeters();
+
+        List<SuggestedRouteDTO> byRank = new ArrayList<>(routes);
+        byRank.sort(Comparator.comparing(SuggestedRouteDTO::getRankScore,
+                Comparator.nullsLast(Comparator.reverseOrder())));
+
+        List<SuggestedRouteDTO> kept = new ArrayList<>();
+        List<Polyline> keptShapes = new ArrayList<>();
+        for (SuggestedRouteDTO route : byRank) {
+            Polyline shape;
+            try {
+                // Simplify well under the tolerance to drop redundant vertices, then space the rest
+                // evenly so a densely and a sparsely encoded copy of the same streets compare as equal
+                shape = Polyline.decode(route.getPolyline()).simplify(tolerance / 4).resample(tolerance / 2);
+            } catch (IllegalArgumentException e) {
+                shape = null;
+            }
+
+            SuggestedRouteDTO duplicateOf = null;
+            if (shape != null) {
+                for (int i = 0; i < kept.size() && duplicateOf == null; i++) {
+                    Polyline other = keptShapes.get(i);
+                    if (other != null && DiscreteFrechet.distanceMeters(shape, other, tolerance) <= tolerance) {
+                        duplicateOf = kept.get(i);
+                    }
+                }
+            }
+
+            if (duplicateOf != null) {
+                log.info("Dropping route '{}' — same path as '{}'", route.getName(), duplicateOf.getName());
+            } else {
+                kept.add(route);
+                keptShapes.add(shape);
+            }
+        }
+
+        return routes.stream().filter(route -> kept.stream().anyMatch(k -> k == route)).toList();
+    }
+
+    /**
+     * Returns the prefetched response, or null if the speculative call failed so
+     * the caller issues its own request.
+     */
+    private Map<String, Object> awaitPrefetched(CompletableFuture<Map<String, Object>> directRoute, String routeName) {
+        try {
+            Map<String, Object> response = directRoute.join();
+            log.info("Reusing prefetched direct route for '{}'", routeName);
+            return response;
+        } catch (CompletionException | CancellationException e) {
+            log.warn("Prefetched direct route failed, retrying for '{}': {}", routeName, e.getMessage());
+            return null;
+        }
+    }
+
     private static final Set<String> VALID_MODES = Set.of("driving", "bicycling", "walking");
 
     private String normalizeMode(String rawMode, VehicleType vehicleType) {
@@ -1,9 +1,11 @@
 package hazardhub.com.hub.controller;
 
+import hazardhub.com.hub.model.dto.HazardChangesDTO;
 import hazardhub.com.hub.model.dto.HazardDTO;
 import hazardhub.com.hub.model.enums.HazardSeverity;
 import hazardhub.com.hub.model.enums.HazardStatus;
 import hazardhub.com.hub.service.HazardService;
+import hazardhub.com.hub.service.HazardSyncService;
 import hazardhub.com.hub.service.UserService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -44,6 +46,9 @@ class HazardControllerTest {
     @MockitoBean
     private UserService userService;
 
+    @MockitoBean
+    private HazardSyncService hazardSyncService;
+
     @Test
     void create_WithValidHazardDTO_ReturnsCreatedHazard() throws Exception {
         // Arrange
@@ -309,5 +314,32 @@ class HazardControllerTest {
         mockMvc.perform(delete("/api/v1/hazards/hazard-001"))
                 .andExpect(status().isNoContent());
     }
-}
 
+    // ==================== CHANGES TESTS ====================
+
+    @Test
+    void findChanges_WithToken_ReturnsChangedAndDeletedHazards() throws Exception {
+        // Arrange
+        HazardChangesDTO changes = HazardChangesDTO.builder()
+                .changed(List.of(HazardDTO.builder()
+                        .id("hazard-001")
+                        .reporterId("user-123")
+                        .longitude(-122.4194)
+                        .latitude(37.7749)
+                        .severity(HazardSeverity.HIGH)
+                        .description("Pothole on main street")
+                        .build()))
+                .deleted(List.of("hazard-002"))
+                .nextToken("MTcwMDAwMDAwMDAwMDo")
+                .build();
+        when(hazardSyncService.findChanges("abc", 500)).thenReturn(changes);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/hazards/changes").param("since", "abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changed[0].id").value("hazard-001"))
+                .andExpect(jsonPath("$.deleted[0]").value("hazard-002"))
+                .andExpect(jsonPath("$.nextToken").value("MTcwMDAwMDAwMDAwMDo"))
+                .andExpect(jsonPath("$.hasMore").value(false));
+    }
+}
@@ -0,0 +1,120 @@
+package hazardhub.com.hub.geo;
+
+import hazardhub.com.hub.geo.DetourWaypointPlanner.Disk;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DetourWaypointPlannerTest {
+
+    private static final double LAT = 40.0;
+    private final DetourWaypointPlanner planner = new DetourWaypointPlanner(30, 3000);
+
+    /** Straight 2 km route due east, one vertex every ~100 m. */
+    private static Polyline eastbound() {
+        int n = 21;
+        double[] lats = new double[n];
+        double[] lngs = new double[n];
+        for (int i = 0; i < n; i++) {
+            lats[i] = LAT;
+            lngs[i] = -75.0 + GeoMath.metersToLngDegrees(100 * i, LAT);
+        }
+        return new Polyline(lats, lngs, n);
+    }
+
+    private static double lngAt(double meters) {
+        return -75.0 + GeoMath.metersToLngDegrees(meters, LAT);
+    }
+
+    @Test
+    void plan_WithNoCrossedHazard_ReturnsNothing() {
+        Disk farAway = new Disk(LAT + GeoMath.metersToLatDegrees(500), lngAt(1000), 100);
+
+        assertTrue(planner.plan(eastbound(), List.of(farAway)).isEmpty());
+    }
+
+    @Test
+    void plan_WithHazardOnRoute_OffersOneWaypointOnEachSide() {
+        Disk hazard = new Disk(LAT, lngAt(1000), 150);
+
+        List<Polyline> sets = planner.plan(eastbound(), List.of(hazard));
+
+        assertEquals(2, sets.size());
+        boolean north = false;
+        boolean south = false;
+        for (Polyline set : sets) {
+            assertEquals(1, set.size());
+            north |= set.lat(0) > LAT;
+            south |= set.lat(0) < LAT;
+            assertClearOf(eastbound(), set, hazard);
+        }
+        assertTrue(north && south);
+    }
+
+    @Test
+    void plan_PrefersSideAwayFromOffCenterHazard() {
+        // Centre 100 m north of the road: passing south is the short way round
+        Disk hazard = new Disk(LAT + GeoMath.metersToLatDegrees(100), lngAt(1000), 150);
+
+        List<Polyline> sets = planner.plan(eastbound(), List.of(hazard));
+
+        assertTrue(sets.get(0).lat(0) < LAT);
+    }
+
+    @Test
+    void plan_MergesOverlappingHazardsIntoOneObstacle() {
+        Disk first = new Disk(LAT, lngAt(900), 120);
+        Disk second = new Disk(LAT + GeoMath.metersToLatDegrees(50), lngAt(1100), 120);
+
+        List<Polyline> sets = planner.plan(eastbound(), List.of(first, second));
+
+        assertFalse(sets.isEmpty());
+        for (Polyline set : sets) {
+            assertEquals(1, set.size());
+            assertClearOf(eastbound(), set, first);
+            assertClearOf(eastbound(), set, second);
+        }
+    }
+
+    @Test
+    void plan_WithSeparateHazards_PlacesOneWaypointPerObstacleInTravelOrder() {
+        Disk early = new Disk(LAT, lngAt(500), 80);
+        Disk late = new Disk(LAT, lngAt(1500), 80);
+
+        List<Polyline> sets = planner.plan(eastbound(), List.of(late, early));
+
+        Polyline best = sets.get(0);
+        assertEquals(2, best.size());
+        assertTrue(best.lng(0) < best.lng(1));
+    }
+
+    @Test
+    void plan_WhenOriginIsInsideHazard_ReturnsNothing() {
+        Disk atOrigin = new Disk(LAT, lngAt(0), 150);
+
+        assertTrue(planner.plan(eastbound(), List.of(atOrigin)).isEmpty());
+    }
+
+    /**
+     * The straight legs origin → waypoints → destination stay outside the disk.
+     */
+    private static void assertClearOf(Polyline route, Polyline waypoints, Disk disk) {
+        int n = waypoints.size() + 2;
+        double[] lats = new double[n];
+        double[] lngs = new double[n];
+        lats[0] = route.lat(0);
+        lngs[0] = route.lng(0);
+        for (int i = 0; i < waypoints.size(); i++) {
+            lats[i + 1] = waypoints.lat(i);
+            lngs[i + 1] = waypoints.lng(i);
+        }
+        lats[n - 1] = route.lat(route.size() - 1);
+        lngs[n - 1] = route.lng(route.size() - 1);
+        double clearance = GeoMath.pointToPolylineMeters(disk.lat(), disk.lng(), lats, lngs, n, 0);
+        assertTrue(clearance > disk.radiusMeters(), "path passes " + clearance + " m from hazard centre");
+    }
+}
@@ -0,0 +1,66 @@
+package hazardhub.com.hub.geo;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DiscreteFrechetTest {
+
+    private static final double[] LATS = { 40.000, 40.001, 40.002, 40.003 };
+    private static final double[] LNGS = { -75.000, -75.000, -75.000, -75.000 };
+
+    @Test
+    void distanceMeters_WithIdenticalSequences_IsZero() {
+        assertEquals(0, DiscreteFrechet.distanceMeters(LATS, LNGS, 4, LATS, LNGS, 4, 10), 1e-9);
+    }
+
+    @Test
+    void distanceMeters_WithParallelOffset_IsTheOffset() {
+        double offsetLng = GeoMath.metersToLngDegrees(30, 40.0015);
+        double[] shifted = new double[4];
+        for (int i = 0; i < 4; i++) {
+            shifted[i] = LNGS[i] + offsetLng;
+        }
+
+        double distance = DiscreteFrechet.distanceMeters(LATS, LNGS, 4, LATS, shifted, 4, 100);
+
+        assertEquals(30, distance, 0.5);
+    }
+
+    @Test
+    void distanceMeters_WithReversedSequence_IsNotClose() {
+        double[] reversedLats = { 40.003, 40.002, 40.001, 40.000 };
+
+        double distance = DiscreteFrechet.distanceMeters(LATS, LNGS, 4, reversedLats, LNGS, 4, 1000);
+
+        // Same points as a set (Hausdorff 0), but the walk must start 333 m apart
+        assertEquals(333.6, distance, 1);
+    }
+
+    @Test
+    void distanceMeters_WhenBoundExceeded_ReturnsInfinity() {
+        double[] detourLngs = { -75.000, -74.990, -74.990, -75.000 };
+
+        double distance = DiscreteFrechet.distanceMeters(LATS, LNGS, 4, LATS, detourLngs, 4, 50);
+
+        assertEquals(Double.POSITIVE_INFINITY, distance);
+    }
+
+    @Test
+    void distanceMeters_SameRouteAtDifferentVertexDensities_IsCloseAfterResampling() {
+        // One 1 km street, encoded with 2 vertices and with 11
+        Polyline sparse = new Polyline(new double[] { 40.000, 40.009 }, new double[] { -75.000, -75.000 }, 2);
+        double[] denseLats = new double[11];
+        double[] denseLngs = new double[11];
+        for (int i = 0; i < 11; i++) {
+            denseLats[i] = 40.000 + 0.0009 * i;
+            denseLngs[i] = -75.000;
+        }
+        Polyline dense = new Polyline(denseLats, denseLngs, 11);
+
+        // The middle dense vertex has to be coupled with one of the sparse endpoints
+        assertTrue(DiscreteFrechet.distanceMeters(sparse, dense, 1000) > 400);
+        assertEquals(0, DiscreteFrechet.distanceMeters(sparse.resample(20), dense.resample(20), 40), 1);
+    }
+}
@@ -0,0 +1,35 @@
+package hazardhub.com.hub.geo;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DouglasPeuckerTest {
+
+    @Test
+    void simplify_WithCollinearPoints_KeepsOnlyEndpoints() {
+        double[] lats = new double[50];
+        double[] lngs = new double[50];
+        for (int i = 0; i < 50; i++) {
+            lats[i] = 43.0 + i * 0.0001;
+            lngs[i] = -76.0;
+        }
+
+        int count = DouglasPeucker.simplify(lats, lngs, 50, 1.0, lats, lngs);
+
+        assertEquals(2, count);
+        assertEquals(43.0, lats[0], 1e-9);
+        assertEquals(43.0049, lats[1], 1e-9);
+    }
+
+    @Test
+    void simplify_WithDetourAboveTolerance_KeepsDetourPoint() {
+        double[] lats = { 43.0, 43.001, 43.002 };
+        double[] lngs = { -76.0, -75.999, -76.0 }; // ~80m sideways at the midpoint
+
+        Polyline polyline = new Polyline(lats, lngs, 3);
+
+        assertEquals(3, polyline.simplify(20).size());
+        assertEquals(2, polyline.simplify(200).size());
+    }
+}
@@ -0,0 +1,40 @@
+package hazardhub.com.hub.geo;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.geo.GeoJsonLineString;
+import org.springframework.data.mongodb.core.geo.GeoJsonPolygon;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class GeoJsonShapesTest {
+
+    private static final String ENCODED = "_p~iF~ps|U_ulLnnqC_mqNvxq`@";
+
+    @Test
+    void simplifiedLineString_WithValidPolyline_UsesLngLatOrder() {
+        GeoJsonLineString path = GeoJsonShapes.simplifiedLineString(ENCODED);
+
+        assertNotNull(path);
+        assertEquals(3, path.getCoordinates().size());
+        assertEquals(-120.2, path.getCoordinates().get(0).getX(), 1e-9);
+        assertEquals(38.5, path.getCoordinates().get(0).getY(), 1e-9);
+    }
+
+    @Test
+    void simplifiedLineString_WithMalformedPolyline_ReturnsNull() {
+        assertNull(GeoJsonShapes.simplifiedLineString("polyline-old"));
+        assertNull(GeoJsonShapes.simplifiedLineString(""));
+        assertNull(GeoJsonShapes.simplifiedLineString(null));
+    }
+
+    @Test
+    void circle_IsClosedRing() {
+        GeoJsonPolygon polygon = GeoJsonShapes.circle(40.0, -75.0, 500, 16);
+
+        var ring = polygon.getCoordinates().get(0).getCoordinates();
+        assertEquals(17, ring.size());
+        assertEquals(ring.get(0), ring.get(ring.size() - 1));
+    }
+}
@@ -0,0 +1,49 @@
+package hazardhub.com.hub.geo;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PolylineCodecTest {
+
+    // Reference example from the Google encoded polyline algorithm documentation
+    private static final String ENCODED = "_p~iF~ps|U_ulLnnqC_mqNvxq`@";
+
+    @Test
+    void decode_WithReferencePolyline_ReturnsDocumentedPoints() {
+        double[] lats = new double[PolylineCodec.countPoints(ENCODED)];
+        double[] lngs = new double[lats.length];
+
+        int count = PolylineCodec.decode(ENCODED, lats, lngs);
+
+        assertEquals(3, count);
+        assertEquals(38.5, lats[0], 1e-9);
+        assertEquals(-120.2, lngs[0], 1e-9);
+        assertEquals(40.7, lats[1], 1e-9);
+        assertEquals(-120.95, lngs[1], 1e-9);
+        assertEquals(43.252, lats[2], 1e-9);
+        assertEquals(-126.453, lngs[2], 1e-9);
+    }
+
+    @Test
+    void encode_RoundTripsDecodedPoints() {
+        Polyline polyline = Polyline.decode(ENCODED);
+
+        assertEquals(ENCODED, polyline.encode());
+    }
+
+    @Test
+    void decode_WithTruncatedInput_Throws() {
+        double[] buffer = new double[4];
+
+        assertThrows(IllegalArgumentException.class,
+                () -> PolylineCodec.decode(ENCODED.substring(0, ENCODED.length() - 1), buffer, buffer.clone()));
+    }
+
+    @Test
+    void decode_WithUndersizedBuffers_Throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> PolylineCodec.decode(ENCODED, new double[2], new double[2]));
+    }
+}
@@ -0,0 +1,35 @@
+package hazardhub.com.hub.geo;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class PolylineTest {
+
+    @Test
+    void resample_PlacesPointsAtFixedSpacingAndKeepsEndpoints() {
+        // Two legs, ~111 m north then ~85 m east
+        Polyline line = new Polyline(new double[] { 40.000, 40.001, 40.001 },
+                new double[] { -75.000, -75.000, -74.999 }, 3);
+
+        Polyline resampled = line.resample(25);
+
+        assertEquals(9, resampled.size());
+        assertEquals(40.000, resampled.lat(0), 1e-12);
+        assertEquals(-74.999, resampled.lng(resampled.size() - 1), 1e-12);
+        for (int i = 1; i < resampled.size() - 1; i++) {
+            double step = GeoMath.haversineMeters(resampled.lat(i - 1), resampled.lng(i - 1),
+                    resampled.lat(i), resampled.lng(i));
+            // Straight-line gaps shrink only where a sample straddles the corner
+            assertEquals(25, step, 7.5);
+        }
+    }
+
+    @Test
+    void resample_WithSinglePoint_ReturnsSameLine() {
+        Polyline point = new Polyline(new double[] { 40.0 }, new double[] { -75.0 }, 1);
+
+        assertSame(point, point.resample(10));
+    }
+}
@@ -0,0 +1,103 @@
+package hazardhub.com.hub.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReachabilityGridTest {
+
+    private static final double LAT = 45.0;
+    private static final double LNG = -75.0;
+
+    @Test
+    void expand_ReachesRoughlyACircleOfTheGivenRadius() {
+        ReachabilityGrid grid = new ReachabilityGrid(LAT, LNG, 1000, 50);
+
+        grid.expand(LAT, LNG, 1000);
+
+        double area = grid.getReachedAreaSquareMeters();
+        assertEquals(Math.PI * 1000 * 1000, area, 0.15 * Math.PI * 1000 * 1000);
+        assertTrue(grid.isReached(LAT + GeoMath.metersToLatDegrees(900), LNG));
+        assertFalse(grid.isReached(LAT + GeoMath.metersToLatDegrees(1200), LNG));
+    }
+
+    @Test
+    void expand_DoesNotCrossBlockedDisk() {
+        ReachabilityGrid grid = new ReachabilityGrid(LAT, LNG, 1000, 50);
+        double hazardLat = LAT + GeoMath.metersToLatDegrees(400);
+        grid.block(hazardLat, LNG, 150);
+
+        grid.expand(LAT, LNG, 1000);
+
+        assertFalse(grid.isReached(hazardLat, LNG));
+        assertTrue(grid.isReached(LAT + GeoMath.metersToLatDegrees(700), LNG), "should go around the hazard");
+    }
+
+    @Test
+    void areas_TracesSingleCounterClockwiseShellWithHazardHole() {
+        ReachabilityGrid grid = new ReachabilityGrid(LAT, LNG, 1000, 50);
+        grid.block(LAT + GeoMath.metersToLatDegrees(400), LNG, 150);
+        grid.expand(LAT, LNG, 1000);
+
+        List<ReachabilityGrid.Area> areas = grid.areas(25);
+
+        assertEquals(1, areas.size());
+        ReachabilityGrid.Area area = areas.get(0);
+        assertEquals(1, area.holes().size());
+        assertTrue(signedArea(area.shell()) > 0, "shell should be counter-clockwise");
+        assertTrue(signedArea(area.holes().get(0)) < 0, "hole should be clockwise");
+        assertClosed(area.shell());
+        assertClosed(area.holes().get(0));
+    }
+
+    @Test
+    void areas_KeepsDisconnectedRegionsSeparateLargestFirst() {
+        ReachabilityGrid grid = new ReachabilityGrid(LAT, LNG, 2000, 50);
+        grid.markSegment(LAT, LNG, LAT, LNG + GeoMath.metersToLngDegrees(1000, LAT));
+        grid.markPoint(LAT + GeoMath.metersToLatDegrees(1500), LNG);
+        grid.dilate(2);
+
+        List<ReachabilityGrid.Area> areas = grid.areas(10);
+
+        assertEquals(2, areas.size());
+        assertTrue(Math.abs(signedArea(areas.get(0).shell())) > Math.abs(signedArea(areas.get(1).shell())));
+    }
+
+    @Test
+    void fillHoles_FillsEnclosedBlocksButNotHazards() {
+        ReachabilityGrid grid = new ReachabilityGrid(LAT, LNG, 1000, 50);
+        double d = 500;
+        double north = LAT + GeoMath.metersToLatDegrees(d);
+        double south = LAT - GeoMath.metersToLatDegrees(d);
+        double east = LNG + GeoMath.metersToLngDegrees(d, LAT);
+        double west = LNG - GeoMath.metersToLngDegrees(d, LAT);
+        grid.markSegment(south, west, south, east);
+        grid.markSegment(south, east, north, east);
+        grid.markSegment(north, east, north, west);
+        grid.markSegment(north, west, south, west);
+        grid.block(LAT + GeoMath.metersToLatDegrees(200), LNG, 50);
+
+        grid.fillHoles();
+
+        assertTrue(grid.isReached(LAT, LNG));
+        assertFalse(grid.isReached(LAT + GeoMath.metersToLatDegrees(200), LNG));
+        assertEquals(1, grid.areas(25).get(0).holes().size());
+    }
+
+    private static double signedArea(Polyline ring) {
+        double area = 0;
+        for (int i = 0; i + 1 < ring.size(); i++) {
+            area += ring.lng(i) * ring.lat(i + 1) - ring.lng(i + 1) * ring.lat(i);
+        }
+        return area / 2;
+    }
+
+    private static void assertClosed(Polyline ring) {
+        assertEquals(ring.lat(0), ring.lat(ring.size() - 1));
+        assertEquals(ring.lng(0), ring.lng(ring.size() - 1));
+    }
+}
@@ -0,0 +1,72 @@
+package hazardhub.com.hub.http;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StreamingJsonArrayParserTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void feed_EmitsEachElementAsSoonAsItCloses() throws IOException {
+        List<Map<String, Object>> routes = new ArrayList<>();
+        try (StreamingJsonArrayParser parser = new StreamingJsonArrayParser(objectMapper, "routes", routes::add)) {
+            parser.feed("{\"routes\": [{\"name\": \"Sa");
+            assertEquals(0, routes.size());
+
+            parser.feed("fest\", \"params\": {\"mode\": \"driving\"}}, {\"na");
+            assertEquals(1, routes.size());
+            assertEquals("Safest", routes.get(0).get("name"));
+            assertEquals(Map.of("mode", "driving"), routes.get(0).get("params"));
+
+            parser.feed("me\": \"Direct\"}], \"message\": \"Two options\"}");
+            parser.finish();
+
+            assertEquals(2, routes.size());
+            assertEquals("Direct", routes.get(1).get("name"));
+            assertEquals("Two options", parser.getString("message"));
+        }
+    }
+
+    @Test
+    void feed_IgnoresArraysUnderOtherFields() throws IOException {
+        List<Map<String, Object>> routes = new ArrayList<>();
+        try (StreamingJsonArrayParser parser = new StreamingJsonArrayParser(objectMapper, "routes", routes::add)) {
+            parser.feed("{\"other\": [{\"a\": 1}], \"routes\": [[1, 2], {\"b\": 2}]}");
+            parser.finish();
+        }
+
+        assertEquals(List.of(Map.of("b", 2)), routes);
+    }
+
+    @Test
+    void feed_HandlesSurrogatePairSplitAcrossFragments() throws IOException {
+        List<Map<String, Object>> routes = new ArrayList<>();
+        String emoji = "🚗";
+        try (StreamingJsonArrayParser parser = new StreamingJsonArrayParser(objectMapper, "routes", routes::add)) {
+            parser.feed("{\"routes\": [{\"name\": \"" + emoji.charAt(0));
+            parser.feed(emoji.charAt(1) + "\"}]}");
+            parser.finish();
+        }
+
+        assertEquals(emoji, routes.get(0).get("name"));
+    }
+
+    @Test
+    void finish_WithTruncatedDocument_Throws() throws IOException {
+        try (StreamingJsonArrayParser parser = new StreamingJsonArrayParser(objectMapper, "routes", route -> {
+        })) {
+            parser.feed("{\"routes\": [{\"name\": \"x\"}");
+
+            assertThrows(IOException.class, parser::finish);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package hazardhub.com.hub.resilience;
+
+import hazardhub.com.hub.resilience.AdaptiveConcurrencyLimiter.Priority;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(200);
+
+    @Test
+    void tryAcquire_LowLaneIsShedBeforeNormalAndCritical() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(AdaptiveConcurrencyLimiter.Settings.builder()
+                .initialLimit(10)
+                .lowShare(0.5)
+                .normalShare(0.9)
+                .criticalHeadroom(2)
+                .build());
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire(Priority.LOW));
+        }
+        assertFalse(limiter.tryAcquire(Priority.LOW));
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.tryAcquire(Priority.NORMAL));
+        }
+        assertFalse(limiter.tryAcquire(Priority.NORMAL));
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.tryAcquire(Priority.CRITICAL));
+        }
+        assertFalse(limiter.tryAcquire(Priority.CRITICAL));
+
+        assertEquals(12, limiter.getInFlight());
+        assertEquals(3, limiter.getRejectedCount());
+    }
+
+    @Test
+    void release_GrowsLimitWhileLatencyIsFlat() {
+        AdaptiveConcurrencyLimiter limiter = saturatingLimiter();
+
+        runSaturated(limiter, 100, FAST);
+
+        assertTrue(limiter.getLimit() > 20, "limit should grow, was " + limiter.getLimit());
+    }
+
+    @Test
+    void release_ShrinksLimitWhenLatencyRises() {
+        AdaptiveConcurrencyLimiter limiter = saturatingLimiter();
+        runSaturated(limiter, 100, FAST);
+        int grown = limiter.getLimit();
+
+        runSaturated(limiter, 50, SLOW);
+
+        assertTrue(limiter.getLimit() < grown, "limit should shrink from " + grown + ", was " + limiter.getLimit());
+    }
+
+    @Test
+    void release_DoesNotGrowUnusedLimit() {
+        AdaptiveConcurrencyLimiter limiter = saturatingLimiter();
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limiter.tryAcquire(Priority.NORMAL));
+            limiter.release(FAST);
+        }
+
+        assertEquals(20, limiter.getLimit());
+    }
+
+    @Test
+    void release_NeverDropsBelowMinimum() {
+        AdaptiveConcurrencyLimiter limiter = saturatingLimiter();
+        runSaturated(limiter, 20, FAST);
+
+        for (long rtt = SLOW; rtt < SLOW * 1000; rtt *= 2) {
+            runSaturated(limiter, 5, rtt);
+        }
+
+        assertTrue(limiter.getLimit() >= 5);
+    }
+
+    private static AdaptiveConcurrencyLimiter saturatingLimiter() {
+        return new AdaptiveConcurrencyLimiter(AdaptiveConcurrencyLimiter.Settings.builder()
+                .initialLimit(20)
+                .minLimit(5)
+                .maxLimit(200)
+                .criticalHeadroom(1000)
+                .build());
+    }
+
+    /**
+     * Keeps the limiter filled to its current limit and completes one call per
+     * sample, as a server under steady overload would.
+     */
+    private static void runSaturated(AdaptiveConcurrencyLimiter limiter, int samples, long rttNanos) {
+        for (int i = 0; i < samples; i++) {
+            while (limiter.getInFlight() < limiter.getLimit()) {
+                limiter.tryAcquire(Priority.CRITICAL);
+            }
+            limiter.release(rttNanos);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package hazardhub.com.hub.resilience;
+
+import hazardhub.com.hub.exception.ExternalApiUnavailableException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExternalApiGuardTest {
+
+    @Test
+    void call_WhenUpstreamReturns503ThenSucceeds_RetriesAndReturnsResult() {
+        ExternalApiGuard guard = new ExternalApiGuard("test", ExternalApiGuard.Settings.builder()
+                .maxAttempts(3)
+                .baseBackoffMs(1)
+                .maxBackoffMs(1)
+                .build());
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = guard.call(() -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE);
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", result);
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void call_AfterConsecutiveFailures_OpensCircuitAndRejectsWithoutCallingUpstream() {
+        ExternalApiGuard guard = new ExternalApiGuard("test", ExternalApiGuard.Settings.builder()
+                .maxAttempts(1)
+                .failureThreshold(2)
+                .openMs(60_000)
+                .build());
+        AtomicInteger calls = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            assertThrows(HttpServerErrorException.class, () -> guard.call(() -> {
+                calls.incrementAndGet();
+                throw new HttpServerErrorException(HttpStatus.INTERNAL_SERVER_ERROR);
+            }));
+        }
+
+        assertTrue(guard.isOpen());
+        assertThrows(ExternalApiUnavailableException.class, () -> guard.call(calls::incrementAndGet));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void call_WhenAllPermitsHeld_RejectsAfterAcquireTimeout() throws Exception {
+        ExternalApiGuard guard = new ExternalApiGuard("test", ExternalApiGuard.Settings.builder()
+                .maxConcurrent(1)
+                .acquireTimeoutMs(10)
+                .build());
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Thread holder = new Thread(() -> guard.call(() -> {
+            entered.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }));
+        holder.start();
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        assertThrows(ExternalApiUnavailableException.class, () -> guard.call(() -> "second"));
+
+        release.countDown();
+        holder.join();
+        assertEquals(0, guard.getInFlight());
+    }
+
+    @Test
+    void call_WhileAnotherCallBacksOff_DoesNotWaitForItsPermit() throws Exception {
+        ExternalApiGuard guard = new ExternalApiGuard("test", ExternalApiGuard.Settings.builder()
+                .maxConcurrent(1)
+                .acquireTimeoutMs(200)
+                .maxAttempts(2)
+                .maxBackoffMs(1000)
+                .build());
+        HttpHeaders retryAfter = new HttpHeaders();
+        retryAfter.set(HttpHeaders.RETRY_AFTER, "1");
+        CountDownLatch throttled = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+
+        Thread backingOff = new Thread(() -> guard.call(() -> {
+            if (calls.incrementAndGet() == 1) {
+                throttled.countDown();
+                throw HttpServerErrorException.create(HttpStatus.SERVICE_UNAVAILABLE, "busy", retryAfter,
+                        new byte[0], StandardCharsets.UTF_8);
+            }
+            return "retried";
+        }));
+        backingOff.start();
+        assertTrue(throttled.await(5, TimeUnit.SECONDS));
+
+        assertEquals("second", guard.call(() -> "second"));
+
+        backingOff.join();
+        assertEquals(2, calls.get());
+        assertEquals(0, guard.getInFlight());
+    }
+}
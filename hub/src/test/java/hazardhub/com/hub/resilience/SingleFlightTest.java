@@ -0,0 +1,113 @@
+package hazardhub.com.hub.resilience;
+
+import hazardhub.com.hub.exception.ExternalApiUnavailableException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTest {
+
+    @Test
+    void execute_WithConcurrentIdenticalKeys_RunsSupplierOnce() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>("test", Duration.ofSeconds(5));
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            Future<String> leader = executor.submit(() -> flight.execute("key", () -> {
+                calls.incrementAndGet();
+                leaderStarted.countDown();
+                await(release);
+                return "result";
+            }));
+            assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+            Future<String> waiter1 = executor.submit(() -> flight.execute("key", () -> "second"));
+            Future<String> waiter2 = executor.submit(() -> flight.execute("key", () -> "third"));
+            while (flight.getCoalescedCount() < 2) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            assertEquals("result", leader.get(5, TimeUnit.SECONDS));
+            assertEquals("result", waiter1.get(5, TimeUnit.SECONDS));
+            assertEquals("result", waiter2.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, calls.get());
+        assertEquals(0, flight.getInFlightCount());
+    }
+
+    @Test
+    void execute_AfterLeaderCompletes_RunsAgain() {
+        SingleFlight<String, Integer> flight = new SingleFlight<>("test", Duration.ofSeconds(5));
+        AtomicInteger calls = new AtomicInteger();
+
+        flight.execute("key", calls::incrementAndGet);
+        int second = flight.execute("key", calls::incrementAndGet);
+
+        assertEquals(2, second);
+    }
+
+    @Test
+    void execute_WhenLeaderFails_WaitersSeeSameException() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>("test", Duration.ofSeconds(5));
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            executor.submit(() -> flight.execute("key", () -> {
+                leaderStarted.countDown();
+                await(release);
+                throw new IllegalStateException("upstream failed");
+            }));
+            assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+            Future<String> waiter = executor.submit(() -> flight.execute("key", () -> "unused"));
+            while (flight.getCoalescedCount() < 1) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            Exception thrown = assertThrows(Exception.class, () -> waiter.get(5, TimeUnit.SECONDS));
+            assertEquals("upstream failed", thrown.getCause().getMessage());
+        }
+    }
+
+    @Test
+    void execute_WhenWaitExceedsTimeout_RejectsWaiter() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>("test", Duration.ofMillis(50));
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            executor.submit(() -> flight.execute("key", () -> {
+                leaderStarted.countDown();
+                await(release);
+                return "late";
+            }));
+            assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+            assertThrows(ExternalApiUnavailableException.class, () -> flight.execute("key", () -> "unused"));
+            release.countDown();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
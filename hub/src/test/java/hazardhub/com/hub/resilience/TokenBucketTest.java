@@ -0,0 +1,91 @@
+package hazardhub.com.hub.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+
+    @Test
+    void tryAcquire_AllowsBurstUpToCapacityThenRejects() {
+        TokenBucket bucket = new TokenBucket(3, 60, now::get);
+
+        assertEquals(0, bucket.tryAcquire());
+        assertEquals(0, bucket.tryAcquire());
+        assertEquals(0, bucket.tryAcquire());
+
+        long wait = bucket.tryAcquire();
+        assertEquals(TimeUnit.SECONDS.toNanos(1), wait);
+    }
+
+    @Test
+    void tryAcquire_RefillsAtConfiguredRate() {
+        TokenBucket bucket = new TokenBucket(1, 60, now::get);
+        assertEquals(0, bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire() > 0);
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+
+        assertEquals(0, bucket.tryAcquire());
+    }
+
+    @Test
+    void tryAcquire_IdleTimeDoesNotAccumulateBeyondCapacity() {
+        TokenBucket bucket = new TokenBucket(2, 60, now::get);
+        now.addAndGet(TimeUnit.HOURS.toNanos(1));
+
+        assertEquals(0, bucket.tryAcquire());
+        assertEquals(0, bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire() > 0);
+    }
+
+    @Test
+    void refund_ReturnsTheTokenJustTaken() {
+        TokenBucket bucket = new TokenBucket(1, 60, now::get);
+        assertEquals(0, bucket.tryAcquire());
+
+        bucket.refund();
+
+        assertTrue(bucket.isFull());
+        assertEquals(0, bucket.tryAcquire());
+    }
+
+    @Test
+    void isFull_AfterRefill_IsTrue() {
+        TokenBucket bucket = new TokenBucket(2, 60, now::get);
+        bucket.tryAcquire();
+        assertFalse(bucket.isFull());
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        assertTrue(bucket.isFull());
+    }
+
+    @Test
+    void tryAcquire_UnderContention_NeverExceedsCapacity() throws Exception {
+        TokenBucket bucket = new TokenBucket(100, 0.001, now::get);
+        AtomicInteger granted = new AtomicInteger();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 1000; i++) {
+                executor.submit(() -> {
+                    if (bucket.tryAcquire() == 0) {
+                        granted.incrementAndGet();
+                    }
+                });
+            }
+        }
+
+        assertEquals(100, granted.get());
+    }
+}
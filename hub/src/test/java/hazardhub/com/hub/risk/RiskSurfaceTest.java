@@ -0,0 +1,141 @@
+package hazardhub.com.hub.risk;
+
+import hazardhub.com.hub.geo.GeoMath;
+import hazardhub.com.hub.model.enums.HazardSeverity;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RiskSurfaceTest {
+
+    private static final double LAT = 45.0;
+    private static final double LNG = -75.0;
+    private static final double CELL = 0.005;
+    private static final Duration HALF_LIFE = Duration.ofDays(30);
+    // Monday 2024-01-01 08:00 UTC
+    private static final Instant MONDAY_8AM = Instant.parse("2024-01-01T08:00:00Z");
+    private static final double[] UNIT = { 1, 1, 1, 1 };
+
+    private RiskSurface surface() {
+        return new RiskSurface(CELL, HALF_LIFE, ZoneOffset.UTC, MONDAY_8AM);
+    }
+
+    @Test
+    void hourOfWeek_StartsMondayMidnightInTheSurfaceZone() {
+        RiskSurface utc = surface();
+        RiskSurface toronto = new RiskSurface(CELL, HALF_LIFE, ZoneId.of("America/Toronto"), MONDAY_8AM);
+
+        assertEquals(8, utc.hourOfWeek(MONDAY_8AM));
+        assertEquals(3, toronto.hourOfWeek(MONDAY_8AM));
+        assertEquals(167, utc.hourOfWeek(Instant.parse("2024-01-07T23:30:00Z")));
+    }
+
+    @Test
+    void risk_IsKeyedByCellAndHourOfWeek() {
+        RiskSurface surface = surface();
+        surface.add(LAT, LNG, MONDAY_8AM, HazardSeverity.HIGH, 1);
+
+        assertEquals(1, surface.risk(LAT, LNG, 8, MONDAY_8AM, UNIT), 1e-6);
+        assertEquals(0, surface.risk(LAT, LNG, 9, MONDAY_8AM, UNIT), 1e-6);
+        assertEquals(0, surface.risk(LAT + 2 * CELL, LNG, 8, MONDAY_8AM, UNIT), 1e-6);
+    }
+
+    @Test
+    void risk_WeighsSeveritiesSeparately() {
+        RiskSurface surface = surface();
+        surface.add(LAT, LNG, MONDAY_8AM, HazardSeverity.LOW, 1);
+        surface.add(LAT, LNG, MONDAY_8AM, HazardSeverity.CRITICAL, 1);
+
+        assertEquals(1 + 8, surface.risk(LAT, LNG, 8, MONDAY_8AM, new double[] { 1, 2, 4, 8 }), 1e-6);
+    }
+
+    @Test
+    void risk_HalvesEveryHalfLife() {
+        RiskSurface surface = surface();
+        surface.add(LAT, LNG, MONDAY_8AM, HazardSeverity.MEDIUM, 1);
+
+        assertEquals(0.5, surface.risk(LAT, LNG, 8, MONDAY_8AM.plus(HALF_LIFE), UNIT), 1e-4);
+        assertEquals(0.25, surface.risk(LAT, LNG, 8, MONDAY_8AM.plus(HALF_LIFE.multipliedBy(2)), UNIT), 1e-4);
+    }
+
+    @Test
+    void add_StaysAccurateAcrossRebaseFarInTheFuture() {
+        RiskSurface surface = surface();
+        Instant later = MONDAY_8AM.plus(Duration.ofDays(7 * 200));
+        surface.add(LAT, LNG, later, HazardSeverity.MEDIUM, 1);
+        surface.add(LAT, LNG, later, HazardSeverity.MEDIUM, 1);
+
+        assertEquals(2, surface.risk(LAT, LNG, 8, later, UNIT), 1e-4);
+    }
+
+    @Test
+    void addActiveHours_CountsEachFurtherHourUpToTheCap() {
+        RiskSurface surface = surface();
+
+        int hours = surface.addActiveHours(LAT, LNG, MONDAY_8AM, MONDAY_8AM.plus(Duration.ofMinutes(150)),
+                HazardSeverity.LOW, 168);
+        int capped = surface.addActiveHours(LAT, LNG, MONDAY_8AM, MONDAY_8AM.plus(Duration.ofDays(30)),
+                HazardSeverity.LOW, 5);
+
+        assertEquals(2, hours);
+        assertEquals(5, capped);
+        assertEquals(0, surface.risk(LAT, LNG, 8, MONDAY_8AM, UNIT), 1e-6);
+        // Read an hour before the reports, so they have not started decaying yet
+        assertEquals(2, surface.risk(LAT, LNG, 9, MONDAY_8AM, UNIT), 1e-2);
+    }
+
+    @Test
+    void routeRisk_SumsCellsAtTheHourEachIsReached() {
+        RiskSurface surface = surface();
+        double far = LNG + GeoMath.metersToLngDegrees(10_000, LAT);
+        surface.add(LAT, LNG, MONDAY_8AM, HazardSeverity.MEDIUM, 1);
+        surface.add(LAT, far, MONDAY_8AM.plus(Duration.ofHours(2)), HazardSeverity.MEDIUM, 1);
+
+        double[] lats = { LAT, LAT, LAT };
+        double[] lngs = { LNG, (LNG + far) / 2, far };
+        // Two-hour trip: the far end is reached at 10:00, matching the second report
+        double slow = surface.routeRisk(lats, lngs, 3, MONDAY_8AM, 7200, UNIT);
+        double fast = surface.routeRisk(lats, lngs, 3, MONDAY_8AM, 600, UNIT);
+
+        assertEquals(2, slow, 1e-2);
+        assertEquals(1, fast, 1e-2);
+    }
+
+    @Test
+    void write_RoundTripsThroughRead() throws IOException {
+        RiskSurface surface = surface();
+        for (int i = 0; i < 2000; i++) {
+            surface.add(LAT + i * CELL, LNG, MONDAY_8AM.plus(Duration.ofHours(i)), HazardSeverity.HIGH, 1);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        surface.write(bytes);
+
+        RiskSurface read = RiskSurface.read(new ByteArrayInputStream(bytes.toByteArray()), CELL, HALF_LIFE,
+                ZoneOffset.UTC);
+
+        assertEquals(2000, read.size());
+        int hour = surface.hourOfWeek(MONDAY_8AM.plus(Duration.ofHours(1234)));
+        assertEquals(surface.risk(LAT + 1234 * CELL, LNG, hour, MONDAY_8AM, UNIT),
+                read.risk(LAT + 1234 * CELL, LNG, hour, MONDAY_8AM, UNIT), 1e-9);
+        assertTrue(read.risk(LAT + 1234 * CELL, LNG, hour, MONDAY_8AM, UNIT) > 0);
+    }
+
+    @Test
+    void read_RejectsSnapshotWithDifferentSettings() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        surface().write(bytes);
+
+        assertThrows(IOException.class, () -> RiskSurface.read(new ByteArrayInputStream(bytes.toByteArray()),
+                CELL * 2, HALF_LIFE, ZoneOffset.UTC));
+    }
+}
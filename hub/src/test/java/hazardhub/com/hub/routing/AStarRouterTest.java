@@ -0,0 +1,106 @@
+package hazardhub.com.hub.routing;
+
+import hazardhub.com.hub.model.dto.HazardDTO;
+import hazardhub.com.hub.model.enums.HazardSeverity;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AStarRouterTest {
+
+    private static final int SIZE = 5;
+    private static final int ALL_MODES = 0x07;
+
+    private final RoadGraph graph = GridGraphs.grid(SIZE, 50, ALL_MODES);
+    private final AStarRouter router = new AStarRouter(graph);
+
+    @Test
+    void route_FindsShortestPathAlongStraightRow() {
+        RoutePath path = router.route(node(0, 0), node(0, 4), TravelMode.DRIVING, HazardPenalties.NONE).orElseThrow();
+
+        assertArrayEquals(new int[] { node(0, 0), node(0, 1), node(0, 2), node(0, 3), node(0, 4) }, path.nodes());
+        assertEquals(4 * 78.7, path.distanceMeters(), 5);
+        assertEquals(path.distanceMeters() / (50 / 3.6), path.durationSeconds(), 1e-6);
+    }
+
+    @Test
+    void route_DetoursAroundHazardOnDirectPath() {
+        HazardDTO hazard = HazardDTO.builder()
+                .latitude(GridGraphs.lat(0))
+                .longitude(GridGraphs.lng(2))
+                .affectedRadiusMeters(20.0)
+                .severity(HazardSeverity.HIGH)
+                .build();
+        HazardPenalties penalties = HazardPenalties.build(graph, List.of(hazard), penalties());
+
+        RoutePath path = router.route(node(0, 0), node(0, 4), TravelMode.DRIVING, penalties).orElseThrow();
+
+        assertTrue(penalties.getAffectedEdgeCount() > 0);
+        assertFalse(Arrays.stream(path.nodes()).anyMatch(n -> n == node(0, 2)), "route should avoid the hazard");
+        assertTrue(path.distanceMeters() > 4 * 78.7);
+    }
+
+    @Test
+    void route_CrossesHazardWhenDetourCostsMoreThanPenalty() {
+        HazardDTO hazard = HazardDTO.builder()
+                .latitude(GridGraphs.lat(0))
+                .longitude(GridGraphs.lng(2))
+                .affectedRadiusMeters(20.0)
+                .severity(HazardSeverity.LOW)
+                .build();
+        HazardPenalties penalties = HazardPenalties.build(graph, List.of(hazard), penalties());
+
+        RoutePath path = router.route(node(0, 0), node(0, 4), TravelMode.DRIVING, penalties).orElseThrow();
+
+        assertEquals(SIZE, path.nodes().length);
+        assertTrue(path.cost() > path.durationSeconds());
+    }
+
+    @Test
+    void route_ReturnsEmptyWhenModeHasNoAccess() {
+        RoadGraph carsOnly = GridGraphs.grid(SIZE, 50, TravelMode.DRIVING.getAccessBit());
+
+        assertTrue(new AStarRouter(carsOnly)
+                .route(node(0, 0), node(4, 4), TravelMode.WALKING, HazardPenalties.NONE).isEmpty());
+    }
+
+    @Test
+    void route_UsesFixedSpeedForWalking() {
+        RoutePath path = router.route(node(0, 0), node(0, 1), TravelMode.WALKING, HazardPenalties.NONE).orElseThrow();
+
+        assertEquals(path.distanceMeters() / (5 / 3.6), path.durationSeconds(), 1e-6);
+    }
+
+    @Test
+    void route_IsRepeatableWithPooledSearchState() {
+        RoutePath first = router.route(node(0, 0), node(4, 4), TravelMode.DRIVING, HazardPenalties.NONE)
+                .orElseThrow();
+        router.route(node(4, 0), node(0, 4), TravelMode.DRIVING, HazardPenalties.NONE);
+        RoutePath again = router.route(node(0, 0), node(4, 4), TravelMode.DRIVING, HazardPenalties.NONE)
+                .orElseThrow();
+
+        assertEquals(first.cost(), again.cost(), 1e-9);
+        assertEquals(9, again.nodes().length);
+    }
+
+    private static int node(int row, int col) {
+        return row * SIZE + col;
+    }
+
+    private static Map<HazardSeverity, Double> penalties() {
+        Map<HazardSeverity, Double> penalties = new EnumMap<>(HazardSeverity.class);
+        penalties.put(HazardSeverity.LOW, 1.5);
+        penalties.put(HazardSeverity.MEDIUM, 3.0);
+        penalties.put(HazardSeverity.HIGH, 10.0);
+        penalties.put(HazardSeverity.CRITICAL, 100.0);
+        return penalties;
+    }
+}
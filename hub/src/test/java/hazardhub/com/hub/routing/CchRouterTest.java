@@ -0,0 +1,178 @@
+package hazardhub.com.hub.routing;
+
+import hazardhub.com.hub.model.dto.HazardDTO;
+import hazardhub.com.hub.model.enums.HazardSeverity;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CchRouterTest {
+
+    private static final int SIZE = 12;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void route_MatchesAStarOnRandomGraph() {
+        RoadGraph graph = randomGraph(new Random(7));
+        CchRouter cch = new CchRouter(graph, ContractionHierarchy.build(graph));
+        cch.customize(EnumSet.allOf(TravelMode.class), HazardPenalties.NONE);
+
+        assertSameCostsAsAStar(graph, cch, HazardPenalties.NONE, new Random(11));
+    }
+
+    @Test
+    void route_MatchesAStarAfterHazardRecustomization() {
+        RoadGraph graph = randomGraph(new Random(3));
+        CchRouter cch = new CchRouter(graph, ContractionHierarchy.build(graph));
+        cch.customize(EnumSet.allOf(TravelMode.class), HazardPenalties.NONE);
+
+        HazardPenalties penalties = HazardPenalties.build(graph, List.of(
+                hazard(4, 5, HazardSeverity.CRITICAL),
+                hazard(8, 2, HazardSeverity.HIGH),
+                hazard(6, 9, HazardSeverity.MEDIUM)), severityPenalties());
+        cch.customize(EnumSet.allOf(TravelMode.class), penalties);
+
+        assertTrue(penalties.getAffectedEdgeCount() > 0);
+        assertSameCostsAsAStar(graph, cch, penalties, new Random(5));
+    }
+
+    @Test
+    void route_UnpacksToContiguousPathMatchingCost() {
+        RoadGraph graph = randomGraph(new Random(19));
+        CchRouter cch = new CchRouter(graph, ContractionHierarchy.build(graph));
+        cch.customize(EnumSet.of(TravelMode.DRIVING), HazardPenalties.NONE);
+
+        RoutePath path = cch.route(0, SIZE * SIZE - 1, TravelMode.DRIVING).orElseThrow();
+
+        assertEquals(0, path.nodes()[0]);
+        assertEquals(SIZE * SIZE - 1, path.nodes()[path.nodes().length - 1]);
+        assertEquals(path.cost(), path.durationSeconds(), 1e-3);
+    }
+
+    @Test
+    void route_RequiresCustomizedMode() {
+        RoadGraph graph = GridGraphs.grid(4, 50, 0x07);
+        CchRouter cch = new CchRouter(graph, ContractionHierarchy.build(graph));
+        cch.customize(EnumSet.of(TravelMode.DRIVING), HazardPenalties.NONE);
+
+        assertTrue(cch.isCustomized(TravelMode.DRIVING));
+        assertThrows(IllegalStateException.class, () -> cch.route(0, 15, TravelMode.WALKING));
+    }
+
+    @Test
+    void loadOrBuild_PersistsAndReloadsMatchingHierarchy() throws IOException {
+        RoadGraph graph = randomGraph(new Random(23));
+        Path file = tempDir.resolve("region.cch");
+
+        ContractionHierarchy built = ContractionHierarchy.loadOrBuild(file, graph);
+        ContractionHierarchy loaded = ContractionHierarchy.load(file, graph);
+
+        assertEquals(built.getArcCount(), loaded.getArcCount());
+        CchRouter cch = new CchRouter(graph, loaded);
+        cch.customize(EnumSet.allOf(TravelMode.class), HazardPenalties.NONE);
+        assertSameCostsAsAStar(graph, cch, HazardPenalties.NONE, new Random(29));
+    }
+
+    @Test
+    void load_RejectsHierarchyOfDifferentGraph() throws IOException {
+        Path file = tempDir.resolve("region.cch");
+        ContractionHierarchy.build(randomGraph(new Random(1))).write(file);
+
+        assertThrows(IOException.class, () -> ContractionHierarchy.load(file, randomGraph(new Random(2))));
+    }
+
+    private static void assertSameCostsAsAStar(RoadGraph graph, CchRouter cch, HazardPenalties penalties,
+            Random random) {
+        AStarRouter aStar = new AStarRouter(graph);
+        for (int i = 0; i < 200; i++) {
+            int source = random.nextInt(graph.getNodeCount());
+            int target = random.nextInt(graph.getNodeCount());
+            TravelMode mode = TravelMode.values()[random.nextInt(TravelMode.values().length)];
+
+            Optional<RoutePath> expected = aStar.route(source, target, mode, penalties);
+            Optional<RoutePath> actual = cch.route(source, target, mode);
+
+            assertEquals(expected.isPresent(), actual.isPresent(), source + " -> " + target + " " + mode);
+            if (expected.isPresent()) {
+                double cost = expected.get().cost();
+                assertEquals(cost, actual.get().cost(), cost * 1e-4, source + " -> " + target + " " + mode);
+                int[] nodes = actual.get().nodes();
+                assertEquals(source, nodes[0]);
+                assertEquals(target, nodes[nodes.length - 1]);
+            }
+        }
+    }
+
+    /**
+     * Grid with one-way streets, missing links, mixed speeds and
+     * mode-restricted edges, so customization sees asymmetric weights and
+     * unreachable pairs.
+     */
+    private static RoadGraph randomGraph(Random random) {
+        RoadGraph grid = GridGraphs.grid(SIZE, 50, 0x07);
+        int nodes = grid.getNodeCount();
+        int[] latE7 = new int[nodes];
+        int[] lngE7 = new int[nodes];
+        for (int u = 0; u < nodes; u++) {
+            latE7[u] = (int) Math.round(grid.lat(u) * 1e7);
+            lngE7[u] = (int) Math.round(grid.lng(u) * 1e7);
+        }
+
+        int[] firstEdge = new int[nodes + 1];
+        int[] target = new int[grid.getEdgeCount()];
+        float[] length = new float[grid.getEdgeCount()];
+        byte[] speed = new byte[grid.getEdgeCount()];
+        byte[] access = new byte[grid.getEdgeCount()];
+        int count = 0;
+        for (int u = 0; u < nodes; u++) {
+            firstEdge[u] = count;
+            for (int e = grid.firstEdge(u); e < grid.endEdge(u); e++) {
+                if (random.nextDouble() < 0.15) {
+                    continue;
+                }
+                target[count] = grid.target(e);
+                length[count] = (float) (grid.lengthMeters(e) * (1 + random.nextDouble()));
+                speed[count] = (byte) (20 + random.nextInt(100));
+                access[count] = (byte) (random.nextDouble() < 0.2 ? TravelMode.DRIVING.getAccessBit() : 0x07);
+                count++;
+            }
+        }
+        firstEdge[nodes] = count;
+        return new RoadGraph(latE7, lngE7, firstEdge, Arrays.copyOf(target, count),
+                Arrays.copyOf(length, count), Arrays.copyOf(speed, count),
+                Arrays.copyOf(access, count));
+    }
+
+    private static HazardDTO hazard(int row, int col, HazardSeverity severity) {
+        return HazardDTO.builder()
+                .latitude(GridGraphs.lat(row))
+                .longitude(GridGraphs.lng(col))
+                .affectedRadiusMeters(60.0)
+                .severity(severity)
+                .build();
+    }
+
+    private static Map<HazardSeverity, Double> severityPenalties() {
+        Map<HazardSeverity, Double> penalties = new EnumMap<>(HazardSeverity.class);
+        penalties.put(HazardSeverity.LOW, 1.5);
+        penalties.put(HazardSeverity.MEDIUM, 3.0);
+        penalties.put(HazardSeverity.HIGH, 10.0);
+        penalties.put(HazardSeverity.CRITICAL, 100.0);
+        return penalties;
+    }
+}
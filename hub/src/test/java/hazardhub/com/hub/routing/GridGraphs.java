@@ -0,0 +1,79 @@
+package hazardhub.com.hub.routing;
+
+import hazardhub.com.hub.geo.GeoMath;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds small square-grid road graphs for routing tests. Node
+ * {@code row * size + col} sits at {@code (BASE_LAT + row * STEP, BASE_LNG + col * STEP)},
+ * roughly 110 m from its neighbours, with two-way edges between neighbours.
+ */
+final class GridGraphs {
+
+    static final double BASE_LAT = 45.0;
+    static final double BASE_LNG = -75.0;
+    static final double STEP = 0.001;
+
+    private GridGraphs() {
+    }
+
+    static RoadGraph grid(int size, int speedKmh, int access) {
+        List<List<Integer>> adjacency = new ArrayList<>();
+        for (int u = 0; u < size * size; u++) {
+            int row = u / size;
+            int col = u % size;
+            List<Integer> out = new ArrayList<>();
+            if (row > 0) {
+                out.add(u - size);
+            }
+            if (row < size - 1) {
+                out.add(u + size);
+            }
+            if (col > 0) {
+                out.add(u - 1);
+            }
+            if (col < size - 1) {
+                out.add(u + 1);
+            }
+            adjacency.add(out);
+        }
+
+        int nodes = size * size;
+        int[] latE7 = new int[nodes];
+        int[] lngE7 = new int[nodes];
+        int[] firstEdge = new int[nodes + 1];
+        for (int u = 0; u < nodes; u++) {
+            latE7[u] = (int) Math.round((BASE_LAT + (u / size) * STEP) * 1e7);
+            lngE7[u] = (int) Math.round((BASE_LNG + (u % size) * STEP) * 1e7);
+            firstEdge[u + 1] = firstEdge[u] + adjacency.get(u).size();
+        }
+
+        int edges = firstEdge[nodes];
+        int[] target = new int[edges];
+        float[] length = new float[edges];
+        byte[] speed = new byte[edges];
+        byte[] accessBits = new byte[edges];
+        for (int u = 0; u < nodes; u++) {
+            int e = firstEdge[u];
+            for (int v : adjacency.get(u)) {
+                target[e] = v;
+                length[e] = (float) GeoMath.haversineMeters(latE7[u] / 1e7, lngE7[u] / 1e7, latE7[v] / 1e7,
+                        lngE7[v] / 1e7);
+                speed[e] = (byte) speedKmh;
+                accessBits[e] = (byte) access;
+                e++;
+            }
+        }
+        return new RoadGraph(latE7, lngE7, firstEdge, target, length, speed, accessBits);
+    }
+
+    static double lat(int row) {
+        return BASE_LAT + row * STEP;
+    }
+
+    static double lng(int col) {
+        return BASE_LNG + col * STEP;
+    }
+}
@@ -0,0 +1,92 @@
+package hazardhub.com.hub.routing;
+
+import hazardhub.com.hub.geo.ReachabilityGrid;
+import hazardhub.com.hub.model.dto.HazardDTO;
+import hazardhub.com.hub.model.enums.HazardSeverity;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IsochroneSearchTest {
+
+    private static final int SIZE = 11;
+    private static final int ALL_MODES = 0x07;
+    // Grid edges are ~78.7 m east-west and ~111 m north-south; 36 km/h = 10 m/s
+    private final RoadGraph graph = GridGraphs.grid(SIZE, 36, ALL_MODES);
+    private final IsochroneSearch search = new IsochroneSearch(graph);
+
+    @Test
+    void expand_StopsAtTimeBudget() {
+        ReachabilityGrid grid = grid();
+
+        // 25 s at 10 m/s: three east-west edges (236 m), not four (315 m)
+        int settled = search.expand(GridGraphs.lat(5), GridGraphs.lng(5), 10, TravelMode.DRIVING, 25,
+                HazardPenalties.NONE, grid);
+
+        assertTrue(settled > 1);
+        assertTrue(grid.isReached(GridGraphs.lat(5), GridGraphs.lng(8)));
+        assertFalse(grid.isReached(GridGraphs.lat(5), GridGraphs.lng(10)));
+    }
+
+    @Test
+    void expand_PaintsPartOfTheEdgeWhereBudgetRunsOut() {
+        ReachabilityGrid grid = grid();
+
+        // 12 s reaches 120 m: past the first node east (78.7 m) but not the second
+        search.expand(GridGraphs.lat(5), GridGraphs.lng(5), 10, TravelMode.DRIVING, 12, HazardPenalties.NONE,
+                grid);
+
+        assertTrue(grid.isReached(GridGraphs.lat(5), GridGraphs.lng(5) + 0.0015));
+        assertFalse(grid.isReached(GridGraphs.lat(5), GridGraphs.lng(7)));
+    }
+
+    @Test
+    void expand_TreatsInfinitePenaltyEdgesAsImpassable() {
+        HazardDTO hazard = HazardDTO.builder()
+                .latitude(GridGraphs.lat(5))
+                .longitude(GridGraphs.lng(6))
+                .affectedRadiusMeters(20.0)
+                .severity(HazardSeverity.LOW)
+                .build();
+        HazardPenalties blocked = HazardPenalties.build(graph, List.of(hazard), impassable());
+        ReachabilityGrid grid = grid();
+
+        // 10 s reaches one edge in any direction; east is the only way to column 6
+        search.expand(GridGraphs.lat(5), GridGraphs.lng(5), 10, TravelMode.DRIVING, 10, blocked, grid);
+
+        assertFalse(grid.isReached(GridGraphs.lat(5), GridGraphs.lng(6)));
+        assertTrue(grid.isReached(GridGraphs.lat(5), GridGraphs.lng(4)));
+    }
+
+    @Test
+    void expand_SeedsEveryNodeWithinAccessDistance() {
+        ReachabilityGrid grid = grid();
+        double lat = (GridGraphs.lat(5) + GridGraphs.lat(6)) / 2;
+
+        // Walking ~56 m to either neighbouring node takes ~40 s, leaving too little to drive on
+        int settled = search.expand(lat, GridGraphs.lng(5), 60, TravelMode.DRIVING, 45, HazardPenalties.NONE,
+                grid);
+        int none = search.expand(lat, GridGraphs.lng(5), 50, TravelMode.DRIVING, 45, HazardPenalties.NONE, grid);
+
+        assertEquals(2, settled);
+        assertEquals(0, none);
+    }
+
+    private static ReachabilityGrid grid() {
+        return new ReachabilityGrid(GridGraphs.lat(5), GridGraphs.lng(5), 800, 20);
+    }
+
+    private static Map<HazardSeverity, Double> impassable() {
+        Map<HazardSeverity, Double> multipliers = new EnumMap<>(HazardSeverity.class);
+        for (HazardSeverity severity : HazardSeverity.values()) {
+            multipliers.put(severity, Double.POSITIVE_INFINITY);
+        }
+        return multipliers;
+    }
+}
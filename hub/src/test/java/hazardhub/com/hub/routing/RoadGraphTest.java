@@ -0,0 +1,68 @@
+package hazardhub.com.hub.routing;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RoadGraphTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void load_RoundTripsWrittenGraph() throws IOException {
+        RoadGraph graph = GridGraphs.grid(4, 60, 0x07);
+        Path file = tempDir.resolve("region.graph");
+        try (OutputStream out = Files.newOutputStream(file)) {
+            graph.write(out);
+        }
+
+        RoadGraph loaded = RoadGraph.load(file);
+
+        assertEquals(graph.getNodeCount(), loaded.getNodeCount());
+        assertEquals(graph.getEdgeCount(), loaded.getEdgeCount());
+        for (int u = 0; u < graph.getNodeCount(); u++) {
+            assertEquals(graph.lat(u), loaded.lat(u));
+            assertEquals(graph.lng(u), loaded.lng(u));
+            assertEquals(graph.firstEdge(u), loaded.firstEdge(u));
+        }
+        for (int e = 0; e < graph.getEdgeCount(); e++) {
+            assertEquals(graph.target(e), loaded.target(e));
+            assertEquals(graph.lengthMeters(e), loaded.lengthMeters(e));
+            assertEquals(60, loaded.speedKmh(e));
+        }
+    }
+
+    @Test
+    void load_RejectsForeignFile() throws IOException {
+        Path file = tempDir.resolve("not-a-graph");
+        Files.write(file, new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 });
+
+        assertThrows(IOException.class, () -> RoadGraph.load(file));
+    }
+
+    @Test
+    void nearestNode_SnapsToClosestNode() {
+        RoadGraph graph = GridGraphs.grid(4, 60, 0x07);
+
+        int node = graph.nearestNode(GridGraphs.lat(2) + 0.0001, GridGraphs.lng(1) - 0.0001, 100, TravelMode.DRIVING);
+
+        assertEquals(2 * 4 + 1, node);
+    }
+
+    @Test
+    void nearestNode_ReturnsMinusOneBeyondMaxDistance() {
+        RoadGraph graph = GridGraphs.grid(4, 60, 0x07);
+
+        assertEquals(-1, graph.nearestNode(GridGraphs.lat(0) - 0.01, GridGraphs.lng(0), 100, TravelMode.DRIVING));
+        assertTrue(graph.nearestNode(GridGraphs.lat(0) - 0.01, GridGraphs.lng(0), 2_000, TravelMode.DRIVING) >= 0);
+    }
+}
@@ -0,0 +1,111 @@
+package hazardhub.com.hub.service.impl;
+
+import hazardhub.com.hub.config.CacheInvalidationConfig;
+import hazardhub.com.hub.event.HazardChangedEvent;
+import hazardhub.com.hub.event.HazardChangedEvent.ChangeType;
+import hazardhub.com.hub.model.entity.CacheInvalidation;
+import hazardhub.com.hub.model.enums.HazardStatus;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CacheInvalidationBusImplTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CacheInvalidationConfig cacheInvalidationConfig;
+
+    private CacheInvalidationBusImpl bus;
+
+    @BeforeEach
+    void setUp() {
+        when(cacheInvalidationConfig.getDedupeWindow()).thenReturn(100);
+        bus = new CacheInvalidationBusImpl(mongoTemplate, eventPublisher, cacheInvalidationConfig);
+    }
+
+    @Test
+    void publish_LocalChange_AppendsEntryToLog() {
+        bus.publish(new HazardChangedEvent("hazard-1", ChangeType.UPDATED, HazardStatus.PENDING,
+                HazardStatus.ACTIVE));
+
+        ArgumentCaptor<CacheInvalidation> entry = ArgumentCaptor.forClass(CacheInvalidation.class);
+        verify(mongoTemplate).insert(entry.capture());
+        assertEquals(bus.instanceId(), entry.getValue().getOrigin());
+        assertEquals(CacheInvalidation.TOPIC_HAZARD, entry.getValue().getTopic());
+        assertEquals("hazard-1", entry.getValue().getKey());
+        assertEquals(HazardStatus.ACTIVE, entry.getValue().getStatus());
+    }
+
+    @Test
+    void publish_RemoteChange_IsNotWrittenAgain() {
+        bus.publish(new HazardChangedEvent("hazard-1", ChangeType.UPDATED, null, HazardStatus.ACTIVE, true));
+
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    void publish_WhenMongoIsDown_DoesNotFailTheWrite() {
+        when(mongoTemplate.insert(any(CacheInvalidation.class)))
+                .thenThrow(new DataAccessResourceFailureException("down"));
+
+        bus.publish(new HazardChangedEvent("hazard-1", ChangeType.DELETED, HazardStatus.ACTIVE, null));
+    }
+
+    @Test
+    void deliver_EntryFromAnotherInstance_ReplaysRemoteEvent() {
+        bus.deliver(entry(new ObjectId(), "other-instance", "UPDATED", "PENDING", "ACTIVE"));
+
+        verify(eventPublisher).publishEvent(new HazardChangedEvent("hazard-1", ChangeType.UPDATED,
+                HazardStatus.PENDING, HazardStatus.ACTIVE, true));
+    }
+
+    @Test
+    void deliver_OwnEntry_IsSkipped() {
+        bus.deliver(entry(new ObjectId(), bus.instanceId(), "CREATED", null, "ACTIVE"));
+
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void deliver_SameEntryTwice_ReplaysOnce() {
+        Document entry = entry(new ObjectId(), "other-instance", "DELETED", "ACTIVE", null);
+
+        bus.deliver(entry);
+        bus.deliver(entry);
+
+        verify(eventPublisher, times(1)).publishEvent(any(Object.class));
+    }
+
+    private static Document entry(ObjectId id, String origin, String changeType, String previousStatus,
+            String status) {
+        return new Document("_id", id)
+                .append("origin", origin)
+                .append("topic", CacheInvalidation.TOPIC_HAZARD)
+                .append("key", "hazard-1")
+                .append("change_type", changeType)
+                .append("previous_status", previousStatus)
+                .append("status", status);
+    }
+}
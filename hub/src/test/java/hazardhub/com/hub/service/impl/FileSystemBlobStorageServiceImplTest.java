@@ -0,0 +1,71 @@
+package hazardhub.com.hub.service.impl;
+
+import hazardhub.com.hub.config.BlobStorageConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+class FileSystemBlobStorageServiceImplTest {
+
+    @TempDir
+    Path root;
+
+    @Mock
+    private BlobStorageConfig blobStorageConfig;
+
+    @InjectMocks
+    private FileSystemBlobStorageServiceImpl blobStorage;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(blobStorageConfig.getFilesystemRoot()).thenReturn(root.toAbsolutePath().normalize());
+        lenient().when(blobStorageConfig.getFilesystemBasePath()).thenReturn("/blobs/");
+    }
+
+    @Test
+    void put_WritesFileAndReturnsServedUrl() throws IOException {
+        String url = blobStorage.put("thumbnails/hazard-1/abc.jpg", new byte[] { 7, 8, 9 }, "image/jpeg");
+
+        assertEquals("/blobs/thumbnails/hazard-1/abc.jpg", url);
+        assertArrayEquals(new byte[] { 7, 8, 9 }, Files.readAllBytes(root.resolve("thumbnails/hazard-1/abc.jpg")));
+        assertEquals(Optional.of("thumbnails/hazard-1/abc.jpg"), blobStorage.keyOf(url));
+    }
+
+    @Test
+    void delete_RemovesFileAndIgnoresMissingOnes() {
+        blobStorage.put("thumbnails/hazard-1/abc.jpg", new byte[] { 1 }, "image/jpeg");
+
+        blobStorage.delete("thumbnails/hazard-1/abc.jpg");
+        blobStorage.delete("thumbnails/hazard-1/abc.jpg");
+
+        assertFalse(Files.exists(root.resolve("thumbnails/hazard-1/abc.jpg")));
+    }
+
+    @Test
+    void put_WhenKeyEscapesRoot_Throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> blobStorage.put("../outside.jpg", new byte[] { 1 }, "image/jpeg"));
+    }
+
+    @Test
+    void keyOf_ForForeignUrl_IsEmpty() {
+        assertEquals(Optional.empty(),
+                blobStorage.keyOf("https://firebasestorage.googleapis.com/v0/b/hazardhub/o/pothole.jpg"));
+    }
+}
@@ -0,0 +1,189 @@
+package hazardhub.com.hub.service.impl;
+
+import hazardhub.com.hub.config.GeminiConfig;
+import hazardhub.com.hub.service.GeminiCacheClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GeminiPromptCacheServiceImplTest {
+
+    private static final String PROMPT = "You are a test assistant.";
+
+    @Mock
+    private GeminiConfig geminiConfig;
+
+    private final StubCacheClient cacheClient = new StubCacheClient();
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+    private GeminiPromptCacheServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(geminiConfig.isPromptCacheEnabled()).thenReturn(true);
+        lenient().when(geminiConfig.getModel()).thenReturn("gemini-test");
+        lenient().when(geminiConfig.getPromptCacheTtlSeconds()).thenReturn(3600L);
+        lenient().when(geminiConfig.getPromptCacheRefreshMarginSeconds()).thenReturn(300L);
+        lenient().when(geminiConfig.getPromptCacheFailureCooldownSeconds()).thenReturn(600L);
+        service = new GeminiPromptCacheServiceImpl(cacheClient, geminiConfig, clock);
+    }
+
+    @Test
+    void cachedContentName_CreatesOnceAndReusesHandle() {
+        Optional<String> first = service.cachedContentName("chat", PROMPT);
+        clock.advance(Duration.ofMinutes(30));
+        Optional<String> second = service.cachedContentName("chat", PROMPT);
+
+        assertEquals(Optional.of("cachedContents/1"), first);
+        assertEquals(first, second);
+        assertEquals(1, cacheClient.creates);
+        assertEquals(0, cacheClient.refreshes);
+    }
+
+    @Test
+    void cachedContentName_WithinRefreshMargin_ExtendsTtl() {
+        service.cachedContentName("chat", PROMPT);
+        clock.advance(Duration.ofMinutes(56));
+
+        Optional<String> name = service.cachedContentName("chat", PROMPT);
+
+        assertEquals(Optional.of("cachedContents/1"), name);
+        assertEquals(1, cacheClient.creates);
+        assertEquals(1, cacheClient.refreshes);
+    }
+
+    @Test
+    void cachedContentName_AfterExpiry_CreatesNewHandle() {
+        service.cachedContentName("chat", PROMPT);
+        clock.advance(Duration.ofHours(2));
+
+        Optional<String> name = service.cachedContentName("chat", PROMPT);
+
+        assertEquals(Optional.of("cachedContents/2"), name);
+        assertEquals(2, cacheClient.creates);
+    }
+
+    @Test
+    void cachedContentName_WhenCreateFails_BacksOffUntilCooldownEnds() {
+        cacheClient.failCreates = true;
+
+        assertEquals(Optional.empty(), service.cachedContentName("chat", PROMPT));
+        assertEquals(Optional.empty(), service.cachedContentName("chat", PROMPT));
+        assertEquals(1, cacheClient.creates);
+
+        cacheClient.failCreates = false;
+        clock.advance(Duration.ofMinutes(11));
+
+        assertEquals(Optional.of("cachedContents/2"), service.cachedContentName("chat", PROMPT));
+    }
+
+    @Test
+    void invalidate_ForcesRecreation() {
+        service.cachedContentName("chat", PROMPT);
+        service.invalidate("chat");
+
+        assertEquals(Optional.of("cachedContents/2"), service.cachedContentName("chat", PROMPT));
+    }
+
+    @Test
+    void cachedContentName_WhenDisabled_ReturnsEmptyWithoutCalls() {
+        lenient().when(geminiConfig.isPromptCacheEnabled()).thenReturn(false);
+
+        assertEquals(Optional.empty(), service.cachedContentName("chat", PROMPT));
+        assertEquals(0, cacheClient.creates);
+    }
+
+    @Test
+    void cachedContentName_WhileCreateIsSlow_DoesNotBlockOtherKeys() throws Exception {
+        cacheClient.blockedPrompt = PROMPT;
+        Thread slow = new Thread(() -> service.cachedContentName("chat", PROMPT));
+        slow.start();
+        assertTrue(cacheClient.blocked.await(5, TimeUnit.SECONDS));
+
+        Optional<String> other = service.cachedContentName("route-suggestion", "You plan routes.");
+
+        assertTrue(other.isPresent());
+        cacheClient.release.countDown();
+        slow.join(5_000);
+        assertEquals(2, cacheClient.creates);
+    }
+
+    @Test
+    void cachedContentName_ConcurrentCallersForSameKey_ShareOneCreate() throws Exception {
+        when(geminiConfig.getSingleFlightWaitTimeoutMs()).thenReturn(5_000L);
+        service = new GeminiPromptCacheServiceImpl(cacheClient, geminiConfig, clock);
+        cacheClient.blockedPrompt = PROMPT;
+        AtomicReference<Optional<String>> leader = new AtomicReference<>();
+        AtomicReference<Optional<String>> follower = new AtomicReference<>();
+
+        Thread first = new Thread(() -> leader.set(service.cachedContentName("chat", PROMPT)));
+        first.start();
+        assertTrue(cacheClient.blocked.await(5, TimeUnit.SECONDS));
+        Thread second = new Thread(() -> follower.set(service.cachedContentName("chat", PROMPT)));
+        second.start();
+        while (second.getState() != Thread.State.TIMED_WAITING && second.isAlive()) {
+            Thread.onSpinWait();
+        }
+        cacheClient.release.countDown();
+        first.join(5_000);
+        second.join(5_000);
+
+        assertEquals(Optional.of("cachedContents/1"), leader.get());
+        assertEquals(leader.get(), follower.get());
+        assertEquals(1, cacheClient.creates);
+    }
+
+    private final class StubCacheClient implements GeminiCacheClient {
+
+        int creates;
+        int refreshes;
+        boolean failCreates;
+        volatile String blockedPrompt;
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public CachedContent create(String model, String systemInstruction, Duration ttl) {
+            int id;
+            synchronized (this) {
+                id = ++creates;
+            }
+            if (failCreates) {
+                throw new RuntimeException("Cached content is too small");
+            }
+            if (systemInstruction.equals(blockedPrompt)) {
+                blocked.countDown();
+                awaitRelease();
+            }
+            return new CachedContent("cachedContents/" + id, clock.instant().plus(ttl));
+        }
+
+        private void awaitRelease() {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public CachedContent refresh(String name, Duration ttl) {
+            refreshes++;
+            return new CachedContent(name, clock.instant().plus(ttl));
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package hazardhub.com.hub.service.impl;
+
+import hazardhub.com.hub.config.GeminiConfig;
+import hazardhub.com.hub.config.ImageConfig;
+import hazardhub.com.hub.exception.ExternalApiUnavailableException;
+import hazardhub.com.hub.model.dto.ChatRequestDTO;
+import hazardhub.com.hub.model.dto.ChatResponseDTO;
+import hazardhub.com.hub.model.dto.ImageAnalysisResponseDTO;
+import hazardhub.com.hub.model.dto.RouteSuggestionResponseDTO;
+import hazardhub.com.hub.model.dto.SuggestedRouteDTO;
+import hazardhub.com.hub.resilience.ExternalApiGuard;
+import hazardhub.com.hub.resilience.SingleFlight;
+import hazardhub.com.hub.service.GeminiPromptCacheService;
+import hazardhub.com.hub.service.ImageAnalysisCacheService;
+import hazardhub.com.hub.service.ImageProcessingService;
+import hazardhub.com.hub.service.ImageProcessingService.ProcessedImage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GeminiServiceImplTest {
+
+    private static final String TEMPLATE_MESSAGE = "Good news — there are no active hazards reported.";
+
+    @Mock
+    private RestClient geminiRestClient;
+
+    @Mock
+    private GeminiConfig geminiConfig;
+
+    @Mock
+    private ImageConfig imageConfig;
+
+    @Mock
+    private ImageProcessingService imageProcessingService;
+
+    @Mock
+    private ExternalApiGuard geminiApiGuard;
+
+    @Mock
+    private GeminiPromptCacheService geminiPromptCacheService;
+
+    @Mock
+    private ImageAnalysisCacheService imageAnalysisCacheService;
+
+    @Mock
+    private SingleFlight<String, ImageAnalysisResponseDTO> imageAnalysisFlight;
+
+    @InjectMocks
+    private GeminiServiceImpl geminiService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(geminiConfig.getChatMode()).thenReturn(GeminiConfig.ChatMode.ROUTE_MESSAGE);
+        lenient().when(geminiPromptCacheService.cachedContentName(anyString(), anyString()))
+                .thenReturn(Optional.empty());
+    }
+
+    @Test
+    void chat_WhenGeminiWroteRouteMessage_ReusesItWithoutAnotherCall() {
+        RouteSuggestionResponseDTO suggestion = suggestion("Take the Eastern Detour; it skips the flooding.", true);
+
+        ChatResponseDTO response = geminiService.chat(chatRequest("Can I avoid the flooding?"), suggestion,
+                List.of());
+
+        assertEquals("Take the Eastern Detour; it skips the flooding.", response.getReply());
+        assertEquals(1, response.getRouteOptions().size());
+        verifyNoInteractions(geminiApiGuard);
+    }
+
+    @Test
+    void chat_WhenRouteMessageIsTemplate_AsksGeminiToAnswerTheUser() {
+        RouteSuggestionResponseDTO suggestion = suggestion(TEMPLATE_MESSAGE, false);
+        doReturn(geminiText("Yes, there is a gas station halfway along the direct route."))
+                .when(geminiApiGuard).call(any());
+
+        ChatResponseDTO response = geminiService.chat(chatRequest("Is there a gas station on the way?"),
+                suggestion, List.of());
+
+        assertEquals("Yes, there is a gas station halfway along the direct route.", response.getReply());
+        verify(geminiApiGuard).call(any());
+    }
+
+    @Test
+    void chat_WhenGeminiUnavailableForTemplateMessage_FallsBackToRouteMessage() {
+        RouteSuggestionResponseDTO suggestion = suggestion(TEMPLATE_MESSAGE, false);
+        doThrow(new ExternalApiUnavailableException("gemini saturated")).when(geminiApiGuard).call(any());
+
+        ChatResponseDTO response = geminiService.chat(chatRequest("Is there a gas station on the way?"),
+                suggestion, List.of());
+
+        assertEquals(TEMPLATE_MESSAGE, response.getReply());
+    }
+
+    @Test
+    void chat_WhenCachedPromptRejected_InvalidatesAndRetriesInlineOnce() {
+        when(geminiPromptCacheService.cachedContentName(anyString(), anyString()))
+                .thenReturn(Optional.of("cachedContents/expired"));
+        doThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", new HttpHeaders(), new byte[0],
+                StandardCharsets.UTF_8))
+                .doReturn(geminiText("The detour is about five minutes longer."))
+                .when(geminiApiGuard).call(any());
+
+        ChatResponseDTO response = geminiService.chat(chatRequest("How much longer is the detour?"),
+                suggestion(TEMPLATE_MESSAGE, false), List.of());
+
+        assertEquals("The detour is about five minutes longer.", response.getReply());
+        verify(geminiPromptCacheService).invalidate("chat");
+        verify(geminiPromptCacheService, times(1)).cachedContentName(anyString(), anyString());
+        verify(geminiApiGuard, times(2)).call(any());
+    }
+
+    @Test
+    void analyzeHazardImage_OnContentHit_SkipsDecodingAndGemini() {
+        String imageUrl = "https://firebasestorage.googleapis.com/v0/b/hazardhub/o/reupload.jpg";
+        when(imageAnalysisFlight.execute(eq(imageUrl), any())).thenAnswer(invocation ->
+                invocation.<Supplier<ImageAnalysisResponseDTO>>getArgument(1).get());
+        when(imageAnalysisCacheService.findByUrl(imageUrl)).thenReturn(Optional.empty());
+        when(imageProcessingService.fetch(imageUrl))
+                .thenReturn(ProcessedImage.ofBytes("image/jpeg", new byte[] { 1, 2, 3 }, "sha"));
+        when(imageAnalysisCacheService.findByContent("sha")).thenReturn(Optional.of("Fallen tree across lane"));
+
+        ImageAnalysisResponseDTO response = geminiService.analyzeHazardImage(imageUrl);
+
+        assertEquals("Fallen tree across lane", response.getDescription());
+        verify(imageAnalysisCacheService).put(imageUrl, "sha", "Fallen tree across lane");
+        verify(imageProcessingService, never()).downscale(any(), anyInt());
+        verifyNoInteractions(geminiApiGuard);
+    }
+
+    private static ChatRequestDTO chatRequest(String message) {
+        return ChatRequestDTO.builder()
+                .message(message)
+                .build();
+    }
+
+    private static RouteSuggestionResponseDTO suggestion(String message, boolean fromGemini) {
+        return RouteSuggestionResponseDTO.builder()
+                .message(message)
+                .routes(List.of(SuggestedRouteDTO.builder()
+                        .name("Direct Route")
+                        .recommendationTier("RECOMMENDED")
+                        .build()))
+                .messageFromGemini(fromGemini)
+                .build();
+    }
+
+    private static Map<String, Object> geminiText(String text) {
+        return Map.of("candidates", List.of(Map.of("content", Map.of("parts", List.of(Map.of("text", text))))));
+    }
+}
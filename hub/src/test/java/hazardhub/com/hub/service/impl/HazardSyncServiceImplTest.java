@@ -0,0 +1,217 @@
+package hazardhub.com.hub.service.impl;
+
+import hazardhub.com.hub.config.HazardSyncConfig;
+import hazardhub.com.hub.exception.BadRequestException;
+import hazardhub.com.hub.model.dto.HazardChangesDTO;
+import hazardhub.com.hub.model.dto.HazardDTO;
+import hazardhub.com.hub.model.entity.Hazard;
+import hazardhub.com.hub.model.entity.HazardTombstone;
+import hazardhub.com.hub.repository.HazardTombstoneRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class HazardSyncServiceImplTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-01T12:00:00Z");
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private HazardTombstoneRepository hazardTombstoneRepository;
+
+    @Mock
+    private HazardSyncConfig hazardSyncConfig;
+
+    private HazardSyncServiceImpl syncService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(hazardSyncConfig.getMaxPageSize()).thenReturn(1000);
+        lenient().when(hazardSyncConfig.getSettle()).thenReturn(Duration.ofSeconds(5));
+        lenient().when(hazardSyncConfig.getTombstoneRetention()).thenReturn(Duration.ofDays(30));
+        syncService = new HazardSyncServiceImpl(mongoTemplate, hazardTombstoneRepository, hazardSyncConfig,
+                Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void findChanges_WithoutToken_ResetsAndSkipsTombstones() {
+        when(mongoTemplate.find(any(Query.class), eq(Hazard.class)))
+                .thenReturn(List.of(hazard("65a000000000000000000001", NOW.minusSeconds(3600))));
+
+        HazardChangesDTO changes = syncService.findChanges(null, 100);
+
+        assertTrue(changes.isReset());
+        assertEquals(List.of("65a000000000000000000001"), changes.getChanged().stream().map(HazardDTO::getId).toList());
+        assertEquals(token(NOW.minusSeconds(5), ""), changes.getNextToken());
+        verify(mongoTemplate, never()).find(any(Query.class), eq(HazardTombstone.class));
+    }
+
+    @Test
+    void findChanges_FullSyncLargerThanAPage_HandsOutFullSyncToken() {
+        Instant old = NOW.minus(Duration.ofDays(90));
+        when(mongoTemplate.find(any(Query.class), eq(Hazard.class))).thenReturn(List.of(
+                hazard("65a000000000000000000001", old),
+                hazard("65a000000000000000000002", old.plusSeconds(1))));
+
+        HazardChangesDTO changes = syncService.findChanges(null, 1);
+
+        assertTrue(changes.isReset());
+        assertTrue(changes.isHasMore());
+        assertEquals(fullSyncToken(NOW, old, "65a000000000000000000001"), changes.getNextToken());
+    }
+
+    @Test
+    void findChanges_ContinuingFullSync_DoesNotResetAgain() {
+        Instant old = NOW.minus(Duration.ofDays(90));
+        Instant started = NOW.minusSeconds(30);
+        when(mongoTemplate.find(any(Query.class), eq(Hazard.class))).thenReturn(List.of(
+                hazard("65a000000000000000000002", old.plusSeconds(1)),
+                hazard("65a000000000000000000003", old.plusSeconds(2))));
+
+        HazardChangesDTO changes = syncService.findChanges(
+                fullSyncToken(started, old, "65a000000000000000000001"), 1);
+
+        assertFalse(changes.isReset());
+        assertEquals(List.of("65a000000000000000000002"), changes.getChanged().stream().map(HazardDTO::getId).toList());
+        assertEquals(fullSyncToken(started, old.plusSeconds(1), "65a000000000000000000002"),
+                changes.getNextToken());
+        verify(mongoTemplate, never()).find(any(Query.class), eq(HazardTombstone.class));
+    }
+
+    @Test
+    void findChanges_LastFullSyncPage_SwitchesToIncrementalFromSyncStart() {
+        Instant old = NOW.minus(Duration.ofDays(90));
+        Instant started = NOW.minusSeconds(30);
+        when(mongoTemplate.find(any(Query.class), eq(Hazard.class)))
+                .thenReturn(List.of(hazard("65a000000000000000000002", old.plusSeconds(1))));
+
+        HazardChangesDTO changes = syncService.findChanges(
+                fullSyncToken(started, old, "65a000000000000000000001"), 100);
+
+        assertFalse(changes.isReset());
+        assertFalse(changes.isHasMore());
+        // Replays whatever changed or was deleted while the client was paging
+        assertEquals(token(started.minusSeconds(5), ""), changes.getNextToken());
+    }
+
+    @Test
+    void findChanges_MergesHazardsAndTombstonesInOrderAndPages() {
+        Instant since = NOW.minusSeconds(600);
+        when(mongoTemplate.find(any(Query.class), eq(Hazard.class))).thenReturn(List.of(
+                hazard("65a000000000000000000001", NOW.minusSeconds(60)),
+                hazard("65a000000000000000000003", NOW.minusSeconds(20))));
+        when(mongoTemplate.find(any(Query.class), eq(HazardTombstone.class))).thenReturn(List.of(
+                HazardTombstone.builder().id("65a000000000000000000002").deletedAt(NOW.minusSeconds(40)).build()));
+
+        HazardChangesDTO changes = syncService.findChanges(token(since, ""), 2);
+
+        assertFalse(changes.isReset());
+        assertTrue(changes.isHasMore());
+        assertEquals(List.of("65a000000000000000000001"), changes.getChanged().stream().map(HazardDTO::getId).toList());
+        assertEquals(List.of("65a000000000000000000002"), changes.getDeleted());
+        assertEquals(token(NOW.minusSeconds(40), "65a000000000000000000002"), changes.getNextToken());
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(Hazard.class));
+        assertEquals(3, query.getValue().getLimit());
+    }
+
+    @Test
+    void findChanges_HoldsTokenBehindRecentChanges() {
+        Instant since = NOW.minusSeconds(600);
+        when(mongoTemplate.find(any(Query.class), eq(Hazard.class)))
+                .thenReturn(List.of(hazard("65a000000000000000000001", NOW.minusSeconds(1))));
+        when(mongoTemplate.find(any(Query.class), eq(HazardTombstone.class))).thenReturn(List.of());
+
+        HazardChangesDTO changes = syncService.findChanges(token(since, ""), 100);
+
+        assertEquals(1, changes.getChanged().size());
+        assertFalse(changes.isHasMore());
+        assertEquals(token(NOW.minusSeconds(5), ""), changes.getNextToken());
+    }
+
+    @Test
+    void findChanges_WhenNothingChanged_AdvancesTokenToHorizon() {
+        when(mongoTemplate.find(any(Query.class), eq(Hazard.class))).thenReturn(List.of());
+        when(mongoTemplate.find(any(Query.class), eq(HazardTombstone.class))).thenReturn(List.of());
+
+        HazardChangesDTO changes = syncService.findChanges(token(NOW.minusSeconds(600), ""), 100);
+
+        assertTrue(changes.getChanged().isEmpty());
+        assertEquals(token(NOW.minusSeconds(5), ""), changes.getNextToken());
+    }
+
+    @Test
+    void findChanges_WithTokenOlderThanTombstones_Resets() {
+        when(mongoTemplate.find(any(Query.class), eq(Hazard.class))).thenReturn(List.of());
+
+        HazardChangesDTO changes = syncService.findChanges(token(NOW.minus(Duration.ofDays(31)), ""), 100);
+
+        assertTrue(changes.isReset());
+        verify(mongoTemplate, never()).find(any(Query.class), eq(HazardTombstone.class));
+    }
+
+    @Test
+    void findChanges_WithMalformedToken_ThrowsBadRequest() {
+        assertThrows(BadRequestException.class, () -> syncService.findChanges("not a token!", 100));
+    }
+
+    @Test
+    void recordDeletion_KeepsTombstoneForRetentionPeriod() {
+        syncService.recordDeletion("65a000000000000000000001");
+
+        ArgumentCaptor<HazardTombstone> tombstone = ArgumentCaptor.forClass(HazardTombstone.class);
+        verify(hazardTombstoneRepository).save(tombstone.capture());
+        assertEquals(NOW, tombstone.getValue().getDeletedAt());
+        assertEquals(NOW.plus(Duration.ofDays(30)), tombstone.getValue().getExpiresAt());
+    }
+
+    private static String token(Instant time, String id) {
+        return encode("i:" + time.toEpochMilli() + ":" + id);
+    }
+
+    private static String fullSyncToken(Instant started, Instant time, String id) {
+        return encode("f:" + started.toEpochMilli() + ":" + time.toEpochMilli() + ":" + id);
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Hazard hazard(String id, Instant updatedAt) {
+        Hazard hazard = Hazard.builder()
+                .id(id)
+                .location(new GeoJsonPoint(-122.4194, 37.7749))
+                .build();
+        hazard.setUpdatedAt(updatedAt);
+        return hazard;
+    }
+}
@@ -0,0 +1,206 @@
+package hazardhub.com.hub.service.impl;
+
+import com.mongodb.client.result.UpdateResult;
+import hazardhub.com.hub.config.ImageConfig;
+import hazardhub.com.hub.model.entity.Hazard;
+import hazardhub.com.hub.repository.HazardRepository;
+import hazardhub.com.hub.service.BlobStorageService;
+import hazardhub.com.hub.service.ImageProcessingService;
+import hazardhub.com.hub.service.ImageProcessingService.ProcessedImage;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class HazardThumbnailServiceImplTest {
+
+    private static final String IMAGE_URL = "https://firebasestorage.googleapis.com/v0/b/hazardhub/o/pothole.jpg";
+    private static final String KEY = HazardThumbnailServiceImpl.thumbnailKey("hazard-1", IMAGE_URL);
+    private static final String THUMBNAIL_URL = "/blobs/" + KEY;
+    private static final String FIRST_ID = "65a000000000000000000001";
+    private static final String SECOND_ID = "65a000000000000000000002";
+    private static final String THIRD_ID = "65a000000000000000000003";
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private HazardRepository hazardRepository;
+
+    @Mock
+    private ImageProcessingService imageProcessingService;
+
+    @Mock
+    private BlobStorageService blobStorageService;
+
+    @Mock
+    private ImageConfig imageConfig;
+
+    @InjectMocks
+    private HazardThumbnailServiceImpl thumbnailService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(imageConfig.getThumbnailWidth()).thenReturn(320);
+        lenient().when(imageConfig.getThumbnailHeight()).thenReturn(240);
+        lenient().when(blobStorageService.keyOf(any())).thenAnswer(invocation -> {
+            String url = invocation.getArgument(0);
+            return url != null && url.startsWith("/blobs/") ? Optional.of(url.substring(7)) : Optional.empty();
+        });
+    }
+
+    @Test
+    void generate_WhenHazardHasNoThumbnail_StoresAndLinksIt() {
+        when(hazardRepository.findById("hazard-1")).thenReturn(Optional.of(hazard(IMAGE_URL, null)));
+        when(imageProcessingService.thumbnail(IMAGE_URL, 320, 240))
+                .thenReturn(ProcessedImage.ofBytes("image/jpeg", new byte[] { 1, 2, 3 }, "sha"));
+        when(blobStorageService.put(eq(KEY), any(byte[].class), eq("image/jpeg"))).thenReturn(THUMBNAIL_URL);
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(Hazard.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        assertEquals(THUMBNAIL_URL, thumbnailService.generate("hazard-1"));
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(query.capture(), update.capture(), eq(Hazard.class));
+        assertEquals(IMAGE_URL, query.getValue().getQueryObject().getString("image_url"));
+        assertEquals(THUMBNAIL_URL, update.getValue().getUpdateObject().get("$set", Document.class)
+                .get("thumbnail_url"));
+    }
+
+    @Test
+    void generate_WhenImageWasReplaced_DeletesThePreviousThumbnail() {
+        String oldKey = HazardThumbnailServiceImpl.thumbnailKey("hazard-1", IMAGE_URL + "?v=1");
+        when(hazardRepository.findById("hazard-1")).thenReturn(Optional.of(hazard(IMAGE_URL, "/blobs/" + oldKey)));
+        when(imageProcessingService.thumbnail(IMAGE_URL, 320, 240))
+                .thenReturn(ProcessedImage.ofBytes("image/jpeg", new byte[] { 1 }, "sha"));
+        when(blobStorageService.put(eq(KEY), any(byte[].class), anyString())).thenReturn(THUMBNAIL_URL);
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(Hazard.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        assertEquals(THUMBNAIL_URL, thumbnailService.generate("hazard-1"));
+        verify(blobStorageService).delete(oldKey);
+    }
+
+    @Test
+    void generate_WhenClientSuppliedThumbnail_LeavesItAlone() {
+        when(hazardRepository.findById("hazard-1")).thenReturn(Optional.of(hazard(IMAGE_URL,
+                "https://firebasestorage.googleapis.com/v0/b/hazardhub/o/pothole_thumb.jpg")));
+
+        assertNull(thumbnailService.generate("hazard-1"));
+        verifyNoInteractions(imageProcessingService);
+    }
+
+    @Test
+    void generate_WhenImageCannotBeDecoded_DoesNotRetryIt() {
+        when(hazardRepository.findById("hazard-1")).thenReturn(Optional.of(hazard(IMAGE_URL, null)));
+        when(imageProcessingService.thumbnail(anyString(), anyInt(), anyInt()))
+                .thenThrow(new IllegalArgumentException("Unsupported image format for thumbnail"));
+
+        assertNull(thumbnailService.generate("hazard-1"));
+        assertNull(thumbnailService.generate("hazard-1"));
+
+        verify(imageProcessingService, times(1)).thumbnail(anyString(), anyInt(), anyInt());
+        verify(blobStorageService, never()).put(anyString(), any(byte[].class), anyString());
+    }
+
+    @Test
+    void generate_WhenHazardChangedWhileRendering_DropsTheOrphanedThumbnail() {
+        String newImage = IMAGE_URL + "?v=2";
+        String newKey = HazardThumbnailServiceImpl.thumbnailKey("hazard-1", newImage);
+        when(hazardRepository.findById("hazard-1"))
+                .thenReturn(Optional.of(hazard(IMAGE_URL, null)), Optional.of(hazard(newImage, "/blobs/" + newKey)));
+        when(imageProcessingService.thumbnail(IMAGE_URL, 320, 240))
+                .thenReturn(ProcessedImage.ofBytes("image/jpeg", new byte[] { 1 }, "sha"));
+        when(blobStorageService.put(eq(KEY), any(byte[].class), anyString())).thenReturn(THUMBNAIL_URL);
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(Hazard.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+
+        assertNull(thumbnailService.generate("hazard-1"));
+        verify(blobStorageService).delete(KEY);
+    }
+
+    @Test
+    void generate_WhenRenderKeepsFailing_GivesUpOnTheImage() {
+        when(hazardRepository.findById("hazard-1")).thenReturn(Optional.of(hazard(IMAGE_URL, null)));
+        when(imageProcessingService.thumbnail(anyString(), anyInt(), anyInt()))
+                .thenThrow(new RuntimeException("Failed to download hazard image for thumbnail"));
+
+        for (int i = 0; i < 2; i++) {
+            assertThrows(RuntimeException.class, () -> thumbnailService.generate("hazard-1"));
+        }
+        assertNull(thumbnailService.generate("hazard-1"));
+        assertNull(thumbnailService.generate("hazard-1"));
+
+        verify(imageProcessingService, times(3)).thumbnail(anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    void backfill_PagesByIdAndWrapsAroundAtTheEnd() {
+        when(imageConfig.getThumbnailWorkers()).thenReturn(1);
+        when(imageConfig.getThumbnailQueueCapacity()).thenReturn(10);
+        when(imageConfig.getThumbnailBackfillBatchSize()).thenReturn(2);
+        when(mongoTemplate.find(any(Query.class), eq(Hazard.class)))
+                .thenReturn(List.of(hazardWithId(FIRST_ID), hazardWithId(SECOND_ID)))
+                .thenReturn(List.of(hazardWithId(THIRD_ID)))
+                .thenReturn(List.of());
+        thumbnailService.start();
+        try {
+            thumbnailService.backfill();
+            thumbnailService.backfill();
+            thumbnailService.backfill();
+        } finally {
+            thumbnailService.stop();
+        }
+
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(3)).find(queries.capture(), eq(Hazard.class));
+        assertEquals(Document.parse("{_id: 1}"), queries.getAllValues().get(0).getSortObject());
+        assertFalse(queries.getAllValues().get(0).getQueryObject().containsKey("_id"));
+        assertEquals(new Document("$gt", new ObjectId(SECOND_ID)),
+                queries.getAllValues().get(1).getQueryObject().get("_id"));
+        assertFalse(queries.getAllValues().get(2).getQueryObject().containsKey("_id"));
+    }
+
+    private static Hazard hazardWithId(String id) {
+        return Hazard.builder()
+                .id(id)
+                .imageUrl(IMAGE_URL)
+                .build();
+    }
+
+    private static Hazard hazard(String imageUrl, String thumbnailUrl) {
+        return Hazard.builder()
+                .id("hazard-1")
+                .imageUrl(imageUrl)
+                .thumbnailUrl(thumbnailUrl)
+                .build();
+    }
+}
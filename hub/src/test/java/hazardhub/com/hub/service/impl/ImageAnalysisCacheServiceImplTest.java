@@ -0,0 +1,118 @@
+package hazardhub.com.hub.service.impl;
+
+import hazardhub.com.hub.config.GeminiConfig;
+import hazardhub.com.hub.config.ImageConfig;
+import hazardhub.com.hub.model.entity.ImageAnalysisCacheEntry;
+import hazardhub.com.hub.repository.ImageAnalysisCacheRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ImageAnalysisCacheServiceImplTest {
+
+    private static final String URL = "https://firebasestorage.googleapis.com/v0/b/hazardhub/o/pothole.jpg";
+    private static final String SHA = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+
+    @Mock
+    private ImageAnalysisCacheRepository repository;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private ImageConfig imageConfig;
+
+    @Mock
+    private GeminiConfig geminiConfig;
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+    private ImageAnalysisCacheServiceImpl cache;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(imageConfig.isAnalysisCacheEnabled()).thenReturn(true);
+        lenient().when(imageConfig.getAnalysisCacheMaxEntries()).thenReturn(100);
+        lenient().when(imageConfig.getAnalysisCacheUrlTtl()).thenReturn(Duration.ofHours(24));
+        lenient().when(imageConfig.getAnalysisCacheContentTtl()).thenReturn(Duration.ofDays(30));
+        lenient().when(geminiConfig.getModel()).thenReturn("gemini-test");
+        cache = new ImageAnalysisCacheServiceImpl(repository, mongoTemplate, imageConfig, geminiConfig, clock);
+    }
+
+    @Test
+    void put_StoresUnderUrlAndContentAndServesFromMemory() {
+        cache.put(URL, SHA, "Fallen tree blocking the road");
+
+        assertEquals(Optional.of("Fallen tree blocking the road"), cache.findByUrl(URL));
+        assertEquals(Optional.of("Fallen tree blocking the road"), cache.findByContent(SHA));
+        verify(repository, never()).findById(anyString());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ImageAnalysisCacheEntry>> saved = ArgumentCaptor.forClass(List.class);
+        verify(repository).saveAll(saved.capture());
+        assertEquals(2, saved.getValue().size());
+        assertTrue(saved.getValue().get(1).getId().startsWith("sha256:gemini-test:"));
+    }
+
+    @Test
+    void findByContent_OnMemoryMiss_ReadsMongoAndPromotes() {
+        String key = "sha256:gemini-test:" + SHA;
+        when(repository.findById(key)).thenReturn(Optional.of(ImageAnalysisCacheEntry.builder()
+                .id(key)
+                .description("Flooded underpass")
+                .expiresAt(clock.instant().plus(Duration.ofDays(1)))
+                .build()));
+
+        assertEquals(Optional.of("Flooded underpass"), cache.findByContent(SHA));
+        assertEquals(Optional.of("Flooded underpass"), cache.findByContent(SHA));
+        verify(repository).findById(key);
+    }
+
+    @Test
+    void findByUrl_AfterUrlTtl_MissesWhileContentStillHits() {
+        when(repository.findById(anyString())).thenReturn(Optional.empty());
+        cache.put(URL, SHA, "Broken traffic light");
+
+        clock.advance(Duration.ofHours(25));
+
+        assertEquals(Optional.empty(), cache.findByUrl(URL));
+        assertEquals(Optional.of("Broken traffic light"), cache.findByContent(SHA));
+    }
+
+    @Test
+    void findByContent_AfterModelChange_Misses() {
+        cache.put(URL, SHA, "Ice on the bridge");
+        when(geminiConfig.getModel()).thenReturn("gemini-next");
+        when(repository.findById(anyString())).thenReturn(Optional.empty());
+
+        assertEquals(Optional.empty(), cache.findByContent(SHA));
+    }
+
+    @Test
+    void put_WhenMongoIsDown_StillCachesInMemory() {
+        when(repository.saveAll(anyList())).thenThrow(new DataAccessResourceFailureException("down"));
+
+        cache.put(URL, null, "Debris on the shoulder");
+
+        assertEquals(Optional.of("Debris on the shoulder"), cache.findByUrl(URL));
+    }
+}
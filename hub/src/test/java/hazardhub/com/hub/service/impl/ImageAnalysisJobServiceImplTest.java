@@ -0,0 +1,174 @@
+package hazardhub.com.hub.service.impl;
+
+import hazardhub.com.hub.config.ImageAnalysisJobConfig;
+import hazardhub.com.hub.exception.ExternalApiUnavailableException;
+import hazardhub.com.hub.exception.ResourceNotFoundException;
+import hazardhub.com.hub.model.dto.ImageAnalysisJobRequestDTO;
+import hazardhub.com.hub.model.dto.ImageAnalysisResponseDTO;
+import hazardhub.com.hub.model.entity.Hazard;
+import hazardhub.com.hub.model.entity.ImageAnalysisJob;
+import hazardhub.com.hub.model.enums.ImageAnalysisJobStatus;
+import hazardhub.com.hub.repository.HazardRepository;
+import hazardhub.com.hub.repository.ImageAnalysisJobRepository;
+import hazardhub.com.hub.service.GeminiService;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ImageAnalysisJobServiceImplTest {
+
+    private static final String IMAGE_URL = "https://firebasestorage.googleapis.com/v0/b/hazardhub/o/pothole.jpg";
+
+    @Mock
+    private ImageAnalysisJobRepository imageAnalysisJobRepository;
+
+    @Mock
+    private HazardRepository hazardRepository;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private GeminiService geminiService;
+
+    @Mock
+    private ImageAnalysisJobConfig imageAnalysisJobConfig;
+
+    @InjectMocks
+    private ImageAnalysisJobServiceImpl jobService;
+
+    @Test
+    void processNext_WhenNoJobIsDue_ReturnsFalse() {
+        when(imageAnalysisJobConfig.getLease()).thenReturn(Duration.ofMinutes(2));
+
+        assertFalse(jobService.processNext());
+        verifyNoInteractions(geminiService);
+    }
+
+    @Test
+    void processNext_WhenAnalysisSucceeds_StoresDescriptionAndAttachesItToHazard() {
+        ImageAnalysisJob claimed = claimedJob(1, "hazard-1");
+        ImageAnalysisJob finished = claimedJob(1, "hazard-1");
+        finished.setStatus(ImageAnalysisJobStatus.SUCCEEDED);
+        stubClaim(claimed, finished);
+        when(imageAnalysisJobConfig.getMaxAttempts()).thenReturn(4);
+        when(imageAnalysisJobConfig.getRetention()).thenReturn(Duration.ofHours(24));
+        when(geminiService.analyzeHazardImage(IMAGE_URL))
+                .thenReturn(ImageAnalysisResponseDTO.builder().description("Deep pothole in the right lane").build());
+
+        assertTrue(jobService.processNext());
+
+        ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updateCaptor = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(2)).findAndModify(queryCaptor.capture(), updateCaptor.capture(),
+                any(FindAndModifyOptions.class), eq(ImageAnalysisJob.class));
+        Document heldBy = queryCaptor.getAllValues().get(1).getQueryObject();
+        assertEquals("worker-a", heldBy.getString("lease_owner"));
+        assertEquals(1, heldBy.get("attempts"));
+        Document set = updateCaptor.getAllValues().get(1).getUpdateObject().get("$set", Document.class);
+        assertEquals(ImageAnalysisJobStatus.SUCCEEDED, set.get("status"));
+        assertEquals("Deep pothole in the right lane", set.get("description"));
+
+        ArgumentCaptor<Update> hazardUpdate = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(any(Query.class), hazardUpdate.capture(), eq(Hazard.class));
+        assertEquals("Deep pothole in the right lane",
+                hazardUpdate.getValue().getUpdateObject().get("$set", Document.class).get("ai_description"));
+    }
+
+    @Test
+    void processNext_WhenGeminiIsUnavailable_RequeuesWithBackoff() {
+        stubClaim(claimedJob(2, null));
+        when(imageAnalysisJobConfig.getMaxAttempts()).thenReturn(4);
+        when(imageAnalysisJobConfig.retryDelay(2)).thenReturn(Duration.ofSeconds(10));
+        when(geminiService.analyzeHazardImage(IMAGE_URL))
+                .thenThrow(new ExternalApiUnavailableException("Gemini bulkhead full"));
+
+        assertTrue(jobService.processNext());
+
+        ArgumentCaptor<Update> updateCaptor = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(any(Query.class), updateCaptor.capture(), eq(ImageAnalysisJob.class));
+        Document update = updateCaptor.getValue().getUpdateObject();
+        assertEquals(ImageAnalysisJobStatus.QUEUED, update.get("$set", Document.class).get("status"));
+        assertTrue(update.get("$unset", Document.class).containsKey("lease_owner"));
+    }
+
+    @Test
+    void processNext_WhenImageIsInvalid_FailsWithoutRetrying() {
+        ImageAnalysisJob claimed = claimedJob(1, null);
+        stubClaim(claimed, claimed);
+        when(imageAnalysisJobConfig.getMaxAttempts()).thenReturn(4);
+        when(imageAnalysisJobConfig.getRetention()).thenReturn(Duration.ofHours(24));
+        when(geminiService.analyzeHazardImage(IMAGE_URL))
+                .thenThrow(new IllegalArgumentException("Image URL must be an HTTPS Firebase Storage URL"));
+
+        assertTrue(jobService.processNext());
+
+        ArgumentCaptor<Update> updateCaptor = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(2)).findAndModify(any(Query.class), updateCaptor.capture(),
+                any(FindAndModifyOptions.class), eq(ImageAnalysisJob.class));
+        Document set = updateCaptor.getAllValues().get(1).getUpdateObject().get("$set", Document.class);
+        assertEquals(ImageAnalysisJobStatus.FAILED, set.get("status"));
+        verify(mongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), eq(ImageAnalysisJob.class));
+    }
+
+    @Test
+    void findById_WhenJobBelongsToAnotherUser_ThrowsNotFound() {
+        ImageAnalysisJob job = claimedJob(1, null);
+        job.setRequesterId("someone-else");
+        when(imageAnalysisJobRepository.findById("job-1")).thenReturn(Optional.of(job));
+
+        assertThrows(ResourceNotFoundException.class, () -> jobService.findById("job-1", "user-1"));
+    }
+
+    @Test
+    void submit_WhenHazardDoesNotExist_ThrowsNotFound() {
+        when(hazardRepository.existsById("missing")).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class, () -> jobService.submit(ImageAnalysisJobRequestDTO.builder()
+                .imageUrl(IMAGE_URL)
+                .hazardId("missing")
+                .build(), "user-1"));
+        verifyNoInteractions(imageAnalysisJobRepository);
+    }
+
+    private void stubClaim(ImageAnalysisJob claimed, ImageAnalysisJob... afterwards) {
+        when(imageAnalysisJobConfig.getLease()).thenReturn(Duration.ofMinutes(2));
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(ImageAnalysisJob.class))).thenReturn(claimed, afterwards);
+    }
+
+    private static ImageAnalysisJob claimedJob(int attempts, String hazardId) {
+        return ImageAnalysisJob.builder()
+                .id("job-1")
+                .imageUrl(IMAGE_URL)
+                .hazardId(hazardId)
+                .status(ImageAnalysisJobStatus.RUNNING)
+                .attempts(attempts)
+                .leaseOwner("worker-a")
+                .build();
+    }
+}
@@ -0,0 +1,174 @@
+package hazardhub.com.hub.service.impl;
+
+import hazardhub.com.hub.config.ImageConfig;
+import hazardhub.com.hub.service.ImageProcessingService.ProcessedImage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+class ImageProcessingServiceImplTest {
+
+    @TempDir
+    Path dir;
+
+    @Mock
+    private ImageConfig imageConfig;
+
+    @InjectMocks
+    private ImageProcessingServiceImpl imageProcessingService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(imageConfig.getJpegQuality()).thenReturn(0.85f);
+        lenient().when(imageConfig.getMaxPassthroughBytes()).thenReturn(1024L * 1024);
+        lenient().when(imageConfig.getThumbnailJpegQuality()).thenReturn(0.8f);
+    }
+
+    @Test
+    void downscaleSpooled_Jpeg_ShrinksLongestEdgeAndDeletesSpool() throws IOException {
+        Path spooled = write(image(2000, 1000, BufferedImage.TYPE_INT_RGB), "jpeg");
+
+        try (ProcessedImage processed = imageProcessingService.downscaleSpooled(spooled, "sha", "image/jpeg", 500)) {
+            BufferedImage result = read(processed);
+            assertEquals("image/jpeg", processed.getMimeType());
+            assertEquals(500, result.getWidth());
+            assertEquals(250, result.getHeight());
+            assertEquals("sha", processed.getContentSha256());
+        }
+        assertFalse(Files.exists(spooled));
+    }
+
+    @Test
+    void downscaleSpooled_TransparentPng_BecomesOpaqueJpeg() throws IOException {
+        Path spooled = write(image(800, 800, BufferedImage.TYPE_INT_ARGB), "png");
+
+        try (ProcessedImage processed = imageProcessingService.downscaleSpooled(spooled, "sha", "image/png", 400)) {
+            BufferedImage result = read(processed);
+            assertEquals("image/jpeg", processed.getMimeType());
+            assertEquals(400, result.getWidth());
+            assertFalse(result.getColorModel().hasAlpha());
+        }
+    }
+
+    @Test
+    void downscaleSpooled_SmallWebp_IsPassedThroughFromTheSpool() throws IOException {
+        Path spooled = Files.write(dir.resolve("small.webp"), webpHeader());
+
+        ProcessedImage processed = imageProcessingService.downscaleSpooled(spooled, "sha", "image/webp", 500);
+
+        assertEquals("image/webp", processed.getMimeType());
+        assertEquals(Files.size(spooled), processed.getSizeBytes());
+        processed.close();
+        assertFalse(Files.exists(spooled));
+    }
+
+    @Test
+    void downscaleSpooled_OversizedWebp_IsRejected() throws IOException {
+        lenient().when(imageConfig.getMaxPassthroughBytes()).thenReturn(8L);
+        Path spooled = Files.write(dir.resolve("large.webp"), webpHeader());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> imageProcessingService.downscaleSpooled(spooled, "sha", "image/webp", 500));
+    }
+
+    @Test
+    void downscaleSpooled_CorruptJpeg_IsRejected() throws IOException {
+        byte[] corrupt = new byte[2000];
+        corrupt[0] = (byte) 0xFF;
+        corrupt[1] = (byte) 0xD8;
+        corrupt[2] = (byte) 0xFF;
+        corrupt[3] = (byte) 0xE0;
+        Path spooled = Files.write(dir.resolve("corrupt.jpg"), corrupt);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> imageProcessingService.downscaleSpooled(spooled, "sha", "image/jpeg", 500));
+    }
+
+    @Test
+    void downscale_FetchedJpeg_UsesTheOriginalsHash() throws IOException {
+        Path spooled = write(image(1000, 1000, BufferedImage.TYPE_INT_RGB), "jpeg");
+        ProcessedImage original = ProcessedImage.ofFile("image/jpeg", spooled, Files.size(spooled), "sha");
+
+        try (ProcessedImage processed = imageProcessingService.downscale(original, 250)) {
+            assertEquals(250, read(processed).getWidth());
+            assertEquals("sha", processed.getContentSha256());
+        }
+    }
+
+    @Test
+    void thumbnailSpooled_WidePng_IsCroppedToExactSize() throws IOException {
+        Path spooled = write(image(2000, 1000, BufferedImage.TYPE_INT_ARGB), "png");
+
+        try (ProcessedImage thumbnail = imageProcessingService.thumbnailSpooled(spooled, "sha", 320, 240)) {
+            BufferedImage result = read(thumbnail);
+            assertEquals("image/jpeg", thumbnail.getMimeType());
+            assertEquals(320, result.getWidth());
+            assertEquals(240, result.getHeight());
+            assertEquals("sha", thumbnail.getContentSha256());
+        }
+    }
+
+    @Test
+    void thumbnailSpooled_Webp_IsRejected() throws IOException {
+        Path spooled = Files.write(dir.resolve("small.webp"), webpHeader());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> imageProcessingService.thumbnailSpooled(spooled, "sha", 320, 240));
+    }
+
+        @Test
+    void fetch_NonFirebaseUrl_IsRejectedBeforeDownloading() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> imageProcessingService.fetch("http://169.254.169.254/latest/meta-data"));
+        assertTrue(e.getMessage().contains("Firebase"));
+    }
+
+    private Path write(BufferedImage image, String format) throws IOException {
+        Path file = dir.resolve("source." + format);
+        assertTrue(ImageIO.write(image, format, file.toFile()));
+        return file;
+    }
+
+    private static BufferedImage image(int width, int height, int type) {
+        BufferedImage image = new BufferedImage(width, height, type);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setColor(Color.ORANGE);
+            g.fillRect(0, 0, width / 2, height);
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+
+    private static BufferedImage read(ProcessedImage processed) throws IOException {
+        try (InputStream in = processed.openStream()) {
+            return ImageIO.read(in);
+        }
+    }
+
+    private static byte[] webpHeader() {
+        return "RIFF\0\0\0\0WEBPVP8 \0\0\0\0".getBytes(StandardCharsets.ISO_8859_1);
+    }
+}
@@ -0,0 +1,70 @@
+package hazardhub.com.hub.service.impl;
+
+import hazardhub.com.hub.config.RateLimitConfig;
+import hazardhub.com.hub.service.RateLimitService.Decision;
+import hazardhub.com.hub.service.RateLimitService.Policy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+class RateLimitServiceImplTest {
+
+    @Mock
+    private RateLimitConfig rateLimitConfig;
+
+    private RateLimitServiceImpl rateLimitService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(rateLimitConfig.getPolicies()).thenReturn(Map.of(
+                RateLimitConfig.CHAT, new Policy(2, 0.001, 1, 0.001)));
+        lenient().when(rateLimitConfig.getMaxTrackedClients()).thenReturn(100_000);
+        rateLimitService = new RateLimitServiceImpl(rateLimitConfig);
+    }
+
+    @Test
+    void tryAcquire_OverUserBudget_RejectsWithUserScope() {
+        rateLimitService.tryAcquire(RateLimitConfig.CHAT, "alice");
+        rateLimitService.tryAcquire(RateLimitConfig.CHAT, "alice");
+
+        Decision decision = rateLimitService.tryAcquire(RateLimitConfig.CHAT, "alice");
+
+        assertFalse(decision.allowed());
+        assertEquals("user", decision.scope());
+    }
+
+    @Test
+    void tryAcquire_GlobalReject_DoesNotCostTheUserAToken() {
+        assertTrue(rateLimitService.tryAcquire(RateLimitConfig.CHAT, "alice").allowed());
+
+        // The global bucket is now empty; without refunds bob's two user tokens would run out here
+        for (int i = 0; i < 5; i++) {
+            assertEquals("global", rateLimitService.tryAcquire(RateLimitConfig.CHAT, "bob").scope());
+        }
+    }
+
+    @Test
+    void tryAcquire_UnknownPolicy_Allows() {
+        assertTrue(rateLimitService.tryAcquire("unknown", "alice").allowed());
+    }
+
+    @Test
+    void sweepFullBuckets_UnderThreshold_KeepsBuckets() {
+        rateLimitService.tryAcquire(RateLimitConfig.CHAT, "alice");
+        rateLimitService.tryAcquire(RateLimitConfig.CHAT, "alice");
+
+        rateLimitService.sweepFullBuckets();
+
+        assertEquals("user", rateLimitService.tryAcquire(RateLimitConfig.CHAT, "alice").scope());
+    }
+}
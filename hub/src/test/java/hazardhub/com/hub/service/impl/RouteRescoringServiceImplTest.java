@@ -0,0 +1,172 @@
+package hazardhub.com.hub.service.impl;
+
+import com.mongodb.client.result.UpdateResult;
+import hazardhub.com.hub.config.RiskSurfaceConfig;
+import hazardhub.com.hub.config.RouteRescoringConfig;
+import hazardhub.com.hub.geo.Polyline;
+import hazardhub.com.hub.model.dto.HazardDTO;
+import hazardhub.com.hub.model.entity.Hazard;
+import hazardhub.com.hub.model.entity.Route;
+import hazardhub.com.hub.model.entity.Trip;
+import hazardhub.com.hub.model.enums.HazardSeverity;
+import hazardhub.com.hub.model.enums.TripStatus;
+import hazardhub.com.hub.repository.HazardRepository;
+import hazardhub.com.hub.service.HazardRiskService;
+import hazardhub.com.hub.service.HazardService;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RouteRescoringServiceImplTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private HazardRepository hazardRepository;
+
+    @Mock
+    private HazardService hazardService;
+
+    @Mock
+    private RouteRescoringConfig routeRescoringConfig;
+
+    @Mock
+    private RiskSurfaceConfig riskSurfaceConfig;
+
+    @Mock
+    private ObjectProvider<HazardRiskService> hazardRiskService;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    @InjectMocks
+    private RouteRescoringServiceImpl rescoringService;
+
+    @Test
+    void markAffectedRoutes_MarksOnlyRoutesOfPlanningOrActiveTrips() {
+        Hazard hazard = Hazard.builder()
+                .id("hazard-1")
+                .location(new GeoJsonPoint(-74.0, 40.0))
+                .affectedRadiusMeters(100.0)
+                .build();
+        when(hazardRepository.findById("hazard-1")).thenReturn(Optional.of(hazard));
+        when(routeRescoringConfig.getCircleSegments()).thenReturn(16);
+        when(mongoTemplate.find(any(Query.class), eq(Route.class))).thenReturn(List.of(
+                Route.builder().id("route-live").tripId("trip-live").build(),
+                Route.builder().id("route-done").tripId("trip-done").build()));
+        when(mongoTemplate.find(any(Query.class), eq(Trip.class))).thenReturn(List.of(
+                Trip.builder().id("trip-live").status(TripStatus.ACTIVE).build()));
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(Route.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        int marked = rescoringService.markAffectedRoutes("hazard-1");
+
+        assertEquals(1, marked);
+        ArgumentCaptor<Query> candidatesCaptor = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(candidatesCaptor.capture(), eq(Route.class));
+        String candidatesJson = candidatesCaptor.getValue().getQueryObject().toJson();
+        assertTrue(candidatesJson.contains("hazards_considered"));
+        assertTrue(candidatesJson.contains("$geoIntersects"));
+
+        ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updateCaptor = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateMulti(queryCaptor.capture(), updateCaptor.capture(), eq(Route.class));
+        Document idFilter = queryCaptor.getValue().getQueryObject().get("_id", Document.class);
+        assertEquals(List.of("route-live"), idFilter.get("$in"));
+        Document inc = updateCaptor.getValue().getUpdateObject().get("$inc", Document.class);
+        assertEquals(1, inc.get(RouteRescoringServiceImpl.RESCORE_PENDING));
+    }
+
+    @Test
+    void markAffectedRoutes_WhenHazardDeletedAndNoLiveTrips_MarksNothing() {
+        when(hazardRepository.findById("hazard-1")).thenReturn(Optional.empty());
+        when(mongoTemplate.find(any(Query.class), eq(Route.class))).thenReturn(List.of(
+                Route.builder().id("route-done").tripId("trip-done").build()));
+        when(mongoTemplate.find(any(Query.class), eq(Trip.class))).thenReturn(List.of());
+
+        int marked = rescoringService.markAffectedRoutes("hazard-1");
+
+        assertEquals(0, marked);
+        verify(mongoTemplate, never()).updateMulti(any(Query.class), any(Update.class), eq(Route.class));
+    }
+
+    @Test
+    void rescoreBatch_ScoresCrossedHazardsAndClearsOnlyTheMarkItRead() {
+        String polyline = new Polyline(new double[] { 40.0, 40.0 }, new double[] { -74.0, -73.99 }, 2).encode();
+        Route route = Route.builder()
+                .id("route-1")
+                .polyline(polyline)
+                .durationSeconds(120)
+                .rescorePending(2)
+                .build();
+        HazardDTO onRoute = HazardDTO.builder()
+                .id("hazard-on-route")
+                .latitude(40.0005)
+                .longitude(-73.995)
+                .affectedRadiusMeters(100.0)
+                .severity(HazardSeverity.HIGH)
+                .build();
+        HazardDTO offRoute = HazardDTO.builder()
+                .id("hazard-off-route")
+                .latitude(40.01)
+                .longitude(-73.995)
+                .affectedRadiusMeters(100.0)
+                .severity(HazardSeverity.CRITICAL)
+                .build();
+        when(mongoTemplate.find(any(Query.class), eq(Route.class))).thenReturn(List.of(route));
+        when(mongoTemplate.bulkOps(BulkMode.UNORDERED, Route.class)).thenReturn(bulkOperations);
+        when(hazardService.findNearbyActive(anyDouble(), anyDouble(), anyDouble()))
+                .thenReturn(List.of(onRoute, offRoute));
+
+        int processed = rescoringService.rescoreBatch();
+
+        assertEquals(1, processed);
+        ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updateCaptor = ArgumentCaptor.forClass(Update.class);
+        verify(bulkOperations).updateOne(queryCaptor.capture(), updateCaptor.capture());
+        verify(bulkOperations).execute();
+
+        Document query = queryCaptor.getValue().getQueryObject();
+        assertEquals("route-1", query.getString("_id"));
+        assertEquals(2, query.get(RouteRescoringServiceImpl.RESCORE_PENDING));
+
+        Document update = updateCaptor.getValue().getUpdateObject();
+        Document set = update.get("$set", Document.class);
+        assertEquals(70.0, set.getDouble("safety_score"), 1e-9);
+        assertEquals(List.of("hazard-on-route"), set.get("hazards_considered"));
+        assertTrue(update.get("$unset", Document.class).containsKey(RouteRescoringServiceImpl.RESCORE_PENDING));
+    }
+
+    @Test
+    void rescoreBatch_WhenNothingPending_SkipsBulkWrite() {
+        when(mongoTemplate.find(any(Query.class), eq(Route.class))).thenReturn(List.of());
+
+        assertEquals(0, rescoringService.rescoreBatch());
+        verify(mongoTemplate, never()).bulkOps(any(BulkMode.class), eq(Route.class));
+    }
+}
@@ -5,6 +5,7 @@ import hazardhub.com.hub.model.dto.RouteDTO;
 import hazardhub.com.hub.model.entity.Route;
 import hazardhub.com.hub.repository.RouteRepository;
 import org.bson.Document;
+import org.bson.types.ObjectId;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
@@ -12,20 +13,28 @@ import org.mockito.InjectMocks;
 import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -100,4 +109,43 @@ class RouteServiceImplTest {
         verify(routeRepository).findById(routeId);
         verifyNoInteractions(mongoTemplate);
     }
+
+    @Test
+    void backfillPaths_FillsDecodablePolylinesAndSkipsMalformedOnes() {
+        BulkOperations bulk = mock(BulkOperations.class);
+        when(mongoTemplate.find(any(Query.class), eq(Route.class))).thenReturn(List.of(
+                Route.builder().id("65f50c31a683cb4e7d20f4a1").polyline("_p~iF~ps|U_ulLnnqC_mqNvxq`@").build(),
+                Route.builder().id("65f50c31a683cb4e7d20f4a2").polyline("polyline-old").build()));
+        when(mongoTemplate.bulkOps(BulkMode.UNORDERED, Route.class)).thenReturn(bulk);
+
+        int filled = routeService.backfillPaths();
+
+        assertEquals(1, filled);
+        ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(queryCaptor.capture(), eq(Route.class));
+        Document query = queryCaptor.getValue().getQueryObject();
+        assertEquals(new Document("$exists", false), query.get("path"));
+        assertEquals(new Document("_id", 1), queryCaptor.getValue().getSortObject());
+        verify(bulk).updateOne(any(Query.class), any(Update.class));
+        verify(bulk).execute();
+    }
+
+    @Test
+    void backfillPaths_ContinuesAfterLastIdOfFullBatch() {
+        List<Route> fullBatch = new ArrayList<>();
+        for (int i = 0; i < RouteServiceImpl.PATH_BACKFILL_BATCH_SIZE; i++) {
+            fullBatch.add(Route.builder().id(String.format("65f50c31a683cb4e7d2%05x", i)).polyline("polyline-old")
+                    .build());
+        }
+        when(mongoTemplate.find(any(Query.class), eq(Route.class))).thenReturn(fullBatch, List.of());
+        when(mongoTemplate.bulkOps(BulkMode.UNORDERED, Route.class)).thenReturn(mock(BulkOperations.class));
+
+        assertEquals(0, routeService.backfillPaths());
+
+        ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(2)).find(queryCaptor.capture(), eq(Route.class));
+        Document second = queryCaptor.getAllValues().get(1).getQueryObject();
+        String lastId = fullBatch.get(fullBatch.size() - 1).getId();
+        assertEquals(new Document("$gt", new ObjectId(lastId)), second.get("_id"));
+    }
 }
@@ -0,0 +1,476 @@
+package hazardhub.com.hub.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hazardhub.com.hub.config.GeminiConfig;
+import hazardhub.com.hub.config.GoogleMapsConfig;
+import hazardhub.com.hub.config.RiskSurfaceConfig;
+import hazardhub.com.hub.config.RouteSuggestionConfig;
+import hazardhub.com.hub.config.RouteSuggestionConfig.WaypointSource;
+import hazardhub.com.hub.geo.DetourWaypointPlanner;
+import hazardhub.com.hub.geo.GeoMath;
+import hazardhub.com.hub.geo.Polyline;
+import hazardhub.com.hub.model.dto.HazardDTO;
+import hazardhub.com.hub.model.dto.RouteSuggestionRequestDTO;
+import hazardhub.com.hub.model.dto.RouteSuggestionResponseDTO;
+import hazardhub.com.hub.model.dto.SuggestedRouteDTO;
+import hazardhub.com.hub.model.enums.HazardSeverity;
+import hazardhub.com.hub.model.enums.VehicleType;
+import hazardhub.com.hub.resilience.ExternalApiGuard;
+import hazardhub.com.hub.resilience.SingleFlight;
+import hazardhub.com.hub.service.GeminiPromptCacheService;
+import hazardhub.com.hub.service.GoogleDirectionsService;
+import hazardhub.com.hub.service.HazardRiskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClient.RequestHeadersSpec.ConvertibleClientHttpResponse;
+import org.springframework.web.client.RestClient.RequestHeadersSpec.ExchangeFunction;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RouteSuggestionServiceImplTest {
+
+    private static final String ORIGIN = "40.0,-74.0";
+    private static final String DESTINATION = "40.05,-74.0";
+    private static final String DETOUR_WAYPOINT = "via:40.025,-73.98";
+    private static final String DIRECT_POLYLINE = line(40.0, -74.0, 40.025, -74.0, 40.05, -74.0);
+    private static final String DETOUR_POLYLINE = line(40.0, -74.0, 40.025, -73.98, 40.05, -74.0);
+
+    @Mock
+    private RestClient geminiRestClient;
+
+    @Mock
+    private GeminiConfig geminiConfig;
+
+    @Mock
+    private GoogleDirectionsService googleDirectionsService;
+
+    @Mock
+    private ExternalApiGuard geminiApiGuard;
+
+    @Mock
+    private GoogleMapsConfig googleMapsConfig;
+
+    @Mock
+    private RouteSuggestionConfig routeSuggestionConfig;
+
+    @Mock
+    private GeminiPromptCacheService geminiPromptCacheService;
+
+    @Mock
+    private ObjectProvider<HazardRiskService> hazardRiskService;
+
+    @Mock
+    private RiskSurfaceConfig riskSurfaceConfig;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ExecutorService executor;
+
+    private RouteSuggestionServiceImpl routeSuggestionService;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+        routeSuggestionService = new RouteSuggestionServiceImpl(geminiRestClient, geminiConfig,
+                googleDirectionsService, geminiApiGuard, googleMapsConfig, executor, routeSuggestionConfig,
+                geminiPromptCacheService, new SingleFlight<>("test", Duration.ofSeconds(5)),
+                new DetourWaypointPlanner(50, 3000), hazardRiskService, riskSurfaceConfig);
+
+        lenient().when(routeSuggestionConfig.isFastPathEnabled()).thenReturn(false);
+        lenient().when(routeSuggestionConfig.getWaypointSource()).thenReturn(WaypointSource.GEMINI);
+        lenient().when(routeSuggestionConfig.getDedupWaypointToleranceMeters()).thenReturn(75.0);
+        lenient().when(routeSuggestionConfig.getDedupPolylineToleranceMeters()).thenReturn(40.0);
+        lenient().when(googleMapsConfig.isSpeculativePrefetch()).thenReturn(true);
+        lenient().when(geminiPromptCacheService.cachedContentName(anyString(), anyString()))
+                .thenReturn(Optional.empty());
+        lenient().when(googleDirectionsService.extractPolyline(any())).thenCallRealMethod();
+        lenient().when(googleDirectionsService.extractDistanceMeters(any())).thenCallRealMethod();
+        lenient().when(googleDirectionsService.extractDurationSeconds(any())).thenCallRealMethod();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void suggestRoutes_WhenGeminiReturnsDirectRoute_ReusesPrefetchedDirections() throws Exception {
+        when(googleDirectionsService.getDirections(ORIGIN, DESTINATION, "", "driving"))
+                .thenReturn(directions(DIRECT_POLYLINE, 600));
+        givenGeminiRoutes(geminiRoute("Direct Route", ORIGIN, DESTINATION, "", 90));
+
+        RouteSuggestionResponseDTO response = routeSuggestionService.suggestRoutes(request(), List.of());
+
+        assertEquals(1, response.getRoutes().size());
+        assertEquals(DIRECT_POLYLINE, response.getRoutes().get(0).getPolyline());
+        verify(googleDirectionsService, times(1)).getDirections(anyString(), anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void suggestRoutes_WhenGeminiEchoesRoundedCoordinates_StillReusesPrefetch() throws Exception {
+        when(googleDirectionsService.getDirections(ORIGIN, DESTINATION, "", "driving"))
+                .thenReturn(directions(DIRECT_POLYLINE, 600));
+        givenGeminiRoutes(geminiRoute("Direct Route", "40.00004,-74.00003", "40.0500,-73.99996", "", 90));
+
+        RouteSuggestionResponseDTO response = routeSuggestionService.suggestRoutes(request(), List.of());
+
+        assertEquals(DIRECT_POLYLINE, response.getRoutes().get(0).getPolyline());
+        verify(googleDirectionsService, times(1)).getDirections(anyString(), anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void suggestRoutes_WhenRouteHasWaypoints_FetchesItSeparately() throws Exception {
+        when(googleDirectionsService.getDirections(ORIGIN, DESTINATION, "", "driving"))
+                .thenReturn(directions(DIRECT_POLYLINE, 600));
+        when(googleDirectionsService.getDirections(ORIGIN, DESTINATION, DETOUR_WAYPOINT, "driving"))
+                .thenReturn(directions(DETOUR_POLYLINE, 780));
+        givenGeminiRoutes(
+                geminiRoute("Direct Route", ORIGIN, DESTINATION, "", 70),
+                geminiRoute("Eastern Detour", ORIGIN, DESTINATION, DETOUR_WAYPOINT, 85));
+
+        RouteSuggestionResponseDTO response = routeSuggestionService.suggestRoutes(request(), List.of());
+
+        assertEquals(2, response.getRoutes().size());
+        assertEquals(DIRECT_POLYLINE, response.getRoutes().get(0).getPolyline());
+        assertEquals(DETOUR_POLYLINE, response.getRoutes().get(1).getPolyline());
+        verify(googleDirectionsService, times(1)).getDirections(ORIGIN, DESTINATION, "", "driving");
+        verify(googleDirectionsService, times(1)).getDirections(ORIGIN, DESTINATION, DETOUR_WAYPOINT, "driving");
+    }
+
+    @Test
+    void suggestRoutes_WhenGeminiGivesAddresses_DoesNotReusePrefetch() throws Exception {
+        when(googleDirectionsService.getDirections(ORIGIN, DESTINATION, "", "driving"))
+                .thenReturn(directions(DIRECT_POLYLINE, 600));
+        when(googleDirectionsService.getDirections("Main St", DESTINATION, "", "driving"))
+                .thenReturn(directions(DIRECT_POLYLINE, 600));
+        givenGeminiRoutes(geminiRoute("Direct Route", "Main St", DESTINATION, "", 90));
+
+        routeSuggestionService.suggestRoutes(request(), List.of());
+
+        verify(googleDirectionsService).getDirections("Main St", DESTINATION, "", "driving");
+    }
+
+    @Test
+    void suggestRoutes_WhenPrefetchFails_RequestsDirectRouteAgain() throws Exception {
+        when(googleDirectionsService.getDirections(ORIGIN, DESTINATION, "", "driving"))
+                .thenThrow(new IllegalStateException("Directions unavailable"))
+                .thenReturn(directions(DIRECT_POLYLINE, 600));
+        givenGeminiRoutes(geminiRoute("Direct Route", ORIGIN, DESTINATION, "", 90));
+
+        RouteSuggestionResponseDTO response = routeSuggestionService.suggestRoutes(request(), List.of());
+
+        assertEquals(DIRECT_POLYLINE, response.getRoutes().get(0).getPolyline());
+        verify(googleDirectionsService, times(2)).getDirections(ORIGIN, DESTINATION, "", "driving");
+    }
+
+    @Test
+    void suggestRoutes_WithPrefetchDisabled_CallsDirectionsPerRoute() throws Exception {
+        when(googleMapsConfig.isSpeculativePrefetch()).thenReturn(false);
+        when(googleDirectionsService.getDirections(ORIGIN, DESTINATION, "", "driving"))
+                .thenReturn(directions(DIRECT_POLYLINE, 600));
+        givenGeminiRoutes(geminiRoute("Direct Route", ORIGIN, DESTINATION, "", 90));
+
+        RouteSuggestionResponseDTO response = routeSuggestionService.suggestRoutes(request(), List.of());
+
+        assertEquals(DIRECT_POLYLINE, response.getRoutes().get(0).getPolyline());
+        verify(googleDirectionsService, times(1)).getDirections(ORIGIN, DESTINATION, "", "driving");
+    }
+
+    @Test
+    void suggestRoutes_WhenTwoRoutesFollowSameStreetsAtDifferentDensity_KeepsOnlyTheBetterRanked() throws Exception {
+        when(googleDirectionsService.getDirections(ORIGIN, DESTINATION, "via:40.02,-73.97", "driving"))
+                .thenReturn(directions(arc(13), 900));
+        when(googleDirectionsService.getDirections(ORIGIN, DESTINATION, "via:40.03,-73.97", "driving"))
+                .thenReturn(directions(arc(181), 900));
+        givenGeminiRoutes(
+                geminiRoute("Eastern Arc", ORIGIN, DESTINATION, "via:40.02,-73.97", 80),
+                geminiRoute("Eastern Arc North", ORIGIN, DESTINATION, "via:40.03,-73.97", 90));
+
+        RouteSuggestionResponseDTO response = routeSuggestionService.suggestRoutes(request(), List.of());
+
+        assertEquals(1, response.getRoutes().size());
+        assertEquals("Eastern Arc North", response.getRoutes().get(0).getName());
+    }
+
+    @Test
+    void suggestRoutes_WithOnlyMinorHazards_TakesFastPathWithoutGemini() {
+        givenFastPath();
+        when(googleDirectionsService.getDirections(ORIGIN, DESTINATION, "", "driving"))
+                .thenReturn(directions(DIRECT_POLYLINE, 600));
+        List<HazardDTO> hazards = List.of(hazard("on-route", HazardSeverity.LOW, 40.025, -74.0, 100.0));
+
+        RouteSuggestionResponseDTO response = routeSuggestionService.suggestRoutes(request(), hazards);
+
+        assertEquals(1, response.getRoutes().size());
+        SuggestedRouteDTO route = response.getRoutes().get(0);
+        assertEquals("RECOMMENDED", route.getRecommendationTier());
+        assertEquals(1, route.getHazardCount());
+        assertEquals(95.0, route.getSafetyScore());
+        verifyNoInteractions(geminiApiGuard);
+    }
+
+    @Test
+    void suggestRoutes_OnFastPathWithHazardMissingCoordinates_SkipsThatHazard() {
+        givenFastPath();
+        when(googleDirectionsService.getDirections(ORIGIN, DESTINATION, "", "driving"))
+                .thenReturn(directions(DIRECT_POLYLINE, 600));
+        List<HazardDTO> hazards = List.of(
+                hazard("no-location", HazardSeverity.LOW, null, null, 100.0),
+                hazard("on-route", HazardSeverity.LOW, 40.025, -74.0, 100.0));
+
+        RouteSuggestionResponseDTO response = routeSuggestionService.suggestRoutes(request(), hazards);
+
+        SuggestedRouteDTO route = response.getRoutes().get(0);
+        assertEquals(1, route.getHazardCount());
+        assertEquals(95.0, route.getSafetyScore());
+        verifyNoInteractions(geminiApiGuard);
+    }
+
+    @Test
+    void suggestRoutes_WithHazardMissingSeverity_TreatsItAsMediumAndSkipsFastPath() {
+        givenFastPath();
+        when(routeSuggestionConfig.getWaypointSource()).thenReturn(WaypointSource.PLANNER);
+        when(googleDirectionsService.getDirections(ORIGIN, DESTINATION, "", "driving"))
+                .thenReturn(directions(DIRECT_POLYLINE, 600));
+        List<HazardDTO> hazards = List.of(hazard("unrated", null, 40.025, -73.9, 50.0));
+
+        RouteSuggestionResponseDTO response = routeSuggestionService.suggestRoutes(request(), hazards);
+
+        assertEquals(1, response.getRoutes().size());
+        assertEquals("Avoids every reported hazard.", response.getRoutes().get(0).getAiSummary());
+        verifyNoInteractions(geminiApiGuard);
+    }
+
+    @Test
+    void suggestRoutes_WithMoreMinorHazardsThanFastPathAllows_AsksGemini() throws Exception {
+        givenFastPath();
+        when(routeSuggestionConfig.getFastPathMaxHazards()).thenReturn(1);
+        when(googleDirectionsService.getDirections(ORIGIN, DESTINATION, "", "driving"))
+                .thenReturn(directions(DIRECT_POLYLINE, 600));
+        givenGeminiRoutes(geminiRoute("Direct Route", ORIGIN, DESTINATION, "", 90));
+        List<HazardDTO> hazards = List.of(
+                hazard("a", HazardSeverity.LOW, 40.025, -73.9, 50.0),
+                hazard("b", HazardSeverity.LOW, 40.03, -73.9, 50.0));
+
+        routeSuggestionService.suggestRoutes(request(), hazards);
+
+        verify(geminiApiGuard).call(any());
+    }
+
+    @Test
+    void suggestRoutes_WithoutStreaming_WhenCachedPromptIsRejected_RetriesInline() throws Exception {
+        when(geminiPromptCacheService.cachedContentName(anyString(), anyString()))
+                .thenReturn(Optional.of("cachedContents/gone"));
+        when(googleDirectionsService.getDirections(ORIGIN, DESTINATION, "", "driving"))
+                .thenReturn(directions(DIRECT_POLYLINE, 600));
+        doThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", new HttpHeaders(), new byte[0],
+                StandardCharsets.UTF_8))
+                .doReturn(geminiResponse(geminiRoute("Direct Route", ORIGIN, DESTINATION, "", 90)))
+                .when(geminiApiGuard).call(any());
+
+        RouteSuggestionResponseDTO response = routeSuggestionService.suggestRoutes(request(), List.of());
+
+        assertEquals(DIRECT_POLYLINE, response.getRoutes().get(0).getPolyline());
+        verify(geminiPromptCacheService).invalidate("route-suggestion");
+        verify(geminiApiGuard, times(2)).call(any());
+    }
+
+    @Test
+    void suggestRoutes_WhenStreamFailsAfterARoute_ReusesItsDirectionsOnRetry() throws Exception {
+        when(geminiConfig.isRouteStreamingEnabled()).thenReturn(true);
+        when(googleDirectionsService.getDirections(ORIGIN, DESTINATION, "", "driving"))
+                .thenReturn(directions(DIRECT_POLYLINE, 600));
+        when(googleDirectionsService.getDirections(ORIGIN, DESTINATION, DETOUR_WAYPOINT, "driving"))
+                .thenReturn(directions(DETOUR_POLYLINE, 780));
+        givenStreamThatBreaksAfter(geminiRoute("Eastern Detour", ORIGIN, DESTINATION, DETOUR_WAYPOINT, 85));
+        doAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get())
+                .doReturn(geminiResponse(
+                        geminiRoute("Direct Route", ORIGIN, DESTINATION, "", 70),
+                        geminiRoute("Eastern Detour", ORIGIN, DESTINATION, DETOUR_WAYPOINT, 85)))
+                .when(geminiApiGuard).call(any());
+
+        RouteSuggestionResponseDTO response = routeSuggestionService.suggestRoutes(request(), List.of());
+
+        assertEquals(2, response.getRoutes().size());
+        assertEquals(DETOUR_POLYLINE, response.getRoutes().get(1).getPolyline());
+        verify(googleDirectionsService, times(1)).getDirections(ORIGIN, DESTINATION, DETOUR_WAYPOINT, "driving");
+    }
+
+    @Test
+    void plannedMessage_WhenDetourAvoidsDirectRouteHazards_CountsThem() {
+        SuggestedRouteDTO direct = plannedRoute("Direct Route", 2, 600);
+        SuggestedRouteDTO detour = plannedRoute("Eastern Detour", 0, 780);
+
+        assertEquals("I found a way around the hazards on your direct path: the Eastern Detour avoids all 2 of them"
+                + " and adds about 3 min.", RouteSuggestionServiceImpl.plannedMessage(detour, direct));
+    }
+
+    @Test
+    void plannedMessage_WhenDirectRouteWasAlreadyClear_DoesNotClaimAvoidedHazards() {
+        SuggestedRouteDTO direct = plannedRoute("Direct Route", 0, 600);
+        SuggestedRouteDTO detour = plannedRoute("Eastern Detour", 0, 780);
+
+        assertEquals("No active hazards are reported on your direct path, but the Eastern Detour is rated the better"
+                + " option overall.", RouteSuggestionServiceImpl.plannedMessage(detour, direct));
+    }
+
+    private void givenFastPath() {
+        when(routeSuggestionConfig.isFastPathEnabled()).thenReturn(true);
+        lenient().when(routeSuggestionConfig.getFastPathMaxSeverity()).thenReturn(HazardSeverity.LOW);
+        lenient().when(routeSuggestionConfig.getFastPathMaxHazards()).thenReturn(3);
+    }
+
+    private static HazardDTO hazard(String id, HazardSeverity severity, Double latitude, Double longitude,
+            Double radiusMeters) {
+        return HazardDTO.builder()
+                .id(id)
+                .severity(severity)
+                .latitude(latitude)
+                .longitude(longitude)
+                .affectedRadiusMeters(radiusMeters)
+                .description(id)
+                .build();
+    }
+
+    private static RouteSuggestionRequestDTO request() {
+        return RouteSuggestionRequestDTO.builder()
+                .originLatitude(40.0)
+                .originLongitude(-74.0)
+                .destinationLatitude(40.05)
+                .destinationLongitude(-74.0)
+                .vehicleType(VehicleType.CAR)
+                .build();
+    }
+
+    private void givenGeminiRoutes(Map<?, ?>... routes) throws Exception {
+        doReturn(geminiResponse(routes)).when(geminiApiGuard).call(any());
+    }
+
+    /**
+     * Streams {@code route} as the first element of the routes array, then
+     * drops the connection before the array closes.
+     */
+    private void givenStreamThatBreaksAfter(Map<?, ?> route) throws Exception {
+        String text = "{\"routes\": [" + objectMapper.writeValueAsString(route) + ",";
+        String event = "data: " + objectMapper.writeValueAsString(Map.of("candidates",
+                List.of(Map.of("content", Map.of("parts", List.of(Map.of("text", text))))))) + "\n\n";
+        InputStream dropped = new InputStream() {
+            @Override
+            public int read() {
+                throw new ResourceAccessException("Connection reset");
+            }
+        };
+        ConvertibleClientHttpResponse response = mock(ConvertibleClientHttpResponse.class);
+        when(response.getStatusCode()).thenReturn(HttpStatus.OK);
+        when(response.getBody()).thenReturn(new SequenceInputStream(
+                new ByteArrayInputStream(event.getBytes(StandardCharsets.UTF_8)), dropped));
+
+        RestClient.RequestBodyUriSpec spec = mock(RestClient.RequestBodyUriSpec.class, RETURNS_SELF);
+        when(geminiRestClient.post()).thenReturn(spec);
+        when(spec.exchange(any())).thenAnswer(invocation ->
+                invocation.<ExchangeFunction<?>>getArgument(0).exchange(null, response));
+    }
+
+    private Map<String, Object> geminiResponse(Map<?, ?>... routes) throws Exception {
+        String text = objectMapper.writeValueAsString(Map.of(
+                "routes", List.of(routes),
+                "message", "Here are your routes."));
+        return Map.of("candidates", List.of(Map.of("content", Map.of("parts", List.of(Map.of("text", text))))));
+    }
+
+    private static Map<String, Object> geminiRoute(String name, String origin, String destination,
+            String waypoints, double rankScore) {
+        Map<String, Object> route = new LinkedHashMap<>();
+        route.put("name", name);
+        route.put("recommendationTier", "RECOMMENDED");
+        route.put("rankScore", rankScore);
+        route.put("safetyScore", rankScore);
+        route.put("efficiencyScore", 100);
+        route.put("aiSummary", name);
+        route.put("hazardCount", 0);
+        route.put("directionsParams", Map.of(
+                "origin", origin,
+                "destination", destination,
+                "waypoints", waypoints,
+                "mode", "driving"));
+        return route;
+    }
+
+    private static SuggestedRouteDTO plannedRoute(String name, int hazardCount, int durationSeconds) {
+        return SuggestedRouteDTO.builder()
+                .name(name)
+                .hazardCount(hazardCount)
+                .durationSeconds(durationSeconds)
+                .build();
+    }
+
+    private static Map<String, Object> directions(String polyline, int durationSeconds) {
+        return Map.of("routes", List.of(Map.of(
+                "overview_polyline", Map.of("points", polyline),
+                "legs", List.of(Map.of(
+                        "distance", Map.of("value", 5600),
+                        "duration", Map.of("value", durationSeconds))))));
+    }
+
+    /**
+     * Half circle east of the straight origin-destination line, encoded with
+     * the given number of vertices.
+     */
+    private static String arc(int vertices) {
+        double radiusMeters = 2780;
+        double[] latLngs = new double[2 * vertices];
+        for (int i = 0; i < vertices; i++) {
+            double angle = Math.toRadians(-90 + 180.0 * i / (vertices - 1));
+            latLngs[2 * i] = 40.025 + GeoMath.metersToLatDegrees(radiusMeters * Math.sin(angle));
+            latLngs[2 * i + 1] = -74.0 + GeoMath.metersToLngDegrees(radiusMeters * Math.cos(angle), 40.025);
+        }
+        return line(latLngs);
+    }
+
+    private static String line(double... latLngs) {
+        int size = latLngs.length / 2;
+        double[] lats = new double[size];
+        double[] lngs = new double[size];
+        for (int i = 0; i < size; i++) {
+            lats[i] = latLngs[2 * i];
+            lngs[i] = latLngs[2 * i + 1];
+        }
+        return new Polyline(lats, lngs, size).encode();
+    }
+}